@@ -0,0 +1,83 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.benchmark;
+
+import ai.grakn.Grakn;
+import ai.grakn.factory.CompactInternalFactory;
+import ai.grakn.factory.FactoryBuilder;
+import ai.grakn.factory.InternalFactory;
+import ai.grakn.factory.JanusInternalFactory;
+import ai.grakn.factory.TinkerInternalFactory;
+import ai.grakn.graph.internal.AbstractGraknGraph;
+
+import java.util.Properties;
+
+/**
+ * <p>
+ *     The graph backends the benchmarks can be run against
+ * </p>
+ *
+ * <p>
+ *     All the backends run inside the benchmark process so the numbers do not depend on a running engine or
+ *     storage cluster. Janus is opened with its in-memory storage backend, which still exercises the Janus
+ *     transaction and serialisation layers.
+ * </p>
+ *
+ * @author fppt
+ */
+public enum Backend {
+    TINKER(TinkerInternalFactory.class.getName()),
+    COMPACT(CompactInternalFactory.class.getName()),
+    JANUS(JanusInternalFactory.class.getName()) {
+        @Override
+        Properties properties() {
+            Properties properties = super.properties();
+            properties.put("storage.backend", "inmemory");
+            properties.put("cache.db-cache", "false");
+            return properties;
+        }
+    };
+
+    private final String factoryType;
+
+    Backend(String factoryType){
+        this.factoryType = factoryType;
+    }
+
+    /**
+     *
+     * @return The properties shared by all the backends
+     */
+    Properties properties(){
+        Properties properties = new Properties();
+        properties.put(FactoryBuilder.FACTORY_TYPE, factoryType);
+        properties.put(AbstractGraknGraph.SHARDING_THRESHOLD, 100_000);
+        properties.put(AbstractGraknGraph.NORMAL_CACHE_TIMEOUT_MS, 30_000);
+        return properties;
+    }
+
+    /**
+     *
+     * @param keyspace The keyspace of the graph to benchmark
+     * @return A factory producing transactions on the keyspace
+     */
+    public InternalFactory<?> factory(String keyspace){
+        return FactoryBuilder.getFactory(keyspace, Grakn.IN_MEMORY, properties());
+    }
+}
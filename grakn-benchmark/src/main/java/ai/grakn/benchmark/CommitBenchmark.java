@@ -0,0 +1,95 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.benchmark;
+
+import ai.grakn.GraknGraph;
+import ai.grakn.GraknTxType;
+import ai.grakn.concept.Entity;
+import ai.grakn.concept.ResourceType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ *     Latency of whole write transactions, from opening them to committing them
+ * </p>
+ *
+ * <p>
+ *     Every invocation writes a batch of entities, each owning a resource and related to the previous entity,
+ *     and commits it. The commit includes validation. Commit logs are not submitted because no engine is running.
+ *     The latencies are sampled so JMH reports their percentiles. Run with {@code -t} to measure concurrent
+ *     commits, in which case the throughput is the number of threads divided by the mean latency.
+ * </p>
+ *
+ * @author fppt
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommitBenchmark {
+
+    /**
+     * The number of entities written by each transaction
+     */
+    @State(Scope.Benchmark)
+    public static class BatchState {
+        @Param({"1", "100"})
+        public int batchSize;
+    }
+
+    @Benchmark
+    public Optional<String> commitBatch(GraphState graphState, BatchState batchState){
+        int size = graphState.ontologySize;
+        // Values are unique so resources are created rather than looked up
+        String prefix = UUID.randomUUID().toString();
+
+        try (GraknGraph graph = graphState.open(GraknTxType.WRITE)) {
+            Entity previous = null;
+            for (int j = 0; j < batchState.batchSize; j++) {
+                int i = j % size;
+                ResourceType<String> resourceType = graph.getResourceType(OntologyGenerator.resourceType(i));
+                Entity entity = graph.getEntityType(OntologyGenerator.entityType(i)).addEntity();
+                entity.resource(resourceType.putResource(prefix + j));
+
+                // Entity type i plays the first role of relation i and entity type i - 1 plays its second role
+                if (previous != null && i != 0) {
+                    graph.getRelationType(OntologyGenerator.relationType(i)).addRelation().
+                            addRolePlayer(graph.getRole(OntologyGenerator.firstRole(i)), entity).
+                            addRolePlayer(graph.getRole(OntologyGenerator.secondRole(i)), previous);
+                }
+                previous = entity;
+            }
+            return graph.admin().commitNoLogs();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.benchmark;
+
+import ai.grakn.GraknGraph;
+import ai.grakn.GraknTxType;
+import ai.grakn.concept.Entity;
+import ai.grakn.concept.ResourceType;
+import ai.grakn.factory.InternalFactory;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ *     Heap retained by the in-memory backends per committed concept
+ * </p>
+ *
+ * <p>
+ *     Every invocation loads a new graph with a resource and a relation per entity and reports the heap
+ *     the graph retains through the {@link Footprint#bytesPerConcept} counter. The heap is measured after forcing
+ *     collections, which is included in the reported time, so only the counter is meaningful. Run it on its own,
+ *     other benchmarks of the same fork would leave garbage of their own behind.
+ * </p>
+ *
+ * @author fppt
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FootprintBenchmark {
+    private static final int ONTOLOGY_SIZE = 10;
+
+    /**
+     * A new graph per iteration, which is only referenced by its factory while it is measured
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        @Param({"TINKER", "COMPACT"})
+        public Backend backend;
+
+        @Param({"20000"})
+        public int entities;
+
+        public long bytesPerConcept;
+
+        private InternalFactory<?> factory;
+        private long emptyHeap;
+
+        @Setup(Level.Iteration)
+        public void loadOntology(){
+            factory = backend.factory("footprint_" + UUID.randomUUID().toString().replace("-", ""));
+            try (GraknGraph graph = factory.open(GraknTxType.WRITE)) {
+                OntologyGenerator.generate(graph, ONTOLOGY_SIZE);
+                graph.admin().commitNoLogs();
+            }
+            emptyHeap = usedHeap();
+        }
+
+        @TearDown(Level.Iteration)
+        public void deleteGraph(){
+            factory.open(GraknTxType.WRITE).admin().delete();
+            factory = null;
+        }
+
+        void measure(long concepts){
+            bytesPerConcept = (usedHeap() - emptyHeap) / concepts;
+        }
+
+        private static long usedHeap(){
+            Runtime runtime = Runtime.getRuntime();
+            for (int i = 0; i < 3; i++) System.gc();
+            return runtime.totalMemory() - runtime.freeMemory();
+        }
+    }
+
+    @Benchmark
+    public void loadGraph(Footprint footprint){
+        long concepts = 0;
+        try (GraknGraph graph = footprint.factory.open(GraknTxType.WRITE)) {
+            Entity[] lastOfType = new Entity[ONTOLOGY_SIZE];
+            for (int i = 0; i < footprint.entities; i++) {
+                int type = i % ONTOLOGY_SIZE;
+                int previousType = (type + ONTOLOGY_SIZE - 1) % ONTOLOGY_SIZE;
+
+                Entity entity = graph.getEntityType(OntologyGenerator.entityType(type)).addEntity();
+                ResourceType<String> resourceType = graph.getResourceType(OntologyGenerator.resourceType(type));
+                entity.resource(resourceType.putResource("value-" + i));
+                concepts += 2;
+
+                //Every entity type plays the second role of the relation type after it
+                Entity previous = lastOfType[previousType];
+                if (previous != null) {
+                    graph.getRelationType(OntologyGenerator.relationType(type)).addRelation()
+                            .addRolePlayer(graph.getRole(OntologyGenerator.firstRole(type)), entity)
+                            .addRolePlayer(graph.getRole(OntologyGenerator.secondRole(type)), previous);
+                    concepts++;
+                }
+                lastOfType[type] = entity;
+            }
+            graph.admin().commitNoLogs();
+        }
+        footprint.measure(concepts);
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.benchmark;
+
+import ai.grakn.GraknGraph;
+import ai.grakn.GraknTxType;
+import ai.grakn.factory.InternalFactory;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.UUID;
+
+/**
+ * <p>
+ *     A graph loaded with a generated ontology, shared by all the threads of a benchmark
+ * </p>
+ *
+ * <p>
+ *     Every trial gets a new keyspace so the results of one trial cannot leak into the next.
+ *     Transactions are bound to the thread which opens them, so each benchmark thread opens its own
+ *     transactions through {@link #open(GraknTxType)}.
+ * </p>
+ *
+ * @author fppt
+ */
+@State(Scope.Benchmark)
+public class GraphState {
+    @Param({"TINKER", "COMPACT", "JANUS"})
+    public Backend backend;
+
+    @Param({"10", "100"})
+    public int ontologySize;
+
+    private InternalFactory<?> factory;
+
+    @Setup(Level.Trial)
+    public void loadOntology(){
+        String keyspace = "benchmark_" + UUID.randomUUID().toString().replace("-", "");
+        factory = backend.factory(keyspace);
+
+        try (GraknGraph graph = open(GraknTxType.WRITE)) {
+            OntologyGenerator.generate(graph, ontologySize);
+            graph.admin().commitNoLogs();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteGraph(){
+        open(GraknTxType.WRITE).admin().delete();
+    }
+
+    /**
+     *
+     * @param txType The type of transaction to open
+     * @return A new transaction bound to the current thread
+     */
+    public GraknGraph open(GraknTxType txType){
+        return factory.open(txType);
+    }
+}
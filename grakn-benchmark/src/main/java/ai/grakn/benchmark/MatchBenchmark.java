@@ -0,0 +1,100 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.benchmark;
+
+import ai.grakn.GraknGraph;
+import ai.grakn.GraknTxType;
+import ai.grakn.concept.Entity;
+import ai.grakn.concept.EntityType;
+import ai.grakn.concept.RelationType;
+import ai.grakn.concept.Role;
+import ai.grakn.graql.MatchQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+import static ai.grakn.graql.Graql.var;
+
+/**
+ * <p>
+ *     Throughput of building the answers of match queries
+ * </p>
+ *
+ * <p>
+ *     Every answer contains the same hub entity and a different relation and role player, so this measures how
+ *     cheaply a concept which is shared by many answers is built again, as well as building new concepts.
+ *     Every invocation opens a new read transaction so no concept is cached when the query starts.
+ * </p>
+ *
+ * @author fppt
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MatchBenchmark {
+    private static final int ANSWERS = 1000;
+
+    /**
+     * One entity related to {@link #ANSWERS} other entities through the first relation type
+     */
+    @State(Scope.Benchmark)
+    public static class HubState {
+        @Setup(Level.Trial)
+        public void addRelations(GraphState graphState){
+            try (GraknGraph graph = graphState.open(GraknTxType.WRITE)) {
+                RelationType relationType = graph.getRelationType(OntologyGenerator.relationType(0));
+                Role first = graph.getRole(OntologyGenerator.firstRole(0));
+                Role second = graph.getRole(OntologyGenerator.secondRole(0));
+                EntityType others = graph.getEntityType(OntologyGenerator.entityType(graphState.ontologySize - 1));
+
+                Entity hub = graph.getEntityType(OntologyGenerator.entityType(0)).addEntity();
+                for (int i = 0; i < ANSWERS; i++) {
+                    relationType.addRelation().addRolePlayer(first, hub).addRolePlayer(second, others.addEntity());
+                }
+                graph.admin().commitNoLogs();
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ANSWERS)
+    public void matchRelationsOfHub(GraphState graphState, HubState hubState, Blackhole blackhole){
+        try (GraknGraph graph = graphState.open(GraknTxType.READ)) {
+            MatchQuery query = graph.graql().match(var("r").
+                    rel(OntologyGenerator.firstRole(0), "hub").
+                    rel(OntologyGenerator.secondRole(0), "other").
+                    isa(OntologyGenerator.relationType(0)));
+            query.stream().forEach(blackhole::consume);
+        }
+    }
+}
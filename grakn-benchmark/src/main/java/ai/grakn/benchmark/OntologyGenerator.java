@@ -0,0 +1,86 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.benchmark;
+
+import ai.grakn.GraknGraph;
+import ai.grakn.concept.ResourceType;
+import ai.grakn.concept.Role;
+
+/**
+ * <p>
+ *     Generates an ontology of a configurable size
+ * </p>
+ *
+ * <p>
+ *     The ontology is made of {@code size} entity types, resource types and relation types. Entity type {@code i}
+ *     has resource type {@code i}, plays the first role of relation type {@code i} and the second role of
+ *     relation type {@code i + 1}, so every relation type relates two different entity types.
+ *     The labels are derived from the index so benchmarks can look the types up without holding on to them.
+ * </p>
+ *
+ * @author fppt
+ */
+public class OntologyGenerator {
+
+    private OntologyGenerator(){
+        throw new UnsupportedOperationException();
+    }
+
+    public static String entityType(int i){
+        return "entity-" + i;
+    }
+
+    public static String resourceType(int i){
+        return "resource-" + i;
+    }
+
+    public static String relationType(int i){
+        return "relation-" + i;
+    }
+
+    public static String firstRole(int i){
+        return "relation-" + i + "-first";
+    }
+
+    public static String secondRole(int i){
+        return "relation-" + i + "-second";
+    }
+
+    /**
+     * Puts the ontology into the graph. The graph is not committed.
+     *
+     * @param graph The graph to put the ontology into
+     * @param size The number of entity, resource and relation types to generate
+     */
+    public static void generate(GraknGraph graph, int size){
+        for (int i = 0; i < size; i++) {
+            Role first = graph.putRole(firstRole(i));
+            Role second = graph.putRole(secondRole(i));
+            graph.putRelationType(relationType(i)).relates(first).relates(second);
+        }
+
+        for (int i = 0; i < size; i++) {
+            ResourceType<String> resourceType = graph.putResourceType(resourceType(i), ResourceType.DataType.STRING);
+            graph.putEntityType(entityType(i)).
+                    resource(resourceType).
+                    plays(graph.getRole(firstRole(i))).
+                    plays(graph.getRole(secondRole((i + 1) % size)));
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.benchmark;
+
+import ai.grakn.GraknGraph;
+import ai.grakn.GraknTxType;
+import ai.grakn.concept.Concept;
+import ai.grakn.concept.ConceptId;
+import ai.grakn.concept.EntityType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ *     Throughput of looking up committed concepts
+ * </p>
+ *
+ * <p>
+ *     Concepts are cached by the transaction which built them, so every invocation opens a new read
+ *     transaction and looks up {@link #CONCEPTS} concepts which it has never seen. This measures building
+ *     the concepts from their vertices, with the cost of opening the transaction spread across the lookups.
+ * </p>
+ *
+ * @author fppt
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReadBenchmark {
+    private static final int CONCEPTS = 1000;
+
+    /**
+     * The ids of committed entities spread across all the entity types
+     */
+    @State(Scope.Benchmark)
+    public static class ConceptsState {
+        final List<ConceptId> ids = new ArrayList<>(CONCEPTS);
+
+        @Setup(Level.Trial)
+        public void addEntities(GraphState graphState){
+            try (GraknGraph graph = graphState.open(GraknTxType.WRITE)) {
+                for (int j = 0; j < CONCEPTS; j++) {
+                    EntityType entityType = graph.getEntityType(OntologyGenerator.entityType(j % graphState.ontologySize));
+                    ids.add(entityType.addEntity().getId());
+                }
+                graph.admin().commitNoLogs();
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CONCEPTS)
+    public void getConcept(GraphState graphState, ConceptsState conceptsState, Blackhole blackhole){
+        try (GraknGraph graph = graphState.open(GraknTxType.READ)) {
+            for (ConceptId id : conceptsState.ids) {
+                Concept concept = graph.getConcept(id);
+                blackhole.consume(concept);
+            }
+        }
+    }
+}
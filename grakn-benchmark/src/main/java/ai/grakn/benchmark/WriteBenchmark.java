@@ -0,0 +1,156 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.benchmark;
+
+import ai.grakn.GraknGraph;
+import ai.grakn.GraknTxType;
+import ai.grakn.concept.Entity;
+import ai.grakn.concept.EntityType;
+import ai.grakn.concept.Relation;
+import ai.grakn.concept.RelationType;
+import ai.grakn.concept.Resource;
+import ai.grakn.concept.ResourceType;
+import ai.grakn.concept.Role;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ *     Throughput of the write operations of a single transaction
+ * </p>
+ *
+ * <p>
+ *     Each benchmark thread works in its own transaction which is opened before every iteration and aborted
+ *     after it, so nothing is committed and the graph does not grow from one iteration to the next.
+ *     Run with {@code -t} to measure several transactions writing concurrently.
+ * </p>
+ *
+ * @author fppt
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WriteBenchmark {
+
+    /**
+     * An open write transaction with the types it writes to already looked up
+     */
+    @State(Scope.Thread)
+    public static class TxState {
+        GraknGraph graph;
+        EntityType[] entityTypes;
+        ResourceType<String>[] resourceTypes;
+        RelationType[] relationTypes;
+        Role[] firstRoles;
+        Role[] secondRoles;
+        Entity[] entities;
+        long counter = 0;
+
+        @Setup(Level.Iteration)
+        @SuppressWarnings("unchecked")
+        public void openTx(GraphState graphState){
+            int size = graphState.ontologySize;
+            graph = graphState.open(GraknTxType.WRITE);
+            entityTypes = new EntityType[size];
+            resourceTypes = new ResourceType[size];
+            relationTypes = new RelationType[size];
+            firstRoles = new Role[size];
+            secondRoles = new Role[size];
+            entities = new Entity[size];
+
+            for (int i = 0; i < size; i++) {
+                entityTypes[i] = graph.getEntityType(OntologyGenerator.entityType(i));
+                resourceTypes[i] = graph.getResourceType(OntologyGenerator.resourceType(i));
+                relationTypes[i] = graph.getRelationType(OntologyGenerator.relationType(i));
+                firstRoles[i] = graph.getRole(OntologyGenerator.firstRole(i));
+                secondRoles[i] = graph.getRole(OntologyGenerator.secondRole(i));
+                entities[i] = entityTypes[i].addEntity();
+            }
+        }
+
+        @TearDown(Level.Iteration)
+        public void abortTx(){
+            graph.abort();
+        }
+
+        int randomType(){
+            return ThreadLocalRandom.current().nextInt(entityTypes.length);
+        }
+
+        String nextValue(){
+            return Long.toString(counter++);
+        }
+    }
+
+    @Benchmark
+    public EntityType putExistingEntityType(TxState state){
+        return state.graph.putEntityType(OntologyGenerator.entityType(state.randomType()));
+    }
+
+    @Benchmark
+    public EntityType putNewEntityType(TxState state){
+        return state.graph.putEntityType("new-entity-" + state.nextValue());
+    }
+
+    @Benchmark
+    public Entity addEntity(TxState state){
+        return state.entityTypes[state.randomType()].addEntity();
+    }
+
+    @Benchmark
+    public Resource<String> putNewResource(TxState state){
+        return state.resourceTypes[state.randomType()].putResource(state.nextValue());
+    }
+
+    @Benchmark
+    public Resource<String> putExistingResource(TxState state){
+        return state.resourceTypes[0].putResource("existing");
+    }
+
+    @Benchmark
+    public Entity attachResource(TxState state){
+        int i = state.randomType();
+        return state.entities[i].resource(state.resourceTypes[i].putResource(state.nextValue()));
+    }
+
+    @Benchmark
+    public Relation addRelationWithRolePlayers(TxState state){
+        int i = state.randomType();
+        // Entity type i plays the first role of relation i and entity type i - 1 plays its second role
+        int second = (i + state.entities.length - 1) % state.entities.length;
+        return state.relationTypes[i].addRelation().
+                addRolePlayer(state.firstRoles[i], state.entities[i]).
+                addRolePlayer(state.secondRoles[i], state.entities[second]);
+    }
+}
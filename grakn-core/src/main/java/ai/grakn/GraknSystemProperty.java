@@ -30,7 +30,8 @@ public enum GraknSystemProperty {
 
     CURRENT_DIRECTORY("grakn.dir"),
     CONFIGURATION_FILE("grakn.conf"),
-    TEST_PROFILE("grakn.test-profile");
+    TEST_PROFILE("grakn.test-profile"),
+    SESSION_CONFIG_CACHE_TIMEOUT_MS("grakn.session.config-cache-timeout-ms");
 
     private String key;
 
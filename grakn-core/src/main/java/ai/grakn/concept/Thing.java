@@ -89,6 +89,14 @@ public interface Thing extends Concept{
     @CheckReturnValue
     Stream<Resource<?>> resources(ResourceType ... resourceTypes);
 
+    /**
+     * Whether this instance has been materialised by the reasoner from an inference rule.
+     *
+     * @return true if the instance has been inferred rather than inserted
+     */
+    @CheckReturnValue
+    boolean isInferred();
+
     //------------------------------------- Other ---------------------------------
     @Deprecated
     @CheckReturnValue
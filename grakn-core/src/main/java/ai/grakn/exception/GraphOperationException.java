@@ -36,6 +36,7 @@ import java.util.stream.Collectors;
 
 import static ai.grakn.util.ErrorMessage.CLOSE_GRAPH_FAILURE;
 import static ai.grakn.util.ErrorMessage.HAS_INVALID;
+import static ai.grakn.util.ErrorMessage.INDEX_COLLISION;
 import static ai.grakn.util.ErrorMessage.INVALID_DIRECTION;
 import static ai.grakn.util.ErrorMessage.INVALID_PATH_TO_CONFIG;
 import static ai.grakn.util.ErrorMessage.INVALID_PROPERTY_USE;
@@ -265,4 +266,11 @@ public class GraphOperationException extends GraknException{
         throw new GraphOperationException(String.format("Cannot change the super type {%s} to {%s} because {%s} is connected to role {%s} which {%s} is not connected to.",
                 oldSuper.getLabel(), newSuper.getLabel(), oldSuper.getLabel(), role.getLabel(), newSuper.getLabel()));
     }
+
+    /**
+     * Thrown when two different {@link Concept}s have the same digest as their {@link Schema.VertexProperty#INDEX}
+     */
+    public static GraphOperationException indexCollision(String index, Object concept, Concept existing){
+        return new GraphOperationException(INDEX_COLLISION.getMessage(index, concept, existing));
+    }
 }
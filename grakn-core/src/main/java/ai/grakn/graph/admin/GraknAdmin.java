@@ -29,6 +29,7 @@ import ai.grakn.concept.RelationType;
 import ai.grakn.concept.ResourceType;
 import ai.grakn.concept.Role;
 import ai.grakn.concept.RuleType;
+import ai.grakn.concept.Thing;
 import ai.grakn.exception.InvalidGraphException;
 import ai.grakn.util.Schema;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
@@ -37,6 +38,7 @@ import org.apache.tinkerpop.gremlin.structure.Vertex;
 
 import javax.annotation.CheckReturnValue;
 import javax.annotation.Nullable;
+import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -66,6 +68,14 @@ public interface GraknAdmin {
     @CheckReturnValue
     <T extends Concept> T buildConcept(Edge edge);
 
+    /**
+     * Loads the properties of many vertices at once so that building concepts from them does not read the
+     * properties one at a time. Vendors which keep properties in memory do nothing.
+     *
+     * @param vertices The vertices which are about to be built into concepts
+     */
+    void prefetchProperties(Collection<Vertex> vertices);
+
 
     /**
      * Utility function to get a read-only Tinkerpop traversal.
@@ -196,6 +206,61 @@ public interface GraknAdmin {
      */
     void shard(ConceptId conceptId);
 
+    /**
+     * @return true if the owners of popular resources are counted so that the resources can be sharded
+     */
+    @CheckReturnValue
+    boolean isShardingResources();
+
+    /**
+     * Generates the index of a resource or a reified relation again, used to migrate existing keyspaces
+     * to the current index format. A resource which was duplicated under the current index before the migration
+     * is merged into its duplicate.
+     *
+     * @param conceptId the id of the resource or relation
+     * @return true if the index changed and the graph needs to be committed
+     */
+    boolean refreshIndex(ConceptId conceptId);
+
+    /**
+     * The version of the rule base changes every time rules are added or removed and the change is committed.
+     *
+     * @return The version of the committed rules, empty if rules have been added or removed in this transaction
+     */
+    @CheckReturnValue
+    Optional<Long> getRuleBaseVersion();
+
+    /**
+     * Marks an instance as materialised by the reasoner, so that it can later be told apart from inserted data.
+     *
+     * @param thing The instance which has been inferred
+     */
+    void markInferred(Thing thing);
+
+    /**
+     * @return The instances which were added or changed and are not inferred in this transaction
+     */
+    @CheckReturnValue
+    Set<Thing> getAddedInstances();
+
+    /**
+     * @return The labels of the types which gained or changed instances that were not inferred in this transaction
+     */
+    @CheckReturnValue
+    Set<Label> getTypesWithAddedInstances();
+
+    /**
+     * @return The labels of the types which lost instances that were not inferred in this transaction
+     */
+    @CheckReturnValue
+    Set<Label> getTypesWithDeletedInstances();
+
+    /**
+     * @return The ids of the concepts which shared a fact with the instances that were deleted in this transaction
+     */
+    @CheckReturnValue
+    Set<ConceptId> getConceptsOfDeletedInstances();
+
     /**
      *
      * @param key The concept property tp search by.
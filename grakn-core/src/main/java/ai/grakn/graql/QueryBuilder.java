@@ -117,6 +117,13 @@ public interface QueryBuilder {
      */
     void registerMacro(Macro macro);
 
+    /**
+     * Execute a query, profiling the resolutions performed by it
+     * @param query the query to execute, on the graph of this query builder if it has one
+     * @return the result of the query together with its resolution profile
+     */
+    <T> QueryProfile<T> profile(Query<T> query);
+
     /**
      * Enable or disable inference
      */
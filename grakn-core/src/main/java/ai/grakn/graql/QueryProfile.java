@@ -0,0 +1,65 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graql;
+
+import javax.annotation.CheckReturnValue;
+import java.util.Map;
+
+/**
+ * The result of a query executed through {@link QueryBuilder#profile(Query)}, together with the counts and timings
+ * of the resolutions performed while executing it. {@link #toString()} describes the profile, including the tree of
+ * the queries and rules visited during resolution.
+ *
+ * @param <T> the type of the result of the query
+ *
+ * @author Kasper Piskorski
+ */
+public interface QueryProfile<T> {
+
+    /**
+     * @return the result of executing the query
+     */
+    @CheckReturnValue
+    T getResult();
+
+    /**
+     * @return total counts of the resolution events keyed by event name, such as "sub-goals", "answers",
+     * "db-lookups", "cache-hits" and "cache-misses"
+     */
+    @CheckReturnValue
+    Map<String, Long> getTotals();
+
+    /**
+     * @return number of answers produced by each rule keyed by rule id
+     */
+    @CheckReturnValue
+    Map<String, Long> getRuleAnswers();
+
+    /**
+     * @return number of sub goals generated by each kind of resolution state
+     */
+    @CheckReturnValue
+    Map<String, Long> getStateCounts();
+
+    /**
+     * @return time in nanoseconds spent generating sub goals by each kind of resolution state
+     */
+    @CheckReturnValue
+    Map<String, Long> getStateTimes();
+}
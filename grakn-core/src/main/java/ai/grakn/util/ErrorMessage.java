@@ -35,6 +35,7 @@ public enum ErrorMessage {
     INVALID_UNIQUE_PROPERTY_MUTATION("Property [%s] of Concept [%s] cannot be changed to [%s] as it is already taken by Concept [%s]"),
     UNIQUE_PROPERTY_TAKEN("Property [%s] with value [%s] is already taken by concept [%s]"),
     TOO_MANY_CONCEPTS("Too many concepts found for key [%s] and value [%s]"),
+    INDEX_COLLISION("Index [%s] of concept [%s] is already used by the different concept [%s]"),
     INVALID_DATATYPE("The value [%s] must be of datatype [%s]"),
     INVALID_OBJECT_TYPE("The concept [%s] is not of type [%s]"),
     REGEX_INSTANCE_FAILURE("The regex [%s] of Resource Type [%s] cannot be applied because value [%s] " +
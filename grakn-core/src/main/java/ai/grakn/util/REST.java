@@ -136,6 +136,7 @@ public class REST {
             public static final String QUERY = "query";
             public static final String INFER = "infer";
             public static final String MATERIALISE = "materialise";
+            public static final String PROFILE = "profile";
             public static final String LIMIT_EMBEDDED = "limitEmbedded";
         }
     }
@@ -222,6 +223,7 @@ public class REST {
         public static final String OUTPUT_FORMAT = "outputFormat";
         public static final String INFER = "infer";
         public static final String MATERIALISE = "materialise";
+        public static final String PROFILE = "profile";
         public static final String QUERY = "query";
         public static final String QUERY_RESULT = "result";
         public static final String ERROR = "error";
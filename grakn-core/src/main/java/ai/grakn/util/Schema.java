@@ -34,6 +34,10 @@ import ai.grakn.concept.Type;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 
 import javax.annotation.CheckReturnValue;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 
 import static ai.grakn.util.ErrorMessage.INVALID_IMPLICIT_TYPE;
 
@@ -162,7 +166,7 @@ public final class Schema {
         //Other Properties
         THING_TYPE_LABEL_ID(Integer.class), IS_ABSTRACT(Boolean.class), IS_IMPLICIT(Boolean.class),
         REGEX(String.class), DATA_TYPE(String.class), SHARD_COUNT(Long.class), CURRENT_LABEL_ID(Integer.class),
-        RULE_WHEN(String.class), RULE_THEN(String.class), CURRENT_SHARD(String.class),
+        RULE_WHEN(String.class), RULE_THEN(String.class), CURRENT_SHARD(String.class), IS_INFERRED(Boolean.class),
 
         //Supported Data Types
         VALUE_STRING(String.class), VALUE_LONG(Long.class),
@@ -303,6 +307,37 @@ public final class Schema {
      */
     @CheckReturnValue
     public static String generateResourceIndex(Label label, String value){
+        return generateIndexDigest(generateLegacyResourceIndex(label, value));
+    }
+
+    /**
+     * Resources of keyspaces which have not been reindexed yet are still indexed by their full key,
+     * see {@link ai.grakn.graph.admin.GraknAdmin#refreshIndex}.
+     *
+     * @param label The resource type label
+     * @param value The value of the resource
+     * @return The full key of the resource which {@link #generateResourceIndex(Label, String)} digests
+     */
+    @CheckReturnValue
+    public static String generateLegacyResourceIndex(Label label, String value){
         return Schema.BaseType.RESOURCE.name() + "-" + label + "-" + value;
     }
+
+    /**
+     * Digests a unique key so that it can be stored in the {@link VertexProperty#INDEX} with a fixed width.
+     * Different keys can share a digest, so a concept found through the index should be checked against the key.
+     *
+     * @param key The full key of a concept
+     * @return A 128 bit digest of the key
+     */
+    @CheckReturnValue
+    public static String generateIndexDigest(String key){
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(key.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            //Every Java platform is required to support MD5
+            throw new IllegalStateException(e);
+        }
+    }
 }
@@ -76,6 +76,10 @@ public class GraknEngineConfig {
     // Delay for the post processing task in milliseconds
     public static final String POST_PROCESSING_TASK_DELAY = "tasks.postprocessing.delay";
     public static final String TASKS_RETRY_DELAY = "tasks.retry.delay";
+    // Number of resource indices fixed in a single transaction by a post processing task
+    public static final String POST_PROCESSING_BATCH_SIZE = "tasks.postprocessing.batch-size";
+    // Number of high priority jobs taken for each low priority job when both are waiting
+    public static final String TASKS_QUEUE_HIGH_PRIORITY_WEIGHT = "tasks.queue.high-priority-weight";
 
     public static final int WEBSOCKET_TIMEOUT = 3600000;
 
@@ -32,6 +32,7 @@ import ai.grakn.engine.factory.EngineGraknGraphFactory;
 import ai.grakn.engine.lock.JedisLockProvider;
 import ai.grakn.engine.lock.LockProvider;
 import ai.grakn.engine.lock.ProcessWideLockProvider;
+import ai.grakn.engine.postprocessing.PostProcessingCoalescer;
 import ai.grakn.engine.session.RemoteSession;
 import ai.grakn.engine.tasks.connection.RedisCountStorage;
 import ai.grakn.engine.tasks.manager.StandaloneTaskManager;
@@ -98,6 +99,7 @@ public class GraknEngineServer implements AutoCloseable {
     private final LockProvider lockProvider;
     private final GraknEngineStatus graknEngineStatus = new GraknEngineStatus();
     private final RedisWrapper redisWrapper;
+    private final PostProcessingCoalescer postProcessingCoalescer;
 
     public GraknEngineServer(GraknEngineConfig prop) {
         this.prop = prop;
@@ -114,6 +116,10 @@ public class GraknEngineServer implements AutoCloseable {
         this.factory = EngineGraknGraphFactory.create(prop.getProperties());
         // Task manager
         this.taskManager = startTaskManager(inMemoryQueue, redisWrapper.getJedisPool(), lockProvider);
+        // Post processing jobs are persisted and merged across commits before being fixed
+        this.postProcessingCoalescer = new PostProcessingCoalescer(taskManager,
+                RedisCountStorage.create(redisWrapper.getJedisPool(), metricRegistry),
+                prop.getPropertyAsInt(GraknEngineConfig.POST_PROCESSING_TASK_DELAY), metricRegistry);
     }
 
     public static void main(String[] args) {
@@ -133,6 +139,7 @@ public class GraknEngineServer implements AutoCloseable {
                 prop.getProperty(GraknEngineConfig.SERVER_PORT_NUMBER));
         synchronized (this){
             lockAndInitializeSystemOntology();
+            postProcessingCoalescer.submitPersistedJobs();
             startHTTP();
         }
         graknEngineStatus.setReady(true);
@@ -216,7 +223,6 @@ public class GraknEngineServer implements AutoCloseable {
         spark.webSocket(REST.WebPath.REMOTE_SHELL_URI, graqlWebSocket);
 
         String defaultKeyspace = prop.getProperty(GraknEngineConfig.DEFAULT_KEYSPACE_PROPERTY);
-        int postProcessingDelay = prop.getPropertyAsInt(GraknEngineConfig.POST_PROCESSING_TASK_DELAY);
 
         // Start all the controllers
         new GraqlController(factory, spark, metricRegistry);
@@ -225,7 +231,7 @@ public class GraknEngineServer implements AutoCloseable {
         new SystemController(factory, spark, graknEngineStatus, metricRegistry);
         new AuthController(spark, passwordProtected, jwtHandler, usersHandler);
         new UserController(spark, usersHandler);
-        new CommitLogController(spark, defaultKeyspace, postProcessingDelay, taskManager);
+        new CommitLogController(spark, defaultKeyspace, postProcessingCoalescer, taskManager);
         new TasksController(spark, taskManager, metricRegistry);
 
         // This method will block until all the controllers are ready to serve requests
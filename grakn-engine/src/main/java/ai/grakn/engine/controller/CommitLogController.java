@@ -18,7 +18,7 @@
 
 package ai.grakn.engine.controller;
 
-import ai.grakn.engine.postprocessing.PostProcessingTask;
+import ai.grakn.engine.postprocessing.PostProcessingCoalescer;
 import ai.grakn.engine.postprocessing.UpdatingInstanceCountTask;
 import ai.grakn.engine.tasks.manager.TaskConfiguration;
 import ai.grakn.engine.tasks.manager.TaskManager;
@@ -31,10 +31,10 @@ import io.swagger.annotations.ApiImplicitParam;
 import io.swagger.annotations.ApiImplicitParams;
 import io.swagger.annotations.ApiOperation;
 import java.util.Optional;
-import java.util.concurrent.CompletableFuture;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.GET;
 import javax.ws.rs.Path;
+import mjson.Json;
 import spark.Request;
 import spark.Response;
 import spark.Service;
@@ -48,11 +48,11 @@ import spark.Service;
 public class CommitLogController {
     private final String defaultKeyspace;
     private final TaskManager manager;
-    private final int postProcessingDelay;
+    private final PostProcessingCoalescer postProcessing;
 
-    public CommitLogController(Service spark, String defaultKeyspace, int postProcessingDelay, TaskManager manager){
+    public CommitLogController(Service spark, String defaultKeyspace, PostProcessingCoalescer postProcessing, TaskManager manager){
         this.defaultKeyspace = defaultKeyspace;
-        this.postProcessingDelay = postProcessingDelay;
+        this.postProcessing = postProcessing;
         this.manager = manager;
 
         spark.post(REST.WebPath.COMMIT_LOG_URI, this::submitConcepts);
@@ -80,21 +80,15 @@ public class CommitLogController {
     private String submitConcepts(Request req, Response res) {
         String keyspace = Optional.ofNullable(req.queryParams(KEYSPACE_PARAM)).orElse(defaultKeyspace);
 
-        // Instances to post process
-        TaskState postProcessingTaskState = PostProcessingTask.createTask(this.getClass(), postProcessingDelay);
-        TaskConfiguration postProcessingTaskConfiguration = PostProcessingTask.createConfig(keyspace, req.body());
+        // Instances to post process, persisted and merged with the jobs of other commits before replying
+        postProcessing.addJobs(keyspace, Json.read(req.body()));
 
         //Instances to count
         TaskState countingTaskState = UpdatingInstanceCountTask.createTask(this.getClass());
         TaskConfiguration countingTaskConfiguration = UpdatingInstanceCountTask.createConfig(keyspace, req.body());
-
-        // TODO Use an engine wide executor here
-        CompletableFuture.allOf(
-                CompletableFuture.runAsync(() -> manager.addTask(postProcessingTaskState, postProcessingTaskConfiguration)),
-                CompletableFuture.runAsync(() -> manager.addTask(countingTaskState, countingTaskConfiguration)))
-                .join();
+        manager.addTask(countingTaskState, countingTaskConfiguration);
 
         // TODO return Json
-        return "PP Task [ " + postProcessingTaskState.getId().getValue() + " ] and Counting task [" + countingTaskState.getId().getValue() + "] created for graph [" + keyspace + "]";
+        return "PP jobs persisted and Counting task [" + countingTaskState.getId().getValue() + "] created for graph [" + keyspace + "]";
     }
 }
@@ -32,6 +32,7 @@ import ai.grakn.graql.Printer;
 import ai.grakn.graql.Query;
 import ai.grakn.graql.analytics.PathQuery;
 import ai.grakn.graql.internal.printer.Printers;
+import ai.grakn.graql.internal.reasoner.profile.ResolutionProfiler;
 import ai.grakn.util.REST;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Timer;
@@ -52,6 +53,8 @@ import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
 import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import static ai.grakn.GraknTxType.WRITE;
 import static ai.grakn.engine.controller.util.Requests.mandatoryBody;
@@ -62,6 +65,7 @@ import static ai.grakn.graql.internal.hal.HALBuilder.renderHALConceptData;
 import static ai.grakn.util.REST.Request.Graql.INFER;
 import static ai.grakn.util.REST.Request.Graql.LIMIT_EMBEDDED;
 import static ai.grakn.util.REST.Request.Graql.MATERIALISE;
+import static ai.grakn.util.REST.Request.Graql.PROFILE;
 import static ai.grakn.util.REST.Request.Graql.QUERY;
 import static ai.grakn.util.REST.Request.KEYSPACE;
 import static ai.grakn.util.REST.Response.ContentType.APPLICATION_HAL;
@@ -84,13 +88,16 @@ import static java.lang.Boolean.parseBoolean;
 public class GraqlController {
 
     private static final Logger LOG = LoggerFactory.getLogger(GraqlController.class);
+    private static final String RESPONSE = "response";
     private final EngineGraknGraphFactory factory;
+    private final MetricRegistry metricRegistry;
     private final Timer executeGraqlGetTimer;
     private final Timer executeGraqlPostTimer;
 
     public GraqlController(EngineGraknGraphFactory factory, Service spark,
             MetricRegistry metricRegistry) {
         this.factory = factory;
+        this.metricRegistry = metricRegistry;
         this.executeGraqlGetTimer = metricRegistry.timer(name(GraqlController.class, "execute-graql-get"));
         this.executeGraqlPostTimer = metricRegistry.timer(name(GraqlController.class, "execute-graql-post"));
 
@@ -115,12 +122,14 @@ public class GraqlController {
         String keyspace = mandatoryQueryParameter(request, KEYSPACE);
         boolean infer = parseBoolean(mandatoryQueryParameter(request, INFER));
         boolean materialise = parseBoolean(mandatoryQueryParameter(request, MATERIALISE));
+        boolean profile = queryParameter(request, PROFILE).map(Boolean::parseBoolean).orElse(false);
         int limitEmbedded = queryParameter(request, LIMIT_EMBEDDED).map(Integer::parseInt).orElse(-1);
         String acceptType = getAcceptType(request);
 
         try(GraknGraph graph = factory.getGraph(keyspace, WRITE); Timer.Context context = executeGraqlPostTimer.time()) {
             Query<?> query = graph.graql().materialise(materialise).infer(infer).parse(queryString);
-            Object resp = respond(response, acceptType, executeQuery(keyspace, limitEmbedded, query, acceptType));
+            Object responseBody = execute(profile, acceptType, () -> executeQuery(keyspace, limitEmbedded, query, acceptType));
+            Object resp = respond(response, acceptType, responseBody);
             graph.commit();
             return resp;
         }
@@ -135,13 +144,15 @@ public class GraqlController {
             @ApiImplicitParam(name = KEYSPACE,    value = "Name of graph to use", required = true, dataType = "string", paramType = "query"),
             @ApiImplicitParam(name = QUERY,       value = "Match query to execute", required = true, dataType = "string", paramType = "query"),
             @ApiImplicitParam(name = INFER,       value = "Should reasoner with the current query.", required = true, dataType = "boolean", paramType = "query"),
-            @ApiImplicitParam(name = MATERIALISE, value = "Should reasoner materialise results with the current query.", required = true, dataType = "boolean", paramType = "query")
+            @ApiImplicitParam(name = MATERIALISE, value = "Should reasoner materialise results with the current query.", required = true, dataType = "boolean", paramType = "query"),
+            @ApiImplicitParam(name = PROFILE,     value = "Should the resolution profile of the query be returned with the response.", dataType = "boolean", paramType = "query")
     })
     private Object executeGraqlGET(Request request, Response response) {
         String keyspace = mandatoryQueryParameter(request, KEYSPACE);
         String queryString = mandatoryQueryParameter(request, QUERY);
         boolean infer = parseBoolean(mandatoryQueryParameter(request, INFER));
         boolean materialise = parseBoolean(mandatoryQueryParameter(request, MATERIALISE));
+        boolean profile = queryParameter(request, PROFILE).map(Boolean::parseBoolean).orElse(false);
         int limitEmbedded = queryParameter(request, LIMIT_EMBEDDED).map(Integer::parseInt).orElse(-1);
         String acceptType = getAcceptType(request);
 
@@ -152,11 +163,35 @@ public class GraqlController {
 
             if(!validContentType(acceptType, query)) throw GraknServerException.contentTypeQueryMismatch(acceptType, query);
 
-            Object responseBody = executeGET(keyspace, limitEmbedded, query, acceptType);
+            Object responseBody = execute(profile, acceptType, () -> executeGET(keyspace, limitEmbedded, query, acceptType));
             return respond(response, acceptType, responseBody);
         }
     }
 
+    /**
+     * Execute a query, profiling its resolution if requested. The profile is appended to text responses and
+     * returned next to the response otherwise. The totals of the profile are published to the metric registry.
+     *
+     * @param profile whether the resolution of the query should be profiled
+     * @param acceptType response format that the client will accept
+     * @param execution execution of the query producing the response body
+     * @return response body
+     */
+    private Object execute(boolean profile, String acceptType, Supplier<Object> execution){
+        if (!profile) return execution.get();
+
+        try (ResolutionProfiler profiler = ResolutionProfiler.start()) {
+            Object responseBody = execution.get();
+            profiler.getTotals().forEach((event, count) ->
+                    metricRegistry.counter(name(GraqlController.class, "reasoner", event)).inc(count));
+            profiler.getStateTimes().forEach((state, nanos) ->
+                    metricRegistry.timer(name(GraqlController.class, "reasoner", state)).update(nanos, TimeUnit.NANOSECONDS));
+
+            if (acceptType.equals(APPLICATION_TEXT)) return responseBody + "\n" + profiler;
+            return Json.object(RESPONSE, responseBody, PROFILE, profiler.toJson());
+        }
+    }
+
     /**
      * Handle any {@link Exception} that are thrown by the server. Configures and returns
      * the correct JSON response with the given status.
@@ -0,0 +1,110 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.engine.lock;
+
+import com.google.common.collect.ImmutableList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * <p>
+ *     A lock made of several locks which are acquired and released together
+ * </p>
+ *
+ * <p>
+ *     The locks are always acquired in the order they are given and released in the reverse order.
+ *     If one of them cannot be acquired all the ones acquired so far are released.
+ * </p>
+ *
+ * @author Domenico Corapi
+ */
+public class CompositeLock implements Lock {
+
+    private final List<Lock> locks;
+
+    public CompositeLock(List<Lock> locks) {
+        this.locks = ImmutableList.copyOf(locks);
+    }
+
+    @Override
+    public void lock() {
+        locks.forEach(Lock::lock);
+    }
+
+    @Override
+    public void lockInterruptibly() throws InterruptedException {
+        int acquired = 0;
+        try {
+            for (Lock lock : locks) {
+                lock.lockInterruptibly();
+                acquired++;
+            }
+        } finally {
+            if (acquired < locks.size()) unlock(acquired);
+        }
+    }
+
+    @Override
+    public boolean tryLock() {
+        int acquired = 0;
+        for (Lock lock : locks) {
+            if (!lock.tryLock()) {
+                unlock(acquired);
+                return false;
+            }
+            acquired++;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(time);
+        int acquired = 0;
+        try {
+            for (Lock lock : locks) {
+                if (!lock.tryLock(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                    return false;
+                }
+                acquired++;
+            }
+            return true;
+        } finally {
+            if (acquired < locks.size()) unlock(acquired);
+        }
+    }
+
+    @Override
+    public void unlock() {
+        unlock(locks.size());
+    }
+
+    private void unlock(int acquired) {
+        for (int i = acquired - 1; i >= 0; i--) {
+            locks.get(i).unlock();
+        }
+    }
+
+    @Override
+    public Condition newCondition() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -17,25 +17,66 @@
  */
 package ai.grakn.engine.lock;
 
+import ai.grakn.engine.lock.JedisStripedLock.Stripe;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
 import java.util.concurrent.locks.Lock;
+import static java.util.stream.Collectors.toList;
 import redis.clients.jedis.Jedis;
 import redis.clients.util.Pool;
 
 /**
  * Provider for Jedis lock
  *
+ * <p>
+ *     Lock names are hashed onto a fixed number of stripes, each backed by a single redis key.
+ *     Locks over several names acquire all their stripes in one redis script.
+ * </p>
+ *
  * @author Domenico Corapi
  */
 public class JedisLockProvider implements LockProvider {
 
-    private Pool<Jedis> client;
+    public static final int DEFAULT_STRIPES = 1024;
+    private static final long EXPIRE_MS = 60 * 1000;
+
+    private final Pool<Jedis> client;
+    // Identifies the locks held by this engine
+    private final String owner = UUID.randomUUID().toString();
+    private final Stripe[] stripes;
 
     public JedisLockProvider(Pool<Jedis> client) {
+        this(client, DEFAULT_STRIPES);
+    }
+
+    public JedisLockProvider(Pool<Jedis> client, int numberOfStripes) {
         this.client = client;
+        this.stripes = new Stripe[numberOfStripes];
+        for (int i = 0; i < numberOfStripes; i++) {
+            stripes[i] = new Stripe("lock:stripe:" + i);
+        }
     }
 
     @Override
     public Lock getLock(String lockName) {
-        return new JedisLock(client, lockName);
+        return getLocks(Collections.singleton(lockName));
+    }
+
+    @Override
+    public Lock getLocks(Collection<String> lockNames) {
+        // Stripes are sorted so that every lock acquires them in the same order
+        List<Stripe> lockStripes = lockNames.stream()
+                .mapToInt(this::stripeIndex)
+                .distinct()
+                .sorted()
+                .mapToObj(i -> stripes[i])
+                .collect(toList());
+        return new JedisStripedLock(client, owner, EXPIRE_MS, lockStripes);
+    }
+
+    private int stripeIndex(String lockName) {
+        return Math.floorMod(lockName.hashCode(), stripes.length);
     }
 }
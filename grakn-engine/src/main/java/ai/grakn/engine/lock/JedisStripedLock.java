@@ -0,0 +1,251 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ *
+ */
+
+package ai.grakn.engine.lock;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.Uninterruptibles;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import redis.clients.jedis.Jedis;
+import redis.clients.util.Pool;
+
+/**
+ * <p>
+ *     Lock over a set of redis lock stripes
+ * </p>
+ *
+ * <p>
+ *     Every stripe is guarded first by a local lock, so threads of the same engine wait on each other
+ *     in process instead of polling redis. The stripes which are not already held by this engine are then
+ *     acquired all at once with a single script, so a lock over many names costs one round-trip.
+ *     When a thread releases a stripe while another local thread is waiting for it, the redis lease is
+ *     handed over rather than released, as long as it has not been held for too long.
+ * </p>
+ *
+ * @author Domenico Corapi
+ */
+class JedisStripedLock implements Lock {
+
+    private static final long RETRY_INTERVAL_MS = 100;
+
+    // Sets all the keys only if none of them is held by somebody else
+    private static final String ACQUIRE_SCRIPT =
+            "for i, key in ipairs(KEYS) do " +
+            "  local owner = redis.call('get', key) " +
+            "  if owner and owner ~= ARGV[1] then return 0 end " +
+            "end " +
+            "for i, key in ipairs(KEYS) do " +
+            "  redis.call('set', key, ARGV[1], 'PX', ARGV[2]) " +
+            "end " +
+            "return 1";
+
+    // Deletes the keys which are still held by the given owner
+    private static final String RELEASE_SCRIPT =
+            "local released = 0 " +
+            "for i, key in ipairs(KEYS) do " +
+            "  if redis.call('get', key) == ARGV[1] then " +
+            "    redis.call('del', key) " +
+            "    released = released + 1 " +
+            "  end " +
+            "end " +
+            "return released";
+
+    /**
+     * Local state of a stripe, shared by all the locks of a {@link JedisLockProvider}
+     */
+    static class Stripe {
+        private final String key;
+        private final ReentrantLock local = new ReentrantLock(true);
+        // When this engine acquired the redis key of the stripe, 0 if it does not hold it. Guarded by local.
+        private long leaseAcquired = 0;
+
+        Stripe(String key) {
+            this.key = key;
+        }
+    }
+
+    private final Pool<Jedis> jedis;
+    private final String owner;
+    private final long expireMs;
+    private final List<Stripe> stripes;
+
+    /**
+     * @param stripes The stripes to lock, they must be sorted in the same order for every lock
+     */
+    JedisStripedLock(Pool<Jedis> jedis, String owner, long expireMs, List<Stripe> stripes) {
+        Preconditions.checkNotNull(jedis, "JedisPool used in lock cannot be null");
+        Preconditions.checkArgument(!stripes.isEmpty(), "A lock needs at least one stripe");
+        this.jedis = jedis;
+        this.owner = owner;
+        this.expireMs = expireMs;
+        this.stripes = stripes;
+    }
+
+    @Override
+    public void lock() {
+        stripes.forEach(stripe -> stripe.local.lock());
+        while (!tryAcquireRedis()) {
+            Uninterruptibles.sleepUninterruptibly(RETRY_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void lockInterruptibly() throws InterruptedException {
+        int acquired = 0;
+        boolean locked = false;
+        try {
+            for (Stripe stripe : stripes) {
+                stripe.local.lockInterruptibly();
+                acquired++;
+            }
+            while (!tryAcquireRedis()) {
+                Thread.sleep(RETRY_INTERVAL_MS);
+            }
+            locked = true;
+        } finally {
+            if (!locked) unlockLocal(acquired);
+        }
+    }
+
+    @Override
+    public boolean tryLock() {
+        int acquired = 0;
+        for (Stripe stripe : stripes) {
+            if (!stripe.local.tryLock()) {
+                unlockLocal(acquired);
+                return false;
+            }
+            acquired++;
+        }
+        if (tryAcquireRedis()) return true;
+        unlockLocal(acquired);
+        return false;
+    }
+
+    @Override
+    public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+        Preconditions.checkNotNull(unit);
+        long deadline = System.currentTimeMillis() + unit.toMillis(time);
+        int acquired = 0;
+        boolean locked = false;
+        try {
+            for (Stripe stripe : stripes) {
+                if (!stripe.local.tryLock(deadline - System.currentTimeMillis(), TimeUnit.MILLISECONDS)) {
+                    return false;
+                }
+                acquired++;
+            }
+            while (!tryAcquireRedis()) {
+                if (System.currentTimeMillis() + RETRY_INTERVAL_MS > deadline) return false;
+                Thread.sleep(RETRY_INTERVAL_MS);
+            }
+            locked = true;
+            return true;
+        } finally {
+            if (!locked) unlockLocal(acquired);
+        }
+    }
+
+    @Override
+    public void unlock() {
+        long now = System.currentTimeMillis();
+        List<String> toRelease = new ArrayList<>();
+        for (Stripe stripe : stripes) {
+            Preconditions.checkState(stripe.local.isHeldByCurrentThread(), "Lock is not held by the current thread");
+            if (stripe.local.getHoldCount() > 1 || stripe.leaseAcquired == 0) continue;
+
+            // Short-circuit: keep the lease in this engine if a local thread is waiting for it
+            boolean handOver = stripe.local.hasQueuedThreads() && now - stripe.leaseAcquired < expireMs / 4;
+            if (!handOver) {
+                toRelease.add(stripe.key);
+                stripe.leaseAcquired = 0;
+            }
+        }
+        try {
+            release(toRelease);
+        } finally {
+            unlockLocal(stripes.size());
+        }
+    }
+
+    @Override
+    public Condition newCondition() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Acquire in a single round-trip the redis keys of all the stripes not already held by this engine.
+     * Must be called while holding all the local locks.
+     *
+     * @return true if all the stripes are now held by this engine
+     */
+    private boolean tryAcquireRedis() {
+        long now = System.currentTimeMillis();
+        List<Stripe> needed = new ArrayList<>();
+        for (Stripe stripe : stripes) {
+            // Leases which are about to expire are renewed together with the new ones
+            if (stripe.leaseAcquired == 0 || now - stripe.leaseAcquired > expireMs / 2) {
+                needed.add(stripe);
+            }
+        }
+        if (needed.isEmpty()) return true;
+
+        List<String> keys = new ArrayList<>(needed.size());
+        needed.forEach(stripe -> keys.add(stripe.key));
+        try (Jedis r = jedis.getResource()) {
+            Object result = r.eval(ACQUIRE_SCRIPT, keys, Arrays.asList(owner, String.valueOf(expireMs)));
+            if (Long.valueOf(1).equals(result)) {
+                needed.forEach(stripe -> stripe.leaseAcquired = now);
+                return true;
+            }
+        }
+
+        // Do not hold on to leases handed over by other local threads while waiting,
+        // otherwise two engines could each hold part of what the other needs
+        List<String> handedOver = new ArrayList<>();
+        for (Stripe stripe : stripes) {
+            if (stripe.leaseAcquired != 0 && stripe.local.getHoldCount() == 1) {
+                handedOver.add(stripe.key);
+                stripe.leaseAcquired = 0;
+            }
+        }
+        release(handedOver);
+        return false;
+    }
+
+    private void release(List<String> keys) {
+        if (keys.isEmpty()) return;
+        try (Jedis r = jedis.getResource()) {
+            r.eval(RELEASE_SCRIPT, keys, Collections.singletonList(owner));
+        }
+    }
+
+    private void unlockLocal(int acquired) {
+        for (int i = acquired - 1; i >= 0; i--) {
+            stripes.get(i).local.unlock();
+        }
+    }
+}
@@ -17,7 +17,9 @@
  */
 package ai.grakn.engine.lock;
 
+import java.util.Collection;
 import java.util.concurrent.locks.Lock;
+import static java.util.stream.Collectors.toList;
 
 /**
  * Distributed lock interface
@@ -26,4 +28,15 @@ import java.util.concurrent.locks.Lock;
  */
 public interface LockProvider {
     Lock getLock(String lockName);
+
+    /**
+     * Get a single lock covering all the given names. The underlying locks are always taken in the same
+     * order, so callers locking overlapping sets of names cannot deadlock each other.
+     *
+     * @param lockNames The names of the locks to acquire together
+     * @return A lock which acquires and releases all the given locks at once
+     */
+    default Lock getLocks(Collection<String> lockNames) {
+        return new CompositeLock(lockNames.stream().distinct().sorted().map(this::getLock).collect(toList()));
+    }
 }
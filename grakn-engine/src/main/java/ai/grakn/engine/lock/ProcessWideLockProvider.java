@@ -18,7 +18,9 @@
 
 package ai.grakn.engine.lock;
 
+import com.google.common.collect.Lists;
 import com.google.common.util.concurrent.Striped;
+import java.util.Collection;
 import java.util.concurrent.locks.Lock;
 
 /**
@@ -39,4 +41,10 @@ public class ProcessWideLockProvider implements LockProvider {
     public Lock getLock(String lockToObtain){
         return locks.get(lockToObtain);
     }
+
+    @Override
+    public Lock getLocks(Collection<String> locksToObtain){
+        // Striped returns the locks sorted by stripe, which is a consistent order for every caller
+        return new CompositeLock(Lists.newArrayList(locks.bulkGet(locksToObtain)));
+    }
 }
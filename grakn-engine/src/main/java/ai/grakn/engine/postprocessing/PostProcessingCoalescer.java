@@ -0,0 +1,132 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+package ai.grakn.engine.postprocessing;
+
+import ai.grakn.engine.tasks.connection.RedisCountStorage;
+import ai.grakn.engine.tasks.manager.TaskState;
+import ai.grakn.engine.tasks.manager.TaskSubmitter;
+import ai.grakn.util.REST;
+import ai.grakn.util.Schema;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import static com.codahale.metrics.MetricRegistry.name;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import mjson.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>
+ *     Merges post processing jobs coming from different commits before they are fixed
+ * </p>
+ *
+ * <p>
+ *     Every commit log produces a set of resource indices with the ids of the potential duplicates.
+ *     The jobs are persisted in redis, merged by resource index, before the commit log is acknowledged.
+ *     A single {@link PostProcessingTask} waits per keyspace and fixes all the jobs persisted by the time
+ *     it runs, so each index is only checked and locked once no matter how many commits referenced it.
+ *     Jobs are only removed from redis once they have been fixed.
+ * </p>
+ *
+ * @author fppt
+ */
+public class PostProcessingCoalescer {
+    private final static Logger LOG = LoggerFactory.getLogger(PostProcessingCoalescer.class);
+
+    // How long a waiting task blocks new ones after its delay, in case it was lost
+    private static final long SCHEDULE_TIMEOUT = Duration.ofMinutes(10).toMillis();
+
+    private final TaskSubmitter taskSubmitter;
+    private final RedisCountStorage redis;
+    private final int taskDelay;
+    private final Meter received;
+    private final Meter submitted;
+
+    /**
+     * @param taskSubmitter Where the post processing tasks are submitted
+     * @param redis Where the jobs are persisted until they are fixed
+     * @param postProcessingDelay The delay in milliseconds between a commit and its post processing
+     * @param metricRegistry Metric registry
+     */
+    public PostProcessingCoalescer(TaskSubmitter taskSubmitter, RedisCountStorage redis, int postProcessingDelay, MetricRegistry metricRegistry) {
+        this.taskSubmitter = taskSubmitter;
+        this.redis = redis;
+        this.taskDelay = postProcessingDelay;
+        this.received = metricRegistry.meter(name(PostProcessingCoalescer.class, "received"));
+        this.submitted = metricRegistry.meter(name(PostProcessingCoalescer.class, "submitted"));
+    }
+
+    /**
+     * Persist the post processing jobs of a commit log and make sure a task will fix them.
+     * When this method returns the jobs survive a restart of engine.
+     *
+     * @param keyspace The keyspace the commit log belongs to
+     * @param commitLog The commit log as sent by the client
+     */
+    public void addJobs(String keyspace, Json commitLog) {
+        Json fixing = commitLog.at(REST.Request.COMMIT_LOG_FIXING);
+        if (fixing == null || !fixing.has(Schema.BaseType.RESOURCE.name())) return;
+
+        Map<String, Json> resourceJobs = fixing.at(Schema.BaseType.RESOURCE.name()).asJsonMap();
+        if (resourceJobs.isEmpty()) return;
+
+        Map<String, Set<String>> jobs = new HashMap<>();
+        for (Map.Entry<String, Json> job : resourceJobs.entrySet()) {
+            Set<String> ids = new HashSet<>();
+            job.getValue().asJsonList().forEach(id -> ids.add(id.asString()));
+            if (!ids.isEmpty()) jobs.put(job.getKey(), ids);
+        }
+        if (jobs.isEmpty()) return;
+
+        redis.addPostProcessingJobs(keyspace, jobs);
+        received.mark();
+
+        // Commits arriving while a task waits are picked up by that task
+        if (redis.markPostProcessingScheduled(keyspace, taskDelay + SCHEDULE_TIMEOUT)) {
+            submit(keyspace, taskDelay);
+        }
+    }
+
+    /**
+     * Submit a task for every keyspace which had jobs persisted, so that the jobs left behind by a
+     * previous run of engine are fixed without waiting for another commit to the same keyspace.
+     */
+    public void submitPersistedJobs() {
+        for (String keyspace : redis.getPostProcessingKeyspaces()) {
+            redis.markPostProcessingScheduled(keyspace, SCHEDULE_TIMEOUT);
+            submit(keyspace, 0);
+        }
+    }
+
+    private void submit(String keyspace, int delay) {
+        try {
+            TaskState taskState = PostProcessingTask.createTask(PostProcessingCoalescer.class, delay);
+            taskSubmitter.addTask(taskState, PostProcessingTask.createConfig(keyspace));
+            submitted.mark();
+            LOG.debug("Submitted post processing task [{}] for graph [{}]", taskState.getId().getValue(), keyspace);
+        } catch (RuntimeException e) {
+            // The jobs are persisted, so the next commit to the keyspace will submit a task for them
+            redis.clearPostProcessingScheduled(keyspace);
+            LOG.error("Could not submit post processing task for graph [{}]", keyspace, e);
+        }
+    }
+}
@@ -30,10 +30,15 @@ import ai.grakn.util.Schema;
 import static com.codahale.metrics.MetricRegistry.name;
 import com.codahale.metrics.Timer.Context;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Iterables;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.locks.Lock;
 import java.util.stream.Collectors;
 import mjson.Json;
@@ -47,6 +52,10 @@ import org.slf4j.LoggerFactory;
  *
  * <p>
  *     This task begins only if enough time has passed (configurable) since the last time a job was added.
+ *     The jobs are either part of the task configuration or persisted in redis by the {@link PostProcessingCoalescer},
+ *     in which case they are removed from redis once fixed.
+ *     The jobs of a task are split in batches of resource indices, each batch is fixed in a single transaction.
+ *     When a batch fails its indices are retried one per transaction, so a bad index only fails itself.
  * </p>
  *
  * @author alexandraorth, fppt
@@ -55,6 +64,7 @@ public class PostProcessingTask extends BackgroundTask {
     private static final Logger LOG = LoggerFactory.getLogger(PostProcessingTask.class);
     private static final String JOB_FINISHED = "Post processing Job [{}] completed for indeces and ids: [{}]";
     private static final String LOCK_KEY = "/post-processing-lock";
+    private static final int DEFAULT_BATCH_SIZE = 100;
 
     /**
      * Apply CASTING and RESOURCE post processing jobs the concept ids in the provided configuration
@@ -65,22 +75,51 @@ public class PostProcessingTask extends BackgroundTask {
     public boolean start() {
         try (Context context = metricRegistry()
                 .timer(name(PostProcessingTask.class, "execution")).time()) {
-            Map<String, Set<ConceptId>> allToPostProcess = getPostProcessingJobs(Schema.BaseType.RESOURCE, configuration());
+            String keyspace = configuration().json().at(REST.Request.KEYSPACE).asString();
+            int maxRetry = engineConfiguration().getPropertyAsInt(GraknEngineConfig.LOADER_REPEAT_COMMITS);
+            int batchSize = engineConfiguration().tryIntProperty(GraknEngineConfig.POST_PROCESSING_BATCH_SIZE, DEFAULT_BATCH_SIZE);
 
-            allToPostProcess.forEach((conceptIndex, conceptIds) -> {
-                Context contextSingle = metricRegistry()
-                        .timer(name(PostProcessingTask.class, "execution-single")).time();
-                try {
-                    String keyspace = configuration().json().at(REST.Request.KEYSPACE).asString();
-                    int maxRetry = engineConfiguration()
-                            .getPropertyAsInt(GraknEngineConfig.LOADER_REPEAT_COMMITS);
+            boolean persisted = !configuration().json().has(REST.Request.COMMIT_LOG_FIXING);
+            Map<String, Set<ConceptId>> allToPostProcess;
+            if (persisted) {
+                // Jobs persisted from now on schedule a new task rather than waiting for this one
+                redis().clearPostProcessingScheduled(keyspace);
+                allToPostProcess = toConceptIds(redis().getPostProcessingJobs(keyspace));
+            } else {
+                allToPostProcess = getPostProcessingJobs(Schema.BaseType.RESOURCE, configuration());
+            }
+
+            Set<String> failedIndices = new TreeSet<>();
 
-                    GraphMutators.runGraphMutationWithRetry(factory(), keyspace, maxRetry,
-                            (graph) -> runPostProcessingMethod(graph, conceptIndex, conceptIds));
+            // Indices are sorted so that locks are always acquired in the same order
+            for (List<String> batch : Iterables.partition(new TreeSet<>(allToPostProcess.keySet()), batchSize)) {
+                Context contextBatch = metricRegistry()
+                        .timer(name(PostProcessingTask.class, "execution-batch")).time();
+                try {
+                    List<String> fixedIndices = new ArrayList<>(batch);
+                    if (!fix(keyspace, maxRetry, batch, allToPostProcess)) {
+                        // Fix the indices of a failed batch one by one so a single bad index does not fail the others
+                        for (String index : batch) {
+                            if (!fix(keyspace, maxRetry, Collections.singletonList(index), allToPostProcess)) {
+                                fixedIndices.remove(index);
+                                failedIndices.add(index);
+                            }
+                        }
+                    }
+                    if (persisted) {
+                        fixedIndices.forEach(index -> redis().removePostProcessingJob(keyspace, index,
+                                allToPostProcess.get(index).stream().map(ConceptId::getValue).collect(Collectors.toSet())));
+                    }
                 } finally {
-                    contextSingle.stop();
+                    contextBatch.stop();
                 }
-            });
+            }
+
+            if (!failedIndices.isEmpty()) {
+                metricRegistry().meter(name(PostProcessingTask.class, "failed-indices")).mark(failedIndices.size());
+                LOG.error("Could not post process indices [{}] in graph [{}]{}", failedIndices, keyspace,
+                        persisted ? ", they are kept for the next post processing task" : "");
+            }
 
             LOG.debug(JOB_FINISHED, Schema.BaseType.RESOURCE.name(), allToPostProcess);
 
@@ -88,6 +127,29 @@ public class PostProcessingTask extends BackgroundTask {
         }
     }
 
+    /**
+     * Fix a batch of concept indices in a single transaction
+     *
+     * @return True if all the indices of the batch were fixed and committed
+     */
+    private boolean fix(String keyspace, int maxRetry, List<String> batch, Map<String, Set<ConceptId>> allToPostProcess) {
+        try {
+            GraphMutators.runGraphMutationWithRetry(factory(), keyspace, maxRetry,
+                    (graph) -> runPostProcessingMethod(graph, batch, allToPostProcess));
+            return true;
+        } catch (RuntimeException e) {
+            LOG.warn("Could not post process indices [{}] in graph [{}]", batch, keyspace, e);
+            return false;
+        }
+    }
+
+    private static Map<String, Set<ConceptId>> toConceptIds(Map<String, Set<String>> jobs) {
+        return jobs.entrySet().stream().collect(Collectors.toMap(
+                Map.Entry::getKey,
+                e -> e.getValue().stream().map(ConceptId::of).collect(Collectors.toSet())
+        ));
+    }
+
     /**
      * Extract a map of concept indices to concept ids from the provided configuration
      *
@@ -103,22 +165,32 @@ public class PostProcessingTask extends BackgroundTask {
     }
 
     /**
-     * Apply the given post processing method to the provided concept index and set of ids.
+     * Apply the given post processing method to a batch of concept indices and their sets of ids.
+     * All the merges of the batch are persisted in a single commit.
      *
      * @param graph
-     * @param conceptIndex
-     * @param conceptIds
+     * @param conceptIndices The indices of the batch, in the order in which they should be locked
+     * @param allToPostProcess The map of concept indices to the ids to merge
      */
-    private void runPostProcessingMethod(GraknGraph graph, String conceptIndex, Set<ConceptId> conceptIds){
+    private void runPostProcessingMethod(GraknGraph graph, List<String> conceptIndices, Map<String, Set<ConceptId>> allToPostProcess){
         Preconditions.checkNotNull(this.getLockProvider(), "Lock provider was null, possible race condition in initialisation");
-        if(graph.admin().duplicateResourcesExist(conceptIndex, conceptIds)){
 
-            // Acquire a lock when you post process on an index to prevent race conditions
-            // Lock is acquired after checking for duplicates to reduce runtime
-            Lock indexLock = this.getLockProvider().getLock(PostProcessingTask.LOCK_KEY + "/" + conceptIndex);
-            indexLock.lock();
+        List<String> duplicatedIndices = conceptIndices.stream()
+                .filter(conceptIndex -> graph.admin().duplicateResourcesExist(conceptIndex, allToPostProcess.get(conceptIndex)))
+                .collect(Collectors.toList());
+        if (duplicatedIndices.isEmpty()) return;
+
+        // Acquire the locks of all the indices of the batch at once to prevent race conditions
+        // Locks are acquired after checking for duplicates to reduce runtime
+        Lock indexLocks = this.getLockProvider().getLocks(duplicatedIndices.stream()
+                .map(conceptIndex -> PostProcessingTask.LOCK_KEY + "/" + conceptIndex)
+                .collect(Collectors.toList()));
+        indexLocks.lock();
+
+        try {
+            for (String conceptIndex : duplicatedIndices) {
+                Set<ConceptId> conceptIds = allToPostProcess.get(conceptIndex);
 
-            try {
                 // execute the provided post processing method
                 graph.admin().fixDuplicateResources(conceptIndex, conceptIds);
 
@@ -127,12 +199,12 @@ public class PostProcessingTask extends BackgroundTask {
                         ifPresent(message -> {
                             throw new RuntimeException(message);
                         });
-
-                // persist merged concepts
-                graph.admin().commitNoLogs();
-            } finally {
-                indexLock.unlock();
             }
+
+            // persist merged concepts
+            graph.admin().commitNoLogs();
+        } finally {
+            indexLocks.unlock();
         }
     }
 
@@ -195,4 +267,16 @@ public class PostProcessingTask extends BackgroundTask {
         postProcessingConfiguration.set(REST.Request.COMMIT_LOG_FIXING, Json.read(config).at(REST.Request.COMMIT_LOG_FIXING));
         return TaskConfiguration.of(postProcessingConfiguration);
     }
+
+    /**
+     * Helper method which creates the task config of a PP task which fixes the jobs persisted for a keyspace
+     *
+     * @param keyspace The keyspace of the graph to execute this on.
+     * @return The task configuration encapsulating the above details in a manner executable by the task runner
+     */
+    public static TaskConfiguration createConfig(String keyspace){
+        Json postProcessingConfiguration = Json.object();
+        postProcessingConfiguration.set(REST.Request.KEYSPACE, keyspace);
+        return TaskConfiguration.of(postProcessingConfiguration);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,147 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.engine.postprocessing;
+
+import ai.grakn.GraknGraph;
+import ai.grakn.GraknTxType;
+import ai.grakn.concept.Concept;
+import ai.grakn.concept.ConceptId;
+import ai.grakn.engine.GraknEngineConfig;
+import ai.grakn.engine.tasks.BackgroundTask;
+import ai.grakn.engine.tasks.manager.TaskConfiguration;
+import ai.grakn.engine.tasks.manager.TaskSchedule;
+import ai.grakn.engine.tasks.manager.TaskState;
+import ai.grakn.util.REST;
+import com.codahale.metrics.Meter;
+import static com.codahale.metrics.MetricRegistry.name;
+import com.codahale.metrics.Timer.Context;
+import com.google.common.base.Throwables;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.UnmodifiableIterator;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import mjson.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>
+ *     Task that migrates the indices of an existing keyspace
+ * </p>
+ *
+ * <p>
+ *     The indices of resources and reified relations are generated again in the current format, see
+ *     {@link ai.grakn.graph.admin.GraknAdmin#refreshIndex(ConceptId)}. The ids to migrate are streamed from a read
+ *     transaction on a separate thread, because a thread can only have one transaction open, and handed over in
+ *     batches. Each batch is updated and committed in its own transaction.
+ * </p>
+ *
+ * @author fppt
+ */
+public class ReindexTask extends BackgroundTask {
+    private final static Logger LOG = LoggerFactory.getLogger(ReindexTask.class);
+    private static final int BATCH_SIZE = 1000;
+    private static final int QUEUED_BATCHES = 2;
+    private static final List<ConceptId> END_OF_IDS = Collections.emptyList();
+
+    @Override
+    public boolean start() {
+        final int maxRetry = engineConfiguration().getPropertyAsInt(GraknEngineConfig.LOADER_REPEAT_COMMITS);
+        String keyspace = configuration().json().at(REST.Request.KEYSPACE).asString();
+        Meter reindexed = metricRegistry().meter(name(ReindexTask.class, "reindexed"));
+
+        BlockingQueue<List<ConceptId>> batches = new ArrayBlockingQueue<>(QUEUED_BATCHES);
+        ExecutorService reader = Executors.newSingleThreadExecutor();
+        try (Context context = metricRegistry().timer(name(ReindexTask.class, "execution")).time()) {
+            Future<?> reading = reader.submit(() -> readIds(keyspace, batches));
+
+            long total = 0;
+            List<ConceptId> batch;
+            while (!(batch = batches.take()).isEmpty()) {
+                List<ConceptId> ids = batch;
+                GraphMutators.runBatchMutationWithRetry(factory(), keyspace, maxRetry, graph -> {
+                    long changed = ids.stream().filter(id -> graph.admin().refreshIndex(id)).count();
+                    graph.admin().commitNoLogs();
+                    reindexed.mark(changed);
+                });
+                total += ids.size();
+            }
+            reading.get();
+
+            LOG.info("Reindexing of [{}] concepts in graph [{}] completed", total, keyspace);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            throw Throwables.propagate(e.getCause());
+        } finally {
+            reader.shutdownNow();
+        }
+    }
+
+    /**
+     * Streams the ids of all the resources and relations of the keyspace into the given queue in batches.
+     * An empty batch marks the end of the ids, it is also queued if reading fails so the consumer stops.
+     */
+    private Void readIds(String keyspace, BlockingQueue<List<ConceptId>> batches) throws InterruptedException {
+        try (GraknGraph graph = factory().getGraph(keyspace, GraknTxType.READ)) {
+            Iterator<ConceptId> ids = Stream.concat(graph.admin().getMetaResourceType().instances(), graph.admin().getMetaRelationType().instances())
+                    .map(Concept::getId)
+                    .iterator();
+            UnmodifiableIterator<List<ConceptId>> partitions = Iterators.partition(ids, BATCH_SIZE);
+            while (partitions.hasNext()) {
+                batches.put(partitions.next());
+            }
+        } catch (RuntimeException e) {
+            batches.put(END_OF_IDS);
+            throw e;
+        }
+        batches.put(END_OF_IDS);
+        return null;
+    }
+
+    /**
+     * Helper method which creates the state of a reindexing task
+     *
+     * @param creator The class which is creating the task
+     * @return The executable reindexing task state
+     */
+    public static TaskState createTask(Class creator){
+        return TaskState.of(ReindexTask.class, creator.getName(), TaskSchedule.now(), TaskState.Priority.LOW);
+    }
+
+    /**
+     * Helper method which creates the task config needed in order to execute a reindexing task
+     *
+     * @param keyspace The keyspace of the graph to reindex
+     * @return The task configuration encapsulating the above details in a manner executable by the task runner
+     */
+    public static TaskConfiguration createConfig(String keyspace){
+        return TaskConfiguration.of(Json.object(REST.Request.KEYSPACE, keyspace));
+    }
+}
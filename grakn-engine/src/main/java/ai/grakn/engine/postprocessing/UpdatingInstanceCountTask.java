@@ -86,14 +86,14 @@ public class UpdatingInstanceCountTask extends BackgroundTask {
             });
 
             //Shard anything which requires sharding
-            conceptToShard.forEach(type -> {
+            if (!conceptToShard.isEmpty()) {
                 Context contextSharding = metricRegistry().timer("sharding").time();
                 try {
-                    shardConcept(redis(), factory(), keyspace, type, maxRetry, shardingThreshold);
+                    shardConcepts(redis(), factory(), keyspace, conceptToShard, maxRetry, shardingThreshold);
                 } finally {
                     contextSharding.stop();
                 }
-            });
+            }
             LOG.debug("Updating instance count successful for {} tasks", jobs.size());
             return true;
         } catch(Exception e) {
@@ -133,31 +133,35 @@ public class UpdatingInstanceCountTask extends BackgroundTask {
 
     /**
      * Performs the high level sharding operation. This includes:
-     * - Acquiring a lock to ensure only one thing can shard
+     * - Acquiring the locks of all the concepts at once to ensure only one thing can shard them
      * - Checking if sharding is still needed after having the lock
      * - Actually sharding
      * - Incrementing the number of shards on each type
      *
-     * @param keyspace The graph containing the type to shard
-     * @param conceptId The id of the concept to shard
+     * @param keyspace The graph containing the types to shard
+     * @param conceptIds The ids of the concepts to shard
      */
-    private void shardConcept(RedisCountStorage redis, EngineGraknGraphFactory factory,
-            String keyspace, ConceptId conceptId, int maxRetry, long shardingThreshold){
-        Lock engineLock = this.getLockProvider().getLock(getLockingKey(keyspace, conceptId));
+    private void shardConcepts(RedisCountStorage redis, EngineGraknGraphFactory factory,
+            String keyspace, Set<ConceptId> conceptIds, int maxRetry, long shardingThreshold){
+        Lock engineLock = this.getLockProvider().getLocks(conceptIds.stream()
+                .map(conceptId -> getLockingKey(keyspace, conceptId))
+                .collect(Collectors.toList()));
         engineLock.lock(); //Try to get the lock
 
         try {
-            //Check if sharding is still needed. Another engine could have sharded whilst waiting for lock
-            if (updateShardCounts(redis, keyspace, conceptId, 0, shardingThreshold)) {
-
-                //Shard
-                GraphMutators.runGraphMutationWithRetry(factory, keyspace, maxRetry, graph -> {
-                    graph.admin().shard(conceptId);
-                    graph.admin().commitNoLogs();
-                });
-
-                //Update number of shards
-                redis.adjustCount(RedisCountStorage.getKeyNumShards(keyspace, conceptId), 1);
+            for (ConceptId conceptId : conceptIds) {
+                //Check if sharding is still needed. Another engine could have sharded whilst waiting for lock
+                if (updateShardCounts(redis, keyspace, conceptId, 0, shardingThreshold)) {
+
+                    //Shard
+                    GraphMutators.runGraphMutationWithRetry(factory, keyspace, maxRetry, graph -> {
+                        graph.admin().shard(conceptId);
+                        graph.admin().commitNoLogs();
+                    });
+
+                    //Update number of shards
+                    redis.adjustCount(RedisCountStorage.getKeyNumShards(keyspace, conceptId), 1);
+                }
             }
         } finally {
             engineLock.unlock();
@@ -30,6 +30,7 @@ import ai.grakn.graql.ComputeQuery;
 import ai.grakn.graql.Printer;
 import ai.grakn.graql.Query;
 import ai.grakn.graql.internal.printer.Printers;
+import ai.grakn.graql.internal.reasoner.profile.ResolutionProfiler;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Splitter;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
@@ -72,6 +73,7 @@ class GraqlSession {
     private final Session session;
     private final boolean infer;
     private final boolean materialise;
+    private final boolean profile;
     private GraknGraph graph;
     private final GraknSession factory;
     private final String outputFormat;
@@ -89,12 +91,13 @@ class GraqlSession {
 
     GraqlSession(
             Session session, GraknSession factory, String outputFormat,
-            boolean infer, boolean materialise
+            boolean infer, boolean materialise, boolean profile
     ) {
         Preconditions.checkNotNull(session);
 
         this.infer = infer;
         this.materialise = materialise;
+        this.profile = profile;
         this.session = session;
         this.factory = factory;
         this.outputFormat = outputFormat;
@@ -221,7 +224,7 @@ class GraqlSession {
                 queries = graph.graql().infer(infer).materialise(materialise).parseList(queryString).collect(toList());
 
                 // Return results unless query is cancelled
-                queries.stream().flatMap(query -> query.resultsString(printer)).forEach(this::sendQueryResult);
+                queries.forEach(this::sendQueryResults);
             } catch (GraknException e) {
                 errorMessage = e.getMessage();
                 LOG.error(errorMessage,e);
@@ -241,6 +244,21 @@ class GraqlSession {
         });
     }
 
+    /**
+     * Send the results of a query, followed by its resolution profile if the session is profiled
+     */
+    private void sendQueryResults(Query<?> query) {
+        if (!profile) {
+            query.resultsString(printer).forEach(this::sendQueryResult);
+            return;
+        }
+
+        try (ResolutionProfiler profiler = ResolutionProfiler.start()) {
+            query.resultsString(printer).forEach(this::sendQueryResult);
+            sendQueryResult(profiler.toString());
+        }
+    }
+
     /**
      * Commit and report any errors to the client
      */
@@ -99,9 +99,10 @@ public class RemoteSession extends WebSocketAdapter {
             String outputFormat = json.at(REST.RemoteShell.OUTPUT_FORMAT).asString();
             boolean infer = json.at(REST.RemoteShell.INFER).asBoolean();
             boolean materialise = json.at(REST.RemoteShell.MATERIALISE).asBoolean();
+            boolean profile = json.has(REST.RemoteShell.PROFILE) && json.at(REST.RemoteShell.PROFILE).asBoolean();
             GraknSession factory = Grakn.session(Grakn.DEFAULT_URI, keyspace);
             GraqlSession graqlSession = new GraqlSession(
-                    getSession(), factory, outputFormat, infer, materialise
+                    getSession(), factory, outputFormat, infer, materialise, profile
             );
             sessions.put(getSession(), graqlSession);
         } else {
@@ -23,10 +23,17 @@ import com.codahale.metrics.MetricRegistry;
 import static com.codahale.metrics.MetricRegistry.name;
 import com.codahale.metrics.Timer;
 import com.codahale.metrics.Timer.Context;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.function.Function;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.Transaction;
 import redis.clients.jedis.exceptions.JedisException;
 import redis.clients.util.Pool;
 
@@ -36,7 +43,8 @@ import redis.clients.util.Pool;
  * </p>
  *
  * <p>
- *    Given a pool of connections to Redis, it manages the counting
+ *    Given a pool of connections to Redis, it manages the counting and the post processing jobs which are
+ *    waiting to be fixed
  * </p>
  *
  * @author fppt
@@ -87,6 +95,123 @@ public class RedisCountStorage {
         });
     }
 
+    /**
+     * Persists post processing jobs so they survive until a post processing task has fixed them.
+     * The jobs are added atomically and merged with the jobs of the keyspace already waiting.
+     *
+     * @param keyspace the keyspace the jobs belong to
+     * @param jobs the resource indices mapped to the ids of the potential duplicates
+     */
+    public void addPostProcessingJobs(String keyspace, Map<String, Set<String>> jobs){
+        contactRedis(jedis -> {
+            Transaction transaction = jedis.multi();
+            transaction.sadd(KEY_POST_PROCESSING_KEYSPACES, keyspace);
+            jobs.forEach((index, ids) -> {
+                // Ids are added before the index so a worker never sees an index without ids
+                transaction.sadd(getKeyPostProcessingIds(keyspace, index), ids.toArray(new String[ids.size()]));
+                transaction.sadd(getKeyPostProcessingIndices(keyspace), index);
+            });
+            return transaction.exec();
+        });
+    }
+
+    /**
+     * Gets all the post processing jobs waiting for a keyspace
+     *
+     * @param keyspace the keyspace the jobs belong to
+     * @return the resource indices mapped to the ids of the potential duplicates
+     */
+    public Map<String, Set<String>> getPostProcessingJobs(String keyspace){
+        return contactRedis(jedis -> {
+            // The ids of all the indices are read in a single round trip
+            Pipeline pipeline = jedis.pipelined();
+            Map<String, Response<Set<String>>> responses = new HashMap<>();
+            for (String index : jedis.smembers(getKeyPostProcessingIndices(keyspace))) {
+                responses.put(index, pipeline.smembers(getKeyPostProcessingIds(keyspace, index)));
+            }
+            pipeline.sync();
+
+            Map<String, Set<String>> jobs = new HashMap<>();
+            responses.forEach((index, ids) -> {
+                if (!ids.get().isEmpty()) jobs.put(index, ids.get());
+            });
+            return jobs;
+        });
+    }
+
+    /**
+     * Removes a post processing job once it has been fixed.
+     * Ids which were added by other commits in the meantime are kept for the next task.
+     *
+     * @param keyspace the keyspace the job belongs to
+     * @param index the resource index which has been fixed
+     * @param ids the ids which have been fixed
+     */
+    public void removePostProcessingJob(String keyspace, String index, Set<String> ids){
+        contactRedis(jedis -> {
+            String idsKey = getKeyPostProcessingIds(keyspace, index);
+            jedis.srem(idsKey, ids.toArray(new String[ids.size()]));
+            jedis.srem(getKeyPostProcessingIndices(keyspace), index);
+            // A commit may have added ids between the two removals, in which case the index must stay
+            if (jedis.scard(idsKey) > 0) {
+                jedis.sadd(getKeyPostProcessingIndices(keyspace), index);
+            } else {
+                removeKeyspaceIfDone(jedis, keyspace);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * @return the keyspaces which have post processing jobs waiting
+     */
+    public Set<String> getPostProcessingKeyspaces(){
+        return contactRedis(jedis -> {
+            Set<String> keyspaces = jedis.smembers(KEY_POST_PROCESSING_KEYSPACES);
+            keyspaces.removeIf(keyspace -> removeKeyspaceIfDone(jedis, keyspace));
+            return keyspaces;
+        });
+    }
+
+    /**
+     * Forgets a keyspace once it has no post processing job left, unless jobs are added to it meanwhile
+     *
+     * @return true if the keyspace was forgotten
+     */
+    private static boolean removeKeyspaceIfDone(Jedis jedis, String keyspace){
+        String indicesKey = getKeyPostProcessingIndices(keyspace);
+        jedis.watch(indicesKey);
+        if (jedis.scard(indicesKey) > 0) {
+            jedis.unwatch();
+            return false;
+        }
+        Transaction transaction = jedis.multi();
+        transaction.srem(KEY_POST_PROCESSING_KEYSPACES, keyspace);
+        List<Object> result = transaction.exec();
+        return result != null && !result.isEmpty();
+    }
+
+    /**
+     * Marks that a post processing task is waiting for the keyspace, unless one already is.
+     *
+     * @param keyspace the keyspace the task will fix
+     * @param timeout milliseconds after which the mark expires, in case the task is lost
+     * @return true if no task was waiting and the caller should submit one
+     */
+    public boolean markPostProcessingScheduled(String keyspace, long timeout){
+        return contactRedis(jedis ->
+                jedis.set(getKeyPostProcessingScheduled(keyspace), "1", "NX", "PX", timeout) != null);
+    }
+
+    /**
+     * Clears the mark of a waiting post processing task, so that the next jobs schedule a new task
+     *
+     * @param keyspace the keyspace the task fixes
+     */
+    public void clearPostProcessingScheduled(String keyspace){
+        contactRedis(jedis -> jedis.del(getKeyPostProcessingScheduled(keyspace)));
+    }
+
     /**
      * A helper function which acquires a connection to redis from the pool and then uses it for some operations.
      * This function ensures the connection is closed properly.
@@ -113,4 +238,15 @@ public class RedisCountStorage {
     public static String getKeyNumShards(String keyspace, ConceptId conceptId){
         return "NS_" + keyspace + "_" + conceptId.getValue();
     }
+    private static final String KEY_POST_PROCESSING_KEYSPACES = "PP_KEYSPACES";
+    private static String getKeyPostProcessingIndices(String keyspace){
+        return "PP_INDICES_" + keyspace;
+    }
+    // Keyspaces cannot contain ':' so the index which follows it can be anything
+    private static String getKeyPostProcessingIds(String keyspace, String index){
+        return "PP_IDS_" + keyspace + ":" + index;
+    }
+    private static String getKeyPostProcessingScheduled(String keyspace){
+        return "PP_SCHEDULED_" + keyspace;
+    }
 }
@@ -40,9 +40,20 @@ public class TaskCheckpoint implements Serializable {
         return new TaskCheckpoint(checkpoint);
     }
 
+    /**
+     * Restore a checkpoint created at the given time, used by {@link TaskStateCodec}
+     */
+    static TaskCheckpoint of(Json checkpoint, Instant createdAt){
+        return new TaskCheckpoint(checkpoint, createdAt);
+    }
+
     private TaskCheckpoint(Json checkpoint){
+        this(checkpoint, now());
+    }
+
+    private TaskCheckpoint(Json checkpoint, Instant createdAt){
         this.checkpoint = checkpoint;
-        this.createdAt = now();
+        this.createdAt = createdAt;
     }
 
     public Json checkpoint(){
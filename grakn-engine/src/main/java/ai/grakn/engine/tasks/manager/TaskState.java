@@ -127,6 +127,25 @@ public class TaskState implements Serializable {
         this.priority = priority;
     }
 
+    /**
+     * Restore a task state with all of its fields, used by {@link TaskStateCodec}
+     */
+    TaskState(String taskId, Priority priority, TaskStatus status, Instant statusChangeTime, String taskClassName,
+              String creator, EngineID engineID, TaskSchedule schedule, String stackTrace, String exception,
+              TaskCheckpoint taskCheckpoint) {
+        this.taskId = taskId;
+        this.priority = priority;
+        this.status = status;
+        this.statusChangeTime = statusChangeTime;
+        this.taskClassName = taskClassName;
+        this.creator = creator;
+        this.engineID = engineID;
+        this.schedule = schedule;
+        this.stackTrace = stackTrace;
+        this.exception = exception;
+        this.taskCheckpoint = taskCheckpoint;
+    }
+
     private TaskState(TaskState taskState) {
         this.taskId = taskState.taskId;
         this.status = taskState.status;
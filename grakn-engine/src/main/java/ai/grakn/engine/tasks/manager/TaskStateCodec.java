@@ -0,0 +1,129 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.engine.tasks.manager;
+
+import ai.grakn.engine.TaskStatus;
+import ai.grakn.engine.tasks.manager.TaskState.Priority;
+import ai.grakn.engine.util.EngineID;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import javax.annotation.Nullable;
+import mjson.Json;
+
+/**
+ * <p>
+ *     Flat encoding of a {@link TaskState}
+ * </p>
+ *
+ * <p>
+ *     A {@link TaskState} is encoded as a map from field names to strings, so it can be stored as a hash and
+ *     single fields can be read or updated without decoding the whole state.
+ *     Fields which are not set are left out of the map.
+ * </p>
+ *
+ * @author Domenico Corapi
+ */
+public class TaskStateCodec {
+
+    public static final String ID = "id";
+    public static final String PRIORITY = "priority";
+    public static final String STATUS = "status";
+    public static final String STATUS_CHANGE_TIME = "statusChangeTime";
+    public static final String TASK_CLASS_NAME = "taskClassName";
+    public static final String CREATOR = "creator";
+    public static final String ENGINE_ID = "engineId";
+    public static final String RUN_AT = "runAt";
+    public static final String INTERVAL = "interval";
+    public static final String STACK_TRACE = "stackTrace";
+    public static final String EXCEPTION = "exception";
+    public static final String CHECKPOINT = "checkpoint";
+    public static final String CHECKPOINT_CREATED_AT = "checkpointCreatedAt";
+
+    private TaskStateCodec(){}
+
+    public static Map<String, String> encode(TaskState state){
+        Map<String, String> fields = new HashMap<>();
+        fields.put(ID, state.getId().getValue());
+        put(fields, PRIORITY, state.priority() == null ? null : state.priority().name());
+        put(fields, STATUS, state.status() == null ? null : state.status().name());
+        put(fields, STATUS_CHANGE_TIME, state.statusChangeTime() == null ? null : state.statusChangeTime().toString());
+        put(fields, TASK_CLASS_NAME, state.getTaskClassName());
+        put(fields, CREATOR, state.creator());
+        put(fields, ENGINE_ID, state.engineID() == null ? null : state.engineID().value());
+        TaskSchedule schedule = state.schedule();
+        if (schedule != null) {
+            fields.put(RUN_AT, Long.toString(schedule.getRunAt()));
+            put(fields, INTERVAL, schedule.getInterval() == null ? null : Long.toString(schedule.getInterval()));
+        }
+        put(fields, STACK_TRACE, state.stackTrace());
+        put(fields, EXCEPTION, state.exception());
+        TaskCheckpoint checkpoint = state.checkpoint();
+        if (checkpoint != null) {
+            fields.put(CHECKPOINT, checkpoint.checkpoint().toString());
+            fields.put(CHECKPOINT_CREATED_AT, checkpoint.createdAt().toString());
+        }
+        return fields;
+    }
+
+    /**
+     * @return The decoded state or null if the map does not contain a state
+     */
+    @Nullable
+    public static TaskState decode(Map<String, String> fields){
+        String id = fields.get(ID);
+        if (id == null) return null;
+
+        String status = fields.get(STATUS);
+        String priority = fields.get(PRIORITY);
+        String engineId = fields.get(ENGINE_ID);
+
+        TaskSchedule schedule = null;
+        if (fields.containsKey(RUN_AT)) {
+            String interval = fields.get(INTERVAL);
+            schedule = new TaskSchedule(Long.parseLong(fields.get(RUN_AT)), interval == null ? null : Long.parseLong(interval));
+        }
+
+        TaskCheckpoint checkpoint = null;
+        if (fields.containsKey(CHECKPOINT)) {
+            checkpoint = TaskCheckpoint.of(Json.read(fields.get(CHECKPOINT)), instant(fields.get(CHECKPOINT_CREATED_AT)));
+        }
+
+        return new TaskState(id,
+                priority == null ? null : Priority.valueOf(priority),
+                status == null ? null : TaskStatus.valueOf(status),
+                instant(fields.get(STATUS_CHANGE_TIME)),
+                fields.get(TASK_CLASS_NAME),
+                fields.get(CREATOR),
+                engineId == null ? null : EngineID.of(engineId),
+                schedule,
+                fields.get(STACK_TRACE),
+                fields.get(EXCEPTION),
+                checkpoint);
+    }
+
+    private static void put(Map<String, String> fields, String field, @Nullable String value){
+        if (value != null) fields.put(field, value);
+    }
+
+    @Nullable
+    private static Instant instant(@Nullable String instant){
+        return instant == null ? null : Instant.parse(instant);
+    }
+}
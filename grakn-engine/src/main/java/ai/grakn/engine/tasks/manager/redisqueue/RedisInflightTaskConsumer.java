@@ -21,132 +21,167 @@ package ai.grakn.engine.tasks.manager.redisqueue;
 import com.codahale.metrics.Meter;
 import com.codahale.metrics.MetricRegistry;
 import static com.codahale.metrics.MetricRegistry.name;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import java.io.IOException;
 import java.time.Duration;
-import java.time.Instant;
-import java.util.List;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 import java.util.TimerTask;
-import mjson.Json;
+import java.util.function.BiConsumer;
 import net.greghaines.jesque.Config;
-import net.greghaines.jesque.Job;
 import net.greghaines.jesque.utils.JesqueUtils;
-import net.greghaines.jesque.utils.ResqueConstants;
+import static net.greghaines.jesque.utils.ResqueConstants.INFLIGHT;
 import static net.greghaines.jesque.utils.ResqueConstants.QUEUE;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import redis.clients.jedis.Jedis;
-import redis.clients.jedis.Transaction;
+import redis.clients.jedis.ScanParams;
+import redis.clients.jedis.ScanResult;
 import redis.clients.util.Pool;
 
 /**
- * Consumer from a redis queue
+ * <p>
+ *     Recovers the jobs left in flight by workers which died
+ * </p>
+ *
+ * <p>
+ *     While a worker runs a job, the job sits in an in flight list of that worker. Every engine keeps renewing
+ *     a lease for each of its workers in a sorted set scored by the expiry of the lease, see {@link #renewLeases}.
+ *     This consumer reads the expired leases with a single range query and moves the in flight jobs of those
+ *     workers back to the queues they were taken from, which are found by scanning the in flight lists of those
+ *     workers only. Leases of live workers are never looked at.
+ * </p>
+ *
+ * <p>
+ *     Workers of engines which ran before leases existed never had one, so their in flight jobs are recovered by
+ *     a one-time sweep over the in flight lists, see {@link #requeueLegacyInflight}. It assumes those engines were
+ *     stopped for the upgrade.
+ * </p>
  *
  * @author Domenico Corapi
  */
 public class RedisInflightTaskConsumer extends TimerTask {
     private static final Logger LOG = LoggerFactory.getLogger(RedisInflightTaskConsumer.class);
-    private static final ObjectMapper objectMapper = new ObjectMapper();
 
-    static final int ITERATIONS = 10;
+    // Sorted set of worker names scored by the time their lease expires
+    static final String LEASES_KEY = "grakn_engine_worker_leases";
+    private static final int SCAN_COUNT = 1000;
+
     private final Meter exceptions;
-    private final Meter processed;
-    private final Meter dead;
-    private final Meter failedMove;
-    private final Duration destroyInterval;
-    private final Meter failedDestroy;
-    private final Meter destroyable;
+    private final Meter expired;
+    private final Meter requeued;
 
     private Pool<Jedis> jedisPool;
-    private Duration processInterval;
     private Config config;
-    private String queueName;
+    private final long legacySweepTime;
+    private boolean legacySwept = false;
 
-    public RedisInflightTaskConsumer(Pool<Jedis> jedisPool, Duration processInterval,
-            Config config, String queueName, MetricRegistry metricRegistry) {
+    /**
+     * @param legacySweepDelay How long to wait before sweeping the in flight jobs of workers without a lease.
+     *                         It must give every live worker the time to get a lease.
+     */
+    public RedisInflightTaskConsumer(Pool<Jedis> jedisPool, Config config, MetricRegistry metricRegistry, Duration legacySweepDelay) {
         this.jedisPool = jedisPool;
-        this.processInterval = processInterval;
-        // After a certain time we get rid of it
-        this.destroyInterval = processInterval.multipliedBy(10);
         this.config = config;
-        this.queueName = queueName;
+        this.legacySweepTime = System.currentTimeMillis() + legacySweepDelay.toMillis();
         this.exceptions = metricRegistry.meter(name(RedisInflightTaskConsumer.class, "exceptions"));
-        this.failedMove = metricRegistry.meter(name(RedisInflightTaskConsumer.class, "failed", "move"));
-        this.failedDestroy = metricRegistry.meter(name(RedisInflightTaskConsumer.class, "failed", "destroy"));
-        this.processed = metricRegistry.meter(name(RedisInflightTaskConsumer.class, "processed", "total"));
-        this.dead = metricRegistry.meter(name(RedisInflightTaskConsumer.class, "processed", "dead"));
-        this.destroyable = metricRegistry.meter(name(RedisInflightTaskConsumer.class, "processed", "destroyable"));
+        this.expired = metricRegistry.meter(name(RedisInflightTaskConsumer.class, "leases", "expired"));
+        this.requeued = metricRegistry.meter(name(RedisInflightTaskConsumer.class, "jobs", "requeued"));
     }
 
     @Override
     public void run() {
         try(Jedis resource = jedisPool.getResource()) {
-            Set<String> keys = resource
-                    .keys(String.format("resque:%s:*", ResqueConstants.INFLIGHT));
-            for(String key : keys) {
-                for(int i = 0; i < ITERATIONS; i++) {
-                    LOG.debug("Processing inflight for {}, iteration {}", key, i);
-                    resource.watch(key);
-                    List<String> elements = resource.lrange(key, -1, -1);
-                    // Optimistic concurrency control. If there are changes in keys we fail
-                    if (!elements.isEmpty()) {
-                        String head = elements.get(0);
-                        try {
-                            Job job = objectMapper.readValue(head, Job.class);
-                            if (job.getArgs().length > 0) {
-                                processElement(key, resource, head);
-                            }
-                        } catch (IOException e) {
-                            exceptions.mark();
-                            LOG.error("Could not deserialize task, moving to head: {}", head, e);
-                            // Moving to the head
-                            attemptMove(resource, key, key);
-                        }
-                    }
-                }
+            if (!legacySwept && System.currentTimeMillis() >= legacySweepTime) {
+                requeueLegacyInflight(resource);
+                legacySwept = true;
             }
+
+            Set<String> expiredWorkers = resource.zrangeByScore(LEASES_KEY, Double.NEGATIVE_INFINITY, System.currentTimeMillis());
+            if (expiredWorkers.isEmpty()) return;
+
+            for (String worker : expiredWorkers) {
+                // Only the engine which removes the lease recovers the jobs of the worker
+                if (resource.zrem(LEASES_KEY, worker) == 0) continue;
+                expired.mark();
+                LOG.info("Lease of worker {} expired, moving its jobs back to their queues", worker);
+                // The queue of a job may have been dropped from the set of queues while it ran, so the in flight
+                // lists of the worker are looked up directly
+                scanInflight(resource, inflightPrefix() + escape(worker) + ":*",
+                        (inflightWorker, queue) -> {
+                            if (inflightWorker.equals(worker)) requeue(resource, worker, queue);
+                        });
+            }
+        } catch (Exception e) {
+            // An exception would cancel the timer this runs on
+            exceptions.mark();
+            LOG.error("Could not recover the in flight jobs", e);
         }
     }
 
-    private void processElement(String key, Jedis resource, String head) {
-        processed.mark();
-        // TODO Use Jackson for this
-        long runAt = Json.read(head).at("args").at(0).at("taskState")
-                .at("schedule").at("runAt").asLong();
-        Instant runAtDate = Instant.ofEpochMilli(runAt);
-        Duration gap = Duration.between(runAtDate, Instant.now());
-        if (gap.getSeconds() > destroyInterval.getSeconds()) {
-            destroyable.mark();
-            LOG.info("Found really old dead task in inflight, destroying it: {}", head);
-            attemptDestroy(key, resource);
-        }
-        if (gap.getSeconds() > processInterval.getSeconds()) {
-            dead.mark();
-            LOG.info("Found dead task in inflight, moving it: {}", head);
-            String keyDest = JesqueUtils.createKey(config.getNamespace(), QUEUE, queueName);
-            attemptMove(resource, key, keyDest);
-        }
+    /**
+     * Moves back to their queues the jobs in flight of every worker which has no lease.
+     * This runs once, after every live worker has had the time to get a lease, so any such worker is gone.
+     */
+    private void requeueLegacyInflight(Jedis resource) {
+        scanInflight(resource, inflightPrefix() + "*", (worker, queue) -> {
+            if (resource.zscore(LEASES_KEY, worker) == null) {
+                LOG.info("Worker {} has no lease, moving its jobs back to {}", worker, queue);
+                requeue(resource, worker, queue);
+            }
+        });
     }
 
-    private void attemptDestroy(String key, Jedis resource) {
-        Transaction transaction = resource.multi();
-        transaction.rpop(key);
-        List<Object> result = transaction.exec();
-        if (result == null) {
-            failedDestroy.mark();
-            LOG.warn("Could not move pop from {}, something modified the queue. ", key);
-        }
+    /**
+     * Calls the consumer with the worker and queue of every in flight list matching the pattern
+     */
+    private void scanInflight(Jedis resource, String pattern, BiConsumer<String, String> consumer) {
+        String prefix = inflightPrefix();
+        ScanParams params = new ScanParams().match(pattern).count(SCAN_COUNT);
+        String cursor = ScanParams.SCAN_POINTER_START;
+        do {
+            ScanResult<String> result = resource.scan(cursor, params);
+            for (String inflightKey : result.getResult()) {
+                // The worker name contains colons but the queue name does not
+                int queueStart = inflightKey.lastIndexOf(':');
+                if (queueStart <= prefix.length()) continue;
+                consumer.accept(inflightKey.substring(prefix.length(), queueStart), inflightKey.substring(queueStart + 1));
+            }
+            cursor = result.getStringCursor();
+        } while (!ScanParams.SCAN_POINTER_START.equals(cursor));
+    }
+
+    private String inflightPrefix() {
+        return JesqueUtils.createKey(config.getNamespace(), INFLIGHT) + ":";
     }
 
-    private void attemptMove(Jedis resource, String key, String keyDest) {
-        Transaction transaction = resource.multi();
-        transaction.rpoplpush(key, keyDest);
-        List<Object> result = transaction.exec();
-        if (result == null) {
-            failedMove.mark();
-            LOG.warn("Could not move job from {} to {}, something modified the queue. "
-                   + "The move will be retried when the task is next scheduled", key, keyDest);
+    /**
+     * Escapes the characters which have a meaning in redis glob patterns
+     */
+    static String escape(String name) {
+        return name.replaceAll("([*?\\[\\]\\\\])", "\\\\$1");
+    }
+
+    private void requeue(Jedis resource, String worker, String queue) {
+        String inflightKey = JesqueUtils.createKey(config.getNamespace(), INFLIGHT, worker, queue);
+        String queueKey = JesqueUtils.createKey(config.getNamespace(), QUEUE, queue);
+        while (resource.rpoplpush(inflightKey, queueKey) != null) {
+            requeued.mark();
+            LOG.info("Moved dead job of worker {} back to {}", worker, queueKey);
         }
     }
+
+    /**
+     * Extend the leases of the given workers
+     *
+     * @param workers The names of the workers which are alive
+     * @param lease How long the workers are considered alive without a new heartbeat
+     */
+    static void renewLeases(Jedis resource, Collection<String> workers, Duration lease) {
+        if (workers.isEmpty()) return;
+        double expiry = System.currentTimeMillis() + lease.toMillis();
+        Map<String, Double> leases = new HashMap<>();
+        workers.forEach(worker -> leases.put(worker, expiry));
+        resource.zadd(LEASES_KEY, leases);
+    }
 }
@@ -20,6 +20,7 @@
 package ai.grakn.engine.tasks.manager.redisqueue;
 
 import ai.grakn.engine.GraknEngineConfig;
+import static ai.grakn.engine.GraknEngineConfig.TASKS_QUEUE_HIGH_PRIORITY_WEIGHT;
 import static ai.grakn.engine.GraknEngineConfig.TASKS_RETRY_DELAY;
 import ai.grakn.engine.TaskId;
 import ai.grakn.engine.factory.EngineGraknGraphFactory;
@@ -66,7 +67,8 @@ public class RedisTaskManager implements TaskManager {
         this.factory = factory;
         this.redisTaskStorage = RedisTaskStorage.create(jedisPool, metricRegistry);
         this.redisTaskQueue = new RedisTaskQueue(jedisPool, distributedLockClient, metricRegistry,
-                config.tryIntProperty(TASKS_RETRY_DELAY, 180));
+                config.tryIntProperty(TASKS_RETRY_DELAY, 180),
+                config.tryIntProperty(TASKS_QUEUE_HIGH_PRIORITY_WEIGHT, 4));
         this.threads = threads;
     }
 
@@ -22,25 +22,38 @@ package ai.grakn.engine.tasks.manager.redisqueue;
 import ai.grakn.engine.GraknEngineConfig;
 import ai.grakn.engine.factory.EngineGraknGraphFactory;
 import ai.grakn.engine.lock.LockProvider;
+import ai.grakn.engine.tasks.manager.TaskState.Priority;
 import ai.grakn.engine.util.EngineID;
+import ai.grakn.util.REST;
 import com.codahale.metrics.CachedGauge;
 import com.codahale.metrics.Meter;
 import com.codahale.metrics.MetricRegistry;
 import static com.codahale.metrics.MetricRegistry.name;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+import mjson.Json;
 import net.greghaines.jesque.Config;
 import net.greghaines.jesque.ConfigBuilder;
 import net.greghaines.jesque.Job;
 import net.greghaines.jesque.client.Client;
 import net.greghaines.jesque.client.ClientPoolImpl;
+import net.greghaines.jesque.utils.JesqueUtils;
 import static net.greghaines.jesque.utils.JesqueUtils.entry;
 import static net.greghaines.jesque.utils.JesqueUtils.map;
+import net.greghaines.jesque.utils.ResqueConstants;
 import net.greghaines.jesque.worker.MapBasedJobFactory;
 import net.greghaines.jesque.worker.RecoveryStrategy;
 import net.greghaines.jesque.worker.Worker;
@@ -50,19 +63,40 @@ import net.greghaines.jesque.worker.WorkerPoolImpl;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.Transaction;
 import redis.clients.util.Pool;
 
 
 /**
  * Queue implemented in redis
  *
+ * <p>
+ *     Tasks are split across one redis queue per {@link Priority} and keyspace. Workers
+ *     cycle through all the known queues taking one job at a time, so a bulk load in one
+ *     keyspace cannot starve the other keyspaces. {@link Priority#HIGH} queues are listed
+ *     multiple times in each worker, which gives them a proportionally larger share of the pool.
+ * </p>
+ *
+ * <p>
+ *     The queues of a keyspace which stay empty for {@link #QUEUE_IDLE_MS}, such as those of a deleted
+ *     keyspace, are dropped from the shared set of queues together with their gauge, so workers stop polling them.
+ *     A queue is only dropped while nothing is pushed to it and producers add it back after every push.
+ * </p>
+ *
  * @author Domenico Corapi
  */
 class RedisTaskQueue {
 
     private final static Logger LOG = LoggerFactory.getLogger(RedisTaskQueue.class);
 
-    private static final String QUEUE_NAME = "grakn_engine_queue";
+    static final String QUEUE_NAME = "grakn_engine_queue";
+    // Redis set containing the names of all the queues created so far, shared across engines
+    static final String QUEUES_KEY = "grakn_engine_queues";
+    private static final long QUEUE_REFRESH_INTERVAL_MS = 2000;
+    static final long QUEUE_IDLE_MS = TimeUnit.MINUTES.toMillis(10);
+    private static final long HEARTBEAT_INTERVAL_MS = 2000;
     private static final String SUBSCRIPTION_CLASS_NAME = Task.class.getName();
 
     // Jesque configuration class for how jobs are mapped
@@ -77,32 +111,46 @@ class RedisTaskQueue {
     private final Client redisClient;
     private final Config config;
     private final Meter failures;
-    private final int processingDelay;
     private final Timer timer;
     private Pool<Jedis> jedisPool;
     private LockProvider lockProvider;
     private final MetricRegistry metricRegistry;
     private final Meter putJobMeter;
+    private final int highPriorityWeight;
+    private final Set<String> knownQueues = ConcurrentHashMap.newKeySet();
+    // The last time each known queue was seen holding jobs
+    private final Map<String, Long> lastActive = new ConcurrentHashMap<>();
+    // Names of the workers of this engine which are alive
+    private final Set<String> localWorkers = ConcurrentHashMap.newKeySet();
+    private final Duration lease;
     private WorkerPool workerPool;
+    private List<String> workerQueues;
 
     @SuppressFBWarnings(value = "SIC_INNER_SHOULD_BE_STATIC_ANON", justification = "No harm in inner classes for gauges here.")
     RedisTaskQueue(
             Pool<Jedis> jedisPool,
             LockProvider lockProvider,
             MetricRegistry metricRegistry,
-            int processingDelay) {
+            int processingDelay,
+            int highPriorityWeight) {
         this.jedisPool = jedisPool;
         this.lockProvider = lockProvider;
         this.metricRegistry = metricRegistry;
         this.config = new ConfigBuilder().build();
         this.redisClient = new ClientPoolImpl(config, jedisPool);
-        this.processingDelay = processingDelay;
+        this.highPriorityWeight = highPriorityWeight;
+        // A worker is considered dead after missing a few heartbeats at least
+        this.lease = Duration.ofMillis(Math.max(TimeUnit.SECONDS.toMillis(processingDelay), 3 * HEARTBEAT_INTERVAL_MS));
         metricRegistry.register(MetricRegistry.name(RedisTaskQueue.class, "job-queue", "size"),
                 new CachedGauge<Long>(GAUGE_CACHING_INTERVAL, TimeUnit.SECONDS) {
                     @Override
                     public Long loadValue() {
                         try (Jedis resource = jedisPool.getResource()) {
-                            return resource.llen(String.format("resque:queue:%s", QUEUE_NAME));
+                            long size = 0;
+                            for (String queue : knownQueues) {
+                                size += resource.llen(queueKey(queue));
+                            }
+                            return size;
                         }
                     }
                 });
@@ -111,7 +159,7 @@ class RedisTaskQueue {
                     @Override
                     public Long loadValue() {
                         try (Jedis resource = jedisPool.getResource()) {
-                            return (long) resource.keys("*").size();
+                            return resource.dbSize();
                         }
                     }
                 });
@@ -132,14 +180,166 @@ class RedisTaskQueue {
 
     void putJob(Task job) {
         putJobMeter.mark();
-        LOG.debug("Enqueuing job {}", job.getTaskState().getId());
+        String queue = queueFor(job);
+        LOG.debug("Enqueuing job {} in queue {}", job.getTaskState().getId(), queue);
         final Job queueJob = new Job(SUBSCRIPTION_CLASS_NAME, job);
-        redisClient.enqueue(QUEUE_NAME, queueJob);
+        redisClient.enqueue(queue, queueJob);
+        // Registered after the push, so that an engine dropping the queue concurrently either sees the job or
+        // gets the queue back in the set
+        registerQueue(queue);
     }
 
     void runInFlightProcessor() {
-        timer.scheduleAtFixedRate(new RedisInflightTaskConsumer(jedisPool, Duration.ofSeconds(
-                processingDelay), config, QUEUE_NAME, metricRegistry), new Date(), 2000);
+        timer.scheduleAtFixedRate(new RedisInflightTaskConsumer(jedisPool, config, metricRegistry, lease), new Date(), 2000);
+    }
+
+    /**
+     * Record the queue in the shared set of queues so that workers on every engine start polling it
+     */
+    private void registerQueue(String queue) {
+        try (Jedis resource = jedisPool.getResource()) {
+            resource.sadd(QUEUES_KEY, queue);
+        }
+        addKnownQueue(queue);
+        lastActive.put(queue, System.currentTimeMillis());
+    }
+
+    @SuppressFBWarnings(value = "SIC_INNER_SHOULD_BE_STATIC_ANON", justification = "No harm in inner classes for gauges here.")
+    private void addKnownQueue(String queue) {
+        if (knownQueues.add(queue)) {
+            lastActive.putIfAbsent(queue, System.currentTimeMillis());
+            metricRegistry.register(queueGauge(queue),
+                    new CachedGauge<Long>(GAUGE_CACHING_INTERVAL, TimeUnit.SECONDS) {
+                        @Override
+                        public Long loadValue() {
+                            try (Jedis resource = jedisPool.getResource()) {
+                                return resource.llen(queueKey(queue));
+                            }
+                        }
+                    });
+        }
+    }
+
+    private void removeKnownQueue(String queue) {
+        if (knownQueues.remove(queue)) {
+            lastActive.remove(queue);
+            metricRegistry.remove(queueGauge(queue));
+        }
+    }
+
+    private static String queueGauge(String queue) {
+        return MetricRegistry.name(RedisTaskQueue.class, "job-queue", queue, "size");
+    }
+
+    /**
+     * Read the queues created by any engine, drop the idle ones and, if the queues changed, hand them to the workers
+     */
+    private void refreshQueues() {
+        try (Jedis resource = jedisPool.getResource()) {
+            Set<String> queues = resource.smembers(QUEUES_KEY);
+            queues.forEach(this::addKnownQueue);
+            // Queues dropped by another engine
+            knownQueues.stream().filter(queue -> !queues.contains(queue) && isKeyspaceQueue(queue))
+                    .collect(Collectors.toList()).forEach(this::removeKnownQueue);
+            dropIdleQueues(resource);
+        }
+        List<String> queues = weightedQueues(knownQueues, highPriorityWeight);
+        synchronized(this) {
+            if (workerPool != null && !queues.equals(workerQueues)) {
+                LOG.debug("Updating workers with queues {}", queues);
+                workerPool.setQueues(queues);
+                workerQueues = queues;
+            }
+        }
+    }
+
+    private void dropIdleQueues(Jedis resource) {
+        long now = System.currentTimeMillis();
+        List<String> keyspaceQueues = knownQueues.stream().filter(RedisTaskQueue::isKeyspaceQueue).collect(Collectors.toList());
+        Pipeline pipeline = resource.pipelined();
+        List<Response<Long>> sizes = keyspaceQueues.stream().map(queue -> pipeline.llen(queueKey(queue))).collect(Collectors.toList());
+        pipeline.sync();
+        for (int i = 0; i < keyspaceQueues.size(); i++) {
+            String queue = keyspaceQueues.get(i);
+            if (sizes.get(i).get() > 0) {
+                lastActive.put(queue, now);
+            } else if (now - lastActive.getOrDefault(queue, now) > QUEUE_IDLE_MS && removeIfEmpty(resource, queueKey(queue), queue)) {
+                LOG.info("Dropping idle queue {}", queue);
+                removeKnownQueue(queue);
+            }
+        }
+    }
+
+    /**
+     * Removes the queue from the shared set of queues unless a job is pushed to it meanwhile
+     *
+     * @return true if the queue was removed
+     */
+    static boolean removeIfEmpty(Jedis resource, String queueKey, String queue) {
+        resource.watch(queueKey);
+        if (resource.llen(queueKey) > 0) {
+            resource.unwatch();
+            return false;
+        }
+        Transaction transaction = resource.multi();
+        transaction.srem(QUEUES_KEY, queue);
+        List<Object> result = transaction.exec();
+        return result != null && !result.isEmpty();
+    }
+
+    /**
+     * @return true if the queue holds the tasks of a single keyspace, only those queues are ever dropped
+     */
+    static boolean isKeyspaceQueue(String queue) {
+        return !queue.equals(QUEUE_NAME) &&
+                Arrays.stream(Priority.values()).noneMatch(priority -> queue.equals(queueName(priority, null)));
+    }
+
+    /**
+     * Helper method which selects the queue a task should go into based on its priority and keyspace
+     *
+     * @param task The task to be enqueued
+     * @return The name of the queue
+     */
+    static String queueFor(Task task) {
+        Json configuration = task.getTaskConfiguration().json();
+        String keyspace = configuration != null && configuration.isObject() && configuration.has(REST.Request.KEYSPACE) ?
+                configuration.at(REST.Request.KEYSPACE).asString() : null;
+        return queueName(task.getTaskState().priority(), keyspace);
+    }
+
+    /**
+     * @param priority The priority of the task, defaults to {@link Priority#LOW}
+     * @param keyspace The keyspace the task operates on, tasks without a keyspace share a queue
+     * @return The name of the queue holding tasks with the given priority and keyspace
+     */
+    static String queueName(@Nullable Priority priority, @Nullable String keyspace) {
+        String queue = QUEUE_NAME + "_" + (priority == null ? Priority.LOW : priority).queue();
+        return keyspace == null ? queue : queue + "_" + keyspace;
+    }
+
+    /**
+     * Builds the list of queues polled by a worker. Jesque workers rotate through their list one job
+     * at a time, so listing the {@link Priority#HIGH} queues several times gives them a weighted share.
+     *
+     * @param queues The queues to poll
+     * @param highPriorityWeight How many times a high priority queue is polled for each low priority poll
+     * @return The weighted list of queues
+     */
+    static List<String> weightedQueues(Collection<String> queues, int highPriorityWeight) {
+        String highPrefix = queueName(Priority.HIGH, null);
+        List<String> weighted = new ArrayList<>();
+        // Keep draining any job left in the legacy single queue
+        weighted.add(QUEUE_NAME);
+        for (int i = 0; i < highPriorityWeight; i++) {
+            queues.stream().filter(queue -> queue.startsWith(highPrefix)).sorted().forEach(weighted::add);
+        }
+        queues.stream().filter(queue -> !queue.startsWith(highPrefix)).sorted().forEach(weighted::add);
+        return weighted;
+    }
+
+    private String queueKey(String queue) {
+        return JesqueUtils.createKey(config.getNamespace(), ResqueConstants.QUEUE, queue);
     }
 
     void subscribe(
@@ -148,18 +348,51 @@ class RedisTaskQueue {
             GraknEngineConfig engineConfig,
             EngineGraknGraphFactory factory,
             int poolSize) {
-        LOG.info("Subscribing worker to jobs in queue {}", QUEUE_NAME);
+        try (Jedis resource = jedisPool.getResource()) {
+            resource.smembers(QUEUES_KEY).forEach(this::addKnownQueue);
+        }
+        // Every engine registers the default queues so there is always something to poll
+        for (Priority priority : Priority.values()) {
+            registerQueue(queueName(priority, null));
+        }
+        LOG.info("Subscribing worker to jobs in queues {}", knownQueues);
         // sync to avoid close while starting
         synchronized(this) {
+            this.workerQueues = weightedQueues(knownQueues, highPriorityWeight);
             this.workerPool = new WorkerPool(() -> getWorker(redisTaskManager, engineId, engineConfig, factory), poolSize);
             // This just starts poolSize threads
             workerPool.run();
         }
+        timer.schedule(new TimerTask() {
+            @Override
+            public void run() {
+                try {
+                    refreshQueues();
+                } catch (Exception e) {
+                    LOG.error("Could not refresh the list of queues", e);
+                }
+            }
+        }, QUEUE_REFRESH_INTERVAL_MS, QUEUE_REFRESH_INTERVAL_MS);
+        timer.schedule(new TimerTask() {
+            @Override
+            public void run() {
+                try (Jedis resource = jedisPool.getResource()) {
+                    RedisInflightTaskConsumer.renewLeases(resource, localWorkers, lease);
+                } catch (Exception e) {
+                    LOG.error("Could not renew the leases of the workers", e);
+                }
+            }
+        }, 0, HEARTBEAT_INTERVAL_MS);
     }
 
     private Worker getWorker(RedisTaskManager redisTaskManager, EngineID engineId,
             GraknEngineConfig engineConfig, EngineGraknGraphFactory factory) {
-        Worker worker = new WorkerPoolImpl(config, Collections.singletonList(QUEUE_NAME), JOB_FACTORY, jedisPool);
+        Worker worker = new WorkerPoolImpl(config, workerQueues, JOB_FACTORY, jedisPool);
+        // The lease of the worker is renewed as long as it runs, once it stops any job it left in flight is recovered
+        localWorkers.add(worker.getName());
+        worker.getWorkerEventEmitter().addListener(
+                (event, worker1, queue, job, runner, result, t) -> localWorkers.remove(worker1.getName()),
+                WorkerEvent.WORKER_STOP);
         // We need this since the job can only be instantiated with the
         // task coming from the queue
         worker.getWorkerEventEmitter().addListener(
@@ -22,6 +22,7 @@ package ai.grakn.engine.tasks.manager.redisqueue;
 import ai.grakn.engine.TaskId;
 import ai.grakn.engine.TaskStatus;
 import ai.grakn.engine.tasks.manager.TaskState;
+import ai.grakn.engine.tasks.manager.TaskStateCodec;
 import ai.grakn.engine.tasks.manager.TaskStateStorage;
 import ai.grakn.engine.util.EngineID;
 import ai.grakn.exception.GraknBackendException;
@@ -30,23 +31,39 @@ import com.codahale.metrics.MetricRegistry;
 import static com.codahale.metrics.MetricRegistry.name;
 import com.codahale.metrics.Timer;
 import com.codahale.metrics.Timer.Context;
-import java.util.Base64;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
 import java.util.function.Function;
-import static java.util.stream.Collectors.toSet;
-import java.util.stream.Stream;
 import javax.annotation.Nullable;
-import org.apache.commons.io.Charsets;
-import org.apache.commons.lang.SerializationUtils;
-import static org.apache.commons.lang.SerializationUtils.deserialize;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.Transaction;
+import redis.clients.jedis.ZParams;
+import redis.clients.jedis.exceptions.JedisDataException;
 import redis.clients.util.Pool;
 
 
 /**
- * DAO for redis task states
+ * <p>
+ *     DAO for redis task states
+ * </p>
+ *
+ * <p>
+ *     Every state is stored as a hash encoded by {@link TaskStateCodec}. The ids of the states are also kept in
+ *     sorted sets by status, class, creator and engine, scored by the time of the last write, so listing
+ *     tasks is a range read over an index instead of a scan over all the keys.
+ *     The hashes expire on their own, the index entries older than the expiry time are trimmed when an index is read.
+ * </p>
  *
  * @author Domenico Corapi
  */
@@ -55,17 +72,32 @@ public class RedisTaskStorage implements TaskStateStorage {
     private static final Logger LOG = LoggerFactory.getLogger(RedisTaskStorage.class);
     private final Timer updateTimer;
     private final Timer getTimer;
+    private final Timer listTimer;
     private final Meter writeError;
 
     private Pool<Jedis> redis;
 
+    private static final int EXPIRE_SECONDS = 60*60;
+    private static final int UPDATE_ATTEMPTS = 5;
     private static final String PREFIX = "state:";
+    private static final String INDEX_PREFIX = "state-index:";
+    private static final String ALL_INDEX = INDEX_PREFIX + "all";
+    // Set of all the index keys ever written, so they can be cleared without scanning the keys
+    private static final String INDEX_REGISTRY = INDEX_PREFIX + "keys";
     private static final Function<String, String> encodeKey = o -> PREFIX + o;
+    // Values returned by the redis TYPE command
+    private static final String HASH = "hash";
+    private static final String NONE = "none";
+
+    // The fields which are indexed
+    private static final String[] INDEXED_FIELDS = {
+            TaskStateCodec.STATUS, TaskStateCodec.TASK_CLASS_NAME, TaskStateCodec.CREATOR, TaskStateCodec.ENGINE_ID};
 
     private RedisTaskStorage(Pool<Jedis> redis, MetricRegistry metricRegistry) {
         this.redis = redis;
         this.updateTimer = metricRegistry.timer(name(RedisTaskStorage.class, "update"));
         this.getTimer = metricRegistry.timer(name(RedisTaskStorage.class, "get"));
+        this.listTimer = metricRegistry.timer(name(RedisTaskStorage.class, "list"));
         this.writeError = metricRegistry.meter(name(RedisTaskStorage.class, "write", "error"));
     }
 
@@ -78,16 +110,24 @@ public class RedisTaskStorage implements TaskStateStorage {
         try(Jedis jedis = redis.getResource(); Context ignore = updateTimer.time()){
             String key = encodeKey.apply(state.getId().getValue());
             LOG.debug("New state {}", key);
-            String value = new String(Base64.getEncoder().encode(SerializationUtils.serialize(state)),
-                    Charsets.UTF_8);
-            String status = jedis.set(key, value, "nx", "ex", 60*60/*expire time in seconds*/);
-            if (status != null && status.equalsIgnoreCase("OK")) {
-                return state.getId();
-            } else {
+            jedis.watch(key);
+            String type = jedis.type(key);
+            if (HASH.equals(type)) {
+                jedis.unwatch();
+                writeError.mark();
+                LOG.error("Could not write state {} to redis, it already exists", key);
+                throw GraknBackendException.stateStorage();
+            } else if (!NONE.equals(type)) {
+                LOG.warn("Replacing state {} stored in the legacy format", key);
+            }
+            Transaction transaction = jedis.multi();
+            write(transaction, key, state, new HashSet<>());
+            if (transaction.exec() == null) {
                 writeError.mark();
-                LOG.error("Could not write state {} to redis. Returned: {}", key, status);
+                LOG.error("Could not write state {} to redis, it was modified concurrently", key);
                 throw GraknBackendException.stateStorage();
             }
+            return state.getId();
         }
     }
 
@@ -96,10 +136,27 @@ public class RedisTaskStorage implements TaskStateStorage {
         try(Jedis jedis = redis.getResource(); Context ignore = updateTimer.time()){
             String key = encodeKey.apply(state.getId().getValue());
             LOG.debug("Updating state {}", key);
-            String value = new String(Base64.getEncoder().encode(SerializationUtils.serialize(state)),
-                    Charsets.UTF_8);
-            String status = jedis.setex(key, 60*60/*expire time in seconds*/, value);
-            return status.equalsIgnoreCase("OK");
+            // Optimistic concurrency control, the old index entries must be the ones we read
+            for (int i = 0; i < UPDATE_ATTEMPTS; i++) {
+                jedis.watch(key);
+                Map<String, String> previousFields = new HashMap<>();
+                try {
+                    List<String> previous = jedis.hmget(key, INDEXED_FIELDS);
+                    for (int j = 0; j < INDEXED_FIELDS.length; j++) {
+                        if (previous.get(j) != null) previousFields.put(INDEXED_FIELDS[j], previous.get(j));
+                    }
+                } catch (JedisDataException e) {
+                    // A legacy state is not indexed, it is replaced by the write
+                    if (!isWrongType(e)) throw e;
+                    LOG.warn("Replacing state {} stored in the legacy format", key);
+                }
+                Transaction transaction = jedis.multi();
+                write(transaction, key, state, indexes(previousFields));
+                if (transaction.exec() != null) return true;
+            }
+            writeError.mark();
+            LOG.error("Could not update state {}, it kept being modified concurrently", key);
+            return false;
         }
     }
 
@@ -107,9 +164,18 @@ public class RedisTaskStorage implements TaskStateStorage {
     @Nullable
     public TaskState getState(TaskId id) throws GraknBackendException {
         try(Jedis jedis = redis.getResource(); Context ignore = getTimer.time()){
-            String value = jedis.get(encodeKey.apply(id.getValue()));
-            if (value != null) {
-                return (TaskState) deserialize(Base64.getDecoder().decode(value));
+            String key = encodeKey.apply(id.getValue());
+            Map<String, String> fields;
+            try {
+                fields = jedis.hgetAll(key);
+            } catch (JedisDataException e) {
+                if (!isWrongType(e)) throw e;
+                LOG.warn("Ignoring state {} stored in the legacy format", key);
+                fields = Collections.emptyMap();
+            }
+            TaskState state = TaskStateCodec.decode(fields);
+            if (state != null) {
+                return state;
             } else {
                 LOG.info("Requested state {} was not found", id.getValue());
                 // TODO Don't use exceptions for an expected return like this
@@ -121,42 +187,54 @@ public class RedisTaskStorage implements TaskStateStorage {
     @Override
     public boolean containsTask(TaskId id) {
         try(Jedis jedis = redis.getResource()){
-            String value = jedis.get(encodeKey.apply(id.getValue()));
-            return value != null;
+            return HASH.equals(jedis.type(encodeKey.apply(id.getValue())));
         }
     }
 
+    /**
+     * The tasks are returned starting from the most recently updated
+     */
     @Override
     public Set<TaskState> getTasks(@Nullable TaskStatus taskStatus, @Nullable String taskClassName,
             @Nullable String createdBy, @Nullable EngineID runningOnEngine, int limit, int offset) {
-        try (Jedis jedis = redis.getResource()) {
-            Stream<TaskState> stream = jedis.keys(PREFIX + "*").stream().map(key -> {
-                String v = jedis.get(key);
-                try {
-                    return (TaskState) deserialize(Base64.getDecoder().decode(v));
-                } catch (IllegalArgumentException e) {
-                    LOG.error("Could not decode key:value {}:{}", key, v);
-                    throw e;
-                }
-            });
-            if (taskStatus != null) {
-                stream = stream.filter(t -> t.status().equals(taskStatus));
-            }
-            if (taskClassName != null) {
-                stream = stream.filter(t -> t.taskClass().getName().equals(taskClassName));
-            }
-            if (createdBy != null) {
-                stream = stream.filter(t -> t.creator().equals(createdBy));
-            }
-            if (runningOnEngine != null) {
-                stream = stream
-                        .filter(t -> t.engineID() != null && t.engineID().equals(runningOnEngine));
-            }
-            stream = stream.skip(offset);
-            if (limit > 0) {
-                stream = stream.limit(limit);
+        List<String> indexes = new ArrayList<>();
+        if (taskStatus != null) indexes.add(index(TaskStateCodec.STATUS, taskStatus.name()));
+        if (taskClassName != null) indexes.add(index(TaskStateCodec.TASK_CLASS_NAME, taskClassName));
+        if (createdBy != null) indexes.add(index(TaskStateCodec.CREATOR, createdBy));
+        if (runningOnEngine != null) indexes.add(index(TaskStateCodec.ENGINE_ID, runningOnEngine.value()));
+        if (indexes.isEmpty()) indexes.add(ALL_INDEX);
+
+        try (Jedis jedis = redis.getResource(); Context ignore = listTimer.time()) {
+            double expired = System.currentTimeMillis() - EXPIRE_SECONDS * 1000.0;
+            indexes.forEach(index -> jedis.zremrangeByScore(index, Double.NEGATIVE_INFINITY, expired));
+
+            long start = Math.max(offset, 0);
+            long end = limit > 0 ? start + limit - 1 : -1;
+            Set<String> ids;
+            if (indexes.size() == 1) {
+                ids = jedis.zrevrange(indexes.get(0), start, end);
+            } else {
+                // The intersection is only kept for the duration of this read
+                String intersection = INDEX_PREFIX + "tmp:" + UUID.randomUUID();
+                Pipeline pipeline = jedis.pipelined();
+                pipeline.zinterstore(intersection, new ZParams().aggregate(ZParams.Aggregate.MAX), indexes.toArray(new String[indexes.size()]));
+                Response<Set<String>> range = pipeline.zrevrange(intersection, start, end);
+                pipeline.del(intersection);
+                pipeline.sync();
+                ids = range.get();
             }
-            Set<TaskState> results = stream.collect(toSet());
+
+            Pipeline pipeline = jedis.pipelined();
+            List<Response<Map<String, String>>> responses = new ArrayList<>(ids.size());
+            ids.forEach(id -> responses.add(pipeline.hgetAll(encodeKey.apply(id))));
+            pipeline.sync();
+
+            // States which expired since they were last indexed are skipped
+            Set<TaskState> results = new LinkedHashSet<>();
+            responses.forEach(response -> {
+                TaskState state = TaskStateCodec.decode(response.get());
+                if (state != null) results.add(state);
+            });
             LOG.debug("getTasks returning {} results", results.size());
             return results;
         } catch (Exception e) {
@@ -167,10 +245,13 @@ public class RedisTaskStorage implements TaskStateStorage {
     @Override
     public void clear() {
         try (Jedis jedis = redis.getResource()) {
-            Set<String> keys = jedis.keys(PREFIX + "*");
-            for (String key : keys) {
-                jedis.del(key);
-            }
+            Set<String> ids = jedis.zrange(ALL_INDEX, 0, -1);
+            Set<String> indexes = jedis.smembers(INDEX_REGISTRY);
+            Pipeline pipeline = jedis.pipelined();
+            ids.forEach(id -> pipeline.del(encodeKey.apply(id)));
+            indexes.forEach(pipeline::del);
+            pipeline.del(INDEX_REGISTRY);
+            pipeline.sync();
         }
     }
 
@@ -182,4 +263,47 @@ public class RedisTaskStorage implements TaskStateStorage {
             return false;
         }
     }
+
+    /**
+     * Replace the stored state and move its id from the indexes it is no longer part of to the new ones
+     */
+    private static void write(Transaction transaction, String key, TaskState state, Set<String> previousIndexes) {
+        String id = state.getId().getValue();
+        Map<String, String> fields = TaskStateCodec.encode(state);
+        Set<String> indexes = indexes(fields);
+        double score = System.currentTimeMillis();
+
+        transaction.del(key);
+        transaction.hmset(key, fields);
+        transaction.expire(key, EXPIRE_SECONDS);
+        for (String index : previousIndexes) {
+            if (!indexes.contains(index)) transaction.zrem(index, id);
+        }
+        for (String index : indexes) {
+            transaction.zadd(index, score, id);
+        }
+        transaction.sadd(INDEX_REGISTRY, indexes.toArray(new String[indexes.size()]));
+    }
+
+    private static Set<String> indexes(Map<String, String> fields) {
+        Set<String> indexes = new HashSet<>();
+        indexes.add(ALL_INDEX);
+        for (String field : INDEXED_FIELDS) {
+            String value = fields.get(field);
+            if (value != null) indexes.add(index(field, value));
+        }
+        return indexes;
+    }
+
+    /**
+     * States written before they were stored as hashes are plain strings. They are treated as absent,
+     * so the upgrade does not fail task updates, and are replaced by the next write.
+     */
+    private static boolean isWrongType(JedisDataException e) {
+        return e.getMessage() != null && e.getMessage().startsWith("WRONGTYPE");
+    }
+
+    private static String index(String field, String value) {
+        return INDEX_PREFIX + field + ":" + value;
+    }
 }
@@ -0,0 +1,116 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.engine.lock;
+
+import ai.grakn.util.EmbeddedRedis;
+import com.google.common.collect.ImmutableList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisPoolConfig;
+
+public class JedisLockProviderTest {
+
+    private static final int PORT = 7002;
+
+    private static JedisPool jedisPool;
+
+    @BeforeClass
+    public static void setupClass() {
+        EmbeddedRedis.start(PORT);
+        JedisPoolConfig poolConfig = new JedisPoolConfig();
+        jedisPool = new JedisPool(poolConfig, "localhost", PORT);
+    }
+
+    @AfterClass
+    public static void tearDownClass() throws InterruptedException {
+        jedisPool.close();
+        EmbeddedRedis.stop();
+    }
+
+    @Test
+    public void whenOtherEngineHasOneOfTheLocks_TryLockOnAllFails() throws Exception {
+        JedisLockProvider engine1 = new JedisLockProvider(jedisPool);
+        JedisLockProvider engine2 = new JedisLockProvider(jedisPool);
+
+        Lock lock = engine1.getLock("b");
+        lock.lock();
+
+        Assert.assertFalse(CompletableFuture.supplyAsync(() -> engine2.getLocks(ImmutableList.of("a", "b", "c")).tryLock()).get());
+
+        lock.unlock();
+
+        Assert.assertTrue(CompletableFuture.supplyAsync(() -> {
+            Lock locks = engine2.getLocks(ImmutableList.of("a", "b", "c"));
+            boolean locked = locks.tryLock();
+            if (locked) locks.unlock();
+            return locked;
+        }).get());
+    }
+
+    @Test
+    public void whenOtherEngineHoldsLock_TryLockTimesOut() throws Exception {
+        JedisLockProvider engine1 = new JedisLockProvider(jedisPool);
+        JedisLockProvider engine2 = new JedisLockProvider(jedisPool);
+
+        Lock lock = engine1.getLock("timeout");
+        lock.lock();
+        try {
+            Assert.assertFalse(engine2.getLock("timeout").tryLock(500, TimeUnit.MILLISECONDS));
+        } finally {
+            lock.unlock();
+        }
+        Assert.assertTrue(engine2.getLock("timeout").tryLock(500, TimeUnit.MILLISECONDS));
+        engine2.getLock("timeout").unlock();
+    }
+
+    @Test
+    public void whenThreadsOfTheSameEngineLockOverlappingNames_TheyNeverRunConcurrently() {
+        JedisLockProvider engine = new JedisLockProvider(jedisPool, 4);
+        AtomicInteger running = new AtomicInteger(0);
+        AtomicInteger maxRunning = new AtomicInteger(0);
+
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[8];
+        for (int i = 0; i < futures.length; i++) {
+            ImmutableList<String> names = i % 2 == 0 ? ImmutableList.of("x", "y") : ImmutableList.of("y", "x");
+            futures[i] = CompletableFuture.runAsync(() -> {
+                Lock lock = engine.getLocks(names);
+                lock.lock();
+                try {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    Thread.sleep(20);
+                    running.decrementAndGet();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    lock.unlock();
+                }
+            });
+        }
+        CompletableFuture.allOf(futures).join();
+
+        Assert.assertEquals(1, maxRunning.get());
+    }
+}
@@ -23,12 +23,15 @@ import org.junit.Test;
 import org.junit.contrib.java.lang.system.SystemOutRule;
 import org.junit.rules.ExpectedException;
 
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.IsEqual.equalTo;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 
 public class ProcessWideLockProviderTest {
 
@@ -54,4 +57,16 @@ public class ProcessWideLockProviderTest {
 
         assertEquals(lock1, lock2);
     }
+
+    @Test
+    public void whenLockingManyNames_OtherThreadsCannotLockAnyOfThem() throws Exception {
+        ProcessWideLockProvider l = new ProcessWideLockProvider();
+
+        Lock locks = l.getLocks(Arrays.asList("a", "b", "c"));
+        locks.lock();
+
+        assertFalse(CompletableFuture.supplyAsync(() -> l.getLock("b").tryLock()).get());
+
+        locks.unlock();
+    }
 }
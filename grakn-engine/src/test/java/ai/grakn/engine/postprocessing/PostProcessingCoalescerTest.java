@@ -0,0 +1,200 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.engine.postprocessing;
+
+import ai.grakn.engine.tasks.connection.RedisCountStorage;
+import ai.grakn.engine.tasks.manager.TaskConfiguration;
+import ai.grakn.engine.tasks.manager.TaskState;
+import ai.grakn.engine.tasks.manager.TaskSubmitter;
+import ai.grakn.util.EmbeddedRedis;
+import ai.grakn.util.REST;
+import ai.grakn.util.Schema;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Sets;
+import java.util.Map;
+import java.util.Set;
+import mjson.Json;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisPoolConfig;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class PostProcessingCoalescerTest {
+
+    private static final int PORT = 7004;
+
+    private static JedisPool jedisPool;
+    private static RedisCountStorage redis;
+
+    private TaskSubmitter taskSubmitter;
+    private PostProcessingCoalescer coalescer;
+
+    @BeforeClass
+    public static void setupClass() {
+        EmbeddedRedis.start(PORT);
+        jedisPool = new JedisPool(new JedisPoolConfig(), "localhost", PORT);
+        redis = RedisCountStorage.create(jedisPool, new MetricRegistry());
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+        jedisPool.close();
+        EmbeddedRedis.stop();
+    }
+
+    @Before
+    public void setUp() {
+        taskSubmitter = mock(TaskSubmitter.class);
+        coalescer = new PostProcessingCoalescer(taskSubmitter, redis, 60000, new MetricRegistry());
+    }
+
+    @After
+    public void clear() {
+        try (Jedis jedis = jedisPool.getResource()) {
+            jedis.flushAll();
+        }
+    }
+
+    @Test
+    public void whenCommitsReferenceTheSameIndex_TheirJobsAreMergedInRedisBeforeReturning() {
+        coalescer.addJobs("keyspace", commitLog("index1", "a", "b"));
+        coalescer.addJobs("keyspace", commitLog("index1", "b", "c"));
+        coalescer.addJobs("keyspace", commitLog("index2", "d"));
+
+        Map<String, Set<String>> jobs = redis.getPostProcessingJobs("keyspace");
+        assertEquals(Sets.newHashSet("a", "b", "c"), jobs.get("index1"));
+        assertEquals(Sets.newHashSet("d"), jobs.get("index2"));
+    }
+
+    @Test
+    public void whenCommitsReferenceTheSameKeyspace_OneTaskIsSubmittedForAllOfThem() {
+        coalescer.addJobs("keyspace", commitLog("index1", "a"));
+        coalescer.addJobs("keyspace", commitLog("index2", "b"));
+
+        ArgumentCaptor<TaskConfiguration> configuration = ArgumentCaptor.forClass(TaskConfiguration.class);
+        verify(taskSubmitter, times(1)).addTask(any(TaskState.class), configuration.capture());
+
+        // The task reads the persisted jobs rather than carrying them
+        Json json = configuration.getValue().json();
+        assertEquals("keyspace", json.at(REST.Request.KEYSPACE).asString());
+        assertFalse(json.has(REST.Request.COMMIT_LOG_FIXING));
+    }
+
+    @Test
+    public void whenTheWaitingTaskStarts_TheNextCommitSubmitsANewTask() {
+        coalescer.addJobs("keyspace", commitLog("index", "a"));
+        redis.clearPostProcessingScheduled("keyspace");
+        coalescer.addJobs("keyspace", commitLog("index", "b"));
+
+        verify(taskSubmitter, times(2)).addTask(any(TaskState.class), any(TaskConfiguration.class));
+    }
+
+    @Test
+    public void whenCommitsBelongToDifferentKeyspaces_OneTaskIsSubmittedPerKeyspace() {
+        coalescer.addJobs("keyspace1", commitLog("index", "a"));
+        coalescer.addJobs("keyspace2", commitLog("index", "a"));
+
+        verify(taskSubmitter, times(2)).addTask(any(TaskState.class), any(TaskConfiguration.class));
+    }
+
+    @Test
+    public void whenSubmittingTheTaskFails_JobsArePersistedAndTheNextCommitSubmitsATask() {
+        doThrow(new RuntimeException("Queue unavailable")).doNothing()
+                .when(taskSubmitter).addTask(any(TaskState.class), any(TaskConfiguration.class));
+
+        coalescer.addJobs("keyspace", commitLog("index", "a"));
+        assertTrue(redis.getPostProcessingJobs("keyspace").containsKey("index"));
+
+        coalescer.addJobs("keyspace", commitLog("index", "b"));
+        verify(taskSubmitter, times(2)).addTask(any(TaskState.class), any(TaskConfiguration.class));
+    }
+
+    @Test
+    public void whenEngineRestarts_ATaskIsSubmittedForThePersistedJobs() {
+        redis.addPostProcessingJobs("keyspace", ImmutableMap.of("index", Sets.newHashSet("a")));
+
+        new PostProcessingCoalescer(taskSubmitter, redis, 60000, new MetricRegistry()).submitPersistedJobs();
+
+        verify(taskSubmitter, times(1)).addTask(any(TaskState.class), any(TaskConfiguration.class));
+    }
+
+    @Test
+    public void whenAJobIsRemoved_IdsAddedInTheMeantimeAreKept() {
+        redis.addPostProcessingJobs("keyspace", ImmutableMap.of("index", Sets.newHashSet("a", "b")));
+        redis.addPostProcessingJobs("keyspace", ImmutableMap.of("index", Sets.newHashSet("c")));
+
+        redis.removePostProcessingJob("keyspace", "index", Sets.newHashSet("a", "b"));
+        assertEquals(Sets.newHashSet("c"), redis.getPostProcessingJobs("keyspace").get("index"));
+
+        redis.removePostProcessingJob("keyspace", "index", Sets.newHashSet("c"));
+        assertTrue(redis.getPostProcessingJobs("keyspace").isEmpty());
+    }
+
+    @Test
+    public void whenAllJobsOfAKeyspaceAreRemoved_NoTaskIsSubmittedForItOnRestart() {
+        redis.addPostProcessingJobs("keyspace", ImmutableMap.of("index", Sets.newHashSet("a")));
+        redis.removePostProcessingJob("keyspace", "index", Sets.newHashSet("a"));
+
+        assertTrue(redis.getPostProcessingKeyspaces().isEmpty());
+        new PostProcessingCoalescer(taskSubmitter, redis, 60000, new MetricRegistry()).submitPersistedJobs();
+        verify(taskSubmitter, never()).addTask(any(), any());
+    }
+
+    @Test
+    public void whenAKeyspaceHasNoJobsLeft_ItIsForgottenWhenListingKeyspaces() {
+        try (Jedis jedis = jedisPool.getResource()) {
+            jedis.sadd("PP_KEYSPACES", "keyspace");
+        }
+        redis.addPostProcessingJobs("other", ImmutableMap.of("index", Sets.newHashSet("a")));
+
+        assertEquals(Sets.newHashSet("other"), redis.getPostProcessingKeyspaces());
+        try (Jedis jedis = jedisPool.getResource()) {
+            assertFalse(jedis.sismember("PP_KEYSPACES", "keyspace"));
+        }
+    }
+
+    @Test
+    public void whenCommitLogHasNothingToFix_NoTaskIsSubmitted() {
+        coalescer.addJobs("keyspace", Json.object(REST.Request.COMMIT_LOG_FIXING,
+                Json.object(Schema.BaseType.RESOURCE.name(), Json.object())));
+
+        verify(taskSubmitter, never()).addTask(any(), any());
+        assertTrue(redis.getPostProcessingJobs("keyspace").isEmpty());
+    }
+
+    private static Json commitLog(String index, String... ids) {
+        return Json.object(REST.Request.COMMIT_LOG_FIXING,
+                Json.object(Schema.BaseType.RESOURCE.name(), Json.object(index, Json.array((Object[]) ids))));
+    }
+}
@@ -19,56 +19,124 @@
 
 package ai.grakn.engine.tasks.manager.redisqueue;
 
-import static ai.grakn.engine.tasks.manager.redisqueue.RedisInflightTaskConsumer.ITERATIONS;
+import static ai.grakn.engine.tasks.manager.redisqueue.RedisInflightTaskConsumer.LEASES_KEY;
 import com.codahale.metrics.MetricRegistry;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import java.time.Duration;
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeoutException;
+import java.util.Collections;
+import net.greghaines.jesque.Config;
 import net.greghaines.jesque.ConfigBuilder;
+import net.greghaines.jesque.utils.JesqueUtils;
+import static net.greghaines.jesque.utils.ResqueConstants.INFLIGHT;
+import static net.greghaines.jesque.utils.ResqueConstants.QUEUE;
+import org.junit.Before;
 import org.junit.Test;
-import static org.mockito.ArgumentMatchers.anyLong;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
-import redis.clients.jedis.BuilderFactory;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPool;
-import redis.clients.jedis.Response;
-import redis.clients.jedis.Transaction;
+import redis.clients.jedis.ScanParams;
+import redis.clients.jedis.ScanResult;
 
 public class RedisInflightTaskConsumerTest {
 
-    private static final String QUEUE_NAME = "QUEUE_NAME";
     public static final MetricRegistry METRIC_REGISTRY = new MetricRegistry();
+    private static final Config CONFIG = new ConfigBuilder().build();
+    private static final String WORKER = "host:1-0:queue";
+    private static final String QUEUE_NAME = "queue";
 
-    private static String TRICKY_TASK = "{\"class\":\"ai.grakn.engine.tasks.manager.redisqueue.Task\",\"args\":[{\"taskState\":{\"creator\":\"\",\"schedule\":{\"runAt\":1499800245809,\"interval\":null},\"id\":{\"value\":\"0debb87c-a4cd-46d2-90a7-03efbb10318f\"},\"priority\":\"LOW\",\"status\":\"CREATED\",\"taskClassName\":\"ai.grakn.engine.tasks.mock.LongExecutionMockTask\"},\"taskConfiguration\":{\"configuration\":\"{\\\"id\\\":\\\"0cc42a2d-134c-4385-a4e9-69edcc10fee8\\\"}\"}}],\"vars\":null}";
+    private JedisPool jedisPool;
+    private Jedis jedis;
+    private RedisInflightTaskConsumer consumer;
 
-    @Test
-    public void whenRunningInFlightConsumerWithTrickyTask_NoFailures()
-            throws ExecutionException, InterruptedException, TimeoutException {
-        JedisPool jedisPool = mock(JedisPool.class);
-        Jedis jedis = mock(Jedis.class);
+    @Before
+    public void setUp() {
+        jedisPool = mock(JedisPool.class);
+        jedis = mock(Jedis.class);
         when(jedisPool.getResource()).thenReturn(jedis);
-        HashSet<String> stringHashSet = new HashSet<>();
-        String k = "resque:something:something";
-        stringHashSet.add(k);
-        when(jedis.keys(anyString())).thenReturn(stringHashSet);
-        ArrayList<String> v = new ArrayList<>();
-        v.add(TRICKY_TASK);
-        when(jedis.lrange(anyString(), anyLong(), anyLong())).thenReturn(v);
-        when(jedis.watch(anyString())).thenReturn("");
-        Transaction transaction = mock(Transaction.class);
-        when(transaction.rpoplpush(anyString(), anyString())).thenReturn(new Response<>(
-                BuilderFactory.STRING));
-        when(jedis.multi()).thenReturn(transaction);
-        RedisInflightTaskConsumer redisInflightTaskConsumer =
-                new RedisInflightTaskConsumer(jedisPool, Duration.ofSeconds(30),
-                        new ConfigBuilder().build(), QUEUE_NAME, METRIC_REGISTRY);
-        redisInflightTaskConsumer.run();
-        verify(transaction, times( ITERATIONS)).rpoplpush(anyString(), anyString());
+        when(jedis.smembers(RedisTaskQueue.QUEUES_KEY)).thenReturn(ImmutableSet.of(QUEUE_NAME));
+        when(jedis.zrangeByScore(anyString(), anyDouble(), anyDouble())).thenReturn(Collections.emptySet());
+        consumer = new RedisInflightTaskConsumer(jedisPool, CONFIG, METRIC_REGISTRY, Duration.ofDays(1));
+    }
+
+    @Test
+    public void whenNoLeaseExpired_NoQueueIsTouched() {
+        consumer.run();
+        verify(jedis, never()).smembers(anyString());
+        verify(jedis, never()).rpoplpush(anyString(), anyString());
+        verify(jedis, never()).scan(anyString(), any(ScanParams.class));
+    }
+
+    @Test
+    public void whenSweepDelayHasPassed_InflightJobsOfWorkersWithoutLeaseAreMovedBackOnce() {
+        String legacyWorker = "oldhost:2-0:queue";
+        String legacyInflight = JesqueUtils.createKey(CONFIG.getNamespace(), INFLIGHT, legacyWorker, QUEUE_NAME);
+        String liveInflight = JesqueUtils.createKey(CONFIG.getNamespace(), INFLIGHT, WORKER, QUEUE_NAME);
+        String queue = JesqueUtils.createKey(CONFIG.getNamespace(), QUEUE, QUEUE_NAME);
+        when(jedis.scan(anyString(), any(ScanParams.class)))
+                .thenReturn(new ScanResult<>(ScanParams.SCAN_POINTER_START, ImmutableList.of(legacyInflight, liveInflight)));
+        when(jedis.zscore(LEASES_KEY, WORKER)).thenReturn(1.0);
+        when(jedis.zscore(LEASES_KEY, legacyWorker)).thenReturn(null);
+        when(jedis.rpoplpush(legacyInflight, queue)).thenReturn("job1", null);
+
+        consumer = new RedisInflightTaskConsumer(jedisPool, CONFIG, METRIC_REGISTRY, Duration.ZERO);
+        consumer.run();
+        consumer.run();
+
+        verify(jedis, times(1)).scan(anyString(), any(ScanParams.class));
+        verify(jedis, times(2)).rpoplpush(legacyInflight, queue);
+        verify(jedis, never()).rpoplpush(liveInflight, queue);
+    }
+
+    @Test
+    public void whenLeaseExpired_InflightJobsAreMovedBackToTheirQueue() {
+        String inflight = JesqueUtils.createKey(CONFIG.getNamespace(), INFLIGHT, WORKER, QUEUE_NAME);
+        String queue = JesqueUtils.createKey(CONFIG.getNamespace(), QUEUE, QUEUE_NAME);
+        when(jedis.zrangeByScore(anyString(), anyDouble(), anyDouble())).thenReturn(ImmutableSet.of(WORKER));
+        when(jedis.zrem(LEASES_KEY, WORKER)).thenReturn(1L);
+        when(jedis.scan(anyString(), any(ScanParams.class)))
+                .thenReturn(new ScanResult<>(ScanParams.SCAN_POINTER_START, ImmutableList.of(inflight)));
+        when(jedis.rpoplpush(inflight, queue)).thenReturn("job1", "job2", null);
+
+        consumer.run();
+        verify(jedis, times(3)).rpoplpush(inflight, queue);
+        verify(jedis, never()).smembers(anyString());
+    }
+
+    @Test
+    public void whenLeaseExpired_OnlyTheInflightListsOfThatWorkerAreMovedBack() {
+        String otherWorker = WORKER + ":other";
+        String inflight = JesqueUtils.createKey(CONFIG.getNamespace(), INFLIGHT, WORKER, QUEUE_NAME);
+        String otherInflight = JesqueUtils.createKey(CONFIG.getNamespace(), INFLIGHT, otherWorker, QUEUE_NAME);
+        when(jedis.zrangeByScore(anyString(), anyDouble(), anyDouble())).thenReturn(ImmutableSet.of(WORKER));
+        when(jedis.zrem(LEASES_KEY, WORKER)).thenReturn(1L);
+        when(jedis.scan(anyString(), any(ScanParams.class)))
+                .thenReturn(new ScanResult<>(ScanParams.SCAN_POINTER_START, ImmutableList.of(inflight, otherInflight)));
+
+        consumer.run();
+        verify(jedis, never()).rpoplpush(eq(otherInflight), anyString());
+    }
+
+    @Test
+    public void whenEscapingAWorkerName_GlobCharactersAreEscaped() {
+        assertEquals("host:1-0:queue\\*\\[a\\]", RedisInflightTaskConsumer.escape("host:1-0:queue*[a]"));
+    }
+
+    @Test
+    public void whenLeaseWasAlreadyClaimed_JobsAreLeftToTheOtherEngine() {
+        when(jedis.zrangeByScore(anyString(), anyDouble(), anyDouble())).thenReturn(ImmutableSet.of(WORKER));
+        when(jedis.zrem(LEASES_KEY, WORKER)).thenReturn(0L);
+
+        consumer.run();
+        verify(jedis, never()).rpoplpush(anyString(), anyString());
     }
-}
\ No newline at end of file
+}
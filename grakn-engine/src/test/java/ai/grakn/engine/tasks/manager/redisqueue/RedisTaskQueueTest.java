@@ -0,0 +1,123 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ *
+ */
+
+package ai.grakn.engine.tasks.manager.redisqueue;
+
+import ai.grakn.engine.TaskId;
+import ai.grakn.engine.tasks.manager.TaskConfiguration;
+import ai.grakn.engine.tasks.manager.TaskSchedule;
+import ai.grakn.engine.tasks.manager.TaskState;
+import ai.grakn.engine.tasks.manager.TaskState.Priority;
+import ai.grakn.engine.tasks.mock.ShortExecutionMockTask;
+import static ai.grakn.util.REST.Request.KEYSPACE;
+import com.google.common.collect.ImmutableList;
+import java.util.Collections;
+import java.util.List;
+import mjson.Json;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Transaction;
+
+public class RedisTaskQueueTest {
+
+    @Test
+    public void whenTasksHaveDifferentKeyspaces_TheyGoInDifferentQueues() {
+        String queue1 = RedisTaskQueue.queueFor(task(Priority.LOW, "keyspace1"));
+        String queue2 = RedisTaskQueue.queueFor(task(Priority.LOW, "keyspace2"));
+        assertNotEquals(queue1, queue2);
+        assertEquals(queue1, RedisTaskQueue.queueFor(task(Priority.LOW, "keyspace1")));
+    }
+
+    @Test
+    public void whenTasksHaveDifferentPriorities_TheyGoInDifferentQueues() {
+        assertNotEquals(RedisTaskQueue.queueFor(task(Priority.LOW, "keyspace")),
+                RedisTaskQueue.queueFor(task(Priority.HIGH, "keyspace")));
+    }
+
+    @Test
+    public void whenTaskHasNoKeyspace_ItGoesInTheDefaultQueueOfItsPriority() {
+        TaskState state = TaskState.of(ShortExecutionMockTask.class, RedisTaskQueueTest.class.getName(), TaskSchedule.now(), Priority.HIGH);
+        Task task = Task.builder().setTaskState(state).setTaskConfiguration(TaskConfiguration.of(Json.object())).build();
+        assertEquals(RedisTaskQueue.queueName(Priority.HIGH, null), RedisTaskQueue.queueFor(task));
+    }
+
+    @Test
+    public void whenWeightingQueues_HighPriorityQueuesAreRepeated() {
+        String high = RedisTaskQueue.queueName(Priority.HIGH, "keyspace");
+        String low = RedisTaskQueue.queueName(Priority.LOW, "keyspace");
+        List<String> weighted = RedisTaskQueue.weightedQueues(ImmutableList.of(low, high), 3);
+        assertEquals(3, Collections.frequency(weighted, high));
+        assertEquals(1, Collections.frequency(weighted, low));
+    }
+
+    @Test
+    public void whenQueueHasNoKeyspace_ItIsNeverDropped() {
+        assertFalse(RedisTaskQueue.isKeyspaceQueue(RedisTaskQueue.QUEUE_NAME));
+        assertFalse(RedisTaskQueue.isKeyspaceQueue(RedisTaskQueue.queueName(Priority.HIGH, null)));
+        assertFalse(RedisTaskQueue.isKeyspaceQueue(RedisTaskQueue.queueName(Priority.LOW, null)));
+        assertTrue(RedisTaskQueue.isKeyspaceQueue(RedisTaskQueue.queueName(Priority.LOW, "keyspace")));
+    }
+
+    @Test
+    public void whenQueueIsEmpty_ItIsRemovedFromTheSetOfQueues() {
+        Jedis jedis = mock(Jedis.class);
+        Transaction transaction = mock(Transaction.class);
+        when(jedis.llen("key")).thenReturn(0L);
+        when(jedis.multi()).thenReturn(transaction);
+        when(transaction.exec()).thenReturn(Collections.singletonList(1L));
+
+        assertTrue(RedisTaskQueue.removeIfEmpty(jedis, "key", "queue"));
+        verify(jedis).watch("key");
+        verify(transaction).srem(RedisTaskQueue.QUEUES_KEY, "queue");
+    }
+
+    @Test
+    public void whenQueueHasJobs_ItIsKept() {
+        Jedis jedis = mock(Jedis.class);
+        when(jedis.llen("key")).thenReturn(1L);
+
+        assertFalse(RedisTaskQueue.removeIfEmpty(jedis, "key", "queue"));
+        verify(jedis, never()).multi();
+    }
+
+    @Test
+    public void whenAJobIsPushedWhileRemovingTheQueue_ItIsKept() {
+        Jedis jedis = mock(Jedis.class);
+        Transaction transaction = mock(Transaction.class);
+        when(jedis.llen("key")).thenReturn(0L);
+        when(jedis.multi()).thenReturn(transaction);
+        when(transaction.exec()).thenReturn(null);
+
+        assertFalse(RedisTaskQueue.removeIfEmpty(jedis, "key", "queue"));
+    }
+
+    private static Task task(Priority priority, String keyspace) {
+        TaskState state = TaskState.of(ShortExecutionMockTask.class, RedisTaskQueueTest.class.getName(), TaskSchedule.now(), priority);
+        TaskConfiguration configuration = TaskConfiguration.of(Json.object(KEYSPACE, keyspace, "id", TaskId.generate().getValue()));
+        return Task.builder().setTaskState(state).setTaskConfiguration(configuration).build();
+    }
+}
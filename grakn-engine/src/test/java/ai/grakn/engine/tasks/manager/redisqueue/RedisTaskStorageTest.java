@@ -0,0 +1,184 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ *
+ */
+
+package ai.grakn.engine.tasks.manager.redisqueue;
+
+import ai.grakn.engine.TaskStatus;
+import ai.grakn.engine.tasks.manager.TaskCheckpoint;
+import ai.grakn.engine.tasks.manager.TaskSchedule;
+import ai.grakn.engine.tasks.manager.TaskState;
+import ai.grakn.engine.tasks.manager.TaskState.Priority;
+import ai.grakn.engine.tasks.mock.LongExecutionMockTask;
+import ai.grakn.engine.tasks.mock.ShortExecutionMockTask;
+import ai.grakn.engine.util.EngineID;
+import ai.grakn.exception.GraknBackendException;
+import ai.grakn.util.EmbeddedRedis;
+import com.codahale.metrics.MetricRegistry;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Set;
+import static java.util.stream.Collectors.toSet;
+import mjson.Json;
+import org.junit.After;
+import org.junit.AfterClass;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisPoolConfig;
+
+public class RedisTaskStorageTest {
+
+    private static final int PORT = 7003;
+    private static final EngineID ENGINE = EngineID.of("engine");
+
+    private static JedisPool jedisPool;
+    private static RedisTaskStorage storage;
+
+    @BeforeClass
+    public static void setupClass() {
+        EmbeddedRedis.start(PORT);
+        jedisPool = new JedisPool(new JedisPoolConfig(), "localhost", PORT);
+        storage = RedisTaskStorage.create(jedisPool, new MetricRegistry());
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+        jedisPool.close();
+        EmbeddedRedis.stop();
+    }
+
+    @After
+    public void clear() {
+        storage.clear();
+    }
+
+    @Test
+    public void whenStoringState_AllFieldsAreRetrieved() {
+        TaskState state = TaskState.of(ShortExecutionMockTask.class, "creator",
+                TaskSchedule.recurring(Duration.ofMinutes(1)), Priority.HIGH);
+        state.markRunning(ENGINE).checkpoint(TaskCheckpoint.of(Json.object("done", 3)));
+        storage.newState(state);
+
+        TaskState retrieved = storage.getState(state.getId());
+        assertEquals(state.getId(), retrieved.getId());
+        assertEquals(TaskStatus.RUNNING, retrieved.status());
+        assertEquals(state.statusChangeTime().toEpochMilli(), retrieved.statusChangeTime().toEpochMilli());
+        assertEquals(ShortExecutionMockTask.class, retrieved.taskClass());
+        assertEquals("creator", retrieved.creator());
+        assertEquals(ENGINE, retrieved.engineID());
+        assertEquals(Priority.HIGH, retrieved.priority());
+        assertEquals(state.schedule().getRunAt(), retrieved.schedule().getRunAt());
+        assertEquals(Duration.ofMinutes(1), retrieved.schedule().interval().get());
+        assertEquals(state.checkpoint(), retrieved.checkpoint());
+    }
+
+    @Test
+    public void whenStatusIsUpdated_TaskMovesToTheNewStatusIndex() {
+        TaskState state = TaskState.of(ShortExecutionMockTask.class, "creator", TaskSchedule.now(), Priority.LOW);
+        storage.newState(state);
+        assertEquals(ids(state), ids(storage.getTasks(TaskStatus.CREATED, null, null, null, 0, 0)));
+
+        storage.updateState(state.markRunning(ENGINE));
+        assertTrue(storage.getTasks(TaskStatus.CREATED, null, null, null, 0, 0).isEmpty());
+        assertEquals(ids(state), ids(storage.getTasks(TaskStatus.RUNNING, null, null, ENGINE, 0, 0)));
+
+        storage.updateState(state.markCompleted());
+        assertTrue(storage.getTasks(TaskStatus.RUNNING, null, null, null, 0, 0).isEmpty());
+        assertEquals(TaskStatus.COMPLETED, storage.getState(state.getId()).status());
+    }
+
+    @Test
+    public void whenFilteringOnSeveralFields_OnlyMatchingTasksAreReturned() {
+        TaskState short1 = TaskState.of(ShortExecutionMockTask.class, "alice", TaskSchedule.now(), Priority.LOW);
+        TaskState short2 = TaskState.of(ShortExecutionMockTask.class, "bob", TaskSchedule.now(), Priority.LOW);
+        TaskState long1 = TaskState.of(LongExecutionMockTask.class, "alice", TaskSchedule.now(), Priority.LOW);
+        storage.newState(short1);
+        storage.newState(short2);
+        storage.newState(long1);
+
+        assertEquals(ids(short1, long1), ids(storage.getTasks(null, null, "alice", null, 0, 0)));
+        assertEquals(ids(short1), ids(storage.getTasks(TaskStatus.CREATED, ShortExecutionMockTask.class.getName(), "alice", null, 0, 0)));
+        assertEquals(ids(short1, short2, long1), ids(storage.getTasks(null, null, null, null, 0, 0)));
+    }
+
+    @Test
+    public void whenPagingTasks_EachTaskIsReturnedOnce() {
+        for (int i = 0; i < 5; i++) {
+            storage.newState(TaskState.of(ShortExecutionMockTask.class, "creator", TaskSchedule.now(), Priority.LOW));
+        }
+        Set<String> firstPage = ids(storage.getTasks(null, null, null, null, 3, 0));
+        Set<String> secondPage = ids(storage.getTasks(null, null, null, null, 3, 3));
+        assertEquals(3, firstPage.size());
+        assertEquals(2, secondPage.size());
+        secondPage.forEach(id -> assertFalse(firstPage.contains(id)));
+    }
+
+    @Test
+    public void whenClearing_NoTaskIsLeft() {
+        TaskState state = TaskState.of(ShortExecutionMockTask.class, "creator", TaskSchedule.now(), Priority.LOW);
+        storage.newState(state);
+        storage.clear();
+        assertFalse(storage.containsTask(state.getId()));
+        assertTrue(storage.getTasks(null, null, null, null, 0, 0).isEmpty());
+    }
+
+    @Test
+    public void whenStateIsStoredInTheLegacyFormat_ItIsTreatedAsAbsentAndReplaced() {
+        TaskState state = TaskState.of(ShortExecutionMockTask.class, "creator", TaskSchedule.now(), Priority.LOW);
+        try (Jedis jedis = jedisPool.getResource()) {
+            jedis.set("state:" + state.getId().getValue(), "legacy");
+        }
+
+        assertFalse(storage.containsTask(state.getId()));
+        try {
+            storage.getState(state.getId());
+            fail("A legacy state should not be found");
+        } catch (GraknBackendException e) {
+            // Expected, the state is treated as missing
+        }
+
+        storage.newState(state);
+        assertEquals(TaskStatus.CREATED, storage.getState(state.getId()).status());
+    }
+
+    @Test
+    public void whenUpdatingStateStoredInTheLegacyFormat_ItIsReplaced() {
+        TaskState state = TaskState.of(ShortExecutionMockTask.class, "creator", TaskSchedule.now(), Priority.LOW);
+        try (Jedis jedis = jedisPool.getResource()) {
+            jedis.set("state:" + state.getId().getValue(), "legacy");
+        }
+
+        assertTrue(storage.updateState(state.markRunning(ENGINE)));
+        assertEquals(TaskStatus.RUNNING, storage.getState(state.getId()).status());
+        assertEquals(ids(state), ids(storage.getTasks(TaskStatus.RUNNING, null, null, null, 0, 0)));
+    }
+
+    private static Set<String> ids(TaskState... states) {
+        return Arrays.stream(states).map(state -> state.getId().getValue()).collect(toSet());
+    }
+
+    private static Set<String> ids(Set<TaskState> states) {
+        return states.stream().map(state -> state.getId().getValue()).collect(toSet());
+    }
+}
@@ -34,8 +34,11 @@ import org.janusgraph.diskstorage.locking.PermanentLockingException;
 import org.janusgraph.diskstorage.locking.TemporaryLockingException;
 import org.janusgraph.graphdb.database.StandardJanusGraph;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Properties;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
  * <p>
@@ -72,6 +75,21 @@ public class GraknJanusGraph extends AbstractGraknGraph<JanusGraph> {
         return true;
     }
 
+    /**
+     * Uses a {@link org.janusgraph.core.JanusGraphMultiVertexQuery} so the properties of all the vertices are read
+     * in a single backend call and kept in the transaction's vertex cache
+     *
+     * @param vertices The vertices which are about to be built into concepts
+     */
+    @Override
+    public void prefetchProperties(Collection<Vertex> vertices) {
+        List<JanusGraphVertex> persisted = vertices.stream().
+                map(vertex -> (JanusGraphVertex) vertex).
+                filter(vertex -> !vertex.isNew()).
+                collect(Collectors.toList());
+        if(persisted.size() > 1) getTinkerPopGraph().multiQuery(persisted).properties();
+    }
+
     @Override
     public void openTransaction(GraknTxType txType){
         super.openTransaction(txType);
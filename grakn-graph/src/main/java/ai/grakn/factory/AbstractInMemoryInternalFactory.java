@@ -0,0 +1,65 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+
+package ai.grakn.factory;
+
+import ai.grakn.graph.internal.AbstractInMemoryGraknGraph;
+import ai.grakn.util.Schema;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+
+import java.util.Properties;
+
+/**
+ * <p>
+ *     Defines the construction of Grakn Graphs kept in memory
+ * </p>
+ *
+ * <p>
+ *     An in memory graph has no transactions, so every Grakn graph built by the factory wraps the same TinkerPop
+ *     {@link Graph}. A new one is only built once the graph has been deleted.
+ * </p>
+ *
+ * @author fppt
+ *
+ * @param <M> A Grakn Graph extending {@link AbstractInMemoryGraknGraph} and wrapping an in memory Tinkerpop Graph
+ * @param <G> An in memory implementation of a Tinkerpop {@link Graph}
+ */
+abstract class AbstractInMemoryInternalFactory<M extends AbstractInMemoryGraknGraph<G>, G extends Graph> extends AbstractInternalFactory<M, G> {
+
+    AbstractInMemoryInternalFactory(String keyspace, String engineUrl, Properties properties){
+        super(keyspace, engineUrl, properties);
+    }
+
+    private boolean isClosed(G innerGraph) {
+        return !innerGraph.traversal().V().has(Schema.VertexProperty.ONTOLOGY_LABEL.name(), Schema.MetaSchema.ENTITY.getLabel().getValue()).hasNext();
+    }
+
+    @Override
+    protected G getTinkerPopGraph(G graph, boolean batchLoading){
+        if(super.graph == null || isClosed(super.graph)){
+            super.graph = buildTinkerPopGraph(batchLoading);
+        }
+        return super.graph;
+    }
+
+    @Override
+    protected G getGraphWithNewTransaction(G graph, boolean batchLoading) {
+        return graph;
+    }
+}
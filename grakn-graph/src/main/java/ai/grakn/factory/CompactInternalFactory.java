@@ -0,0 +1,67 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.factory;
+
+import ai.grakn.graph.internal.GraknCompactGraph;
+import ai.grakn.graph.internal.compact.CompactGraph;
+import ai.grakn.util.Schema;
+import com.google.common.collect.ImmutableSet;
+
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * <p>
+ *     A Grakn Graph on top of {@link CompactGraph}
+ * </p>
+ *
+ * <p>
+ *     This produces an in memory grakn graph which keeps its elements in primitive arrays rather than the object
+ *     maps of the one produced by {@link TinkerInternalFactory}. The FootprintBenchmark of grakn-benchmark compares
+ *     the memory both take. The unique vertex properties used to look up concepts are indexed.
+ *     The base construction process defined by {@link AbstractInternalFactory} ensures the graph factories are singletons.
+ * </p>
+ *
+ * <p>
+ *     {@link ai.grakn.Grakn#IN_MEMORY} sessions are built by this factory.
+ * </p>
+ *
+ * @author fppt
+ */
+public class CompactInternalFactory extends AbstractInMemoryInternalFactory<GraknCompactGraph, CompactGraph> {
+    private static final Set<String> INDEXED_KEYS = ImmutableSet.of(
+            Schema.VertexProperty.ID.name(),
+            Schema.VertexProperty.INDEX.name(),
+            Schema.VertexProperty.ONTOLOGY_LABEL.name(),
+            Schema.VertexProperty.LABEL_ID.name());
+
+    CompactInternalFactory(String keyspace, String engineUrl, Properties properties){
+        super(keyspace, engineUrl, properties);
+    }
+
+    @Override
+    GraknCompactGraph buildGraknGraphFromTinker(CompactGraph graph) {
+        return new GraknCompactGraph(graph, super.keyspace, super.engineUrl, properties);
+    }
+
+    @Override
+    CompactGraph buildTinkerPopGraph(boolean batchLoading) {
+        return CompactGraph.open(INDEXED_KEYS);
+    }
+}
@@ -106,5 +106,6 @@ public class FactoryBuilder {
     //TODO Calling this from within the code causes a memory leak
     public static void refresh(){
         openFactories.clear();
+        GraknSessionImpl.refreshConfigs();
     }
 }
@@ -22,17 +22,23 @@ import ai.grakn.Grakn;
 import ai.grakn.GraknComputer;
 import ai.grakn.GraknGraph;
 import ai.grakn.GraknSession;
+import ai.grakn.GraknSystemProperty;
 import ai.grakn.GraknTxType;
 import ai.grakn.exception.GraphOperationException;
 import ai.grakn.graph.internal.AbstractGraknGraph;
 import ai.grakn.graph.internal.computer.GraknComputerImpl;
 import ai.grakn.util.ErrorMessage;
 import ai.grakn.util.REST;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import java.util.Properties;
+import java.util.concurrent.TimeUnit;
 
 import static ai.grakn.util.EngineCommunicator.contactEngine;
 import static ai.grakn.util.REST.Request.GRAPH_CONFIG_PARAM;
@@ -47,16 +53,24 @@ import static mjson.Json.read;
  *
  * <p>
  *     This class facilitates the construction of Grakn Graphs by determining which factory should be built.
- *     It does this by either defaulting to an in memory graph {@link ai.grakn.graph.internal.GraknTinkerGraph} or by
+ *     It does this by either defaulting to an in memory graph {@link ai.grakn.graph.internal.GraknCompactGraph} or by
  *     retrieving the factory definition from engine.
  *
  *     The deployer of engine decides on the backend and this class will handle producing the correct graphs.
+ *     The configuration retrieved from engine is cached per engine, keyspace and graph type for a limited time,
+ *     so after the first session opening a session does not need to contact engine.
  * </p>
  *
  * @author fppt
  */
 public class GraknSessionImpl implements GraknSession {
-    private final Logger LOG = LoggerFactory.getLogger(GraknSessionImpl.class);
+    private static final Logger LOG = LoggerFactory.getLogger(GraknSessionImpl.class);
+    static final long DEFAULT_CONFIG_CACHE_TIMEOUT_MS = 300_000;
+
+    //Graph configurations retrieved from engine, keyed by engine url, keyspace and graph type
+    private static final Cache<String, Properties> remoteConfigs = buildConfigCache(
+            configCacheTimeout(GraknSystemProperty.SESSION_CONFIG_CACHE_TIMEOUT_MS.value()), Ticker.systemTicker());
+
     private final String location;
     private final String keyspace;
 
@@ -139,14 +153,68 @@ public class GraknSessionImpl implements GraknSession {
      * @return A new or existing grakn graph factory with the defined name connecting to the specified remote location
      */
     private static InternalFactory<?> configureGraphFactoryRemote(String keyspace, String engineUrl, String graphType){
-        String restFactoryUri = engineUrl + INITIALISE + "?" + GRAPH_CONFIG_PARAM + "=" + graphType + "&" + KEYSPACE_PARAM + "=" + keyspace;
+        String configKey = engineUrl + "/" + keyspace.toLowerCase() + "/" + graphType;
+
+        Properties properties = remoteConfigs.getIfPresent(configKey);
+        if(properties == null){
+            String restFactoryUri = engineUrl + INITIALISE + "?" + GRAPH_CONFIG_PARAM + "=" + graphType + "&" + KEYSPACE_PARAM + "=" + keyspace;
 
-        Properties properties = new Properties();
-        properties.putAll(read(contactEngine(restFactoryUri, REST.HttpConn.GET_METHOD)).asMap());
+            properties = new Properties();
+            properties.putAll(read(contactEngine(restFactoryUri, REST.HttpConn.GET_METHOD)).asMap());
+            remoteConfigs.put(configKey, properties);
+        }
 
         return FactoryBuilder.getFactory(keyspace, engineUrl, properties);
     }
 
+    /**
+     * Forgets all the graph configurations retrieved from engine so they are retrieved again on the next opening
+     */
+    public static void refreshConfigs(){
+        remoteConfigs.invalidateAll();
+    }
+
+    /**
+     *
+     * @return The cache of graph configurations retrieved from engine
+     */
+    static Cache<String, Properties> remoteConfigs(){
+        return remoteConfigs;
+    }
+
+    /**
+     *
+     * @param timeoutMs How long in milliseconds a configuration is kept after being retrieved
+     * @param ticker The source of time used to expire configurations
+     * @return An empty cache of graph configurations
+     */
+    static Cache<String, Properties> buildConfigCache(long timeoutMs, Ticker ticker){
+        return CacheBuilder.newBuilder()
+                .expireAfterWrite(timeoutMs, TimeUnit.MILLISECONDS)
+                .ticker(ticker)
+                .build();
+    }
+
+    /**
+     * The timeout is read while this class is being initialised, so an invalid value falls back to the default
+     * rather than failing every session.
+     *
+     * @param timeout The configured timeout in milliseconds, may be null if none is configured
+     * @return How long in milliseconds configurations retrieved from engine are cached
+     */
+    static long configCacheTimeout(@Nullable String timeout){
+        if(timeout == null) return DEFAULT_CONFIG_CACHE_TIMEOUT_MS;
+        try {
+            long timeoutMs = Long.parseLong(timeout.trim());
+            if(timeoutMs >= 0) return timeoutMs;
+        } catch (NumberFormatException e){
+            //Falls through to the default
+        }
+        LOG.warn("Invalid value [" + timeout + "] for [" + GraknSystemProperty.SESSION_CONFIG_CACHE_TIMEOUT_MS.key() +
+                "], using the default of [" + DEFAULT_CONFIG_CACHE_TIMEOUT_MS + "] ms");
+        return DEFAULT_CONFIG_CACHE_TIMEOUT_MS;
+    }
+
     /**
      *
      * @param keyspace The keyspace of the graph
@@ -156,8 +224,8 @@ public class GraknSessionImpl implements GraknSession {
         Properties inMemoryProperties = new Properties();
         inMemoryProperties.put(AbstractGraknGraph.SHARDING_THRESHOLD, 100_000);
         inMemoryProperties.put(AbstractGraknGraph.NORMAL_CACHE_TIMEOUT_MS, 30_000);
-        inMemoryProperties.put(FactoryBuilder.FACTORY_TYPE, TinkerInternalFactory.class.getName());
+        inMemoryProperties.put(FactoryBuilder.FACTORY_TYPE, CompactInternalFactory.class.getName());
 
-        return FactoryBuilder.getFactory(TinkerInternalFactory.class.getName(), keyspace, Grakn.IN_MEMORY, inMemoryProperties);
+        return FactoryBuilder.getFactory(CompactInternalFactory.class.getName(), keyspace, Grakn.IN_MEMORY, inMemoryProperties);
     }
 }
@@ -16,10 +16,10 @@
  * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
  */
 
+
 package ai.grakn.factory;
 
 import ai.grakn.graph.internal.GraknTinkerGraph;
-import ai.grakn.util.Schema;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
 
 import java.util.Properties;
@@ -37,16 +37,12 @@ import java.util.Properties;
  *
  * @author fppt
  */
-public class TinkerInternalFactory extends AbstractInternalFactory<GraknTinkerGraph, TinkerGraph> {
+public class TinkerInternalFactory extends AbstractInMemoryInternalFactory<GraknTinkerGraph, TinkerGraph> {
 
     TinkerInternalFactory(String keyspace, String engineUrl, Properties properties){
         super(keyspace, engineUrl, properties);
     }
 
-    private boolean isClosed(TinkerGraph innerGraph) {
-        return !innerGraph.traversal().V().has(Schema.VertexProperty.ONTOLOGY_LABEL.name(), Schema.MetaSchema.ENTITY.getLabel().getValue()).hasNext();
-    }
-
     @Override
     GraknTinkerGraph buildGraknGraphFromTinker(TinkerGraph graph) {
         return new GraknTinkerGraph(graph, super.keyspace, super.engineUrl, properties);
@@ -56,17 +52,4 @@ public class TinkerInternalFactory extends AbstractInternalFactory<GraknTinkerGr
     TinkerGraph buildTinkerPopGraph(boolean batchLoading) {
         return TinkerGraph.open();
     }
-
-    @Override
-    protected TinkerGraph getTinkerPopGraph(TinkerGraph graph, boolean batchLoading){
-        if(super.graph == null || isClosed(super.graph)){
-            super.graph = buildTinkerPopGraph(batchLoading);
-        }
-        return super.graph;
-    }
-
-    @Override
-    protected TinkerGraph getGraphWithNewTransaction(TinkerGraph graph, boolean batchLoading) {
-        return graph;
-    }
 }
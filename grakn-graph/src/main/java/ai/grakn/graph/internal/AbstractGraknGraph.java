@@ -49,6 +49,7 @@ import ai.grakn.graph.internal.concept.RelationEdge;
 import ai.grakn.graph.internal.concept.RelationImpl;
 import ai.grakn.graph.internal.concept.RelationReified;
 import ai.grakn.graph.internal.concept.ResourceImpl;
+import ai.grakn.graph.internal.concept.ThingImpl;
 import ai.grakn.graph.internal.concept.TypeImpl;
 import ai.grakn.graph.internal.structure.EdgeElement;
 import ai.grakn.graph.internal.structure.VertexElement;
@@ -57,6 +58,8 @@ import ai.grakn.util.EngineCommunicator;
 import ai.grakn.util.ErrorMessage;
 import ai.grakn.util.REST;
 import ai.grakn.util.Schema;
+import com.google.common.base.Throwables;
+import com.google.common.collect.Sets;
 import mjson.Json;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
@@ -70,8 +73,11 @@ import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
 import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -102,11 +108,15 @@ import static java.util.stream.Collectors.toSet;
 public abstract class AbstractGraknGraph<G extends Graph> implements GraknGraph, GraknAdmin {
     final Logger LOG = LoggerFactory.getLogger(AbstractGraknGraph.class);
     private static final String QUERY_BUILDER_CLASS_NAME = "ai.grakn.graql.internal.query.QueryBuilderImpl";
+    private static final String INFERENCE_MAINTAINER_CLASS_NAME = "ai.grakn.graql.internal.reasoner.InferenceMaintainer";
+    private static final String RULE_BASE_CLASS_NAME = "ai.grakn.graql.internal.reasoner.rule.RuleBase";
 
     //TODO: Is this the correct place for these config paths
     //----------------------------- Config Paths
     public static final String SHARDING_THRESHOLD = "graph.sharding-threshold";
     public static final String NORMAL_CACHE_TIMEOUT_MS = "graph.ontology-cache-timeout-ms";
+    public static final String MAINTAIN_INFERENCES = "graph.maintain-inferences";
+    public static final String SHARD_RESOURCES = "graph.shard-resources";
 
     //----------------------------- Graph Shared Variable
     private final String keyspace;
@@ -117,6 +127,8 @@ public abstract class AbstractGraknGraph<G extends Graph> implements GraknGraph,
     private final GraphCache graphCache;
 
     private static Constructor<?> queryConstructor = null;
+    private static Method inferenceMaintainer = null;
+    private static Method ruleBaseClearer = null;
 
     static {
         try {
@@ -124,6 +136,16 @@ public abstract class AbstractGraknGraph<G extends Graph> implements GraknGraph,
         } catch (NoSuchMethodException | SecurityException | ClassNotFoundException e) {
             queryConstructor = null;
         }
+        try {
+            inferenceMaintainer = Class.forName(INFERENCE_MAINTAINER_CLASS_NAME).getMethod("maintain", GraknGraph.class);
+        } catch (NoSuchMethodException | SecurityException | ClassNotFoundException e) {
+            inferenceMaintainer = null;
+        }
+        try {
+            ruleBaseClearer = Class.forName(RULE_BASE_CLASS_NAME).getMethod("clear", String.class);
+        } catch (NoSuchMethodException | SecurityException | ClassNotFoundException e) {
+            ruleBaseClearer = null;
+        }
     }
 
     //----------------------------- Transaction Specific
@@ -250,6 +272,16 @@ public abstract class AbstractGraknGraph<G extends Graph> implements GraknGraph,
         return factory().buildConcept(edge);
     }
 
+    @Override
+    public void prefetchProperties(Collection<Vertex> vertices) {
+        //Properties are already in memory by default
+    }
+
+    @Override
+    public boolean isShardingResources() {
+        return Boolean.parseBoolean(properties.getProperty(SHARD_RESOURCES, "false"));
+    }
+
     @Override
     public boolean isBatchGraph() {
         return GraknTxType.BATCH.equals(txCache().txType());
@@ -690,11 +722,11 @@ public abstract class AbstractGraknGraph<G extends Graph> implements GraknGraph,
     }
 
     public void putShortcutEdge(Thing toThing, RelationReified fromRelation, Role roleType) {
-        boolean exists = getTinkerTraversal().V().has(Schema.VertexProperty.ID.name(), fromRelation.getId().getValue()).
+        boolean exists = fromRelation.vertex().traversal().
                 outE(Schema.EdgeLabel.SHORTCUT.getLabel()).
                 has(Schema.EdgeProperty.RELATION_TYPE_LABEL_ID.name(), fromRelation.type().getLabelId().getValue()).
                 has(Schema.EdgeProperty.ROLE_LABEL_ID.name(), roleType.getLabelId().getValue()).inV().
-                has(Schema.VertexProperty.ID.name(), toThing.getId()).hasNext();
+                hasId(ConceptVertex.from(toThing).vertex().element().id()).hasNext();
 
         if (!exists) {
             EdgeElement edge = fromRelation.addEdge(ConceptVertex.from(toThing), Schema.EdgeLabel.SHORTCUT);
@@ -709,6 +741,7 @@ public abstract class AbstractGraknGraph<G extends Graph> implements GraknGraph,
         closeSession();
         clearGraph();
         txCache().closeTx(ErrorMessage.CLOSED_CLEAR.getMessage());
+        clearRuleBase();
 
         //TODO We should not hit the REST endpoint when deleting keyspaces through a graph
         // retrieved from and EngineGraknGraphFactory
@@ -716,6 +749,20 @@ public abstract class AbstractGraknGraph<G extends Graph> implements GraknGraph,
         EngineCommunicator.contactEngine(getDeleteKeyspaceEndpoint(), REST.HttpConn.DELETE_METHOD);
     }
 
+    /**
+     * Forgets the inference rules compiled for this keyspace, if the reasoner is in the classpath
+     */
+    private void clearRuleBase() {
+        if (ruleBaseClearer == null) return;
+        try {
+            ruleBaseClearer.invoke(null, getKeyspace());
+        } catch (InvocationTargetException e) {
+            throw Throwables.propagate(e.getCause());
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     //This is overridden by vendors for more efficient clearing approaches
     protected void clearGraph() {
         getTinkerPopGraph().traversal().V().drop().iterate();
@@ -795,6 +842,7 @@ public abstract class AbstractGraknGraph<G extends Graph> implements GraknGraph,
     }
 
     private Optional<String> commitWithLogs() throws InvalidGraphException {
+        maintainInferences();
         validateGraph();
 
         boolean submissionNeeded = !txCache().getShardingCount().isEmpty() ||
@@ -820,6 +868,25 @@ public abstract class AbstractGraknGraph<G extends Graph> implements GraknGraph,
         }
     }
 
+    /**
+     * Brings the materialised inferences up to date with the changes of this transaction, if enabled for the graph
+     */
+    private void maintainInferences() {
+        if (!Boolean.parseBoolean(properties.getProperty(MAINTAIN_INFERENCES, "false"))) return;
+        if (getTypesWithAddedInstances().isEmpty() && getTypesWithDeletedInstances().isEmpty()) return;
+        if (inferenceMaintainer == null) {
+            throw new RuntimeException("The inference maintainer " + INFERENCE_MAINTAINER_CLASS_NAME +
+                    " must be accessible in the classpath to maintain materialised inferences");
+        }
+        try {
+            inferenceMaintainer.invoke(null, this);
+        } catch (InvocationTargetException e) {
+            throw Throwables.propagate(e.getCause());
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     private void validateGraph() throws InvalidGraphException {
         Validator validator = new Validator(this);
         if (!validator.validate()) {
@@ -879,10 +946,33 @@ public abstract class AbstractGraknGraph<G extends Graph> implements GraknGraph,
     @Override
     public boolean duplicateResourcesExist(String index, Set<ConceptId> resourceVertexIds) {
         //This is done to ensure we merge into the indexed casting.
-        ResourceImpl<?> mainResource = getConcept(Schema.VertexProperty.INDEX, index);
+        ResourceImpl<?> mainResource = getIndexedResource(index, resourceVertexIds);
         return getDuplicates(mainResource, resourceVertexIds).size() > 0;
     }
 
+    /**
+     * Finds the resource which holds the index of a set of duplicate resources. Resources of keyspaces which have not
+     * been reindexed yet hold the legacy index, which is derived from any of the duplicates.
+     *
+     * @param index The current index of the duplicate resources
+     * @param resourceVertexIds The ids of the duplicate resources
+     * @return The resource holding the index, null if there is none
+     */
+    @Nullable
+    private ResourceImpl<?> getIndexedResource(String index, Set<ConceptId> resourceVertexIds){
+        ResourceImpl<?> mainResource = getConcept(Schema.VertexProperty.INDEX, index);
+        if (mainResource != null) return mainResource;
+
+        for (ConceptId resourceVertexId : resourceVertexIds) {
+            Concept concept = getConcept(resourceVertexId);
+            if (concept != null && concept.isResource()) {
+                Resource<?> resource = concept.asResource();
+                return getConcept(Schema.VertexProperty.INDEX, Schema.generateLegacyResourceIndex(resource.type().getLabel(), resource.getValue().toString()));
+            }
+        }
+        return null;
+    }
+
     /**
      * @param resourceVertexIds The resource vertex ids which need to be merged.
      * @return True if a commit is required.
@@ -890,7 +980,7 @@ public abstract class AbstractGraknGraph<G extends Graph> implements GraknGraph,
     @Override
     public boolean fixDuplicateResources(String index, Set<ConceptId> resourceVertexIds) {
         //This is done to ensure we merge into the indexed casting.
-        ResourceImpl<?> mainResource = this.getConcept(Schema.VertexProperty.INDEX, index);
+        ResourceImpl<?> mainResource = getIndexedResource(index, resourceVertexIds);
         Set<ResourceImpl> duplicates = getDuplicates(mainResource, resourceVertexIds);
 
         if (duplicates.size() > 0) {
@@ -905,11 +995,10 @@ public abstract class AbstractGraknGraph<G extends Graph> implements GraknGraph,
                 ResourceImpl.from(otherResource).deleteNode();
             }
 
-            //Restore the index
-            String newIndex = mainResource.getIndex();
+            //Restore the index, in the current format if the main resource still had a legacy index
             //NOTE: Vertex Element is used directly here otherwise property is not actually restored!
             //NOTE: Remove or change this line at your own peril!
-            mainResource.vertex().element().property(Schema.VertexProperty.INDEX.name(), newIndex);
+            mainResource.vertex().element().property(Schema.VertexProperty.INDEX.name(), index);
 
             return true;
         }
@@ -938,9 +1027,15 @@ public abstract class AbstractGraknGraph<G extends Graph> implements GraknGraph,
      * Copy a relation which has been reified - {@link RelationReified}
      */
     private void copyRelation(Resource main, Resource other, Relation otherRelation, RelationReified reifiedRelation) {
-        String newIndex = reifiedRelation.getIndex().replaceAll(other.getId().getValue(), main.getId().getValue());
+        //The index is a digest so it is generated again with the other resource replaced by the main resource
+        Map<Role, Set<Thing>> newRolePlayers = new HashMap<>();
+        otherRelation.allRolePlayers().forEach((role, things) -> newRolePlayers.put(role,
+                things.stream().map(thing -> thing.equals(other) ? main : thing).collect(toSet())));
+        String legacyIndex = RelationReified.generateLegacyHash(otherRelation.type(), newRolePlayers);
+        String newIndex = Schema.generateIndexDigest(legacyIndex);
         Relation foundRelation = txCache().getCachedRelation(newIndex);
         if (foundRelation == null) foundRelation = getConcept(Schema.VertexProperty.INDEX, newIndex);
+        if (foundRelation == null) foundRelation = getConcept(Schema.VertexProperty.INDEX, legacyIndex);
 
         if (foundRelation != null) {//If it exists delete the other one
             reifiedRelation.deleteNode(); //Raw deletion because the castings should remain
@@ -964,17 +1059,18 @@ public abstract class AbstractGraknGraph<G extends Graph> implements GraknGraph,
      */
     private void copyRelation(Resource main, Resource other, Relation otherRelation, RelationEdge relationEdge) {
         ConceptVertex newOwner;
-        ConceptVertex newValue;
+        ResourceImpl<?> newValue;
 
         if (relationEdge.owner().equals(other)) {//The resource owns another resource which it needs to replace
             newOwner = ConceptVertex.from(main);
-            newValue = ConceptVertex.from(relationEdge.value());
+            newValue = ResourceImpl.from(relationEdge.value().asResource());
         } else {//The resource is owned by another Entity
             newOwner = ConceptVertex.from(relationEdge.owner());
-            newValue = ConceptVertex.from(main);
+            newValue = ResourceImpl.from(main);
         }
 
-        EdgeElement edge = newOwner.vertex().putEdge(newValue.vertex(), Schema.EdgeLabel.RESOURCE);
+        //The owner is attached to the current shard of the value if it has been sharded
+        EdgeElement edge = newValue.putOwnerEdge(newOwner);
         factory().buildRelation(edge, relationEdge.type(), relationEdge.ownerRole(), relationEdge.valueRole());
     }
 
@@ -997,4 +1093,79 @@ public abstract class AbstractGraknGraph<G extends Graph> implements GraknGraph,
             type.createShard();
         }
     }
+
+    @Override
+    public boolean refreshIndex(ConceptId conceptId) {
+        Concept concept = getConcept(conceptId);
+        String index;
+        if (concept == null) {
+            return false;
+        } else if (concept.isResource()) {
+            Resource<?> resource = concept.asResource();
+            index = Schema.generateResourceIndex(resource.type().getLabel(), resource.getValue().toString());
+        } else if (concept.isRelation() && RelationImpl.from(concept.asRelation()).reified().isPresent()) {
+            index = RelationReified.generateNewHash(concept.asRelation().type(), concept.asRelation().allRolePlayers());
+        } else {
+            return false;
+        }
+
+        ThingImpl<?, ?> thing = (ThingImpl<?, ?>) concept;
+        if (index.equals(thing.getIndex())) return false;
+
+        //A duplicate may have been given the current index before this keyspace was reindexed
+        Thing duplicate = getConcept(Schema.VertexProperty.INDEX, index);
+        if (duplicate != null) {
+            if (concept.isResource()) return fixDuplicateResources(index, Sets.newHashSet(duplicate.getId(), conceptId));
+
+            LOG.warn("Relation [" + conceptId + "] keeps its legacy index because relation [" + duplicate.getId() + "] duplicates it");
+            return false;
+        }
+
+        //NOTE: Vertex Element is used directly because the old index was already unique
+        thing.vertex().element().property(Schema.VertexProperty.INDEX.name(), index);
+        return true;
+    }
+
+    @Override
+    public Optional<Long> getRuleBaseVersion() {
+        if (txCache().isRuleBaseModified()) return Optional.empty();
+        return Optional.of(txCache().getRuleBaseVersion());
+    }
+
+    @Override
+    public void markInferred(Thing thing) {
+        if (thing.isRelation()) {
+            ((RelationImpl) thing).reify().setInferred();
+        } else {
+            ((ThingImpl) thing).setInferred();
+        }
+    }
+
+    @Override
+    public Set<Thing> getAddedInstances() {
+        Set<Thing> modifiedThings = new HashSet<>();
+        modifiedThings.addAll(txCache().getModifiedEntities());
+        modifiedThings.addAll(txCache().getModifiedRelations());
+        modifiedThings.addAll(txCache().getModifiedResources());
+        return modifiedThings.stream()
+                .filter(thing -> !thing.isInferred())
+                .collect(toSet());
+    }
+
+    @Override
+    public Set<Label> getTypesWithAddedInstances() {
+        return getAddedInstances().stream()
+                .map(thing -> thing.type().getLabel())
+                .collect(toSet());
+    }
+
+    @Override
+    public Set<Label> getTypesWithDeletedInstances() {
+        return txCache().getTypesWithDeletedInstances();
+    }
+
+    @Override
+    public Set<ConceptId> getConceptsOfDeletedInstances() {
+        return txCache().getConceptsOfDeletedInstances();
+    }
 }
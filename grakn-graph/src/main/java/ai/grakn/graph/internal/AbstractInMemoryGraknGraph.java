@@ -0,0 +1,83 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+
+package ai.grakn.graph.internal;
+
+import ai.grakn.concept.Concept;
+import ai.grakn.util.ErrorMessage;
+import ai.grakn.util.Schema;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+
+import java.util.Properties;
+
+/**
+ * <p>
+ *     A Grakn Graph kept in memory
+ * </p>
+ *
+ * <p>
+ *     Wraps up an in memory {@link Graph} as a method of storing the Grakn Graph object Model.
+ *     With these vendors some exceptions are in place:
+ *     1. Transactions do not exists and all threads work on the same graph at the same time.
+ * </p>
+ *
+ * @author fppt
+ *
+ * @param <G> The in memory graph being wrapped
+ */
+public abstract class AbstractInMemoryGraknGraph<G extends Graph> extends AbstractGraknGraph<G> {
+    private final G rootGraph;
+
+    AbstractInMemoryGraknGraph(G graph, String name, String engineUrl, Properties properties){
+        super(graph, name, engineUrl, properties);
+        rootGraph = graph;
+    }
+
+    /**
+     *
+     * @param concept A concept in the graph
+     * @return true all the time. There is no way to know if a vertex of an in memory graph has been modified or not.
+     */
+    @Override
+    public boolean isConceptModified(Concept concept) {
+        return true;
+    }
+
+    @Override
+    public int numOpenTx() {
+        return 1;
+    }
+
+    @Override
+    public boolean isSessionClosed() {
+        return !rootGraph.traversal().V().has(Schema.VertexProperty.ONTOLOGY_LABEL.name(), Schema.MetaSchema.ENTITY.getLabel().getValue()).hasNext();
+    }
+
+    @Override
+    public void commit(){
+        LOG.warn(ErrorMessage.TRANSACTIONS_NOT_SUPPORTED.getMessage(rootGraph.getClass().getName(), "committed"));
+        super.commit();
+    }
+
+    @Override
+    public void abort(){
+        LOG.warn(ErrorMessage.TRANSACTIONS_NOT_SUPPORTED.getMessage(rootGraph.getClass().getName(), "aborted"));
+        super.abort();
+    }
+}
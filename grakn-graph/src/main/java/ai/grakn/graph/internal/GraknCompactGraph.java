@@ -0,0 +1,45 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+
+package ai.grakn.graph.internal;
+
+import ai.grakn.graph.internal.compact.CompactGraph;
+
+import java.util.Properties;
+
+/**
+ * <p>
+ *     A Grakn Graph using {@link CompactGraph} as a vendor backend.
+ * </p>
+ *
+ * <p>
+ *     Wraps up a {@link CompactGraph} as a method of storing the Grakn Graph object Model in memory.
+ *     This is the graph of {@link ai.grakn.Grakn#IN_MEMORY} sessions. Analytics run on the graph itself through
+ *     {@link ai.grakn.graph.internal.compact.CompactGraphComputer}.
+ *     The exceptions in place for in memory graphs are described by {@link AbstractInMemoryGraknGraph}.
+ * </p>
+ *
+ * @author fppt
+ */
+public class GraknCompactGraph extends AbstractInMemoryGraknGraph<CompactGraph> {
+
+    public GraknCompactGraph(CompactGraph compactGraph, String name, String engineUrl, Properties properties){
+        super(compactGraph, name, engineUrl, properties);
+    }
+}
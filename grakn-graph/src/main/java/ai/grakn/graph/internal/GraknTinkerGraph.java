@@ -16,11 +16,9 @@
  * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
  */
 
+
 package ai.grakn.graph.internal;
 
-import ai.grakn.concept.Concept;
-import ai.grakn.util.ErrorMessage;
-import ai.grakn.util.Schema;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
 
 import java.util.Properties;
@@ -32,50 +30,14 @@ import java.util.Properties;
  *
  * <p>
  *     Wraps up a {@link TinkerGraph} as a method of storing the Grakn Graph object Model.
- *     With this vendor some exceptions are in place:
- *     1. Transactions do not exists and all threads work on the same graph at the same time.
+ *     The exceptions in place for in memory graphs are described by {@link AbstractInMemoryGraknGraph}.
  * </p>
  *
  * @author fppt
  */
-public class GraknTinkerGraph extends AbstractGraknGraph<TinkerGraph> {
-    private final TinkerGraph rootGraph;
+public class GraknTinkerGraph extends AbstractInMemoryGraknGraph<TinkerGraph> {
 
     public GraknTinkerGraph(TinkerGraph tinkerGraph, String name, String engineUrl, Properties properties){
         super(tinkerGraph, name, engineUrl, properties);
-        rootGraph = tinkerGraph;
-    }
-
-    /**
-     *
-     * @param concept A concept in the graph
-     * @return true all the time. There is no way to know if a
-     * {@link org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerVertex} has been modified or not.
-     */
-    @Override
-    public boolean isConceptModified(Concept concept) {
-        return true;
-    }
-
-    @Override
-    public int numOpenTx() {
-        return 1;
-    }
-
-    @Override
-    public boolean isSessionClosed() {
-        return !rootGraph.traversal().V().has(Schema.VertexProperty.ONTOLOGY_LABEL.name(), Schema.MetaSchema.ENTITY.getLabel().getValue()).hasNext();
-    }
-
-    @Override
-    public void commit(){
-        LOG.warn(ErrorMessage.TRANSACTIONS_NOT_SUPPORTED.getMessage(TinkerGraph.class.getName(), "committed"));
-        super.commit();
-    }
-
-    @Override
-    public void abort(){
-        LOG.warn(ErrorMessage.TRANSACTIONS_NOT_SUPPORTED.getMessage(TinkerGraph.class.getName(), "aborted"));
-        super.abort();
     }
 }
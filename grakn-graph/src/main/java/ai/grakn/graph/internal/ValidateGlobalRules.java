@@ -19,6 +19,8 @@
 package ai.grakn.graph.internal;
 
 import ai.grakn.GraknGraph;
+import ai.grakn.concept.Concept;
+import ai.grakn.concept.ConceptId;
 import ai.grakn.concept.Label;
 import ai.grakn.concept.OntologyConcept;
 import ai.grakn.concept.Relation;
@@ -43,13 +45,20 @@ import ai.grakn.graql.admin.VarPatternAdmin;
 import ai.grakn.util.CommonUtil;
 import ai.grakn.util.ErrorMessage;
 import ai.grakn.util.Schema;
+import com.google.common.collect.Iterables;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -89,6 +98,8 @@ import static ai.grakn.util.ErrorMessage.VALIDATION_ROLE_TYPE_MISSING_RELATION_T
  * @author fppt
  */
 class ValidateGlobalRules {
+    private static final int INDEX_LOOKUP_BATCH_SIZE = 1000;
+
     private ValidateGlobalRules() {
         throw new UnsupportedOperationException();
     }
@@ -164,10 +175,22 @@ class ValidateGlobalRules {
      * number of castings and roles as well as looping the structure to make sure castings lead to the same relation type.
      */
     static Optional<String> validateRelationshipStructure(RelationReified relation){
-        RelationType relationType = relation.type();
-        Collection<Casting> castings = relation.castingsRelation().collect(Collectors.toSet());
-        Collection<Role> roles = relationType.relates().collect(Collectors.toSet());
+        return validateRelationshipStructure(relation, relation.castingsRelation().collect(Collectors.toSet()),
+                relation.type().relates().collect(Collectors.toSet()),
+                role -> role.relationTypes().map(OntologyConcept::getLabel).collect(Collectors.toSet()));
+    }
 
+    /**
+     *
+     * @param relation The assertion to validate
+     * @param castings The {@link Casting}s of the relation which have already been read
+     * @param roles The roles related by the type of the relation
+     * @param relationTypesOfRole Provides the labels of the relation types a role belongs to
+     * @return An error message indicating if the relation has an incorrect structure.
+     */
+    static Optional<String> validateRelationshipStructure(RelationReified relation, Collection<Casting> castings,
+                                                          Collection<Role> roles, Function<Role, Set<Label>> relationTypesOfRole){
+        RelationType relationType = relation.type();
         Set<Role> rolesViaRolePlayers = castings.stream().map(Casting::getRoleType).collect(Collectors.toSet());
 
         if(rolesViaRolePlayers.size() > roles.size()) {
@@ -175,8 +198,7 @@ class ValidateGlobalRules {
         }
 
         for(Casting casting : castings){
-            boolean notFound = casting.getRoleType().relationTypes().
-                    noneMatch(innerRelationType -> innerRelationType.getLabel().equals(relationType.getLabel()));
+            boolean notFound = !relationTypesOfRole.apply(casting.getRoleType()).contains(relationType.getLabel());
 
             if(notFound) {
                 return Optional.of(VALIDATION_RELATION_CASTING_LOOP_FAIL.getMessage(relation.getId(), casting.getRoleType().getLabel(), relationType.getLabel()));
@@ -234,58 +256,130 @@ class ValidateGlobalRules {
     /**
      *
      * @param thing The thing to be validated
+     * @param requiredRoles The roles which the type of the thing must play exactly once, see {@link #requiredRoles(Type)}
      * @return An error message if the thing does not have all the required resources
      */
-    static Optional<String> validateInstancePlaysAllRequiredRoles(Thing thing) {
-        TypeImpl<?, ?> currentConcept = (TypeImpl) thing.type();
+    static Optional<String> validateInstancePlaysAllRequiredRoles(Thing thing, Set<Role> requiredRoles) {
+        for (Role role : requiredRoles) {
+            // Assert there is a relation for this type
+            Stream<Relation> relations = thing.relations(role);
+
+            if(!CommonUtil.containsOnly(relations, 1)){
+                Label resourceTypeLabel = Schema.ImplicitType.explicitLabel(role.getLabel());
+                return Optional.of(VALIDATION_NOT_EXACTLY_ONE_KEY.getMessage(thing.getId(), resourceTypeLabel));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     *
+     * @param type The type whose instances are being validated
+     * @return The roles which the type and its super types must play, in the order they are found walking up the hierarchy
+     */
+    static Set<Role> requiredRoles(Type type) {
+        Set<Role> requiredRoles = new LinkedHashSet<>();
+        TypeImpl<?, ?> currentConcept = (TypeImpl) type;
 
         while(currentConcept != null){
+            currentConcept.directPlays().forEach((role, required) -> {
+                if(required) requiredRoles.add(role);
+            });
+            currentConcept = (TypeImpl) currentConcept.sup();
+        }
+        return requiredRoles;
+    }
 
-            Map<Role, Boolean> plays = currentConcept.directPlays();
-            for (Map.Entry<Role, Boolean> playsEntry : plays.entrySet()) {
-                if(playsEntry.getValue()){
-                    Role role = playsEntry.getKey();
-                    // Assert there is a relation for this type
-                    Stream<Relation> relations = thing.relations(role);
-
-                    if(!CommonUtil.containsOnly(relations, 1)){
-                        Label resourceTypeLabel = Schema.ImplicitType.explicitLabel(role.getLabel());
-                        return Optional.of(VALIDATION_NOT_EXACTLY_ONE_KEY.getMessage(thing.getId(), resourceTypeLabel));
-                    }
+    /**
+     * Checks all the given relations are unique. The hashes are computed once, duplicates within the transaction are
+     * found in memory and the hashes already in the graph are looked up in batches rather than one by one.
+     * The hash of every unique relation is then set.
+     *
+     * @param graph graph used to ensure the relations are unique
+     * @param relations The relations whose hash needs to be set along with their roles and role players
+     * @return Error messages for the relations which are not unique.
+     */
+    static Set<String> validateRelationsAreUnique(AbstractGraknGraph<?> graph, Map<RelationReified, Map<Role, Set<Thing>>> relations){
+        Map<String, List<RelationReified>> relationsByIndex = new HashMap<>();
+        Map<String, String> legacyIndices = new HashMap<>();
+        Map<ConceptId, String> newIndices = new HashMap<>();
+        relations.forEach((relation, rolePlayers) -> {
+            String legacyIndex = RelationReified.generateLegacyHash(relation.type(), rolePlayers);
+            String index = Schema.generateIndexDigest(legacyIndex);
+            relationsByIndex.computeIfAbsent(index, k -> new ArrayList<>()).add(relation);
+            legacyIndices.put(legacyIndex, index);
+            newIndices.put(relation.getId(), index);
+        });
+
+        Map<String, RelationReified> foundRelations = getRelationsByIndex(graph, relationsByIndex.keySet(), legacyIndices, newIndices);
+
+        Set<String> errors = new HashSet<>();
+        relationsByIndex.forEach((index, candidates) -> {
+            RelationReified original = foundRelations.get(index);
+            if(original == null){
+                original = candidates.get(0);
+                original.setHash(index);
+            }
+
+            Map<Role, Set<Thing>> originalRolePlayers = relations.containsKey(original) ?
+                    relations.get(original) : original.allRolePlayers();
+
+            for(RelationReified candidate : candidates){
+                if(candidate.equals(original)) continue;
+
+                //The index is a digest so we make sure the relation found really is a duplicate
+                if(!original.type().equals(candidate.type()) || !originalRolePlayers.equals(relations.get(candidate))){
+                    throw GraphOperationException.indexCollision(index, candidate, original);
                 }
+                errors.add(VALIDATION_RELATION_DUPLICATE.getMessage(candidate));
             }
-            currentConcept = (TypeImpl) currentConcept.sup();
-        }
-        return Optional.empty();
+        });
+        return errors;
     }
 
     /**
-     * @param graph graph used to ensure the relation is unique
-     * @param relationReified The relation whose hash needs to be set.
-     * @return An error message if the relation is not unique.
+     * Looks up the relations indexed by the given hashes in batches. Relations of keyspaces which have not been
+     * reindexed yet are found by their legacy hash.
+     *
+     * @param graph graph to look the relations up in
+     * @param indices The relation hashes to look up
+     * @param legacyIndices The legacy hashes to look up, mapped to the current hash of the same relation
+     * @param newIndices The new hashes of the relations being validated, as the stored hashes of these may be stale
+     * @return The relations found, by their current hash
      */
-    static Optional<String> validateRelationIsUnique(AbstractGraknGraph<?> graph, RelationReified relationReified){
-        RelationImpl foundRelation = graph.getConcept(Schema.VertexProperty.INDEX, RelationReified.generateNewHash(relationReified.type(), relationReified.allRolePlayers()));
-        if(foundRelation == null){
-            relationReified.setHash();
-        } else if(foundRelation.reified().isPresent() && !foundRelation.reified().get().equals(relationReified)){
-            return Optional.of(VALIDATION_RELATION_DUPLICATE.getMessage(relationReified));
+    private static Map<String, RelationReified> getRelationsByIndex(AbstractGraknGraph<?> graph, Set<String> indices,
+                                                                    Map<String, String> legacyIndices, Map<ConceptId, String> newIndices){
+        Map<String, RelationReified> foundRelations = new HashMap<>();
+        Iterable<String> lookups = Iterables.concat(indices, legacyIndices.keySet());
+        for(List<String> batch : Iterables.partition(lookups, INDEX_LOOKUP_BATCH_SIZE)){
+            graph.getTinkerTraversal().V().has(Schema.VertexProperty.INDEX.name(), P.within(batch)).forEachRemaining(vertex -> {
+                Concept concept = graph.buildConcept(vertex);
+                if(concept == null || !concept.isRelation()) return;
+
+                String storedIndex = vertex.value(Schema.VertexProperty.INDEX.name());
+                String index = legacyIndices.getOrDefault(storedIndex, storedIndex);
+                String newIndex = newIndices.get(concept.getId());
+                if(newIndex == null || newIndex.equals(index)){
+                    ((RelationImpl) concept).reified().ifPresent(relation -> foundRelations.put(index, relation));
+                }
+            });
         }
-        return Optional.empty();
+        return foundRelations;
     }
 
-
     /**
      * @param graph graph used to ensure the rule is a valid Horn clause
      * @param rule the rule to be validated
+     * @param when the parsed body of the rule
+     * @param then the parsed head of the rule
      * @return Error messages if the rule is not a valid Horn clause (in implication form, conjunction in the body, single-atom conjunction in the head)
      */
-    static Set<String> validateRuleIsValidHornClause(GraknGraph graph, Rule rule){
+    static Set<String> validateRuleIsValidHornClause(GraknGraph graph, Rule rule, Pattern when, Pattern then){
         Set<String> errors = new HashSet<>();
-        if (rule.getWhen().admin().isDisjunction()){
+        if (when.admin().isDisjunction()){
             errors.add(ErrorMessage.VALIDATION_RULE_DISJUNCTION_IN_BODY.getMessage(rule.getId(), rule.type().getLabel()));
         }
-        errors.addAll(checkRuleHeadInvalid(graph, rule, rule.getThen()));
+        errors.addAll(checkRuleHeadInvalid(graph, rule, then));
         return errors;
     }
 
@@ -293,17 +387,18 @@ class ValidateGlobalRules {
      * NB: this only gets checked if the rule obeys the Horn clause form
      * @param graph graph used to ensure the rule is a valid Horn clause
      * @param rule the rule to be validated ontologically
+     * @param when the parsed body of the rule
+     * @param then the parsed head of the rule
      * @return Error messages if the rule has ontological inconsistencies
      */
-    static Set<String> validateRuleOntologically(GraknGraph graph, Rule rule) {
+    static Set<String> validateRuleOntologically(GraknGraph graph, Rule rule, Pattern when, Pattern then) {
         Set<String> errors = new HashSet<>();
 
         //both body and head refer to the same graph and have to be valid with respect to the ontology that governs it
         //as a result the rule can be ontologically validated by combining them into a conjunction
         //this additionally allows to cross check body-head references
-        ReasonerQuery combined = rule
-                .getWhen()
-                .and(rule.getThen())
+        ReasonerQuery combined = when
+                .and(then)
                 .admin().getDisjunctiveNormalForm().getPatterns().iterator().next()
                 .toReasonerQuery(graph);
         errors.addAll(combined.validateOntologically());
@@ -339,12 +434,14 @@ class ValidateGlobalRules {
     /**
      *
      * @param rule The rule to be validated
+     * @param when the parsed body of the rule
+     * @param then the parsed head of the rule
      * @return Error messages if the when or then of a rule refers to a non existent type
      */
-    static Set<String> validateRuleOntologyElementsExist(GraknGraph graph, Rule rule){
+    static Set<String> validateRuleOntologyElementsExist(GraknGraph graph, Rule rule, Pattern when, Pattern then){
         Set<String> errors = new HashSet<>();
-        errors.addAll(checkRuleSideInvalid(graph, rule, Schema.VertexProperty.RULE_WHEN, rule.getWhen()));
-        errors.addAll(checkRuleSideInvalid(graph, rule, Schema.VertexProperty.RULE_THEN, rule.getThen()));
+        errors.addAll(checkRuleSideInvalid(graph, rule, Schema.VertexProperty.RULE_WHEN, when));
+        errors.addAll(checkRuleSideInvalid(graph, rule, Schema.VertexProperty.RULE_THEN, then));
         return errors;
     }
 
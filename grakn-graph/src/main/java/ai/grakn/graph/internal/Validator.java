@@ -18,19 +18,26 @@
 
 package ai.grakn.graph.internal;
 
+import ai.grakn.concept.Label;
+import ai.grakn.concept.OntologyConcept;
 import ai.grakn.concept.Relation;
 import ai.grakn.concept.RelationType;
 import ai.grakn.concept.Role;
 import ai.grakn.concept.Rule;
 import ai.grakn.concept.Thing;
+import ai.grakn.concept.Type;
 import ai.grakn.graph.internal.concept.RelationImpl;
 import ai.grakn.graph.internal.concept.RelationReified;
 import ai.grakn.graph.internal.structure.Casting;
+import ai.grakn.graql.Pattern;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * <p>
@@ -48,6 +55,8 @@ import java.util.Set;
 class Validator {
     private final AbstractGraknGraph<?> graknGraph;
     private final List<String> errorsFound = new ArrayList<>();
+    //Many modified instances share a type so its required roles are only looked up once
+    private final Map<Type, Set<Role>> requiredRolesCache = new HashMap<>();
 
     public Validator(AbstractGraknGraph graknGraph){
         this.graknGraph = graknGraph;
@@ -79,7 +88,7 @@ class Validator {
         //Validate Relation Types
         graknGraph.txCache().getModifiedRelationTypes().forEach(this::validateRelationType);
         //Validate Relations
-        graknGraph.txCache().getModifiedRelations().forEach(relation -> validateRelation(graknGraph, relation));
+        validateRelations(graknGraph.txCache().getModifiedRelations());
 
         //Validate Rule Types
         //Not Needed
@@ -95,31 +104,53 @@ class Validator {
     }
 
     /**
-     * Validation rules exclusive to rules
+     * Validation rules exclusive to rules. The when and then of the rule are parsed once and shared by all the checks.
      * @param graph the graph to query against
      * @param rule the rule which needs to be validated
      */
     private void validateRule(AbstractGraknGraph<?> graph, Rule rule){
-        Set<String> labelErrors = ValidateGlobalRules.validateRuleOntologyElementsExist(graph, rule);
+        Pattern when = rule.getWhen();
+        Pattern then = rule.getThen();
+
+        Set<String> labelErrors = ValidateGlobalRules.validateRuleOntologyElementsExist(graph, rule, when, then);
         errorsFound.addAll(labelErrors);
-        errorsFound.addAll(ValidateGlobalRules.validateRuleIsValidHornClause(graph, rule));
+        errorsFound.addAll(ValidateGlobalRules.validateRuleIsValidHornClause(graph, rule, when, then));
         if (labelErrors.isEmpty()){
-            errorsFound.addAll(ValidateGlobalRules.validateRuleOntologically(graph, rule));
+            errorsFound.addAll(ValidateGlobalRules.validateRuleOntologically(graph, rule, when, then));
         }
     }
 
     /**
-     * Validation rules exclusive to relations
-     * @param relation The relation to validate
+     * Validation rules exclusive to relations. The relations are validated as a set so that the castings of each
+     * relation are read once, the ontology is only queried once per type and the uniqueness of all the relations is
+     * checked with batched index lookups.
+     *
+     * @param relations The relations to validate
      */
-    private void validateRelation(AbstractGraknGraph<?> graph, Relation relation){
-        validateThing(relation);
-        Optional<RelationReified> relationReified = ((RelationImpl) relation).reified();
-        //TODO: We need new validation mechanisms for non-reified relations
-        relationReified.ifPresent(relationReified1 -> {
-            ValidateGlobalRules.validateRelationshipStructure(relationReified1).ifPresent(errorsFound::add);
-            ValidateGlobalRules.validateRelationIsUnique(graph, relationReified1).ifPresent(errorsFound::add);
-        });
+    private void validateRelations(Set<Relation> relations){
+        Map<RelationType, Set<Role>> relatesCache = new HashMap<>();
+        Map<Role, Set<Label>> relationTypesCache = new HashMap<>();
+        Map<RelationReified, Map<Role, Set<Thing>>> rolePlayers = new HashMap<>();
+
+        for(Relation relation : relations){
+            validateThing(relation);
+            Optional<RelationReified> relationReified = ((RelationImpl) relation).reified();
+            //TODO: We need new validation mechanisms for non-reified relations
+            relationReified.ifPresent(relationReified1 -> {
+                Set<Casting> castings = relationReified1.castingsRelation().collect(Collectors.toSet());
+                Set<Role> roles = relatesCache.computeIfAbsent(relationReified1.type(),
+                        relationType -> relationType.relates().collect(Collectors.toSet()));
+
+                ValidateGlobalRules.validateRelationshipStructure(relationReified1, castings, roles,
+                        role -> relationTypesCache.computeIfAbsent(role,
+                                r -> r.relationTypes().map(OntologyConcept::getLabel).collect(Collectors.toSet()))).
+                        ifPresent(errorsFound::add);
+
+                rolePlayers.put(relationReified1, RelationReified.allRolePlayers(roles, castings));
+            });
+        }
+
+        errorsFound.addAll(ValidateGlobalRules.validateRelationsAreUnique(graknGraph, rolePlayers));
     }
 
     /**
@@ -152,6 +183,7 @@ class Validator {
      * @param thing The {@link Thing} to validate
      */
     private void validateThing(Thing thing) {
-        ValidateGlobalRules.validateInstancePlaysAllRequiredRoles(thing).ifPresent(errorsFound::add);
+        Set<Role> requiredRoles = requiredRolesCache.computeIfAbsent(thing.type(), ValidateGlobalRules::requiredRoles);
+        ValidateGlobalRules.validateInstancePlaysAllRequiredRoles(thing, requiredRoles).ifPresent(errorsFound::add);
     }
 }
@@ -23,6 +23,7 @@ import ai.grakn.concept.Role;
 import javax.annotation.Nullable;
 import java.util.Optional;
 import java.util.function.Consumer;
+import java.util.function.LongSupplier;
 import java.util.function.Supplier;
 
 /**
@@ -49,12 +50,32 @@ public class Cache<V> {
     private final Cacheable<V> cacheable;
 
     //Transaction bound. If this is not set it does not yet exist in the scope of the transaction.
-    private final ThreadLocal<V> valueTx = new ThreadLocal<>();
+    private final ThreadLocal<TxValue<V>> valueTx = new ThreadLocal<>();
+
+    //Identifies the transaction currently open on the thread. Values set by previous transactions are ignored.
+    private final LongSupplier txGeneration;
+
+    //Notified whenever a value is bound to the current transaction
+    private final Runnable onTxSet;
 
     //Graph bound value which has already been persisted and acts as a shared component cache
-    private Optional<V> valueGlobal = Optional.empty();
+    private volatile Optional<V> valueGlobal = Optional.empty();
 
     public Cache(Cacheable<V> cacheable, Supplier<V> databaseReader){
+        this(() -> 0L, () -> {}, cacheable, databaseReader);
+    }
+
+    /**
+     * Used for components of concepts which are shared across transactions. The transaction bound value is only
+     * valid for the transaction which set it so it does not need to be cleared when the transaction closes.
+     *
+     * @param txGeneration Provides the generation of the transaction currently open on the thread
+     * @param onTxSet Called when a value is bound to the transaction currently open on the thread, so that the
+     *                transaction knows which shared components it has to flush when it is committed
+     */
+    public Cache(LongSupplier txGeneration, Runnable onTxSet, Cacheable<V> cacheable, Supplier<V> databaseReader){
+        this.txGeneration = txGeneration;
+        this.onTxSet = onTxSet;
         this.cacheable = cacheable;
         this.databaseReader = databaseReader;
     }
@@ -66,16 +87,27 @@ public class Cache<V> {
      */
     @Nullable
     public V get(){
-        V value = valueTx.get();
+        V value = valueTx();
 
         if(value != null) return value;
         if(valueGlobal.isPresent()) value = cacheable.copy(valueGlobal.get());
         if(value == null) value = databaseReader.get();
         if(value == null) return null;
 
-        valueTx.set(value);
+        set(value);
+
+        return value;
+    }
 
-        return valueTx.get();
+    /**
+     *
+     * @return The value bound to the current transaction, null if there is none
+     */
+    @Nullable
+    private V valueTx(){
+        TxValue<V> txValue = valueTx.get();
+        if(txValue == null || txValue.generation != txGeneration.getAsLong()) return null;
+        return txValue.value;
     }
 
     /**
@@ -91,7 +123,8 @@ public class Cache<V> {
      * @param value the value to be cached
      */
     public void set(@Nullable V value){
-        valueTx.set(value);
+        valueTx.set(new TxValue<>(value, txGeneration.getAsLong()));
+        onTxSet.run();
     }
 
     /**
@@ -99,7 +132,7 @@ public class Cache<V> {
      * @return true if there is anything stored in the cache
      */
     private boolean isPresent(){
-        return valueTx.get() != null || valueGlobal.isPresent();
+        return valueTx() != null || valueGlobal.isPresent();
     }
 
     /**
@@ -124,4 +157,16 @@ public class Cache<V> {
         }
     }
 
+    /**
+     * A value together with the generation of the transaction which set it
+     */
+    private static class TxValue<V> {
+        private final V value;
+        private final long generation;
+
+        TxValue(@Nullable V value, long generation){
+            this.value = value;
+            this.generation = generation;
+        }
+    }
 }
@@ -23,14 +23,14 @@ import ai.grakn.concept.LabelId;
 import ai.grakn.concept.OntologyConcept;
 import ai.grakn.graph.internal.AbstractGraknGraph;
 import ai.grakn.graph.internal.concept.OntologyConceptImpl;
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 
+import java.util.ArrayList;
 import java.util.Map;
 import java.util.Properties;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.TimeUnit;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * <p>
@@ -40,11 +40,19 @@ import java.util.concurrent.TimeUnit;
  * <p>
  *     Caches Graph or Session specific data which is shared across transactions:
  *     <ol>
- *         <li>Ontology Cache - All the types which make up the ontology. This cache expires</li>
+ *         <li>
+ *             Ontology Snapshot - An immutable version of all the types and labels which make up the ontology.
+ *             Transactions reference it directly so opening a transaction does not copy the ontology.
+ *             The types of the snapshot expire when it is not accessed for a while.
+ *         </li>
  *         <li>
  *             Label Cache - All the labels which make up the ontology. This can never expire and is needed in order
  *             to perform fast lookups. Essentially it is used for mapping labels to ids.
  *         </li>
+ *         <li>
+ *             Rule Base Version - Changes every time a transaction which added or removed rules is committed.
+ *             It allows the rules to be compiled once and reused until they change.
+ *         </li>
  *     <ol/>
  * </p>
  *
@@ -52,18 +60,17 @@ import java.util.concurrent.TimeUnit;
  *
  */
 public class GraphCache {
+    //Rule base versions are unique across graph caches so versions of different graphs can never be mistaken
+    private static final AtomicLong ruleBaseVersions = new AtomicLong(0);
+
     //Caches
-    private final Cache<Label, OntologyConcept> cachedTypes;
-    private final Map<Label, LabelId> cachedLabels;
+    private volatile OntologySnapshot ontologySnapshot = OntologySnapshot.EMPTY;
+    private volatile long lastAccess = System.currentTimeMillis();
+    private final long cacheTimeout;
+    private volatile long ruleBaseVersion = ruleBaseVersions.incrementAndGet();
 
     public GraphCache(Properties properties){
-        cachedLabels = new ConcurrentHashMap<>();
-
-        int cacheTimeout = Integer.parseInt(properties.get(AbstractGraknGraph.NORMAL_CACHE_TIMEOUT_MS).toString());
-        cachedTypes = CacheBuilder.newBuilder()
-                .maximumSize(1000)
-                .expireAfterAccess(cacheTimeout, TimeUnit.MILLISECONDS)
-                .build();
+        cacheTimeout = Integer.parseInt(properties.get(AbstractGraknGraph.NORMAL_CACHE_TIMEOUT_MS).toString());
     }
 
     /**
@@ -72,8 +79,8 @@ public class GraphCache {
      * @param label The label of the type to cache
      * @param type The type to cache
      */
-    public void cacheType(Label label, OntologyConcept type){
-        cachedTypes.put(label, type);
+    public synchronized void cacheType(Label label, OntologyConcept type){
+        ontologySnapshot = ontologySnapshot.with(ImmutableMap.of(label, type), ImmutableMap.of(), ImmutableSet.of());
     }
 
     /**
@@ -82,8 +89,8 @@ public class GraphCache {
      * @param label The label of the type to cache
      * @param id The id of the type to cache
      */
-    public void cacheLabel(Label label, LabelId id){
-        cachedLabels.put(label, id);
+    public synchronized void cacheLabel(Label label, LabelId id){
+        ontologySnapshot = ontologySnapshot.with(ImmutableMap.of(), ImmutableMap.of(label, id), ImmutableSet.of());
     }
 
     /**
@@ -93,31 +100,56 @@ public class GraphCache {
      *
      * @param txCache The transaction cache
      */
-    void readTxCache(TxCache txCache){
-        //TODO: The difference between the caches need to be taken into account. For example if a type is delete then it should be removed from the cachedLabels
-        cachedLabels.putAll(txCache.getLabelCache());
-        cachedTypes.putAll(txCache.getOntologyConceptCache());
+    synchronized void readTxCache(TxCache txCache){
+        Map<Label, OntologyConcept> txTypes = txCache.getOntologyConceptCache();
+        Map<Label, LabelId> txLabels = txCache.getLabelCache();
+        Set<Label> txRemovedLabels = txCache.getRemovedOntologyLabels();
 
-        //Flush All The Internal Transaction Caches
-        txCache.getOntologyConceptCache().values().forEach(ontologyConcept
-                -> OntologyConceptImpl.from(ontologyConcept).txCacheFlush());
+        //Copy on write, a new snapshot is only needed when the transaction added to or removed from the ontology
+        if(!txTypes.isEmpty() || !txLabels.isEmpty() || !txRemovedLabels.isEmpty()) {
+            ontologySnapshot = ontologySnapshot.with(txTypes, txLabels, txRemovedLabels);
+        }
+        if(txCache.isRuleBaseModified()) ruleBaseVersion = ruleBaseVersions.incrementAndGet();
+
+        //Flush the internal transaction caches of the types which were read or changed in the transaction.
+        //Types of the snapshot can be reached without going through the transaction cache, so every type tracks
+        //itself when it binds a value to the transaction.
+        txTypes.values().forEach(ontologyConcept -> OntologyConceptImpl.from(ontologyConcept).txCacheFlush());
+        new ArrayList<>(txCache.getTxBoundOntologyConcepts()).forEach(ontologyConcept -> OntologyConceptImpl.from(ontologyConcept).txCacheFlush());
     }
 
     /**
-     * A copy of the cached labels. This is used when creating a new transaction.
+     * The current ontology snapshot. This is used when creating a new transaction.
+     * If the snapshot has not been accessed for longer than the cache timeout its types are dropped so they are
+     * read again from the graph.
      *
-     * @return an immutable copy of the cached labels.
+     * @return The current immutable ontology snapshot
      */
-    Map<Label, LabelId> getCachedLabels(){
-        return ImmutableMap.copyOf(cachedLabels);
+    OntologySnapshot getOntologySnapshot(){
+        long now = System.currentTimeMillis();
+        if(now - lastAccess > cacheTimeout) {
+            synchronized (this) {
+                if(now - lastAccess > cacheTimeout) ontologySnapshot = ontologySnapshot.withoutTypes();
+            }
+        }
+        lastAccess = now;
+        return ontologySnapshot;
     }
 
     /**
-     * A copy of the cached ontology. This is used when creating a new transaction.
+     * The types of the current ontology snapshot.
      *
-     * @return an immutable copy of the cached ontology.
+     * @return an immutable view of the cached ontology.
      */
     public Map<Label, OntologyConcept> getCachedTypes(){
-        return ImmutableMap.copyOf(cachedTypes.asMap());
+        return ontologySnapshot.getTypes();
+    }
+
+    /**
+     *
+     * @return The version of the committed rules of the graph
+     */
+    public long getRuleBaseVersion(){
+        return ruleBaseVersion;
     }
 }
@@ -0,0 +1,117 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graph.internal.cache;
+
+import ai.grakn.concept.ConceptId;
+import ai.grakn.concept.Label;
+import ai.grakn.concept.LabelId;
+import ai.grakn.concept.OntologyConcept;
+import com.google.common.collect.ImmutableMap;
+
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>
+ *     An immutable version of the ontology
+ * </p>
+ *
+ * <p>
+ *     Transactions reference the snapshot held by the {@link GraphCache} when they open rather than copying it.
+ *     A new snapshot is only created when a transaction which added to or removed from the ontology is closed.
+ * </p>
+ *
+ * @author fppt
+ */
+class OntologySnapshot {
+    private static final AtomicLong versions = new AtomicLong(0);
+
+    static final OntologySnapshot EMPTY = new OntologySnapshot(ImmutableMap.of(), ImmutableMap.of());
+
+    private final long version = versions.incrementAndGet();
+    private final Map<Label, OntologyConcept> types;
+    private final Map<Label, LabelId> labels;
+    private final Map<ConceptId, OntologyConcept> typesById;
+
+    private OntologySnapshot(Map<Label, OntologyConcept> types, Map<Label, LabelId> labels){
+        this.types = ImmutableMap.copyOf(types);
+        this.labels = ImmutableMap.copyOf(labels);
+
+        ImmutableMap.Builder<ConceptId, OntologyConcept> typesById = ImmutableMap.builder();
+        types.values().forEach(type -> typesById.put(type.getId(), type));
+        this.typesById = typesById.build();
+    }
+
+    /**
+     *
+     * @param addedTypes Types which have been added or read since this snapshot was taken
+     * @param addedLabels Labels which have been added or read since this snapshot was taken
+     * @param removedLabels Labels of types which have been removed or renamed since this snapshot was taken
+     * @return A new snapshot with the changes applied
+     */
+    OntologySnapshot with(Map<Label, OntologyConcept> addedTypes, Map<Label, LabelId> addedLabels, Set<Label> removedLabels){
+        Map<Label, OntologyConcept> newTypes = new HashMap<>(types);
+        Map<Label, LabelId> newLabels = new HashMap<>(labels);
+        removedLabels.forEach(label -> {
+            newTypes.remove(label);
+            newLabels.remove(label);
+        });
+        newTypes.putAll(addedTypes);
+        newLabels.putAll(addedLabels);
+        return new OntologySnapshot(newTypes, newLabels);
+    }
+
+    /**
+     *
+     * @return A new snapshot with the same labels but without any types. Labels never expire.
+     */
+    OntologySnapshot withoutTypes(){
+        return new OntologySnapshot(ImmutableMap.of(), labels);
+    }
+
+    long getVersion(){
+        return version;
+    }
+
+    Map<Label, OntologyConcept> getTypes(){
+        return types;
+    }
+
+    @Nullable
+    OntologyConcept getType(Label label){
+        return types.get(label);
+    }
+
+    @Nullable
+    OntologyConcept getType(ConceptId id){
+        return typesById.get(id);
+    }
+
+    @Nullable
+    LabelId getLabelId(Label label){
+        return labels.get(label);
+    }
+
+    boolean isEmpty(){
+        return labels.isEmpty() && types.isEmpty();
+    }
+}
@@ -39,10 +39,12 @@ import ai.grakn.util.REST;
 import ai.grakn.util.Schema;
 import mjson.Json;
 
+import javax.annotation.Nullable;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * <p>
@@ -54,7 +56,11 @@ import java.util.Set;
  *     <ol>
  *         <li>Validation Concepts - Concepts which need to undergo validation.</li>
  *         <li>Built Concepts -  Prevents rebuilding when the same vertex is encountered</li>
- *         <li>The Ontology - Optimises validation checks by preventing db read. </li>
+ *         <li>
+ *             The Ontology - Optimises validation checks by preventing db read. The ontology snapshot of the
+ *             {@link GraphCache} is referenced and only the types added, read or removed by the transaction are
+ *             tracked here.
+ *         </li>
  *         <li>Type Labels - Allows mapping type labels to type Ids</li>
  *         <li>Transaction meta Data - Allows transactions to function in different ways</li>
  *     <ol/>
@@ -64,13 +70,23 @@ import java.util.Set;
  *
  */
 public class TxCache {
+    //Transaction generations are unique across transaction caches so values bound to a closed transaction are never reused
+    private static final AtomicLong txGenerations = new AtomicLong(0);
+
     //Graph cache which is shared across multiple transactions
     private final GraphCache graphCache;
 
+    //The ontology when the transaction was opened, null until it is read
+    private OntologySnapshot ontologySnapshot = null;
+
     //Caches any concept which has been touched before
     private final Map<ConceptId, Concept> conceptCache = new HashMap<>();
     private final Map<Label, OntologyConcept> ontologyConceptCache = new HashMap<>();
     private final Map<Label, LabelId> labelCache = new HashMap<>();
+    private final Set<Label> removedOntologyLabels = new HashSet<>();
+
+    //Ontology concepts shared with other transactions which hold values bound to this transaction
+    private final Set<OntologyConcept> txBoundOntologyConcepts = new HashSet<>();
 
     //Elements Tracked For Validation
     private final Set<Entity> modifiedEntities = new HashSet<>();
@@ -82,9 +98,16 @@ public class TxCache {
     private final Set<Relation> modifiedRelations = new HashSet<>();
 
     private final Set<Rule> modifiedRules = new HashSet<>();
+    private boolean ruleBaseModified = false;
+    private long ruleBaseVersion;
 
     private final Set<Resource> modifiedResources = new HashSet<>();
 
+    //Types which lost instances which were not inferred
+    private final Set<Label> typesWithDeletedInstances = new HashSet<>();
+    //Concepts which shared a fact with the deleted instances which were not inferred
+    private final Set<ConceptId> conceptsOfDeletedInstances = new HashSet<>();
+
     //We Track Relations so that we can look them up before they are completely defined and indexed on commit
     private final Map<String, Relation> relationIndexCache = new HashMap<>();
 
@@ -95,6 +118,7 @@ public class TxCache {
     private boolean isTxOpen = false;
     private GraknTxType txType;
     private String closedReason = null;
+    private long txGeneration = txGenerations.incrementAndGet();
 
     public TxCache(GraphCache graphCache) {
         this.graphCache = graphCache;
@@ -118,26 +142,16 @@ public class TxCache {
      * @return true if ths ontology labels have been cached. The graph cannot operate if this is false.
      */
     public boolean ontologyNotCached(){
-        return labelCache.isEmpty();
+        return ontologySnapshot == null || (labelCache.isEmpty() && ontologySnapshot.isEmpty());
     }
 
     /**
-     * Refreshes the transaction ontology cache by reading the central ontology cache is read into this transaction cache.
-     * This method performs this operation whilst making a deep clone of the cached concepts to ensure transactions
-     * do not accidentally break the central ontology cache.
-     *
+     * Refreshes the transaction ontology cache by referencing the current ontology snapshot of the central cache.
+     * The snapshot is immutable so it is not copied. The transaction bound state of the concepts in it is kept
+     * separately by each concept.
      */
     public void refreshOntologyCache(){
-        Map<Label, OntologyConcept> cachedOntologySnapshot = graphCache.getCachedTypes();
-        Map<Label, LabelId> cachedLabelsSnapshot = graphCache.getCachedLabels();
-
-        //Read central cache into txCache cloning only base concepts. Sets clones later
-        for (OntologyConcept type : cachedOntologySnapshot.values()) {
-            cacheConcept(type);
-        }
-
-        //Load Labels Separately. We do this because the TypeCache may have expired.
-        cachedLabelsSnapshot.forEach(this::cacheLabel);
+        ontologySnapshot = graphCache.getOntologySnapshot();
     }
 
     /**
@@ -198,6 +212,38 @@ public class TxCache {
         return labelCache;
     }
 
+    /**
+     *
+     * @return The labels of the types of the ontology snapshot which have been removed or renamed in the transaction
+     */
+    Set<Label> getRemovedOntologyLabels(){
+        return removedOntologyLabels;
+    }
+
+    /**
+     *
+     * @param ontologyConcept An ontology concept which read or changed a value in this transaction
+     */
+    public void trackTxBound(OntologyConcept ontologyConcept){
+        txBoundOntologyConcepts.add(ontologyConcept);
+    }
+
+    /**
+     *
+     * @return The ontology concepts which read or changed a value in this transaction
+     */
+    Set<OntologyConcept> getTxBoundOntologyConcepts(){
+        return txBoundOntologyConcepts;
+    }
+
+    /**
+     *
+     * @return The generation of the transaction currently open, it changes every time a transaction is closed
+     */
+    public long getTxGeneration(){
+        return txGeneration;
+    }
+
     /**
      *
      * @return All the concepts which have been accessed in this transaction
@@ -224,6 +270,8 @@ public class TxCache {
             Label label = ((OntologyConceptImpl) concept).getLabel();
             ontologyConceptCache.remove(label);
             labelCache.remove(label);
+            txBoundOntologyConcepts.remove(concept);
+            if(ontologySnapshot != null && ontologySnapshot.getLabelId(label) != null) removedOntologyLabels.add(label);
         }
     }
 
@@ -247,20 +295,11 @@ public class TxCache {
             OntologyConceptImpl ontologyElement = (OntologyConceptImpl) concept;
             ontologyConceptCache.put(ontologyElement.getLabel(), ontologyElement);
             labelCache.put(ontologyElement.getLabel(), ontologyElement.getLabelId());
+            removedOntologyLabels.remove(ontologyElement.getLabel());
         }
     }
 
 
-    /**
-     * Caches the mapping of a type label to a type id. This is necessary in order for ANY types to be looked up.
-     *
-     * @param label The type label to cache
-     * @param id Its equivalent id which can be looked up quickly in the graph
-     */
-    private void cacheLabel(Label label, LabelId id){
-        labelCache.put(label, id);
-    }
-
     /**
      * Checks if the concept has been built before and is currently cached
      *
@@ -268,7 +307,7 @@ public class TxCache {
      * @return true if the concept is cached
      */
     public boolean isConceptCached(ConceptId id){
-        return conceptCache.containsKey(id);
+        return conceptCache.containsKey(id) || getSnapshotType(id) != null;
     }
 
     /**
@@ -277,7 +316,7 @@ public class TxCache {
      * @return true if the concept is cached
      */
     public boolean isTypeCached(Label label){
-        return ontologyConceptCache.containsKey(label);
+        return ontologyConceptCache.containsKey(label) || getSnapshotType(label) != null;
     }
 
     /**
@@ -286,7 +325,7 @@ public class TxCache {
      * @return true if the label is cached and has a valid mapping to a id
      */
     public boolean isLabelCached(Label label){
-        return labelCache.containsKey(label);
+        return convertLabelToId(label) != null;
     }
 
     /**
@@ -297,8 +336,10 @@ public class TxCache {
      * @return The cached concept
      */
     public <X extends Concept> X getCachedConcept(ConceptId id){
+        Concept concept = conceptCache.get(id);
+        if(concept == null) concept = getSnapshotType(id);
         //noinspection unchecked
-        return (X) conceptCache.get(id);
+        return (X) concept;
     }
 
     /**
@@ -309,12 +350,32 @@ public class TxCache {
      * @return The cached type
      */
     public <X extends OntologyConcept> X getCachedOntologyElement(Label label){
+        OntologyConcept ontologyConcept = ontologyConceptCache.get(label);
+        if(ontologyConcept == null) ontologyConcept = getSnapshotType(label);
         //noinspection unchecked
-        return (X) ontologyConceptCache.get(label);
+        return (X) ontologyConcept;
     }
 
     public LabelId convertLabelToId(Label label){
-        return labelCache.get(label);
+        LabelId labelId = labelCache.get(label);
+        if(labelId == null && ontologySnapshot != null && !removedOntologyLabels.contains(label)){
+            labelId = ontologySnapshot.getLabelId(label);
+        }
+        return labelId;
+    }
+
+    @Nullable
+    private OntologyConcept getSnapshotType(Label label){
+        if(ontologySnapshot == null || removedOntologyLabels.contains(label)) return null;
+        return ontologySnapshot.getType(label);
+    }
+
+    @Nullable
+    private OntologyConcept getSnapshotType(ConceptId id){
+        if(ontologySnapshot == null) return null;
+        OntologyConcept ontologyConcept = ontologySnapshot.getType(id);
+        if(ontologyConcept == null || removedOntologyLabels.contains(ontologyConcept.getLabel())) return null;
+        return ontologyConcept;
     }
 
     public void addedInstance(ConceptId conceptId){
@@ -378,6 +439,55 @@ public class TxCache {
         return modifiedRules;
     }
 
+    /**
+     * Records that rules have been added or removed in this transaction
+     */
+    public void trackRuleBaseModification(){
+        ruleBaseModified = true;
+    }
+
+    /**
+     *
+     * @return true if rules have been added or removed in this transaction
+     */
+    public boolean isRuleBaseModified(){
+        return ruleBaseModified;
+    }
+
+    /**
+     *
+     * @return The version of the committed rules when this transaction was opened
+     */
+    public long getRuleBaseVersion(){
+        return ruleBaseVersion;
+    }
+
+    /**
+     *
+     * @param type The label of a type which lost an instance which was not inferred
+     * @param concepts The ids of the concepts which shared a fact with the deleted instance
+     */
+    public void trackDeletedInstance(Label type, Set<ConceptId> concepts){
+        typesWithDeletedInstances.add(type);
+        conceptsOfDeletedInstances.addAll(concepts);
+    }
+
+    /**
+     *
+     * @return The labels of the types which lost instances which were not inferred
+     */
+    public Set<Label> getTypesWithDeletedInstances(){
+        return typesWithDeletedInstances;
+    }
+
+    /**
+     *
+     * @return The ids of the concepts which shared a fact with the deleted instances which were not inferred
+     */
+    public Set<ConceptId> getConceptsOfDeletedInstances(){
+        return conceptsOfDeletedInstances;
+    }
+
     public Set<Resource> getModifiedResources() {
         return modifiedResources;
     }
@@ -400,18 +510,26 @@ public class TxCache {
         modifiedRelationTypes.clear();
         modifiedRelations.clear();
         modifiedRules.clear();
+        ruleBaseModified = false;
         modifiedResources.clear();
+        typesWithDeletedInstances.clear();
+        conceptsOfDeletedInstances.clear();
         modifiedCastings.clear();
         relationIndexCache.clear();
         shardingCount.clear();
         conceptCache.clear();
         ontologyConceptCache.clear();
         labelCache.clear();
+        removedOntologyLabels.clear();
+        txBoundOntologyConcepts.clear();
+        ontologySnapshot = null;
+        txGeneration = txGenerations.incrementAndGet();
     }
     public void openTx(GraknTxType txType){
         isTxOpen = true;
         this.txType = txType;
         closedReason = null;
+        ruleBaseVersion = graphCache.getRuleBaseVersion();
     }
     public boolean isTxOpen(){
         return isTxOpen;
@@ -0,0 +1,109 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+
+package ai.grakn.graph.internal.compact;
+
+import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * <p>
+ *     A vertex of a {@link CompactGraph} as seen by a {@link CompactGraphComputer}
+ * </p>
+ *
+ * <p>
+ *     Only the edges let through by the filter of the {@link CompactComputerView} are visible. The values of compute
+ *     keys are read from and written to the view, every other property is read from the graph and cannot be written.
+ * </p>
+ *
+ * @author fppt
+ */
+class CompactComputerVertex extends CompactVertex {
+    private final CompactComputerView view;
+
+    CompactComputerVertex(CompactComputerView view, int id){
+        super(view.graph(), id);
+        this.view = view;
+    }
+
+    @Override
+    public Edge addEdge(String label, Vertex inVertex, Object... keyValues) {
+        throw Vertex.Exceptions.edgeAdditionsNotSupported();
+    }
+
+    @Override
+    public <V> VertexProperty<V> property(String key) {
+        if (!view.isComputeKey(key)) return super.property(key);
+        @SuppressWarnings("unchecked")
+        V value = (V) view.computedValue(id, key);
+        if (value == null) return VertexProperty.empty();
+        return new CompactVertexProperty<>(this, key, value);
+    }
+
+    @Override
+    public <V> VertexProperty<V> property(VertexProperty.Cardinality cardinality, String key, V value, Object... keyValues) {
+        if (!view.isComputeKey(key)) throw GraphComputer.Exceptions.providedKeyIsNotAnElementComputeKey(key);
+        if (keyValues.length > 0) throw VertexProperty.Exceptions.metaPropertiesNotSupported();
+        ElementHelper.validateProperty(key, value);
+        view.computedValue(id, key, value);
+        return new CompactVertexProperty<>(this, key, value);
+    }
+
+    @Override
+    public <V> Iterator<VertexProperty<V>> properties(String... propertyKeys) {
+        Collection<String> keys;
+        if (propertyKeys.length == 0) {
+            List<String> allKeys = new ArrayList<>(graph.vertexKeys(id));
+            allKeys.removeIf(view::isComputeKey);
+            allKeys.addAll(view.computedKeys(id));
+            keys = allKeys;
+        } else {
+            keys = Arrays.asList(propertyKeys);
+        }
+        return keys.stream().map(key -> this.<V>property(key)).
+                filter(VertexProperty::isPresent).iterator();
+    }
+
+    @Override
+    public Iterator<Edge> edges(Direction direction, String... edgeLabels) {
+        return Arrays.stream(view.edges(id, direction, edgeLabels)).
+                mapToObj(edge -> (Edge) new CompactEdge(graph, edge)).iterator();
+    }
+
+    @Override
+    public Iterator<Vertex> vertices(Direction direction, String... edgeLabels) {
+        return Arrays.stream(view.edges(id, direction, edgeLabels)).
+                mapToObj(edge -> view.vertex(view.otherVertex(id, edge))).iterator();
+    }
+
+    @Override
+    public void remove() {
+        throw Vertex.Exceptions.vertexRemovalNotSupported();
+    }
+}
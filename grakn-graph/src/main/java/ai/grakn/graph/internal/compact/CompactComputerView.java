@@ -0,0 +1,192 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+
+package ai.grakn.graph.internal.compact;
+
+import org.apache.tinkerpop.gremlin.process.computer.GraphFilter;
+import org.apache.tinkerpop.gremlin.process.computer.VertexComputeKey;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>
+ *     The part of a {@link CompactGraph} a {@link CompactGraphComputer} runs on
+ * </p>
+ *
+ * <p>
+ *     The vertices and edges let through by the {@link GraphFilter} are marked in bit sets when the view is built.
+ *     An edge is marked once for each of its ends the edge filter returned it from.
+ *     The values of the vertex compute keys are held by the view in one array per key, indexed by vertex id,
+ *     so they are never written to the graph unless they are persisted.
+ * </p>
+ *
+ * @author fppt
+ */
+class CompactComputerView {
+    private final CompactGraph graph;
+    private final int vertexSlots;
+    private final int[] vertices;
+    private final BitSet legalVertices;
+    @Nullable private final BitSet legalFromOutVertex;
+    @Nullable private final BitSet legalFromInVertex;
+    private final Map<String, Object[]> computedValues = new ConcurrentHashMap<>();
+    private final Set<String> transientKeys = new HashSet<>();
+
+    CompactComputerView(CompactGraph graph, GraphFilter graphFilter, Set<VertexComputeKey> computeKeys){
+        this.graph = graph;
+        this.vertexSlots = graph.vertexSlots();
+        this.legalVertices = new BitSet(vertexSlots);
+        this.legalFromOutVertex = graphFilter.hasEdgeFilter() ? new BitSet() : null;
+        this.legalFromInVertex = graphFilter.hasEdgeFilter() ? new BitSet() : null;
+
+        for (int vertex = 0; vertex < vertexSlots; vertex++) {
+            if (!graph.vertexExists(vertex)) continue;
+            Vertex element = new CompactVertex(graph, vertex);
+            if (graphFilter.hasVertexFilter() && !graphFilter.legalVertex(element)) continue;
+            legalVertices.set(vertex);
+
+            if (graphFilter.hasEdgeFilter()) {
+                Iterator<Edge> edges = graphFilter.legalEdges(element);
+                while (edges.hasNext()) {
+                    int edge = (Integer) edges.next().id();
+                    if (graph.edgeVertex(edge, Direction.OUT) == vertex) legalFromOutVertex.set(edge);
+                    if (graph.edgeVertex(edge, Direction.IN) == vertex) legalFromInVertex.set(edge);
+                }
+            }
+        }
+        this.vertices = legalVertices.stream().toArray();
+
+        for (VertexComputeKey computeKey : computeKeys) {
+            computedValues.put(computeKey.getKey(), new Object[vertexSlots]);
+            if (computeKey.isTransient()) transientKeys.add(computeKey.getKey());
+        }
+    }
+
+    CompactGraph graph(){
+        return graph;
+    }
+
+    int vertexSlots(){
+        return vertexSlots;
+    }
+
+    Vertex vertex(int vertex){
+        return new CompactComputerVertex(this, vertex);
+    }
+
+    /**
+     * Splits the vertices of the view into contiguous ranges of ids, one per worker
+     *
+     * @param workers The number of workers
+     * @return The ids of the vertices each worker runs on
+     */
+    int[][] partition(int workers){
+        int parts = Math.max(1, Math.min(workers, vertices.length));
+        int[][] partitions = new int[parts][];
+        for (int part = 0; part < parts; part++) {
+            int from = (int) ((long) vertices.length * part / parts);
+            int to = (int) ((long) vertices.length * (part + 1) / parts);
+            partitions[part] = Arrays.copyOfRange(vertices, from, to);
+        }
+        return partitions;
+    }
+
+    // ---------------------------------------------- Structure --------------------------------------------------------
+    boolean legalVertex(int vertex){
+        return legalVertices.get(vertex);
+    }
+
+    /**
+     *
+     * @return The ids of the edges of the vertex in the given direction which are let through by the edge filter
+     */
+    int[] edges(int vertex, Direction direction, String... labels){
+        int[] edges = graph.vertexEdges(vertex, direction, labels);
+        if (legalFromOutVertex == null) return edges;
+        return Arrays.stream(edges).filter(edge -> legalEdge(vertex, edge)).toArray();
+    }
+
+    private boolean legalEdge(int vertex, int edge){
+        return (legalFromOutVertex.get(edge) && graph.edgeVertex(edge, Direction.OUT) == vertex) ||
+                (legalFromInVertex.get(edge) && graph.edgeVertex(edge, Direction.IN) == vertex);
+    }
+
+    /**
+     *
+     * @return The id of the vertex at the other end of the edge
+     */
+    int otherVertex(int vertex, int edge){
+        int outVertex = graph.edgeVertex(edge, Direction.OUT);
+        return outVertex == vertex ? graph.edgeVertex(edge, Direction.IN) : outVertex;
+    }
+
+    // ------------------------------------------- Computed values -----------------------------------------------------
+    boolean isComputeKey(String key){
+        return computedValues.containsKey(key);
+    }
+
+    @Nullable
+    Object computedValue(int vertex, String key){
+        Object[] values = computedValues.get(key);
+        return values == null || vertex >= values.length ? null : values[vertex];
+    }
+
+    void computedValue(int vertex, String key, Object value){
+        computedValues.get(key)[vertex] = value;
+    }
+
+    Collection<String> computedKeys(int vertex){
+        List<String> keys = new ArrayList<>();
+        computedValues.forEach((key, values) -> {
+            if (values[vertex] != null) keys.add(key);
+        });
+        return keys;
+    }
+
+    /**
+     * Drops the values of the transient compute keys once the vertex program has finished
+     */
+    void dropTransientKeys(){
+        transientKeys.forEach(computedValues::remove);
+    }
+
+    /**
+     * Writes the values of the compute keys to the vertices of the graph which still exist
+     */
+    void persist(){
+        computedValues.forEach((key, values) -> {
+            for (int vertex : vertices) {
+                if (values[vertex] != null && graph.vertexExists(vertex)) graph.vertexProperty(vertex, key, values[vertex]);
+            }
+        });
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graph.internal.compact;
+
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+
+/**
+ * <p>
+ *     An edge of a {@link CompactGraph}
+ * </p>
+ *
+ * @author fppt
+ */
+class CompactEdge extends CompactElement implements Edge {
+
+    CompactEdge(CompactGraph graph, int id){
+        super(graph, id);
+    }
+
+    @Override
+    public Iterator<Vertex> vertices(Direction direction) {
+        switch (direction) {
+            case OUT:
+                return Arrays.<Vertex>asList(outVertex()).iterator();
+            case IN:
+                return Arrays.<Vertex>asList(inVertex()).iterator();
+            default:
+                return Arrays.<Vertex>asList(outVertex(), inVertex()).iterator();
+        }
+    }
+
+    @Override
+    public Vertex outVertex() {
+        return new CompactVertex(graph, graph.edgeVertex(id, Direction.OUT));
+    }
+
+    @Override
+    public Vertex inVertex() {
+        return new CompactVertex(graph, graph.edgeVertex(id, Direction.IN));
+    }
+
+    @Override
+    public <V> Property<V> property(String key) {
+        @SuppressWarnings("unchecked")
+        V value = (V) graph.edgeProperty(id, key);
+        if (value == null) return Property.empty();
+        return new CompactProperty<>(this, key, value);
+    }
+
+    @Override
+    public <V> Property<V> property(String key, V value) {
+        ElementHelper.validateProperty(key, value);
+        graph.edgeProperty(id, key, value);
+        return new CompactProperty<>(this, key, value);
+    }
+
+    @Override
+    public <V> Iterator<Property<V>> properties(String... propertyKeys) {
+        Collection<String> keys = propertyKeys.length == 0 ? graph.edgeKeys(id) : Arrays.asList(propertyKeys);
+        return keys.stream().map(key -> this.<V>property(key)).
+                filter(Property::isPresent).iterator();
+    }
+
+    @Override
+    public String label() {
+        return graph.edgeLabel(id);
+    }
+
+    @Override
+    public void remove() {
+        graph.removeEdge(id);
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.edgeString(this);
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graph.internal.compact;
+
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+
+/**
+ * <p>
+ *     The features of a {@link CompactGraph}
+ * </p>
+ *
+ * <p>
+ *     Ids are always assigned by the graph, vertex properties have a single cardinality and no meta properties.
+ * </p>
+ *
+ * @author fppt
+ */
+class CompactFeatures implements Graph.Features {
+    private final GraphFeatures graphFeatures = new CompactGraphFeatures();
+    private final VertexFeatures vertexFeatures = new CompactVertexFeatures();
+    private final EdgeFeatures edgeFeatures = new CompactEdgeFeatures();
+
+    @Override
+    public GraphFeatures graph() {
+        return graphFeatures;
+    }
+
+    @Override
+    public VertexFeatures vertex() {
+        return vertexFeatures;
+    }
+
+    @Override
+    public EdgeFeatures edge() {
+        return edgeFeatures;
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.featureString(this);
+    }
+
+    private static class CompactGraphFeatures implements GraphFeatures {
+        private final VariableFeatures variableFeatures = new VariableFeatures() {
+            @Override
+            public boolean supportsVariables() {
+                return false;
+            }
+        };
+
+        @Override
+        public boolean supportsComputer() {
+            return true;
+        }
+
+        @Override
+        public boolean supportsPersistence() {
+            return false;
+        }
+
+        @Override
+        public boolean supportsTransactions() {
+            return false;
+        }
+
+        @Override
+        public boolean supportsThreadedTransactions() {
+            return false;
+        }
+
+        @Override
+        public VariableFeatures variables() {
+            return variableFeatures;
+        }
+    }
+
+    private static class CompactVertexFeatures implements VertexFeatures {
+        private final VertexPropertyFeatures vertexPropertyFeatures = new VertexPropertyFeatures() {
+            @Override
+            public boolean supportsUserSuppliedIds() {
+                return false;
+            }
+        };
+
+        @Override
+        public boolean supportsMultiProperties() {
+            return false;
+        }
+
+        @Override
+        public boolean supportsMetaProperties() {
+            return false;
+        }
+
+        @Override
+        public boolean supportsUserSuppliedIds() {
+            return false;
+        }
+
+        @Override
+        public VertexProperty.Cardinality getCardinality(String key) {
+            return VertexProperty.Cardinality.single;
+        }
+
+        @Override
+        public VertexPropertyFeatures properties() {
+            return vertexPropertyFeatures;
+        }
+    }
+
+    private static class CompactEdgeFeatures implements EdgeFeatures {
+        @Override
+        public boolean supportsUserSuppliedIds() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,633 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graph.internal.compact;
+
+import com.google.common.collect.ImmutableSet;
+import org.apache.commons.configuration.BaseConfiguration;
+import org.apache.commons.configuration.Configuration;
+import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Transaction;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * <p>
+ *     A compact in memory {@link Graph}
+ * </p>
+ *
+ * <p>
+ *     Vertices and edges are identified by the position of their slot in primitive arrays rather than being objects
+ *     in their own right. Adjacency is kept as arrays of edge ids per vertex, labels are interned to int ids and
+ *     properties are stored in one column per key, indexed by element id. Elements handed out by this graph are
+ *     flyweights which only hold the graph and the id of the slot.
+ *
+ *     Values of the keys given at construction are indexed, so equality lookups on them through
+ *     {@link CompactGraphStep} do not scan the graph.
+ *
+ *     Writes are serialised by a lock. Reads of elements are optimistic and only take the lock when a write
+ *     happened while they were running, so traversals do not pay for locking unless they race with a writer.
+ *
+ *     Graph computers run on the graph in place, see {@link CompactGraphComputer}.
+ *     Slots are never reused, so an element which has been removed stays removed.
+ *     Transactions and graph variables are not supported.
+ * </p>
+ *
+ * @author fppt
+ */
+public class CompactGraph implements Graph {
+    static {
+        TraversalStrategies.GlobalCache.registerStrategies(CompactGraph.class,
+                TraversalStrategies.GlobalCache.getStrategies(Graph.class).clone().addStrategies(CompactGraphStepStrategy.instance()));
+    }
+
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int REMOVED = -1;
+    private static final int[] NO_IDS = new int[0];
+
+    private final StampedLock lock = new StampedLock();
+    private final Configuration configuration = new BaseConfiguration();
+    private final CompactFeatures features = new CompactFeatures();
+    private final Set<String> indexedKeys;
+
+    //Labels of both vertices and edges are interned
+    private final Map<String, Integer> labelIds = new HashMap<>();
+    private final List<String> labels = new ArrayList<>();
+
+    //Vertex slots
+    private int vertexSlots = 0;
+    private int vertexCount = 0;
+    private int[] vertexLabels = new int[INITIAL_CAPACITY];
+    private int[][] outEdges = new int[INITIAL_CAPACITY][];
+    private int[] outDegrees = new int[INITIAL_CAPACITY];
+    private int[][] inEdges = new int[INITIAL_CAPACITY][];
+    private int[] inDegrees = new int[INITIAL_CAPACITY];
+
+    //Edge slots. The positions allow an edge to be unlinked from its vertices in constant time.
+    private int edgeSlots = 0;
+    private int edgeCount = 0;
+    private int[] edgeLabels = new int[INITIAL_CAPACITY];
+    private int[] edgeOutVertices = new int[INITIAL_CAPACITY];
+    private int[] edgeOutPositions = new int[INITIAL_CAPACITY];
+    private int[] edgeInVertices = new int[INITIAL_CAPACITY];
+    private int[] edgeInPositions = new int[INITIAL_CAPACITY];
+
+    private final Map<String, Column> vertexProperties = new HashMap<>();
+    private final Map<String, Column> edgeProperties = new HashMap<>();
+    private final Map<String, Map<Object, int[]>> vertexIndex = new HashMap<>();
+
+    private CompactGraph(Set<String> indexedKeys){
+        this.indexedKeys = ImmutableSet.copyOf(indexedKeys);
+    }
+
+    /**
+     *
+     * @param indexedKeys The vertex property keys whose values should be indexed
+     * @return A new empty graph
+     */
+    public static CompactGraph open(Set<String> indexedKeys){
+        return new CompactGraph(indexedKeys);
+    }
+
+    public static CompactGraph open(){
+        return open(Collections.emptySet());
+    }
+
+    // ------------------------------------------------- Graph API -----------------------------------------------------
+    @Override
+    public Vertex addVertex(Object... keyValues) {
+        ElementHelper.legalPropertyKeyValueArray(keyValues);
+        if (ElementHelper.getIdValue(keyValues).isPresent()) throw Vertex.Exceptions.userSuppliedIdsNotSupported();
+        String label = ElementHelper.getLabelValue(keyValues).orElse(Vertex.DEFAULT_LABEL);
+        ElementHelper.validateLabel(label);
+
+        int id = write(() -> {
+            int slot = vertexSlots++;
+            ensureVertexCapacity(vertexSlots);
+            vertexLabels[slot] = intern(label);
+            outEdges[slot] = NO_IDS;
+            inEdges[slot] = NO_IDS;
+            vertexCount++;
+            return slot;
+        });
+
+        CompactVertex vertex = new CompactVertex(this, id);
+        for (int i = 0; i < keyValues.length; i = i + 2) {
+            if (!(keyValues[i] instanceof T)) vertex.property((String) keyValues[i], keyValues[i + 1]);
+        }
+        return vertex;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <C extends GraphComputer> C compute(Class<C> graphComputerClass) {
+        if (!graphComputerClass.equals(CompactGraphComputer.class)) {
+            throw Graph.Exceptions.graphDoesNotSupportProvidedGraphComputer(graphComputerClass);
+        }
+        return (C) compute();
+    }
+
+    @Override
+    public GraphComputer compute() {
+        return new CompactGraphComputer(this);
+    }
+
+    @Override
+    public Iterator<Vertex> vertices(Object... vertexIds) {
+        if (vertexIds.length == 0) {
+            int slots = read(() -> vertexSlots);
+            return IntStream.range(0, slots).filter(this::vertexExists).
+                    mapToObj(id -> (Vertex) new CompactVertex(this, id)).iterator();
+        }
+        List<Vertex> vertices = new ArrayList<>(vertexIds.length);
+        for (Object vertexId : vertexIds) {
+            int id = slotOf(vertexId);
+            if (vertexExists(id)) vertices.add(new CompactVertex(this, id));
+        }
+        return vertices.iterator();
+    }
+
+    @Override
+    public Iterator<Edge> edges(Object... edgeIds) {
+        if (edgeIds.length == 0) {
+            int slots = read(() -> edgeSlots);
+            return IntStream.range(0, slots).filter(this::edgeExists).
+                    mapToObj(id -> (Edge) new CompactEdge(this, id)).iterator();
+        }
+        List<Edge> edges = new ArrayList<>(edgeIds.length);
+        for (Object edgeId : edgeIds) {
+            int id = slotOf(edgeId);
+            if (edgeExists(id)) edges.add(new CompactEdge(this, id));
+        }
+        return edges.iterator();
+    }
+
+    @Override
+    public Transaction tx() {
+        throw Graph.Exceptions.transactionsNotSupported();
+    }
+
+    @Override
+    public void close() {
+        //Nothing is persisted so there is nothing to release
+    }
+
+    @Override
+    public Variables variables() {
+        throw Graph.Exceptions.variablesNotSupported();
+    }
+
+    @Override
+    public Configuration configuration() {
+        return configuration;
+    }
+
+    @Override
+    public Features features() {
+        return features;
+    }
+
+    @Override
+    public String toString() {
+        return readLocked(() -> StringFactory.graphString(this, "vertices:" + vertexCount + " edges:" + edgeCount));
+    }
+
+    // -------------------------------------------------- Indexing -----------------------------------------------------
+    /**
+     *
+     * @param key A vertex property key
+     * @return true if the values of the key are indexed
+     */
+    public boolean isIndexed(String key){
+        return indexedKeys.contains(key);
+    }
+
+    /**
+     *
+     * @param key An indexed vertex property key
+     * @param value The value to look up
+     * @return The vertices which hold the value under the given key
+     */
+    Iterator<Vertex> verticesByIndex(String key, Object value){
+        int[] ids = read(() -> {
+            Map<Object, int[]> index = vertexIndex.get(key);
+            if (index == null) return NO_IDS;
+            int[] found = index.get(indexValue(value));
+            return found == null ? NO_IDS : found;
+        });
+        return Arrays.stream(ids).mapToObj(id -> (Vertex) new CompactVertex(this, id)).iterator();
+    }
+
+    /**
+     * Numbers are indexed by value so that lookups behave like {@link org.apache.tinkerpop.gremlin.process.traversal.Compare#eq}
+     */
+    private static Object indexValue(Object value){
+        if (value instanceof Number) {
+            Number number = (Number) value;
+            double asDouble = number.doubleValue();
+            if (!Double.isInfinite(asDouble) && asDouble == Math.rint(asDouble)) return number.longValue();
+            return asDouble;
+        }
+        return value;
+    }
+
+    private void index(String key, Object value, int vertex){
+        if (!isIndexed(key)) return;
+        vertexIndex.computeIfAbsent(key, k -> new HashMap<>()).merge(indexValue(value), new int[]{vertex}, (current, added) -> {
+            int[] merged = Arrays.copyOf(current, current.length + 1);
+            merged[current.length] = vertex;
+            return merged;
+        });
+    }
+
+    private void unindex(String key, Object value, int vertex){
+        if (!isIndexed(key)) return;
+        Map<Object, int[]> index = vertexIndex.get(key);
+        if (index == null) return;
+        index.computeIfPresent(indexValue(value), (v, current) -> {
+            int[] remaining = Arrays.stream(current).filter(id -> id != vertex).toArray();
+            return remaining.length == 0 ? null : remaining;
+        });
+    }
+
+    // -------------------------------------------------- Vertices -----------------------------------------------------
+    /**
+     *
+     * @return The number of vertex slots taken so far, including the ones of removed vertices
+     */
+    int vertexSlots(){
+        return read(() -> vertexSlots);
+    }
+
+    boolean vertexExists(int vertex){
+        return read(() -> vertex >= 0 && vertex < vertexSlots && vertexLabels[vertex] != REMOVED);
+    }
+
+    String vertexLabel(int vertex){
+        return read(() -> {
+            checkVertex(vertex);
+            return labels.get(vertexLabels[vertex]);
+        });
+    }
+
+    void removeVertex(int vertex){
+        write(() -> {
+            checkVertex(vertex);
+            while (outDegrees[vertex] > 0) unlinkEdge(outEdges[vertex][outDegrees[vertex] - 1]);
+            while (inDegrees[vertex] > 0) unlinkEdge(inEdges[vertex][inDegrees[vertex] - 1]);
+            for (Map.Entry<String, Column> column : vertexProperties.entrySet()) {
+                Object value = column.getValue().set(vertex, null);
+                if (value != null) unindex(column.getKey(), value, vertex);
+            }
+            vertexLabels[vertex] = REMOVED;
+            outEdges[vertex] = null;
+            inEdges[vertex] = null;
+            vertexCount--;
+            return null;
+        });
+    }
+
+    Object vertexProperty(int vertex, String key){
+        return read(() -> {
+            Column column = vertexProperties.get(key);
+            return column == null ? null : column.get(vertex);
+        });
+    }
+
+    void vertexProperty(int vertex, String key, Object value){
+        write(() -> {
+            checkVertex(vertex);
+            Object old = vertexProperties.computeIfAbsent(key, k -> new Column()).set(vertex, value);
+            if (old != null) unindex(key, old, vertex);
+            if (value != null) index(key, value, vertex);
+            return null;
+        });
+    }
+
+    Collection<String> vertexKeys(int vertex){
+        return read(() -> keys(vertexProperties, vertex));
+    }
+
+    /**
+     *
+     * @return The ids of the edges of the vertex in the given direction, restricted to the given labels if any
+     */
+    int[] vertexEdges(int vertex, Direction direction, String... filter){
+        return read(() -> edges(vertex, direction, filter));
+    }
+
+    /**
+     *
+     * @return The ids of the vertices adjacent to the vertex in the given direction, through edges with the given labels if any
+     */
+    int[] adjacentVertices(int vertex, Direction direction, String... filter){
+        return read(() -> {
+            int[] edges = edges(vertex, direction, filter);
+            int[] vertices = new int[edges.length];
+            for (int i = 0; i < edges.length; i++) {
+                int edge = edges[i];
+                vertices[i] = edgeOutVertices[edge] == vertex ? edgeInVertices[edge] : edgeOutVertices[edge];
+            }
+            return vertices;
+        });
+    }
+
+    private int[] edges(int vertex, Direction direction, String... filter){
+        checkVertex(vertex);
+        int[] labelFilter = labelIds(filter);
+        if (labelFilter == null) return NO_IDS;
+
+        int[] result = new int[degree(vertex, direction)];
+        int size = 0;
+        if (!direction.equals(Direction.IN)) size = collect(outEdges[vertex], outDegrees[vertex], labelFilter, result, size);
+        if (!direction.equals(Direction.OUT)) size = collect(inEdges[vertex], inDegrees[vertex], labelFilter, result, size);
+        return size == result.length ? result : Arrays.copyOf(result, size);
+    }
+
+    private int degree(int vertex, Direction direction){
+        switch (direction) {
+            case OUT:
+                return outDegrees[vertex];
+            case IN:
+                return inDegrees[vertex];
+            default:
+                return outDegrees[vertex] + inDegrees[vertex];
+        }
+    }
+
+    private int collect(int[] edges, int degree, int[] labelFilter, int[] result, int size){
+        for (int i = 0; i < degree; i++) {
+            if (labelFilter.length == 0 || contains(labelFilter, edgeLabels[edges[i]])) result[size++] = edges[i];
+        }
+        return size;
+    }
+
+    private void checkVertex(int vertex){
+        if (vertex < 0 || vertex >= vertexSlots || vertexLabels[vertex] == REMOVED) {
+            throw Element.Exceptions.elementAlreadyRemoved(Vertex.class, vertex);
+        }
+    }
+
+    // --------------------------------------------------- Edges -------------------------------------------------------
+    int addEdge(String label, int outVertex, int inVertex){
+        ElementHelper.validateLabel(label);
+        return write(() -> {
+            checkVertex(outVertex);
+            checkVertex(inVertex);
+            int edge = edgeSlots++;
+            ensureEdgeCapacity(edgeSlots);
+            edgeLabels[edge] = intern(label);
+
+            edgeOutVertices[edge] = outVertex;
+            edgeOutPositions[edge] = outDegrees[outVertex];
+            outEdges[outVertex] = append(outEdges[outVertex], outDegrees[outVertex]++, edge);
+
+            edgeInVertices[edge] = inVertex;
+            edgeInPositions[edge] = inDegrees[inVertex];
+            inEdges[inVertex] = append(inEdges[inVertex], inDegrees[inVertex]++, edge);
+
+            edgeCount++;
+            return edge;
+        });
+    }
+
+    boolean edgeExists(int edge){
+        return read(() -> edge >= 0 && edge < edgeSlots && edgeLabels[edge] != REMOVED);
+    }
+
+    String edgeLabel(int edge){
+        return read(() -> {
+            checkEdge(edge);
+            return labels.get(edgeLabels[edge]);
+        });
+    }
+
+    int edgeVertex(int edge, Direction direction){
+        return read(() -> {
+            checkEdge(edge);
+            return direction.equals(Direction.OUT) ? edgeOutVertices[edge] : edgeInVertices[edge];
+        });
+    }
+
+    void removeEdge(int edge){
+        write(() -> {
+            checkEdge(edge);
+            unlinkEdge(edge);
+            return null;
+        });
+    }
+
+    Object edgeProperty(int edge, String key){
+        return read(() -> {
+            Column column = edgeProperties.get(key);
+            return column == null ? null : column.get(edge);
+        });
+    }
+
+    void edgeProperty(int edge, String key, Object value){
+        write(() -> {
+            checkEdge(edge);
+            edgeProperties.computeIfAbsent(key, k -> new Column()).set(edge, value);
+            return null;
+        });
+    }
+
+    Collection<String> edgeKeys(int edge){
+        return read(() -> keys(edgeProperties, edge));
+    }
+
+    /**
+     * Detaches the edge from both its vertices and clears its properties. Must be called with the write lock.
+     */
+    private void unlinkEdge(int edge){
+        int out = edgeOutVertices[edge];
+        int moved = outEdges[out][--outDegrees[out]];
+        outEdges[out][edgeOutPositions[edge]] = moved;
+        edgeOutPositions[moved] = edgeOutPositions[edge];
+
+        int in = edgeInVertices[edge];
+        moved = inEdges[in][--inDegrees[in]];
+        inEdges[in][edgeInPositions[edge]] = moved;
+        edgeInPositions[moved] = edgeInPositions[edge];
+
+        edgeProperties.values().forEach(column -> column.set(edge, null));
+        edgeLabels[edge] = REMOVED;
+        edgeCount--;
+    }
+
+    private void checkEdge(int edge){
+        if (edge < 0 || edge >= edgeSlots || edgeLabels[edge] == REMOVED) {
+            throw Element.Exceptions.elementAlreadyRemoved(Edge.class, edge);
+        }
+    }
+
+    // -------------------------------------------------- Helpers ------------------------------------------------------
+    private int intern(String label){
+        return labelIds.computeIfAbsent(label, l -> {
+            labels.add(l);
+            return labels.size() - 1;
+        });
+    }
+
+    /**
+     *
+     * @return The interned ids of the labels, an empty array if there is no filter or null if none of the labels exist
+     */
+    private int[] labelIds(String... labelFilter){
+        if (labelFilter.length == 0) return NO_IDS;
+        int[] ids = Arrays.stream(labelFilter).filter(labelIds::containsKey).mapToInt(labelIds::get).toArray();
+        return ids.length == 0 ? null : ids;
+    }
+
+    private static boolean contains(int[] values, int value){
+        for (int candidate : values) {
+            if (candidate == value) return true;
+        }
+        return false;
+    }
+
+    private static int[] append(int[] values, int size, int value){
+        if (size == values.length) values = Arrays.copyOf(values, Math.max(2, size * 2));
+        values[size] = value;
+        return values;
+    }
+
+    private static Collection<String> keys(Map<String, Column> columns, int id){
+        List<String> keys = new ArrayList<>();
+        columns.forEach((key, column) -> {
+            if (column.get(id) != null) keys.add(key);
+        });
+        return keys;
+    }
+
+    /**
+     * Converts an id given through the TinkerPop API into a slot.
+     * Ids can be elements, numbers or their string representation.
+     */
+    private static int slotOf(Object id){
+        if (id instanceof Element) id = ((Element) id).id();
+        if (id instanceof Number) return ((Number) id).intValue();
+        if (id instanceof String) {
+            try {
+                return Integer.parseInt((String) id);
+            } catch (NumberFormatException e) {
+                return REMOVED;
+            }
+        }
+        return REMOVED;
+    }
+
+    private void ensureVertexCapacity(int capacity){
+        if (capacity <= vertexLabels.length) return;
+        int newCapacity = Math.max(capacity, vertexLabels.length * 2);
+        vertexLabels = Arrays.copyOf(vertexLabels, newCapacity);
+        outEdges = Arrays.copyOf(outEdges, newCapacity);
+        outDegrees = Arrays.copyOf(outDegrees, newCapacity);
+        inEdges = Arrays.copyOf(inEdges, newCapacity);
+        inDegrees = Arrays.copyOf(inDegrees, newCapacity);
+    }
+
+    private void ensureEdgeCapacity(int capacity){
+        if (capacity <= edgeLabels.length) return;
+        int newCapacity = Math.max(capacity, edgeLabels.length * 2);
+        edgeLabels = Arrays.copyOf(edgeLabels, newCapacity);
+        edgeOutVertices = Arrays.copyOf(edgeOutVertices, newCapacity);
+        edgeOutPositions = Arrays.copyOf(edgeOutPositions, newCapacity);
+        edgeInVertices = Arrays.copyOf(edgeInVertices, newCapacity);
+        edgeInPositions = Arrays.copyOf(edgeInPositions, newCapacity);
+    }
+
+    /**
+     * Runs a read without locking and keeps its result if no write happened in the meantime. A read which overlaps
+     * a write may see the arrays half way through being changed and fail, so it is run again under the read lock.
+     * Reads must not have side effects.
+     */
+    private <X> X read(Supplier<X> supplier){
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                X result = supplier.get();
+                if (lock.validate(stamp)) return result;
+            } catch (RuntimeException e) {
+                if (lock.validate(stamp)) throw e;
+            }
+        }
+        return readLocked(supplier);
+    }
+
+    private <X> X readLocked(Supplier<X> supplier){
+        long stamp = lock.readLock();
+        try {
+            return supplier.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private <X> X write(Supplier<X> supplier){
+        long stamp = lock.writeLock();
+        try {
+            return supplier.get();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * The values of a single property key, indexed by element id.
+     * The column only grows up to the highest id holding the key.
+     */
+    private static class Column {
+        private static final Object[] EMPTY = new Object[0];
+        private Object[] values = EMPTY;
+
+        Object get(int id){
+            return id >= 0 && id < values.length ? values[id] : null;
+        }
+
+        Object set(int id, Object value){
+            if (id >= values.length) {
+                if (value == null) return null;
+                values = Arrays.copyOf(values, Math.max(id + 1, values.length * 2));
+            }
+            Object old = values[id];
+            values[id] = value;
+            return old;
+        }
+    }
+}
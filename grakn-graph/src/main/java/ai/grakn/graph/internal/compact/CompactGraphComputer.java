@@ -0,0 +1,310 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+
+package ai.grakn.graph.internal.compact;
+
+import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
+import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.process.computer.GraphFilter;
+import org.apache.tinkerpop.gremlin.process.computer.KeyValue;
+import org.apache.tinkerpop.gremlin.process.computer.MapReduce;
+import org.apache.tinkerpop.gremlin.process.computer.VertexComputeKey;
+import org.apache.tinkerpop.gremlin.process.computer.VertexProgram;
+import org.apache.tinkerpop.gremlin.process.computer.util.DefaultComputerResult;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalInterruptedException;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntConsumer;
+
+/**
+ * <p>
+ *     A {@link GraphComputer} which runs on a {@link CompactGraph} in place
+ * </p>
+ *
+ * <p>
+ *     Vertex programs and map reduce jobs run over the adjacency arrays of the graph through a
+ *     {@link CompactComputerView} rather than over a copy of it. The only memory a computation adds to the graph are the
+ *     bit sets of its filters, one array per vertex compute key and the messages of the current and previous
+ *     iteration. Local messages are not copied to their receivers, a receiver reads them from the mailbox of the
+ *     sender through its incident edges.
+ *
+ *     The vertices are split into one contiguous range of ids per worker and every worker runs its own clone of the
+ *     vertex program or map reduce job. Computed properties can only be persisted to the
+ *     {@link GraphComputer.ResultGraph#ORIGINAL} graph.
+ * </p>
+ *
+ * @author fppt
+ */
+public class CompactGraphComputer implements GraphComputer {
+    private final CompactGraph graph;
+    private final GraphFilter graphFilter = new GraphFilter();
+    private final Set<MapReduce> mapReducers = new LinkedHashSet<>();
+    private VertexProgram<?> vertexProgram = null;
+    private ResultGraph resultGraph = null;
+    private Persist persist = null;
+    private int workers = Runtime.getRuntime().availableProcessors();
+    private boolean executed = false;
+
+    CompactGraphComputer(CompactGraph graph){
+        this.graph = graph;
+    }
+
+    @Override
+    public GraphComputer result(ResultGraph resultGraph) {
+        this.resultGraph = resultGraph;
+        return this;
+    }
+
+    @Override
+    public GraphComputer persist(Persist persist) {
+        this.persist = persist;
+        return this;
+    }
+
+    @Override
+    public GraphComputer program(VertexProgram vertexProgram) {
+        this.vertexProgram = vertexProgram;
+        return this;
+    }
+
+    @Override
+    public GraphComputer mapReduce(MapReduce mapReduce) {
+        this.mapReducers.add(mapReduce);
+        return this;
+    }
+
+    @Override
+    public GraphComputer workers(int workers) {
+        this.workers = Math.max(1, workers);
+        return this;
+    }
+
+    @Override
+    public GraphComputer vertices(Traversal<Vertex, Vertex> vertexFilter) throws IllegalArgumentException {
+        graphFilter.setVertexFilter(vertexFilter);
+        return this;
+    }
+
+    @Override
+    public GraphComputer edges(Traversal<Vertex, Edge> edgeFilter) throws IllegalArgumentException {
+        graphFilter.setEdgeFilter(edgeFilter);
+        return this;
+    }
+
+    @Override
+    public Future<ComputerResult> submit() {
+        if (executed) throw Exceptions.computerHasAlreadyBeenSubmittedAVertexProgram();
+        executed = true;
+        if (vertexProgram == null && mapReducers.isEmpty()) throw Exceptions.computerHasNoVertexProgramNorMapReducers();
+
+        if (vertexProgram != null) mapReducers.addAll(vertexProgram.getMapReducers());
+        if (resultGraph == null) resultGraph = vertexProgram == null ? ResultGraph.ORIGINAL : vertexProgram.getPreferredResultGraph();
+        if (persist == null) persist = vertexProgram == null ? Persist.NOTHING : vertexProgram.getPreferredPersist();
+        if (!features().supportsResultGraphPersistCombination(resultGraph, persist)) {
+            throw Exceptions.resultGraphPersistCombinationNotSupported(resultGraph, persist);
+        }
+
+        ExecutorService computerService = Executors.newSingleThreadExecutor();
+        try {
+            return computerService.submit(this::execute);
+        } finally {
+            computerService.shutdown();
+        }
+    }
+
+    @Override
+    public Features features() {
+        return new Features() {
+            @Override
+            public boolean supportsResultGraphPersistCombination(ResultGraph resultGraph, Persist persist) {
+                return Persist.NOTHING.equals(persist) || ResultGraph.ORIGINAL.equals(resultGraph);
+            }
+        };
+    }
+
+    private ComputerResult execute(){
+        long start = System.currentTimeMillis();
+        Set<VertexComputeKey> computeKeys = vertexProgram == null ? Collections.emptySet() : vertexProgram.getVertexComputeKeys();
+        CompactComputerView view = new CompactComputerView(graph, graphFilter, computeKeys);
+        CompactMemory memory = new CompactMemory(vertexProgram, mapReducers);
+
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        try {
+            if (vertexProgram != null) executeVertexProgram(vertexProgram, view, memory, pool);
+            for (MapReduce<?, ?, ?, ?, ?> mapReduce : mapReducers) executeMapReduce(mapReduce, view, memory, pool);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        memory.setRuntime(System.currentTimeMillis() - start);
+        memory.complete();
+        if (!Persist.NOTHING.equals(persist)) view.persist();
+        return new DefaultComputerResult(graph, memory.asImmutable());
+    }
+
+    // --------------------------------------------- Vertex program ----------------------------------------------------
+    private <M> void executeVertexProgram(VertexProgram<M> program, CompactComputerView view, CompactMemory memory, ExecutorService pool){
+        int[][] partitions = view.partition(workers);
+        List<VertexProgram<M>> programs = new ArrayList<>(partitions.length);
+        for (int i = 0; i < partitions.length; i++) programs.add(program.clone());
+        CompactMessageBoard<M> board = new CompactMessageBoard<>(view, program.getMessageCombiner().orElse(null));
+
+        program.setup(memory);
+        while (true) {
+            memory.completeSubRound();
+            runOnWorkers(pool, partitions.length, worker -> {
+                VertexProgram<M> workerProgram = programs.get(worker);
+                workerProgram.workerIterationStart(memory.asImmutable());
+                for (int vertex : partitions[worker]) {
+                    if (Thread.interrupted()) throw new TraversalInterruptedException();
+                    workerProgram.execute(view.vertex(vertex), new CompactMessenger<>(view, board, vertex), memory);
+                }
+                workerProgram.workerIterationEnd(memory.asImmutable());
+            });
+            board.completeIteration();
+            memory.completeSubRound();
+            if (program.terminate(memory)) break;
+            memory.incrIteration();
+        }
+        view.dropTransientKeys();
+    }
+
+    // ----------------------------------------------- Map reduce ------------------------------------------------------
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private <MK, MV, RK, RV, R> void executeMapReduce(MapReduce<MK, MV, RK, RV, R> mapReduce, CompactComputerView view,
+                                                     CompactMemory memory, ExecutorService pool){
+        int[][] partitions = view.partition(workers);
+        List<MapReduce<MK, MV, RK, RV, R>> jobs = new ArrayList<>(partitions.length);
+        for (int i = 0; i < partitions.length; i++) jobs.add(mapReduce.clone());
+
+        boolean reduce = mapReduce.doStage(MapReduce.Stage.REDUCE);
+        MapEmitter<MK, MV> mapEmitter = new MapEmitter<>(reduce);
+        runOnWorkers(pool, partitions.length, worker -> {
+            MapReduce<MK, MV, RK, RV, R> job = jobs.get(worker);
+            job.workerStart(MapReduce.Stage.MAP);
+            for (int vertex : partitions[worker]) {
+                if (Thread.interrupted()) throw new TraversalInterruptedException();
+                job.map(view.vertex(vertex), mapEmitter);
+            }
+            job.workerEnd(MapReduce.Stage.MAP);
+        });
+
+        if (!reduce) {
+            List<KeyValue<MK, MV>> mapped = sort(new ArrayList<>(mapEmitter.mapped), mapReduce.getMapKeySort());
+            mapReduce.addResultToMemory(memory, (Iterator) mapped.iterator());
+            return;
+        }
+
+        List<Map.Entry<MK, Queue<MV>>> groups = new ArrayList<>(mapEmitter.grouped.entrySet());
+        mapReduce.getMapKeySort().ifPresent(comparator -> groups.sort(Map.Entry.comparingByKey(comparator)));
+        ReduceEmitter<RK, RV> reduceEmitter = new ReduceEmitter<>();
+        int reducers = Math.max(1, Math.min(partitions.length, groups.size()));
+        runOnWorkers(pool, reducers, worker -> {
+            MapReduce<MK, MV, RK, RV, R> job = jobs.get(worker);
+            job.workerStart(MapReduce.Stage.REDUCE);
+            for (int i = worker; i < groups.size(); i += reducers) {
+                if (Thread.interrupted()) throw new TraversalInterruptedException();
+                job.reduce(groups.get(i).getKey(), groups.get(i).getValue().iterator(), reduceEmitter);
+            }
+            job.workerEnd(MapReduce.Stage.REDUCE);
+        });
+        mapReduce.addResultToMemory(memory, sort(new ArrayList<>(reduceEmitter.reduced), mapReduce.getReduceKeySort()).iterator());
+    }
+
+    private static <K, V> List<KeyValue<K, V>> sort(List<KeyValue<K, V>> keyValues, Optional<Comparator<K>> keySort){
+        keySort.ifPresent(comparator -> keyValues.sort(Comparator.comparing(KeyValue::getKey, comparator)));
+        return keyValues;
+    }
+
+    /**
+     * Runs the task once for every worker and waits for all of them. The first failure of a worker is rethrown.
+     */
+    private static void runOnWorkers(ExecutorService pool, int workers, IntConsumer task){
+        List<Future<?>> futures = new ArrayList<>(workers);
+        for (int worker = 0; worker < workers; worker++) {
+            int current = worker;
+            futures.add(pool.submit(() -> task.accept(current)));
+        }
+        try {
+            for (Future<?> future : futures) future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TraversalInterruptedException();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new IllegalStateException(cause);
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    /**
+     * Collects the output of the map stage. Values are grouped by key when the job has a reduce stage.
+     */
+    private static class MapEmitter<K, V> implements MapReduce.MapEmitter<K, V> {
+        private final Map<K, Queue<V>> grouped = new ConcurrentHashMap<>();
+        private final Queue<KeyValue<K, V>> mapped = new ConcurrentLinkedQueue<>();
+        private final boolean group;
+
+        MapEmitter(boolean group){
+            this.group = group;
+        }
+
+        @Override
+        public void emit(K key, V value) {
+            if (group) {
+                grouped.computeIfAbsent(key, k -> new ConcurrentLinkedQueue<>()).add(value);
+            } else {
+                mapped.add(new KeyValue<>(key, value));
+            }
+        }
+    }
+
+    /**
+     * Collects the output of the reduce stage
+     */
+    private static class ReduceEmitter<K, V> implements MapReduce.ReduceEmitter<K, V> {
+        private final Queue<KeyValue<K, V>> reduced = new ConcurrentLinkedQueue<>();
+
+        @Override
+        public void emit(K key, V value) {
+            reduced.add(new KeyValue<>(key, value));
+        }
+    }
+}
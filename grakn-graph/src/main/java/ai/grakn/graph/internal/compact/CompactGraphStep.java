@@ -0,0 +1,120 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graph.internal.compact;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.util.AndP;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * <p>
+ *     A {@link GraphStep} over a {@link CompactGraph} which absorbs the has steps following it
+ * </p>
+ *
+ * <p>
+ *     When one of the absorbed conditions is an equality on an indexed key the vertices are looked up in the
+ *     index of the graph rather than by scanning all of them.
+ * </p>
+ *
+ * @author fppt
+ */
+public class CompactGraphStep<S, E extends Element> extends GraphStep<S, E> implements HasContainerHolder {
+    private final List<HasContainer> hasContainers = new ArrayList<>();
+
+    @SuppressWarnings("unchecked")
+    CompactGraphStep(GraphStep<S, E> originalGraphStep){
+        super(originalGraphStep.getTraversal(), originalGraphStep.getReturnClass(), originalGraphStep.isStartStep(), originalGraphStep.getIds());
+        originalGraphStep.getLabels().forEach(this::addLabel);
+        this.setIteratorSupplier(() -> (Iterator<E>) (Vertex.class.isAssignableFrom(getReturnClass()) ? vertices() : edges()));
+    }
+
+    private CompactGraph graph(){
+        return (CompactGraph) getTraversal().getGraph().get();
+    }
+
+    private Iterator<Vertex> vertices(){
+        Object[] ids = getIds();
+        if (ids == null) return Collections.emptyIterator();
+        if (ids.length > 0) return filter(graph().vertices(ids));
+
+        CompactGraph graph = graph();
+        for (HasContainer hasContainer : hasContainers) {
+            Object value = hasContainer.getPredicate().getValue();
+            if (Compare.eq.equals(hasContainer.getPredicate().getBiPredicate()) && value != null && graph.isIndexed(hasContainer.getKey())) {
+                return filter(graph.verticesByIndex(hasContainer.getKey(), value));
+            }
+        }
+        return filter(graph.vertices());
+    }
+
+    private Iterator<Edge> edges(){
+        Object[] ids = getIds();
+        if (ids == null) return Collections.emptyIterator();
+        return filter(graph().edges(ids));
+    }
+
+    private <X extends Element> Iterator<X> filter(Iterator<X> iterator){
+        if (hasContainers.isEmpty()) return iterator;
+        return IteratorUtils.filter(iterator, element -> HasContainer.testAll(element, hasContainers));
+    }
+
+    @Override
+    public List<HasContainer> getHasContainers() {
+        return Collections.unmodifiableList(hasContainers);
+    }
+
+    @Override
+    public void addHasContainer(HasContainer hasContainer) {
+        if (hasContainer.getPredicate() instanceof AndP) {
+            for (P<?> predicate : ((AndP<?>) hasContainer.getPredicate()).getPredicates()) {
+                addHasContainer(new HasContainer(hasContainer.getKey(), predicate));
+            }
+        } else {
+            hasContainers.add(hasContainer);
+        }
+    }
+
+    @Override
+    public String toString() {
+        if (hasContainers.isEmpty()) return super.toString();
+        String returns = getReturnClass().getSimpleName().toLowerCase();
+        Object[] ids = getIds();
+        if (ids == null || ids.length == 0) return StringFactory.stepString(this, returns, hasContainers);
+        return StringFactory.stepString(this, returns, Arrays.toString(ids), hasContainers);
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode() ^ hasContainers.hashCode();
+    }
+}
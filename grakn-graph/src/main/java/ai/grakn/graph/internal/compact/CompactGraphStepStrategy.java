@@ -0,0 +1,78 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graph.internal.compact;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.NoOpBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+
+/**
+ * <p>
+ *     Replaces every {@link GraphStep} of a traversal over a {@link CompactGraph} with a {@link CompactGraphStep}
+ * </p>
+ *
+ * <p>
+ *     The has steps directly following the graph step are folded into it so they can be answered with the index.
+ * </p>
+ *
+ * @author fppt
+ */
+public class CompactGraphStepStrategy extends AbstractTraversalStrategy<TraversalStrategy.ProviderOptimizationStrategy>
+        implements TraversalStrategy.ProviderOptimizationStrategy {
+    private static final CompactGraphStepStrategy INSTANCE = new CompactGraphStepStrategy();
+
+    private CompactGraphStepStrategy(){
+    }
+
+    public static CompactGraphStepStrategy instance(){
+        return INSTANCE;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @Override
+    public void apply(Traversal.Admin<?, ?> traversal) {
+        if (TraversalHelper.onGraphComputer(traversal)) return;
+
+        for (GraphStep originalGraphStep : TraversalHelper.getStepsOfClass(GraphStep.class, traversal)) {
+            CompactGraphStep<?, ?> compactGraphStep = new CompactGraphStep<>(originalGraphStep);
+            TraversalHelper.replaceStep(originalGraphStep, (Step) compactGraphStep, traversal);
+
+            Step<?, ?> currentStep = compactGraphStep.getNextStep();
+            while (currentStep instanceof HasStep || currentStep instanceof NoOpBarrierStep) {
+                if (currentStep instanceof HasStep) {
+                    for (HasContainer hasContainer : ((HasContainerHolder) currentStep).getHasContainers()) {
+                        compactGraphStep.addHasContainer(hasContainer);
+                    }
+                    for (String label : currentStep.getLabels()) {
+                        currentStep.getPreviousStep().addLabel(label);
+                    }
+                    traversal.removeStep(currentStep);
+                }
+                currentStep = currentStep.getNextStep();
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+
+package ai.grakn.graph.internal.compact;
+
+import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.process.computer.MapReduce;
+import org.apache.tinkerpop.gremlin.process.computer.Memory;
+import org.apache.tinkerpop.gremlin.process.computer.MemoryComputeKey;
+import org.apache.tinkerpop.gremlin.process.computer.VertexProgram;
+import org.apache.tinkerpop.gremlin.process.computer.util.MemoryHelper;
+import org.apache.tinkerpop.gremlin.process.traversal.Operator;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BinaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * <p>
+ *     The {@link Memory} of a {@link CompactGraphComputer}
+ * </p>
+ *
+ * <p>
+ *     Values added by the workers during an iteration are reduced into the current values, while reads see the
+ *     values of the previous sub round. Only broadcast keys can be read while the vertex program executes.
+ * </p>
+ *
+ * @author fppt
+ */
+class CompactMemory implements Memory.Admin {
+    private final Map<String, MemoryComputeKey> memoryKeys = new HashMap<>();
+    private final Map<String, Object> currentMap = new ConcurrentHashMap<>();
+    private Map<String, Object> previousMap = new ConcurrentHashMap<>();
+    private final AtomicInteger iteration = new AtomicInteger(0);
+    private final AtomicLong runtime = new AtomicLong(0L);
+    private volatile boolean inExecute = false;
+
+    CompactMemory(@Nullable VertexProgram<?> vertexProgram, Set<MapReduce> mapReducers){
+        if (vertexProgram != null) {
+            for (MemoryComputeKey key : vertexProgram.getMemoryComputeKeys()) {
+                memoryKeys.put(key.getKey(), key);
+            }
+        }
+        for (MapReduce mapReduce : mapReducers) {
+            memoryKeys.put(mapReduce.getMemoryKey(), MemoryComputeKey.of(mapReduce.getMemoryKey(), Operator.assign, false, false));
+        }
+    }
+
+    @Override
+    public Set<String> keys() {
+        return previousMap.keySet().stream().
+                filter(key -> !inExecute || memoryKeys.get(key).isBroadcast()).
+                collect(Collectors.toSet());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <R> R get(String key) throws IllegalArgumentException {
+        R value = (R) previousMap.get(key);
+        if (value == null || (inExecute && !memoryKeys.get(key).isBroadcast())) {
+            throw Memory.Exceptions.memoryDoesNotExist(key);
+        }
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void add(String key, Object value) {
+        checkKeyValue(key, value);
+        if (!inExecute) throw Memory.Exceptions.memoryAddOnlyDuringVertexProgramExecute(key);
+        BinaryOperator<Object> reducer = memoryKeys.get(key).getReducer();
+        currentMap.merge(key, value, reducer);
+    }
+
+    @Override
+    public void set(String key, Object value) {
+        checkKeyValue(key, value);
+        if (inExecute) throw Memory.Exceptions.memorySetOnlyDuringVertexProgramSetUpAndTerminate(key);
+        currentMap.put(key, value);
+    }
+
+    @Override
+    public int getIteration() {
+        return iteration.get();
+    }
+
+    @Override
+    public void setIteration(int iteration) {
+        this.iteration.set(iteration);
+    }
+
+    @Override
+    public long getRuntime() {
+        return runtime.get();
+    }
+
+    @Override
+    public void setRuntime(long runtime) {
+        this.runtime.set(runtime);
+    }
+
+    /**
+     * Makes the values written so far visible to reads and switches between executing the vertex program and
+     * setting it up or checking whether it terminates
+     */
+    void completeSubRound(){
+        previousMap = new ConcurrentHashMap<>(currentMap);
+        inExecute = !inExecute;
+    }
+
+    /**
+     * Makes the final values visible to reads and drops the transient keys
+     */
+    void complete(){
+        previousMap = currentMap;
+        memoryKeys.values().stream().filter(MemoryComputeKey::isTransient).
+                forEach(key -> previousMap.remove(key.getKey()));
+    }
+
+    private void checkKeyValue(String key, Object value){
+        if (!memoryKeys.containsKey(key)) throw GraphComputer.Exceptions.providedKeyIsNotAMemoryComputeKey(key);
+        MemoryHelper.validateValue(value);
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.memoryString(this);
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+
+package ai.grakn.graph.internal.compact;
+
+import org.apache.tinkerpop.gremlin.process.computer.MessageCombiner;
+import org.apache.tinkerpop.gremlin.process.computer.MessageScope;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * <p>
+ *     The messages sent between the vertices of a {@link CompactComputerView}
+ * </p>
+ *
+ * <p>
+ *     Messages are kept per {@link MessageScope} in a {@link Mailbox} indexed by vertex id. Messages sent to a
+ *     {@link MessageScope.Local} scope stay in the mailbox of their sender, the receivers look them up by walking
+ *     the incident edges of the scope backwards. Messages sent to a {@link MessageScope.Global} scope are put straight
+ *     into the mailboxes of the receivers.
+ * </p>
+ *
+ * @author fppt
+ *
+ * @param <M> The type of the messages
+ */
+class CompactMessageBoard<M> {
+    private final CompactComputerView view;
+    @Nullable private final MessageCombiner<M> combiner;
+    private final Map<MessageScope, Optional<VertexStep<?>>> incidentSteps = new ConcurrentHashMap<>();
+    private Map<MessageScope, Mailbox<M>> sent = new ConcurrentHashMap<>();
+    private Map<MessageScope, Mailbox<M>> received = Collections.emptyMap();
+
+    CompactMessageBoard(CompactComputerView view, @Nullable MessageCombiner<M> combiner){
+        this.view = view;
+        this.combiner = combiner;
+    }
+
+    /**
+     *
+     * @return The mailbox the messages sent to the scope in the current iteration go to
+     */
+    Mailbox<M> outbox(MessageScope scope){
+        return sent.computeIfAbsent(scope, s -> new Mailbox<>(view.vertexSlots(), combiner));
+    }
+
+    /**
+     *
+     * @return The mailboxes of the messages sent in the previous iteration
+     */
+    Map<MessageScope, Mailbox<M>> received(){
+        return received;
+    }
+
+    /**
+     * The incident traversal of most local scopes is a single step to the edges of the vertex. Such a step is answered
+     * straight from the adjacency arrays of the graph rather than by running the traversal for every vertex.
+     *
+     * @return The only step of the incident traversal of the scope if it goes from a vertex to its edges
+     */
+    Optional<VertexStep<?>> incidentStep(MessageScope.Local<?> scope){
+        return incidentSteps.computeIfAbsent(scope, s -> {
+            List<Step> steps = scope.getIncidentTraversal().get().asAdmin().getSteps();
+            if (steps.size() == 1 && steps.get(0) instanceof VertexStep && ((VertexStep<?>) steps.get(0)).returnsEdge()) {
+                return Optional.of((VertexStep<?>) steps.get(0));
+            }
+            return Optional.empty();
+        });
+    }
+
+    /**
+     * Hands the messages sent in the iteration which has just finished to their receivers
+     */
+    void completeIteration(){
+        received = sent;
+        sent = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * The messages of a single scope, indexed by vertex id. Messages are combined as they arrive when the vertex
+     * program has a {@link MessageCombiner}.
+     *
+     * @param <M> The type of the messages
+     */
+    static class Mailbox<M> {
+        private final AtomicReferenceArray<Queue<M>> messages;
+        @Nullable private final MessageCombiner<M> combiner;
+
+        Mailbox(int vertexSlots, @Nullable MessageCombiner<M> combiner){
+            this.messages = new AtomicReferenceArray<>(vertexSlots);
+            this.combiner = combiner;
+        }
+
+        void add(int vertex, M message){
+            Queue<M> queue = messages.get(vertex);
+            if (queue == null) {
+                messages.compareAndSet(vertex, null, new ConcurrentLinkedQueue<>());
+                queue = messages.get(vertex);
+            }
+            if (combiner == null) {
+                queue.add(message);
+                return;
+            }
+            synchronized (queue) {
+                M combined = queue.poll();
+                queue.add(combined == null ? message : combiner.combine(combined, message));
+            }
+        }
+
+        @Nullable
+        Queue<M> get(int vertex){
+            return messages.get(vertex);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+
+package ai.grakn.graph.internal.compact;
+
+import org.apache.tinkerpop.gremlin.process.computer.MessageScope;
+import org.apache.tinkerpop.gremlin.process.computer.Messenger;
+import org.apache.tinkerpop.gremlin.process.computer.util.VertexProgramHelper;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.function.BiFunction;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * <p>
+ *     The {@link Messenger} of a single vertex of a {@link CompactComputerView}
+ * </p>
+ *
+ * @author fppt
+ *
+ * @param <M> The type of the messages
+ */
+class CompactMessenger<M> implements Messenger<M> {
+    private final CompactComputerView view;
+    private final CompactMessageBoard<M> board;
+    private final int vertex;
+
+    CompactMessenger(CompactComputerView view, CompactMessageBoard<M> board, int vertex){
+        this.view = view;
+        this.board = board;
+        this.vertex = vertex;
+    }
+
+    @Override
+    public Iterator<M> receiveMessages() {
+        return board.received().entrySet().stream().flatMap(this::receive).iterator();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Stream<M> receive(Map.Entry<MessageScope, CompactMessageBoard.Mailbox<M>> scopeMessages){
+        CompactMessageBoard.Mailbox<M> mailbox = scopeMessages.getValue();
+        if (scopeMessages.getKey() instanceof MessageScope.Global) {
+            Queue<M> messages = mailbox.get(vertex);
+            return messages == null ? Stream.empty() : messages.stream();
+        }
+
+        MessageScope.Local<M> scope = (MessageScope.Local<M>) scopeMessages.getKey();
+        BiFunction<M, Edge, M> edgeFunction = scope.getEdgeFunction();
+        return incidentEdges(scope).boxed().flatMap(edge -> {
+            Queue<M> messages = mailbox.get(view.otherVertex(vertex, edge));
+            if (messages == null) return Stream.empty();
+            Edge element = new CompactEdge(view.graph(), edge);
+            return messages.stream().map(message -> edgeFunction.apply(message, element));
+        });
+    }
+
+    /**
+     * A message sent to a local scope arrives through the edges the incident traversal of the scope returns from its
+     * sender, so the receiver walks that traversal backwards
+     *
+     * @return The ids of the edges the messages of the scope arrive through
+     */
+    private IntStream incidentEdges(MessageScope.Local<M> scope){
+        Optional<VertexStep<?>> step = board.incidentStep(scope);
+        if (step.isPresent()) {
+            return Arrays.stream(view.edges(vertex, step.get().getDirection().opposite(), step.get().getEdgeLabels()));
+        }
+
+        Traversal.Admin<Vertex, Edge> reversed = VertexProgramHelper.reverse(scope.getIncidentTraversal().get().asAdmin());
+        reversed.addStart(reversed.getTraverserGenerator().generate(view.vertex(vertex), reversed.getStartStep(), 1L));
+        return IteratorUtils.stream(reversed).mapToInt(edge -> (Integer) edge.id());
+    }
+
+    @Override
+    public void sendMessage(MessageScope messageScope, M message) {
+        CompactMessageBoard.Mailbox<M> outbox = board.outbox(messageScope);
+        if (messageScope instanceof MessageScope.Local) {
+            outbox.add(vertex, message);
+        } else {
+            for (Vertex receiver : ((MessageScope.Global) messageScope).vertices()) {
+                int id = ((Number) receiver.id()).intValue();
+                if (id < view.vertexSlots() && view.legalVertex(id)) outbox.add(id, message);
+            }
+        }
+    }
+}
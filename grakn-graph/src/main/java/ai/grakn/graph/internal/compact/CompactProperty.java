@@ -0,0 +1,87 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graph.internal.compact;
+
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+
+/**
+ * <p>
+ *     A property of a {@link CompactEdge}
+ * </p>
+ *
+ * <p>
+ *     A snapshot of the value read from the column of the key.
+ * </p>
+ *
+ * @author fppt
+ */
+class CompactProperty<V> implements Property<V> {
+    private final CompactEdge edge;
+    private final String key;
+    private final V value;
+
+    CompactProperty(CompactEdge edge, String key, V value){
+        this.edge = edge;
+        this.key = key;
+        this.value = value;
+    }
+
+    @Override
+    public String key() {
+        return key;
+    }
+
+    @Override
+    public V value() {
+        return value;
+    }
+
+    @Override
+    public boolean isPresent() {
+        return true;
+    }
+
+    @Override
+    public Element element() {
+        return edge;
+    }
+
+    @Override
+    public void remove() {
+        edge.graph.edgeProperty(edge.id, key, null);
+    }
+
+    @Override
+    public int hashCode() {
+        return ElementHelper.hashCode(this);
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        return ElementHelper.areEqual(this, object);
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.propertyString(this);
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graph.internal.compact;
+
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+
+/**
+ * <p>
+ *     A vertex of a {@link CompactGraph}
+ * </p>
+ *
+ * <p>
+ *     Vertices only support properties with a single cardinality and no meta properties.
+ * </p>
+ *
+ * @author fppt
+ */
+class CompactVertex extends CompactElement implements Vertex {
+
+    CompactVertex(CompactGraph graph, int id){
+        super(graph, id);
+    }
+
+    @Override
+    public Edge addEdge(String label, Vertex inVertex, Object... keyValues) {
+        if (inVertex == null) throw Graph.Exceptions.argumentCanNotBeNull("inVertex");
+        ElementHelper.legalPropertyKeyValueArray(keyValues);
+        if (ElementHelper.getIdValue(keyValues).isPresent()) throw Edge.Exceptions.userSuppliedIdsNotSupported();
+
+        CompactEdge edge = new CompactEdge(graph, graph.addEdge(label, id, (Integer) inVertex.id()));
+        for (int i = 0; i < keyValues.length; i = i + 2) {
+            if (!(keyValues[i] instanceof T)) edge.property((String) keyValues[i], keyValues[i + 1]);
+        }
+        return edge;
+    }
+
+    @Override
+    public <V> VertexProperty<V> property(String key) {
+        @SuppressWarnings("unchecked")
+        V value = (V) graph.vertexProperty(id, key);
+        if (value == null) return VertexProperty.empty();
+        return new CompactVertexProperty<>(this, key, value);
+    }
+
+    @Override
+    public <V> VertexProperty<V> property(VertexProperty.Cardinality cardinality, String key, V value, Object... keyValues) {
+        if (keyValues.length > 0) throw VertexProperty.Exceptions.metaPropertiesNotSupported();
+        if (!VertexProperty.Cardinality.single.equals(cardinality)) throw VertexProperty.Exceptions.multiPropertiesNotSupported();
+        ElementHelper.validateProperty(key, value);
+        graph.vertexProperty(id, key, value);
+        return new CompactVertexProperty<>(this, key, value);
+    }
+
+    @Override
+    public Iterator<Edge> edges(Direction direction, String... edgeLabels) {
+        return Arrays.stream(graph.vertexEdges(id, direction, edgeLabels)).
+                mapToObj(edge -> (Edge) new CompactEdge(graph, edge)).iterator();
+    }
+
+    @Override
+    public Iterator<Vertex> vertices(Direction direction, String... edgeLabels) {
+        return Arrays.stream(graph.adjacentVertices(id, direction, edgeLabels)).
+                mapToObj(vertex -> (Vertex) new CompactVertex(graph, vertex)).iterator();
+    }
+
+    @Override
+    public <V> Iterator<VertexProperty<V>> properties(String... propertyKeys) {
+        Collection<String> keys = propertyKeys.length == 0 ? graph.vertexKeys(id) : Arrays.asList(propertyKeys);
+        return keys.stream().map(key -> this.<V>property(key)).
+                filter(VertexProperty::isPresent).iterator();
+    }
+
+    @Override
+    public String label() {
+        return graph.vertexLabel(id);
+    }
+
+    @Override
+    public void remove() {
+        graph.removeVertex(id);
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.vertexString(this);
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graph.internal.compact;
+
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+
+import java.util.Collections;
+import java.util.Iterator;
+
+/**
+ * <p>
+ *     A property of a {@link CompactVertex}
+ * </p>
+ *
+ * <p>
+ *     A snapshot of the value read from the column of the key. Meta properties are not supported.
+ * </p>
+ *
+ * @author fppt
+ */
+class CompactVertexProperty<V> implements VertexProperty<V> {
+    private final CompactVertex vertex;
+    private final String key;
+    private final V value;
+
+    CompactVertexProperty(CompactVertex vertex, String key, V value){
+        this.vertex = vertex;
+        this.key = key;
+        this.value = value;
+    }
+
+    @Override
+    public Object id() {
+        return vertex.id + ":" + key;
+    }
+
+    @Override
+    public String key() {
+        return key;
+    }
+
+    @Override
+    public V value() {
+        return value;
+    }
+
+    @Override
+    public boolean isPresent() {
+        return true;
+    }
+
+    @Override
+    public Vertex element() {
+        return vertex;
+    }
+
+    @Override
+    public Graph graph() {
+        return vertex.graph;
+    }
+
+    @Override
+    public String label() {
+        return key;
+    }
+
+    @Override
+    public <U> Property<U> property(String key, U value) {
+        throw VertexProperty.Exceptions.metaPropertiesNotSupported();
+    }
+
+    @Override
+    public <U> Iterator<Property<U>> properties(String... propertyKeys) {
+        return Collections.emptyIterator();
+    }
+
+    @Override
+    public void remove() {
+        vertex.graph.vertexProperty(vertex.id, key, null);
+    }
+
+    @Override
+    public int hashCode() {
+        return ElementHelper.hashCode((Element) this);
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        return ElementHelper.areEqual((Element) this, object);
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.propertyString(this);
+    }
+}
@@ -20,6 +20,8 @@ package ai.grakn.graph.internal.computer;
 
 import ai.grakn.GraknComputer;
 import ai.grakn.concept.LabelId;
+import ai.grakn.graph.internal.compact.CompactGraph;
+import ai.grakn.graph.internal.compact.CompactGraphComputer;
 import ai.grakn.util.ErrorMessage;
 import ai.grakn.util.Schema;
 import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
@@ -67,7 +69,9 @@ public class GraknComputerImpl implements GraknComputer {
 
     public GraknComputerImpl(Graph graph) {
         this.graph = graph;
-        if (graph instanceof TinkerGraph) {
+        if (graph instanceof CompactGraph) {
+            graphComputerClass = CompactGraphComputer.class;
+        } else if (graph instanceof TinkerGraph) {
             graphComputerClass = TinkerGraphComputer.class;
         } else {
             graphComputerClass = GraknSparkComputer.class;
@@ -129,6 +133,7 @@ public class GraknComputerImpl implements GraknComputer {
         if (types == null || types.isEmpty()) return;
         Set<Integer> labelIds = types.stream().map(LabelId::getValue).collect(Collectors.toSet());
 
+        //The shards of a resource carry its type, so they are kept along with the resource
         Traversal<Vertex, Vertex> vertexFilter =
                 __.has(Schema.VertexProperty.THING_TYPE_LABEL_ID.name(), P.within(labelIds));
 
@@ -136,10 +141,12 @@ public class GraknComputerImpl implements GraknComputer {
                 __.union(
                         __.bothE(Schema.EdgeLabel.SHORTCUT.getLabel()),
                         __.bothE(Schema.EdgeLabel.RESOURCE.getLabel())
-                                .has(Schema.EdgeProperty.RELATION_TYPE_LABEL_ID.name(), P.within(labelIds))) :
+                                .has(Schema.EdgeProperty.RELATION_TYPE_LABEL_ID.name(), P.within(labelIds)),
+                        __.bothE(Schema.EdgeLabel.SHARD.getLabel())) :
                 __.union(
                         __.bothE(Schema.EdgeLabel.RESOURCE.getLabel())
-                                .has(Schema.EdgeProperty.RELATION_TYPE_LABEL_ID.name(), P.within(labelIds)));
+                                .has(Schema.EdgeProperty.RELATION_TYPE_LABEL_ID.name(), P.within(labelIds)),
+                        __.bothE(Schema.EdgeLabel.SHARD.getLabel()));
 
         graphComputer.vertices(vertexFilter).edges(edgeFilter);
     }
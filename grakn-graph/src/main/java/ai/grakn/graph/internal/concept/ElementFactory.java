@@ -165,6 +165,12 @@ public final class ElementFactory {
 
     @Nullable
     public <X extends Concept> X buildConcept(VertexElement vertexElement){
+        //Concepts already built in this transaction do not need their base type to be read again
+        String id = vertexElement.property(Schema.VertexProperty.ID);
+        if(id != null && graknGraph.txCache().isConceptCached(ConceptId.of(id))){
+            return graknGraph.txCache().getCachedConcept(ConceptId.of(id));
+        }
+
         Schema.BaseType type;
 
         try {
@@ -174,6 +180,14 @@ public final class ElementFactory {
             return null;
         }
 
+        //The owners of a sharded resource are attached to its shards, which stand in for the resource itself
+        if(Schema.BaseType.SHARD.equals(type)){
+            Optional<EdgeElement> resource = vertexElement.getEdgesOfType(Direction.OUT, Schema.EdgeLabel.SHARD).findAny();
+            if(resource.isPresent() && resource.get().target().label().equals(Schema.BaseType.RESOURCE.name())){
+                return buildConcept(resource.get().target());
+            }
+        }
+
         ConceptId conceptId = ConceptId.of(vertexElement.property(Schema.VertexProperty.ID));
         if(!graknGraph.txCache().isConceptCached(conceptId)){
             Concept concept;
@@ -58,11 +58,11 @@ import static scala.tools.scalap.scalax.rules.scalasig.NoSymbol.isAbstract;
  *           For example an {@link EntityType} or {@link RelationType} or {@link Role}
  */
 public abstract class OntologyConceptImpl<T extends OntologyConcept> extends ConceptImpl implements OntologyConcept {
-    private final Cache<Label> cachedLabel = new Cache<>(Cacheable.label(), () ->  Label.of(vertex().property(Schema.VertexProperty.ONTOLOGY_LABEL)));
-    private final Cache<LabelId> cachedLabelId = new Cache<>(Cacheable.labelId(), () -> LabelId.of(vertex().property(Schema.VertexProperty.LABEL_ID)));
-    private final Cache<T> cachedSuperType = new Cache<>(Cacheable.concept(), () -> this.<T>neighbours(Direction.OUT, Schema.EdgeLabel.SUB).findFirst().orElse(null));
-    private final Cache<Set<T>> cachedDirectSubTypes = new Cache<>(Cacheable.set(), () -> this.<T>neighbours(Direction.IN, Schema.EdgeLabel.SUB).collect(Collectors.toSet()));
-    private final Cache<Boolean> cachedIsImplicit = new Cache<>(Cacheable.bool(), () -> vertex().propertyBoolean(Schema.VertexProperty.IS_IMPLICIT));
+    private final Cache<Label> cachedLabel = new Cache<>(this::txGeneration, this::trackTxBound, Cacheable.label(), () ->  Label.of(vertex().property(Schema.VertexProperty.ONTOLOGY_LABEL)));
+    private final Cache<LabelId> cachedLabelId = new Cache<>(this::txGeneration, this::trackTxBound, Cacheable.labelId(), () -> LabelId.of(vertex().property(Schema.VertexProperty.LABEL_ID)));
+    private final Cache<T> cachedSuperType = new Cache<>(this::txGeneration, this::trackTxBound, Cacheable.concept(), () -> this.<T>neighbours(Direction.OUT, Schema.EdgeLabel.SUB).findFirst().orElse(null));
+    private final Cache<Set<T>> cachedDirectSubTypes = new Cache<>(this::txGeneration, this::trackTxBound, Cacheable.set(), () -> this.<T>neighbours(Direction.IN, Schema.EdgeLabel.SUB).collect(Collectors.toSet()));
+    private final Cache<Boolean> cachedIsImplicit = new Cache<>(this::txGeneration, this::trackTxBound, Cacheable.bool(), () -> vertex().propertyBoolean(Schema.VertexProperty.IS_IMPLICIT));
 
     OntologyConceptImpl(VertexElement vertexElement) {
         super(vertexElement);
@@ -110,6 +110,23 @@ public abstract class OntologyConceptImpl<T extends OntologyConcept> extends Con
         return cachedLabel.get();
     }
 
+    /**
+     * Ontological concepts are shared by all the transactions of the graph so their transaction bound caches are
+     * only valid for the transaction which filled them.
+     *
+     * @return The generation of the transaction currently open on this thread
+     */
+    long txGeneration(){
+        return vertex().graph().txCache().getTxGeneration();
+    }
+
+    /**
+     * Records that this concept holds values bound to the transaction currently open on this thread
+     */
+    void trackTxBound(){
+        vertex().graph().txCache().trackTxBound(this);
+    }
+
     /**
      * Flushes the internal transaction caches so they can refresh with persisted graph
      */
@@ -30,6 +30,7 @@ import ai.grakn.graph.internal.structure.EdgeElement;
 import ai.grakn.graph.internal.structure.VertexElement;
 import ai.grakn.util.Schema;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -97,7 +98,7 @@ public class RelationEdge implements RelationStructure{
         RelationReified relationReified = edge().graph().factory().buildRelationReified(relationVertex, type());
 
         //Delete the old edge
-        delete();
+        edge().delete();
 
         return relationReified;
     }
@@ -162,6 +163,9 @@ public class RelationEdge implements RelationStructure{
 
     @Override
     public void delete() {
+        Set<ConceptId> rolePlayers = new HashSet<>(Arrays.asList(owner().getId(), value().getId()));
+        edge().graph().txCache().trackDeletedInstance(type().getLabel(), rolePlayers);
+        if(edge().graph().isShardingResources()) edge().graph().txCache().removedInstance(value().getId());
         edge().delete();
     }
 
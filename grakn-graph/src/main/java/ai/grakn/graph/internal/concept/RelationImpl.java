@@ -104,6 +104,11 @@ public class RelationImpl implements Relation, ConceptVertex, ContainsTxCache {
         return readFromReified((relationReified) -> relationReified.resources(resourceTypes));
     }
 
+    @Override
+    public boolean isInferred() {
+        return reified().map(ThingImpl::isInferred).orElse(false);
+    }
+
     @Override
     public RelationType type() {
         return structure().type();
@@ -18,6 +18,7 @@
 
 package ai.grakn.graph.internal.concept;
 
+import ai.grakn.concept.ConceptId;
 import ai.grakn.concept.Relation;
 import ai.grakn.concept.RelationType;
 import ai.grakn.concept.Role;
@@ -30,6 +31,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -62,12 +64,29 @@ public class RelationReified extends ThingImpl<Relation, RelationType> implement
         super(vertexElement, type);
     }
 
+    @Override
+    Set<ConceptId> factNeighbours(){
+        Set<ConceptId> neighbours = super.factNeighbours();
+        castingsRelation().forEach(casting -> neighbours.add(casting.getInstance().getId()));
+        return neighbours;
+    }
+
     public Map<Role, Set<Thing>> allRolePlayers() {
+        return allRolePlayers(type().relates().collect(Collectors.toSet()), castingsRelation().collect(Collectors.toSet()));
+    }
+
+    /**
+     *
+     * @param roles The roles of the type of the relation
+     * @param castings The {@link Casting}s of the relation which have already been read
+     * @return The roles and their corresponding role players
+     */
+    public static Map<Role, Set<Thing>> allRolePlayers(Collection<Role> roles, Collection<Casting> castings) {
         HashMap<Role, Set<Thing>> roleMap = new HashMap<>();
 
         //We add the role types explicitly so we can return them when there are no roleplayers
-        type().relates().forEach(roleType -> roleMap.put(roleType, new HashSet<>()));
-        castingsRelation().forEach(rp -> roleMap.computeIfAbsent(rp.getRoleType(), (k) -> new HashSet<>()).add(rp.getInstance()));
+        roles.forEach(roleType -> roleMap.put(roleType, new HashSet<>()));
+        castings.forEach(rp -> roleMap.computeIfAbsent(rp.getRoleType(), (k) -> new HashSet<>()).add(rp.getInstance()));
 
         return roleMap;
     }
@@ -90,16 +109,37 @@ public class RelationReified extends ThingImpl<Relation, RelationType> implement
      * Sets the internal hash in order to perform a faster lookup
      */
     public void setHash(){
-        vertex().propertyUnique(Schema.VertexProperty.INDEX, generateNewHash(type(), allRolePlayers()));
+        setHash(generateNewHash(type(), allRolePlayers()));
+    }
+
+    /**
+     * Sets the internal hash when it has already been computed
+     *
+     * @param hash The hash generated by {@link #generateNewHash(RelationType, Map)}
+     */
+    public void setHash(String hash){
+        vertex().propertyUnique(Schema.VertexProperty.INDEX, hash);
     }
 
     /**
      *
      * @param relationType The type of this relation
      * @param roleMap The roles and their corresponding role players
-     * @return A unique hash identifying this relation
+     * @return A fixed width hash identifying this relation
      */
     public static String generateNewHash(RelationType relationType, Map<Role, Set<Thing>> roleMap){
+        return Schema.generateIndexDigest(generateLegacyHash(relationType, roleMap));
+    }
+
+    /**
+     * Relations of keyspaces which have not been reindexed yet are still indexed by their full key,
+     * see {@link ai.grakn.graph.admin.GraknAdmin#refreshIndex}.
+     *
+     * @param relationType The type of this relation
+     * @param roleMap The roles and their corresponding role players
+     * @return The full key of the relation which {@link #generateNewHash(RelationType, Map)} digests
+     */
+    public static String generateLegacyHash(RelationType relationType, Map<Role, Set<Thing>> roleMap){
         SortedSet<Role> sortedRoleIds = new TreeSet<>(roleMap.keySet());
         StringBuilder hash = new StringBuilder();
         hash.append("RelationType_").append(relationType.getId().getValue().replace("_", "\\_")).append("_Relation");
@@ -130,8 +170,7 @@ public class RelationReified extends ThingImpl<Relation, RelationType> implement
 
         //Traversal is used so we can potentially optimise on the index
         Set<Integer> roleTypesIds = Arrays.stream(roles).map(r -> r.getLabelId().getValue()).collect(Collectors.toSet());
-        return vertex().graph().getTinkerTraversal().V().
-                has(Schema.VertexProperty.ID.name(), getId().getValue()).
+        return vertex().traversal().
                 outE(Schema.EdgeLabel.SHORTCUT.getLabel()).
                 has(Schema.EdgeProperty.RELATION_TYPE_LABEL_ID.name(), type().getLabelId().getValue()).
                 has(Schema.EdgeProperty.ROLE_LABEL_ID.name(), P.within(roleTypesIds)).
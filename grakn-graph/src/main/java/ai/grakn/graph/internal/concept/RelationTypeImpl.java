@@ -46,7 +46,7 @@ import java.util.stream.Stream;
  *
  */
 public class RelationTypeImpl extends TypeImpl<RelationType, Relation> implements RelationType {
-    private final Cache<Set<Role>> cachedRelates = new Cache<>(Cacheable.set(), () -> this.<Role>neighbours(Direction.OUT, Schema.EdgeLabel.RELATES).collect(Collectors.toSet()));
+    private final Cache<Set<Role>> cachedRelates = new Cache<>(this::txGeneration, this::trackTxBound, Cacheable.set(), () -> this.<Role>neighbours(Direction.OUT, Schema.EdgeLabel.RELATES).collect(Collectors.toSet()));
 
     RelationTypeImpl(VertexElement vertexElement) {
         super(vertexElement);
@@ -166,13 +166,10 @@ public class RelationTypeImpl extends TypeImpl<RelationType, Relation> implement
     }
 
     @Override
-    public Stream<Relation> instancesDirect(){
-        Stream<Relation> instances = super.instancesDirect();
-
+    Stream<Relation> instancesOutsideShards(){
         //If the relation type is implicit then we need to get any relation edges it may have.
-        if(isImplicit()) instances = Stream.concat(instances, relationEdges());
-
-        return instances;
+        if(isImplicit()) return relationEdges();
+        return Stream.empty();
     }
 
     private Stream<Relation> relationEdges(){
@@ -181,8 +178,7 @@ public class RelationTypeImpl extends TypeImpl<RelationType, Relation> implement
                 flatMap(role -> role.playedByTypes()).
                 flatMap(type ->{
                     //Traversal is used here to take advantage of vertex centric index
-                    return  vertex().graph().getTinkerTraversal().V().
-                            has(Schema.VertexProperty.ID.name(), type.getId().getValue()).
+                    return  ConceptVertex.from(type).vertex().traversal().
                             in(Schema.EdgeLabel.SHARD.getLabel()).
                             in(Schema.EdgeLabel.ISA.getLabel()).
                             outE(Schema.EdgeLabel.RESOURCE.getLabel()).
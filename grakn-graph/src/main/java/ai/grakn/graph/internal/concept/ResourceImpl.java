@@ -21,9 +21,15 @@ package ai.grakn.graph.internal.concept;
 import ai.grakn.concept.Resource;
 import ai.grakn.concept.ResourceType;
 import ai.grakn.concept.Thing;
+import ai.grakn.graph.internal.structure.EdgeElement;
+import ai.grakn.graph.internal.structure.Shard;
 import ai.grakn.graph.internal.structure.VertexElement;
 import ai.grakn.util.Schema;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
 
 import java.util.Iterator;
 import java.util.stream.Stream;
@@ -39,6 +45,13 @@ import java.util.stream.Stream;
  *     2. It has a {@link ai.grakn.concept.ResourceType.DataType} associated with it which constrains the allowed values.
  * </p>
  *
+ * <p>
+ *     Like a {@link TypeImpl} a popular resource can be split into {@link Shard}s when
+ *     {@link ai.grakn.graph.internal.AbstractGraknGraph#SHARD_RESOURCES} is enabled. New owners are then attached to
+ *     the current shard through their {@link Schema.EdgeLabel#RESOURCE} edge, while reified relations still point to
+ *     the resource itself. A shard is always read as the resource which owns it.
+ * </p>
+ *
  * @author fppt
  *
  * @param <D> The data type of this resource type.
@@ -71,11 +84,70 @@ public class ResourceImpl<D> extends ThingImpl<Resource<D>, ResourceType<D>> imp
         //Get Owner via implicit structure
         Stream<Thing> implicitOwners = getShortcutNeighbours();
         //Get owners via edges
-        Stream<Thing> edgeOwners = neighbours(Direction.IN, Schema.EdgeLabel.RESOURCE);
+        Stream<Thing> edgeOwners = resourceEdges(Direction.IN).
+                map(edge -> vertex().graph().factory().buildConcept(edge.source()));
 
         return Stream.concat(implicitOwners, edgeOwners);
     }
 
+    /**
+     *
+     * @param direction The direction of the edges to get
+     * @return The {@link Schema.EdgeLabel#RESOURCE} edges of this resource including those of its owners which are
+     * attached to its shards
+     */
+    @Override
+    Stream<EdgeElement> resourceEdges(Direction direction){
+        Stream<EdgeElement> edges = super.resourceEdges(direction);
+        if(direction.equals(Direction.OUT)) return edges;
+
+        Stream<EdgeElement> shardEdges = shards().stream().
+                flatMap(shard -> shard.vertex().getEdgesOfType(Direction.IN, Schema.EdgeLabel.RESOURCE));
+        return Stream.concat(edges, shardEdges);
+    }
+
+    /**
+     * Attaches an owner to this resource. Once the resource has been sharded the owner is attached to its current
+     * {@link Shard} rather than to the resource vertex, which spreads the edges of a popular resource.
+     *
+     * @param owner The instance which owns this resource
+     * @return The {@link Schema.EdgeLabel#RESOURCE} edge of the owner, which is the existing one if it already owns
+     * this resource
+     */
+    public EdgeElement putOwnerEdge(ConceptVertex owner){
+        //The existing edge is found from the owner's side, whichever shard of this resource it ends on
+        GraphTraversal<Vertex, Edge> existing = owner.vertex().traversal().
+                outE(Schema.EdgeLabel.RESOURCE.getLabel()).as("edge").inV().
+                coalesce(__.out(Schema.EdgeLabel.SHARD.getLabel()), __.<Vertex>identity()).
+                hasId(vertex().element().id()).select("edge");
+
+        if(existing.hasNext()) return vertex().graph().factory().buildEdgeElement(existing.next());
+
+        if(vertex().graph().isShardingResources()) vertex().graph().txCache().addedInstance(getId());
+
+        VertexElement target = vertex().property(Schema.VertexProperty.CURRENT_SHARD) == null ? vertex() : currentShard().vertex();
+        return owner.vertex().addEdge(target, Schema.EdgeLabel.RESOURCE);
+    }
+
+    /**
+     * Creates a new shard which carries the type of this resource, so that the analytics which are restricted to the
+     * type of this resource keep its shards too
+     */
+    @Override
+    public void createShard(){
+        super.createShard();
+        currentShard().vertex().property(Schema.VertexProperty.THING_TYPE_LABEL_ID, type().getLabelId().getValue());
+    }
+
+    /**
+     * Deletes the resource together with its shards, which hold the edges of some of its owners
+     */
+    @Override
+    public void deleteNode(){
+        shards().forEach(shard -> shard.vertex().delete());
+        super.deleteNode();
+    }
+
     @Override
     public Thing owner() {
         Iterator<Thing> owners = ownerInstances().iterator();
@@ -161,7 +161,18 @@ public class ResourceTypeImpl<D> extends TypeImpl<ResourceType<D>, Resource<D>>
     @Override
     public Resource<D> getResource(D value) {
         String index = Schema.generateResourceIndex(getLabel(), value.toString());
-        return vertex().graph().getConcept(Schema.VertexProperty.INDEX, index);
+        Resource<D> resource = vertex().graph().getConcept(Schema.VertexProperty.INDEX, index);
+
+        //Keyspaces which have not been reindexed yet still index resources by their full key
+        if(resource == null) {
+            resource = vertex().graph().getConcept(Schema.VertexProperty.INDEX, Schema.generateLegacyResourceIndex(getLabel(), value.toString()));
+        }
+
+        //The index is a digest so we make sure it was not generated by a different resource
+        if(resource != null && !(resource.type().getLabel().equals(getLabel()) && resource.getValue().toString().equals(value.toString()))){
+            throw GraphOperationException.indexCollision(index, value, resource);
+        }
+        return resource;
     }
 
     /**
@@ -54,6 +54,16 @@ public class RuleImpl extends ThingImpl<Rule, RuleType> implements Rule {
         vertex().propertyImmutable(Schema.VertexProperty.RULE_WHEN, when, getWhen(), Pattern::toString);
         vertex().propertyImmutable(Schema.VertexProperty.RULE_THEN, then, getThen(), Pattern::toString);
         vertex().propertyUnique(Schema.VertexProperty.INDEX, generateRuleIndex(type(), when, then));
+        vertex().graph().txCache().trackRuleBaseModification();
+    }
+
+    /**
+     * Deletes the rule and records that the rules of the graph have changed
+     */
+    @Override
+    public void delete() {
+        vertex().graph().txCache().trackRuleBaseModification();
+        super.delete();
     }
 
     /**
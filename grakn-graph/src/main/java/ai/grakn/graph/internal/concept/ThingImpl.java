@@ -101,6 +101,11 @@ public abstract class ThingImpl<T extends Thing, V extends Type> extends Concept
         Set<Relation> relations = castingsInstance().map(Casting::getRelation).collect(Collectors.toSet());
 
         vertex().graph().txCache().removedInstance(type().getId());
+        if(vertex().graph().isShardingResources()){
+            this.<Concept>neighbours(Direction.OUT, Schema.EdgeLabel.RESOURCE).
+                    forEach(resource -> vertex().graph().txCache().removedInstance(resource.getId()));
+        }
+        if(!isInferred()) vertex().graph().txCache().trackDeletedInstance(type().getLabel(), factNeighbours());
         deleteNode();
 
         relations.forEach(relation -> {
@@ -109,11 +114,28 @@ public abstract class ThingImpl<T extends Thing, V extends Type> extends Concept
             } else {
                 RelationImpl rel = (RelationImpl) relation;
                 vertex().graph().txCache().trackForValidation(rel);
+                if(!rel.isInferred()) {
+                    Set<ConceptId> remaining = rel.rolePlayers().map(Concept::getId).collect(Collectors.toSet());
+                    remaining.add(rel.getId());
+                    vertex().graph().txCache().trackDeletedInstance(rel.type().getLabel(), remaining);
+                }
                 rel.cleanUp();
             }
         });
     }
 
+    /**
+     *
+     * @return The ids of the concepts which share a fact with this instance, other than the relations it plays in
+     */
+    Set<ConceptId> factNeighbours(){
+        return resourceEdges(Direction.BOTH)
+                .flatMap(edge -> Stream.of(edge.source(), edge.target()))
+                .map(vertex -> vertex().graph().factory().<Concept>buildConcept(vertex).getId())
+                .filter(id -> !id.equals(getId()))
+                .collect(Collectors.toSet());
+    }
+
     @Override
     public void txCacheClear(){
         //TODO: Clearing the caches at th Thing Level may not be needed. Need to experiment
@@ -121,6 +143,18 @@ public abstract class ThingImpl<T extends Thing, V extends Type> extends Concept
         cachedType.clear();
     }
 
+    @Override
+    public boolean isInferred(){
+        return vertex().propertyBoolean(Schema.VertexProperty.IS_INFERRED);
+    }
+
+    /**
+     * Marks this instance as materialised by the reasoner
+     */
+    public void setInferred(){
+        vertex().property(Schema.VertexProperty.IS_INFERRED, true);
+    }
+
     /**
      * This index is used by concepts such as casting and relations to speed up internal lookups
      * @return The inner index value of some concepts.
@@ -175,8 +209,7 @@ public abstract class ThingImpl<T extends Thing, V extends Type> extends Concept
     }
 
     <X extends Thing> Stream<X> getShortcutNeighbours(){
-        return vertex().graph().getTinkerTraversal().V().
-                has(Schema.VertexProperty.ID.name(), getId().getValue()).
+        return vertex().traversal().
                 inE(Schema.EdgeLabel.SHORTCUT.getLabel()).
                 as("edge").
                 outV().
@@ -197,8 +230,7 @@ public abstract class ThingImpl<T extends Thing, V extends Type> extends Concept
     }
 
     private Stream<Relation> reifiedRelations(Role... roles){
-        GraphTraversal<Vertex, Vertex> traversal = vertex().graph().getTinkerTraversal().V().
-                has(Schema.VertexProperty.ID.name(), getId().getValue());
+        GraphTraversal<Vertex, Vertex> traversal = vertex().traversal();
 
         if(roles.length == 0){
             traversal.in(Schema.EdgeLabel.SHORTCUT.getLabel());
@@ -213,7 +245,7 @@ public abstract class ThingImpl<T extends Thing, V extends Type> extends Concept
 
     private Stream<Relation> edgeRelations(Role... roles){
         Set<Role> roleSet = new HashSet<>(Arrays.asList(roles));
-        Stream<EdgeElement> stream = vertex().getEdgesOfType(Direction.BOTH, Schema.EdgeLabel.RESOURCE);
+        Stream<EdgeElement> stream = resourceEdges(Direction.BOTH);
 
         if(!roleSet.isEmpty()){
             stream = stream.filter(edge -> {
@@ -225,6 +257,15 @@ public abstract class ThingImpl<T extends Thing, V extends Type> extends Concept
         return stream.map(edge -> vertex().graph().factory().buildRelation(edge));
     }
 
+    /**
+     *
+     * @param direction The direction of the edges to get
+     * @return The {@link Schema.EdgeLabel#RESOURCE} edges which represent the {@link Relation}s of this instance
+     */
+    Stream<EdgeElement> resourceEdges(Direction direction){
+        return vertex().getEdgesOfType(direction, Schema.EdgeLabel.RESOURCE);
+    }
+
     /**
      *
      * @return A set of all the Role Types which this instance plays.
@@ -263,7 +304,7 @@ public abstract class ThingImpl<T extends Thing, V extends Type> extends Concept
             throw GraphOperationException.hasNotAllowed(this, resource);
         }
 
-        EdgeElement resourceEdge = putEdge(ResourceImpl.from(resource), Schema.EdgeLabel.RESOURCE);
+        EdgeElement resourceEdge = ResourceImpl.from(resource).putOwnerEdge(this);
         vertex().graph().factory().buildRelation(resourceEdge, hasResource, hasResourceOwner, hasResourceValue);
 
         return getThis();
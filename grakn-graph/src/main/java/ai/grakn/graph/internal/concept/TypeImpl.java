@@ -63,11 +63,11 @@ import java.util.stream.Stream;
 public class TypeImpl<T extends Type, V extends Thing> extends OntologyConceptImpl<T> implements Type{
     protected final Logger LOG = LoggerFactory.getLogger(TypeImpl.class);
 
-    private final Cache<Boolean> cachedIsAbstract = new Cache<>(Cacheable.bool(), () -> vertex().propertyBoolean(Schema.VertexProperty.IS_ABSTRACT));
-    private final Cache<Set<T>> cachedShards = new Cache<>(Cacheable.set(), () -> this.<T>neighbours(Direction.IN, Schema.EdgeLabel.SHARD).collect(Collectors.toSet()));
+    private final Cache<Boolean> cachedIsAbstract = new Cache<>(this::txGeneration, this::trackTxBound, Cacheable.bool(), () -> vertex().propertyBoolean(Schema.VertexProperty.IS_ABSTRACT));
+    private final Cache<Set<T>> cachedShards = new Cache<>(this::txGeneration, this::trackTxBound, Cacheable.set(), () -> this.<T>neighbours(Direction.IN, Schema.EdgeLabel.SHARD).collect(Collectors.toSet()));
 
     //This cache is different in order to keep track of which plays are required
-    private final Cache<Map<Role, Boolean>> cachedDirectPlays = new Cache<>(Cacheable.map(), () -> {
+    private final Cache<Map<Role, Boolean>> cachedDirectPlays = new Cache<>(this::txGeneration, this::trackTxBound, Cacheable.map(), () -> {
         Map<Role, Boolean> roleTypes = new HashMap<>();
 
         vertex().getEdgesOfType(Direction.OUT, Schema.EdgeLabel.PLAYS).forEach(edge -> {
@@ -239,9 +239,15 @@ public class TypeImpl<T extends Type, V extends Thing> extends OntologyConceptIm
     }
 
     Stream<V> instancesDirect(){
-        return vertex().getEdgesOfType(Direction.IN, Schema.EdgeLabel.SHARD).
-                map(edge -> vertex().graph().factory().buildShard(edge.source())).
-                flatMap(Shard::<V>links);
+        return Stream.concat(shards().stream().flatMap(Shard::<V>links), instancesOutsideShards());
+    }
+
+    /**
+     *
+     * @return The direct instances of this type which are not linked to any of its shards
+     */
+    Stream<V> instancesOutsideShards(){
+        return Stream.empty();
     }
 
     /**
@@ -21,9 +21,13 @@ package ai.grakn.graph.internal.structure;
 import ai.grakn.concept.Thing;
 import ai.grakn.graph.internal.concept.ConceptImpl;
 import ai.grakn.util.Schema;
+import com.google.common.collect.Iterators;
 import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
 
+import java.util.List;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * <p>
@@ -39,6 +43,8 @@ import java.util.stream.Stream;
  * @author fppt
  */
 public class Shard {
+    private static final int PREFETCH_BATCH_SIZE = 100;
+
     private final VertexElement vertexElement;
 
     public Shard(ConceptImpl owner, VertexElement vertexElement){
@@ -84,9 +90,15 @@ public class Shard {
      * @return All the concept linked to this shard
      */
     public <V extends Thing> Stream<V> links(){
-        return  vertex().getEdgesOfType(Direction.IN, Schema.EdgeLabel.ISA).
-                map(EdgeElement::source).
-                map(vertexElement ->  vertex().graph().factory().buildConcept(vertexElement));
+        //The adjacent vertices are read directly so the ISA edges do not need to be loaded and wrapped
+        Iterable<List<Vertex>> batches = () -> Iterators.partition(
+                vertex().element().vertices(Direction.IN, Schema.EdgeLabel.ISA.getLabel()), PREFETCH_BATCH_SIZE);
+
+        //The properties of a batch are read together rather than one backend call per concept
+        return StreamSupport.stream(batches.spliterator(), false).flatMap(batch -> {
+            vertex().graph().prefetchProperties(batch);
+            return batch.stream().map(v -> vertex().graph().factory().<V>buildConcept(v));
+        });
     }
 
     /**
@@ -51,6 +51,16 @@ public class VertexElement extends AbstractElement<Vertex, Schema.VertexProperty
         super(graknGraph, element, Schema.PREFIX_VERTEX);
     }
 
+    /**
+     * Starts a traversal from this vertex. The vertex is already held so it does not need to be looked up again
+     * through the id index, and any step filtering on its edges can go straight to the vertex centric indices.
+     *
+     * @return A traversal rooted at this vertex
+     */
+    public GraphTraversal<Vertex, Vertex> traversal(){
+        return graph().getTinkerTraversal().V(element().id());
+    }
+
     /**
      *
      * @param direction The direction of the edges to retrieve
@@ -78,10 +88,9 @@ public class VertexElement extends AbstractElement<Vertex, Schema.VertexProperty
      * @param type the type of the edge to create
      */
     public EdgeElement putEdge(VertexElement to, Schema.EdgeLabel type){
-        GraphTraversal<Vertex, Edge> traversal = graph().getTinkerTraversal().V().
-                has(Schema.VertexProperty.ID.name(), id().getValue()).
+        GraphTraversal<Vertex, Edge> traversal = traversal().
                 outE(type.getLabel()).as("edge").otherV().
-                has(Schema.VertexProperty.ID.name(), to.id().getValue()).select("edge");
+                hasId(to.element().id()).select("edge");
 
         if(!traversal.hasNext()) {
             return addEdge(to, type);
@@ -26,7 +26,7 @@ import ai.grakn.exception.GraphOperationException;
 import ai.grakn.exception.InvalidGraphException;
 import ai.grakn.factory.FactoryBuilder;
 import ai.grakn.factory.InternalFactory;
-import ai.grakn.graph.internal.GraknTinkerGraph;
+import ai.grakn.graph.internal.AbstractInMemoryGraknGraph;
 import ai.grakn.graql.Query;
 import com.google.common.base.StandardSystemProperty;
 import com.google.common.io.Files;
@@ -67,7 +67,18 @@ public class GraphLoader {
     private GraknGraph graph;
 
     protected GraphLoader(@Nullable Consumer<GraknGraph> preLoad){
-        factory = FactoryBuilder.getFactory(randomKeyspace(), Grakn.IN_MEMORY, properties());
+        this(preLoad, new Properties());
+    }
+
+    /**
+     * @param preLoad Loads the graph before it is first used
+     * @param overrides Graph properties which take precedence over the ones read from the config file
+     */
+    protected GraphLoader(@Nullable Consumer<GraknGraph> preLoad, Properties overrides){
+        Properties properties = new Properties();
+        properties.putAll(properties());
+        properties.putAll(overrides);
+        factory = FactoryBuilder.getFactory(randomKeyspace(), Grakn.IN_MEMORY, properties);
         this.preLoad = preLoad;
     }
 
@@ -111,7 +122,7 @@ public class GraphLoader {
     }
 
     public void rollback() {
-        if (graph instanceof GraknTinkerGraph) {
+        if (graph instanceof AbstractInMemoryGraknGraph) {
             graph.admin().delete();
             graphLoaded = false;
         } else if (!graph.isClosed()) {
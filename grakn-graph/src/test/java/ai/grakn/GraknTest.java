@@ -19,7 +19,7 @@
 package ai.grakn;
 
 import ai.grakn.graph.internal.AbstractGraknGraph;
-import ai.grakn.graph.internal.GraknTinkerGraph;
+import ai.grakn.graph.internal.GraknCompactGraph;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.junit.Test;
 
@@ -33,7 +33,7 @@ public class GraknTest {
 
     @Test
     public void testInMemory(){
-        assertThat(Grakn.session(Grakn.IN_MEMORY, "test").open(GraknTxType.WRITE), instanceOf(GraknTinkerGraph.class));
+        assertThat(Grakn.session(Grakn.IN_MEMORY, "test").open(GraknTxType.WRITE), instanceOf(GraknCompactGraph.class));
     }
 
     @Test
@@ -0,0 +1,117 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.factory;
+
+import ai.grakn.Grakn;
+import ai.grakn.GraknGraph;
+import ai.grakn.GraknTxType;
+import ai.grakn.concept.Entity;
+import ai.grakn.concept.EntityType;
+import ai.grakn.concept.Resource;
+import ai.grakn.concept.ResourceType;
+import ai.grakn.concept.Role;
+import ai.grakn.graph.internal.AbstractGraknGraph;
+import ai.grakn.graph.internal.GraknCompactGraph;
+import ai.grakn.graph.internal.compact.CompactGraph;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Properties;
+import java.util.UUID;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class GraknCompactGraphFactoryTest {
+    private InternalFactory compactGraphFactory;
+
+    @Before
+    public void setupCompactGraphFactory(){
+        Properties properties = new Properties();
+        properties.put(AbstractGraknGraph.SHARDING_THRESHOLD, 100_000);
+        properties.put(AbstractGraknGraph.NORMAL_CACHE_TIMEOUT_MS, 30_000);
+        String keyspace = "compact" + UUID.randomUUID().toString().replaceAll("-", "");
+        compactGraphFactory = new CompactInternalFactory(keyspace, Grakn.IN_MEMORY, properties);
+    }
+
+    @Test
+    public void whenBuildingGraphUsingCompactFactory_ReturnGraknCompactGraph(){
+        GraknGraph graph = compactGraphFactory.open(GraknTxType.WRITE);
+        assertThat(graph, instanceOf(GraknCompactGraph.class));
+        assertThat(graph, instanceOf(AbstractGraknGraph.class));
+    }
+
+    @Test
+    public void whenBuildingGraphFromTheSameFactory_ReturnSingletonGraphs(){
+        GraknGraph graph1 = compactGraphFactory.open(GraknTxType.WRITE);
+        CompactGraph compactGraph1 = ((GraknCompactGraph) graph1).getTinkerPopGraph();
+        graph1.close();
+        GraknGraph graph2 = compactGraphFactory.open(GraknTxType.WRITE);
+        CompactGraph compactGraph2 = ((GraknCompactGraph) graph2).getTinkerPopGraph();
+
+        assertEquals(compactGraph1, compactGraph2);
+    }
+
+    @Test
+    public void whenMutatingTheGraph_ConceptsCanBeRetrievedAndDeleted(){
+        GraknGraph graph = compactGraphFactory.open(GraknTxType.WRITE);
+        ResourceType<String> name = graph.putResourceType("name", ResourceType.DataType.STRING);
+        Role parent = graph.putRole("parent");
+        Role child = graph.putRole("child");
+        EntityType person = graph.putEntityType("person").plays(parent).plays(child).resource(name);
+        graph.putRelationType("parenthood").relates(parent).relates(child);
+
+        Entity alice = person.addEntity();
+        Entity bob = person.addEntity();
+        alice.resource(name.putResource("alice"));
+        graph.getRelationType("parenthood").addRelation().addRolePlayer(parent, alice).addRolePlayer(child, bob);
+        graph.commit();
+
+        graph = compactGraphFactory.open(GraknTxType.WRITE);
+        assertEquals(alice, graph.getConcept(alice.getId()));
+        assertEquals(2L, graph.getEntityType("person").instances().count());
+        Resource<String> aliceName = graph.<String>getResourceType("name").getResource("alice");
+        assertEquals(alice, aliceName.ownerInstances().findFirst().get());
+        assertEquals(1L, graph.getRelationType("parenthood").instances().count());
+
+        graph.getConcept(bob.getId()).delete();
+        graph.commit();
+
+        graph = compactGraphFactory.open(GraknTxType.WRITE);
+        assertNull(graph.getConcept(bob.getId()));
+        assertEquals(1L, graph.getEntityType("person").instances().count());
+    }
+
+    @Test
+    public void whenClearingGraph_EnsureANewGraphIsBuilt(){
+        GraknGraph graph = compactGraphFactory.open(GraknTxType.WRITE);
+        CompactGraph compactGraph = ((GraknCompactGraph) graph).getTinkerPopGraph();
+        graph.putEntityType("person");
+        graph.admin().delete();
+        assertTrue(graph.isClosed());
+
+        graph = compactGraphFactory.open(GraknTxType.WRITE);
+        assertNotEquals(compactGraph, ((GraknCompactGraph) graph).getTinkerPopGraph());
+        assertNull(graph.getEntityType("person"));
+    }
+}
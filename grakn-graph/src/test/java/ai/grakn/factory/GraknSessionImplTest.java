@@ -0,0 +1,141 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.factory;
+
+import ai.grakn.GraknGraph;
+import ai.grakn.GraknTxType;
+import ai.grakn.graph.internal.AbstractGraknGraph;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.sun.net.httpserver.HttpServer;
+import mjson.Json;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static ai.grakn.util.REST.WebPath.System.INITIALISE;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class GraknSessionImplTest {
+
+    @After
+    public void clearConfigs(){
+        FactoryBuilder.refresh();
+    }
+
+    @Test
+    public void whenOpeningASecondSessionOnTheSameKeyspace_EngineIsContactedOnce() throws IOException {
+        AtomicInteger configFetches = new AtomicInteger(0);
+        byte[] config = Json.object(
+                FactoryBuilder.FACTORY_TYPE, TinkerInternalFactory.class.getName(),
+                AbstractGraknGraph.SHARDING_THRESHOLD, "100000",
+                AbstractGraknGraph.NORMAL_CACHE_TIMEOUT_MS, "30000").toString().getBytes(StandardCharsets.UTF_8);
+
+        HttpServer engine = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        engine.createContext(INITIALISE, exchange -> {
+            configFetches.incrementAndGet();
+            exchange.sendResponseHeaders(200, config.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(config);
+            }
+        });
+        engine.start();
+
+        try {
+            String engineUrl = "localhost:" + engine.getAddress().getPort();
+
+            openAndClose(new GraknSessionImpl("cachedconfig", engineUrl));
+            assertEquals(1, configFetches.get());
+
+            openAndClose(new GraknSessionImpl("cachedconfig", engineUrl));
+            assertEquals(1, configFetches.get());
+        } finally {
+            engine.stop(0);
+        }
+    }
+
+    private static void openAndClose(GraknSessionImpl session){
+        try (GraknGraph graph = session.open(GraknTxType.WRITE)) {
+            assertEquals("cachedconfig", graph.getKeyspace());
+        }
+        session.close();
+    }
+
+    @Test
+    public void whenNoConfigCacheTimeoutIsSet_UseTheDefault(){
+        assertEquals(GraknSessionImpl.DEFAULT_CONFIG_CACHE_TIMEOUT_MS, GraknSessionImpl.configCacheTimeout(null));
+    }
+
+    @Test
+    public void whenConfigCacheTimeoutIsValid_UseIt(){
+        assertEquals(1000L, GraknSessionImpl.configCacheTimeout("1000"));
+        assertEquals(0L, GraknSessionImpl.configCacheTimeout(" 0 "));
+    }
+
+    @Test
+    public void whenConfigCacheTimeoutIsInvalid_UseTheDefault(){
+        assertEquals(GraknSessionImpl.DEFAULT_CONFIG_CACHE_TIMEOUT_MS, GraknSessionImpl.configCacheTimeout("ten seconds"));
+        assertEquals(GraknSessionImpl.DEFAULT_CONFIG_CACHE_TIMEOUT_MS, GraknSessionImpl.configCacheTimeout("-1"));
+        assertEquals(GraknSessionImpl.DEFAULT_CONFIG_CACHE_TIMEOUT_MS, GraknSessionImpl.configCacheTimeout(""));
+    }
+
+    @Test
+    public void whenConfigCacheTimeoutPasses_ConfigIsForgotten(){
+        AtomicLong nanos = new AtomicLong(0);
+        Ticker ticker = new Ticker() {
+            @Override
+            public long read() {
+                return nanos.get();
+            }
+        };
+        Cache<String, Properties> cache = GraknSessionImpl.buildConfigCache(1000, ticker);
+        cache.put("config", new Properties());
+
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(999));
+        assertNotNull(cache.getIfPresent("config"));
+
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+        assertNull(cache.getIfPresent("config"));
+    }
+
+    @Test
+    public void whenRefreshingConfigs_CachedConfigsAreForgotten(){
+        GraknSessionImpl.remoteConfigs().put("engine/keyspace/default", new Properties());
+        GraknSessionImpl.refreshConfigs();
+        assertNull(GraknSessionImpl.remoteConfigs().getIfPresent("engine/keyspace/default"));
+    }
+
+    @Test
+    public void whenRefreshingFactories_CachedConfigsAreForgotten(){
+        GraknSessionImpl.remoteConfigs().put("engine/keyspace/default", new Properties());
+        FactoryBuilder.refresh();
+        assertNull(GraknSessionImpl.remoteConfigs().getIfPresent("engine/keyspace/default"));
+    }
+}
@@ -25,6 +25,7 @@ import org.junit.Test;
 
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -355,6 +356,21 @@ public class GraknGraphTest extends GraphTestBase {
         assertThat(s3.links().collect(Collectors.toSet()), containsInAnyOrder(s3_e1, s3_e2));
     }
 
+    @Test
+    public void whenGettingInstancesOfShardedType_EnsureEachInstanceIsReturnedOnce(){
+        EntityTypeImpl entityType = (EntityTypeImpl) graknGraph.putEntityType("The Special Type");
+        Set<Entity> entities = new HashSet<>();
+        for(int i = 0; i < 4; i++){
+            entities.add(entityType.addEntity());
+            entities.add(entityType.addEntity());
+            graknGraph.admin().shard(entityType.getId());
+        }
+
+        List<Entity> found = entityType.instances().collect(Collectors.toList());
+        assertEquals(entities.size(), found.size());
+        assertEquals(entities, new HashSet<>(found));
+    }
+
     @Test
     public void whenCreatingAValidOntologyInSeparateThreads_EnsureValidationRulesHold() throws ExecutionException, InterruptedException {
         GraknSession session = Grakn.session(Grakn.IN_MEMORY, "hi");
@@ -48,6 +48,7 @@ import java.util.Set;
 import static java.util.stream.Collectors.toSet;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
@@ -182,6 +183,63 @@ public class PostProcessingTest extends GraphTestBase{
         return new ResourceImpl<>(new VertexElement(graknGraph, resourceVertex));
     }
 
+    @Test
+    public void whenRefreshingLegacyIndex_ResourceCanBeFoundByItsValue(){
+        String value = "a value long enough to have been a large index";
+        ResourceTypeImpl<String> resourceType = (ResourceTypeImpl<String>) graknGraph.putResourceType("Resource Type", ResourceType.DataType.STRING);
+        ResourceImpl<String> resource = (ResourceImpl<String>) resourceType.putResource(value);
+
+        //Restore the index format used before digests
+        String legacyIndex = Schema.BaseType.RESOURCE.name() + "-" + resourceType.getLabel() + "-" + value;
+        resource.vertex().element().property(Schema.VertexProperty.INDEX.name(), legacyIndex);
+        assertEquals(resource, resourceType.getResource(value));
+
+        assertTrue(graknGraph.admin().refreshIndex(resource.getId()));
+        assertEquals(resource, resourceType.getResource(value));
+        assertEquals(Schema.generateResourceIndex(resourceType.getLabel(), value), resource.getIndex());
+        assertFalse(graknGraph.admin().refreshIndex(resource.getId()));
+    }
+
+    @Test
+    public void whenPuttingAResourceWhichHasALegacyIndex_TheLegacyResourceIsReturned(){
+        ResourceTypeImpl<String> resourceType = (ResourceTypeImpl<String>) graknGraph.putResourceType("Resource Type", ResourceType.DataType.STRING);
+        ResourceImpl<String> resource = (ResourceImpl<String>) resourceType.putResource("1");
+        resource.vertex().element().property(Schema.VertexProperty.INDEX.name(), Schema.generateLegacyResourceIndex(resourceType.getLabel(), "1"));
+
+        assertEquals(resource, resourceType.putResource("1"));
+        assertEquals(1, resourceType.instances().count());
+    }
+
+    @Test
+    public void whenRefreshingLegacyIndexOfADuplicatedResource_TheDuplicatesAreMerged(){
+        ResourceTypeImpl<String> resourceType = (ResourceTypeImpl<String>) graknGraph.putResourceType("Resource Type", ResourceType.DataType.STRING);
+        ResourceImpl<String> legacyResource = createFakeResource(resourceType, "1");
+        legacyResource.vertex().element().property(Schema.VertexProperty.INDEX.name(), Schema.generateLegacyResourceIndex(resourceType.getLabel(), "1"));
+        ResourceImpl<String> resource = createFakeResource(resourceType, "1");
+        assertEquals(2, resourceType.instances().count());
+
+        assertTrue(graknGraph.admin().refreshIndex(legacyResource.getId()));
+
+        assertEquals(1, resourceType.instances().count());
+        assertEquals(resource, resourceType.getResource("1"));
+    }
+
+    @Test
+    public void whenFixingDuplicatesOfAResourceWithALegacyIndex_TheyAreMerged(){
+        Set<ConceptId> resourceIds = new HashSet<>();
+        ResourceTypeImpl<String> resourceType = (ResourceTypeImpl<String>) graknGraph.putResourceType("Resource Type", ResourceType.DataType.STRING);
+        ResourceImpl<String> legacyResource = createFakeResource(resourceType, "1");
+        legacyResource.vertex().element().property(Schema.VertexProperty.INDEX.name(), Schema.generateLegacyResourceIndex(resourceType.getLabel(), "1"));
+        resourceIds.add(legacyResource.getId());
+        resourceIds.add(createFakeResource(resourceType, "1").getId());
+
+        String index = Schema.generateResourceIndex(resourceType.getLabel(), "1");
+        assertTrue(graknGraph.fixDuplicateResources(index, resourceIds));
+
+        assertEquals(1, resourceType.instances().count());
+        assertEquals(index, ((ResourceImpl<String>) resourceType.getResource("1")).getIndex());
+    }
+
     @Test
     public void whenUpdatingTheCountsOfTypes_TheTypesHaveNewCounts() {
         Map<ConceptId, Long> types = new HashMap<>();
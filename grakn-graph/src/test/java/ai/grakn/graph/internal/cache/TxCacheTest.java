@@ -47,6 +47,7 @@ import static java.util.stream.Collectors.toSet;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.not;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -251,6 +252,32 @@ public class TxCacheTest extends GraphTestBase {
         assertThat(cache.getModifiedCastings(), empty());
     }
 
+    @Test
+    public void whenOpeningTransaction_EnsureOntologyIsReferencedWithoutBeingCopied(){
+        EntityType entityType = graknGraph.putEntityType("e1");
+        graknGraph.commit();
+        graknGraph = (AbstractGraknGraph<?>) graknSession.open(GraknTxType.READ);
+
+        TxCache cache = graknGraph.txCache();
+        assertThat(cache.getOntologyConceptCache().keySet(), empty());
+        assertTrue(cache.isTypeCached(entityType.getLabel()));
+        assertEquals(graknGraph.getGraphCache().getCachedTypes().get(entityType.getLabel()), cache.getCachedOntologyElement(entityType.getLabel()));
+    }
+
+    @Test
+    public void whenDeletingTypeCreatedInAnotherTransaction_EnsureItIsRemovedFromTheCentralCacheOnCommit(){
+        EntityType entityType = graknGraph.putEntityType("e1");
+        graknGraph.commit();
+        graknGraph = (AbstractGraknGraph<?>) graknSession.open(GraknTxType.WRITE);
+
+        graknGraph.getEntityType("e1").delete();
+        assertFalse(graknGraph.txCache().isTypeCached(entityType.getLabel()));
+        assertFalse(graknGraph.txCache().isLabelCached(entityType.getLabel()));
+
+        graknGraph.commit();
+        assertFalse(graknGraph.getGraphCache().getCachedTypes().containsKey(entityType.getLabel()));
+    }
+
     @Test
     public void whenMutatingSuperTypeOfConceptCreatedInAnotherTransaction_EnsureTransactionBoundConceptIsMutated(){
         EntityType e1 = graknGraph.putEntityType("e1");
@@ -302,6 +329,34 @@ public class TxCacheTest extends GraphTestBase {
         assertTxBoundConceptMatches(rel, t -> t.relates().collect(toSet()), containsInAnyOrder(rol1));
     }
 
+    @Test
+    public void whenReadingATypeCreatedInAnotherTransaction_EnsureOnlyTheTypesReadAreTrackedForFlushing(){
+        EntityType e1 = graknGraph.putEntityType("e1");
+        EntityType e2 = graknGraph.putEntityType("e2");
+        graknGraph.commit();
+
+        graknGraph = (AbstractGraknGraph<?>) graknSession.open(GraknTxType.WRITE);
+        graknGraph.getEntityType("e1").isAbstract();
+
+        assertThat(graknGraph.txCache().getTxBoundOntologyConcepts(), hasItem(e1));
+        assertThat(graknGraph.txCache().getTxBoundOntologyConcepts(), not(hasItem(e2)));
+    }
+
+    @Test
+    public void whenMutatingATypeReachedThroughAnotherType_EnsureTheChangeIsInTheCentralCacheAfterCommit(){
+        EntityType e1 = graknGraph.putEntityType("e1");
+        graknGraph.putEntityType("e2").sup(e1);
+        graknGraph.commit();
+
+        graknGraph = (AbstractGraknGraph<?>) graknSession.open(GraknTxType.WRITE);
+        EntityType e2 = graknGraph.getEntityType("e1").subs().filter(sub -> !sub.equals(e1)).findFirst().get();
+        e2.setAbstract(true);
+        graknGraph.commit();
+
+        graknGraph = (AbstractGraknGraph<?>) graknSession.open(GraknTxType.READ);
+        assertTrue(graknGraph.getEntityType("e2").isAbstract());
+    }
+
     /**
      * Helper method which will check that the cache and the provided type have the same expected values.
      *
@@ -0,0 +1,304 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+
+package ai.grakn.graph.internal.compact;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Sets;
+import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
+import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.process.computer.KeyValue;
+import org.apache.tinkerpop.gremlin.process.computer.MapReduce;
+import org.apache.tinkerpop.gremlin.process.computer.Memory;
+import org.apache.tinkerpop.gremlin.process.computer.MessageCombiner;
+import org.apache.tinkerpop.gremlin.process.computer.MessageScope;
+import org.apache.tinkerpop.gremlin.process.computer.Messenger;
+import org.apache.tinkerpop.gremlin.process.computer.VertexComputeKey;
+import org.apache.tinkerpop.gremlin.process.computer.VertexProgram;
+import org.apache.tinkerpop.gremlin.process.computer.ranking.pagerank.PageRankVertexProgram;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphComputer;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class CompactGraphComputerTest {
+    private static final String NAME = "name";
+
+    private CompactGraph graph;
+    private TinkerGraph tinkerGraph;
+
+    @Rule
+    public final ExpectedException expectedException = ExpectedException.none();
+
+    @Before
+    public void setUp(){
+        graph = CompactGraph.open();
+        tinkerGraph = TinkerGraph.open();
+        populate(graph);
+        populate(tinkerGraph);
+    }
+
+    private static void populate(Graph graph){
+        Vertex alice = graph.addVertex("person");
+        Vertex bob = graph.addVertex("person");
+        Vertex carol = graph.addVertex("person");
+        Vertex dave = graph.addVertex("person");
+        Vertex book = graph.addVertex("item");
+        alice.property(NAME, "alice");
+        bob.property(NAME, "bob");
+        carol.property(NAME, "carol");
+        dave.property(NAME, "dave");
+        book.property(NAME, "book");
+
+        alice.addEdge("knows", bob);
+        alice.addEdge("knows", carol);
+        bob.addEdge("knows", carol);
+        carol.addEdge("knows", alice);
+        dave.addEdge("knows", carol);
+        alice.addEdge("likes", book);
+        bob.addEdge("likes", book);
+    }
+
+    @Test
+    public void whenRunningPageRank_TheRanksMatchTheOnesOfTinkerGraphComputer() throws Exception {
+        graph.compute(CompactGraphComputer.class).workers(3).program(PageRankVertexProgram.build().create(graph)).
+                result(GraphComputer.ResultGraph.ORIGINAL).persist(GraphComputer.Persist.VERTEX_PROPERTIES).submit().get();
+        tinkerGraph.compute(TinkerGraphComputer.class).program(PageRankVertexProgram.build().create(tinkerGraph)).
+                result(GraphComputer.ResultGraph.ORIGINAL).persist(GraphComputer.Persist.VERTEX_PROPERTIES).submit().get();
+
+        Map<String, Double> ranks = ranks(graph);
+        Map<String, Double> expectedRanks = ranks(tinkerGraph);
+        assertEquals(expectedRanks.keySet(), ranks.keySet());
+        expectedRanks.forEach((name, rank) -> assertEquals(rank, ranks.get(name), 1e-9));
+    }
+
+    private static Map<String, Double> ranks(Graph graph){
+        Map<String, Double> ranks = new HashMap<>();
+        graph.vertices().forEachRemaining(vertex ->
+                ranks.put(vertex.value(NAME), vertex.value(PageRankVertexProgram.PAGE_RANK)));
+        return ranks;
+    }
+
+    @Test
+    public void whenRunningAProgram_MessagesArriveThroughTheIncidentEdgesOfTheirSenders() throws Exception {
+        Map<String, Long> expected = ImmutableMap.of("alice", 1L, "bob", 1L, "carol", 3L, "dave", 0L, "book", 2L);
+
+        assertEquals(expected, inDegrees(graph.compute(CompactGraphComputer.class), false));
+        assertEquals(expected, inDegrees(graph.compute(CompactGraphComputer.class).workers(2), true));
+        assertEquals(expected, inDegrees(tinkerGraph.compute(TinkerGraphComputer.class), false));
+    }
+
+    @Test
+    public void whenFilteringVerticesAndEdges_TheProgramOnlySeesThem() throws Exception {
+        Map<String, Long> expected = ImmutableMap.of("alice", 1L, "bob", 1L, "carol", 3L, "dave", 0L);
+
+        assertEquals(expected, inDegrees(graph.compute(CompactGraphComputer.class).
+                vertices(__.hasLabel("person")).edges(__.bothE("knows")), false));
+        assertEquals(expected, inDegrees(tinkerGraph.compute(TinkerGraphComputer.class).
+                vertices(__.hasLabel("person")).edges(__.bothE("knows")), false));
+    }
+
+    private static Map<String, Long> inDegrees(GraphComputer computer, boolean combine) throws ExecutionException, InterruptedException {
+        ValuesMapReduce inDegrees = new ValuesMapReduce(InDegreeVertexProgram.IN_DEGREE);
+        return computer.program(new InDegreeVertexProgram(combine)).mapReduce(inDegrees).submit().get().
+                memory().get(inDegrees.getMemoryKey());
+    }
+
+    @Test
+    public void whenTheProgramFinishes_TransientKeysAreDroppedAndNothingIsPersisted() throws Exception {
+        KeyCountMapReduce computed = new KeyCountMapReduce(InDegreeVertexProgram.IN_DEGREE);
+        KeyCountMapReduce sent = new KeyCountMapReduce(InDegreeVertexProgram.SENT);
+
+        ComputerResult result = graph.compute(CompactGraphComputer.class).program(new InDegreeVertexProgram(false)).
+                mapReduce(computed).mapReduce(sent).submit().get();
+
+        assertEquals(5L, (long) result.memory().get(computed.getMemoryKey()));
+        assertEquals(0L, (long) result.memory().get(sent.getMemoryKey()));
+        assertEquals(1, result.memory().getIteration());
+        graph.vertices().forEachRemaining(vertex ->
+                assertFalse(vertex.property(InDegreeVertexProgram.IN_DEGREE).isPresent()));
+    }
+
+    @Test
+    public void whenPersistingToANewGraph_Throw(){
+        expectedException.expect(IllegalArgumentException.class);
+        graph.compute(CompactGraphComputer.class).program(new InDegreeVertexProgram(false)).
+                result(GraphComputer.ResultGraph.NEW).persist(GraphComputer.Persist.VERTEX_PROPERTIES).submit();
+    }
+
+    /**
+     * Every vertex sends a message along its out edges, then counts the messages it received
+     */
+    private static class InDegreeVertexProgram implements VertexProgram<Long> {
+        static final String IN_DEGREE = "inDegree";
+        static final String SENT = "sent";
+        private static final MessageScope.Local<Long> OUT = MessageScope.Local.of(__::outE);
+
+        private final boolean combine;
+
+        InDegreeVertexProgram(boolean combine){
+            this.combine = combine;
+        }
+
+        @Override
+        public void setup(Memory memory) {
+        }
+
+        @Override
+        public void execute(Vertex vertex, Messenger<Long> messenger, Memory memory) {
+            if (memory.isInitialIteration()) {
+                vertex.property(SENT, true);
+                messenger.sendMessage(OUT, 1L);
+            } else {
+                vertex.property(IN_DEGREE, IteratorUtils.reduce(messenger.receiveMessages(), 0L, Long::sum));
+            }
+        }
+
+        @Override
+        public boolean terminate(Memory memory) {
+            return memory.getIteration() == 1;
+        }
+
+        @Override
+        public Set<VertexComputeKey> getVertexComputeKeys() {
+            return Sets.newHashSet(VertexComputeKey.of(IN_DEGREE, false), VertexComputeKey.of(SENT, true));
+        }
+
+        @Override
+        public Optional<MessageCombiner<Long>> getMessageCombiner() {
+            return combine ? Optional.of(Long::sum) : Optional.empty();
+        }
+
+        @Override
+        public Set<MessageScope> getMessageScopes(Memory memory) {
+            return Collections.singleton(OUT);
+        }
+
+        @Override
+        public GraphComputer.ResultGraph getPreferredResultGraph() {
+            return GraphComputer.ResultGraph.ORIGINAL;
+        }
+
+        @Override
+        public GraphComputer.Persist getPreferredPersist() {
+            return GraphComputer.Persist.NOTHING;
+        }
+
+        @Override
+        public InDegreeVertexProgram clone() {
+            return this;
+        }
+    }
+
+    /**
+     * Collects the values of a vertex property by the name of the vertex
+     */
+    private static class ValuesMapReduce implements MapReduce<String, Long, String, Long, Map<String, Long>> {
+        private final String key;
+
+        ValuesMapReduce(String key){
+            this.key = key;
+        }
+
+        @Override
+        public boolean doStage(Stage stage) {
+            return stage.equals(Stage.MAP);
+        }
+
+        @Override
+        public void map(Vertex vertex, MapEmitter<String, Long> emitter) {
+            vertex.<Long>property(key).ifPresent(value -> emitter.emit(vertex.value(NAME), value));
+        }
+
+        @Override
+        public Map<String, Long> generateFinalResult(Iterator<KeyValue<String, Long>> keyValues) {
+            Map<String, Long> values = new HashMap<>();
+            keyValues.forEachRemaining(keyValue -> values.put(keyValue.getKey(), keyValue.getValue()));
+            return values;
+        }
+
+        @Override
+        public String getMemoryKey() {
+            return "values." + key;
+        }
+
+        @Override
+        public ValuesMapReduce clone() {
+            return this;
+        }
+    }
+
+    /**
+     * Counts the vertices holding a property
+     */
+    private static class KeyCountMapReduce implements MapReduce<String, Long, String, Long, Long> {
+        private final String key;
+
+        KeyCountMapReduce(String key){
+            this.key = key;
+        }
+
+        @Override
+        public boolean doStage(Stage stage) {
+            return !stage.equals(Stage.COMBINE);
+        }
+
+        @Override
+        public void map(Vertex vertex, MapEmitter<String, Long> emitter) {
+            if (vertex.property(key).isPresent()) emitter.emit(key, 1L);
+        }
+
+        @Override
+        public void reduce(String key, Iterator<Long> values, ReduceEmitter<String, Long> emitter) {
+            emitter.emit(key, IteratorUtils.reduce(values, 0L, Long::sum));
+        }
+
+        @Override
+        public Long generateFinalResult(Iterator<KeyValue<String, Long>> keyValues) {
+            return keyValues.hasNext() ? keyValues.next().getValue() : 0L;
+        }
+
+        @Override
+        public String getMemoryKey() {
+            return "count." + key;
+        }
+
+        @Override
+        public KeyCountMapReduce clone() {
+            return this;
+        }
+    }
+}
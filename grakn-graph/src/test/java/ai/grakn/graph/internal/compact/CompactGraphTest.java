@@ -0,0 +1,197 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graph.internal.compact;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphComputer;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class CompactGraphTest {
+    private static final String KEY = "key";
+    private static final String OTHER_KEY = "other";
+
+    private CompactGraph graph;
+
+    @Rule
+    public final ExpectedException expectedException = ExpectedException.none();
+
+    @Before
+    public void setUp(){
+        graph = CompactGraph.open(ImmutableSet.of(KEY));
+    }
+
+    @Test
+    public void whenAddingVerticesAndEdges_TheyCanBeTraversed(){
+        Vertex a = graph.addVertex("person");
+        Vertex b = graph.addVertex("person");
+        Vertex c = graph.addVertex("company");
+        Edge knows = a.addEdge("knows", b, "since", 2017);
+        a.addEdge("works", c);
+
+        assertEquals("person", a.label());
+        assertEquals(2017, (int) knows.value("since"));
+        assertEquals(a, knows.outVertex());
+        assertEquals(b, knows.inVertex());
+        assertEquals(Sets.newHashSet(b, c), Sets.newHashSet(a.vertices(Direction.OUT)));
+        assertEquals(Sets.newHashSet(b), Sets.newHashSet(a.vertices(Direction.OUT, "knows")));
+        assertEquals(Sets.newHashSet(a), Sets.newHashSet(b.vertices(Direction.BOTH)));
+        assertEquals(0L, IteratorUtils.count(a.edges(Direction.IN)));
+        assertEquals(0L, IteratorUtils.count(a.edges(Direction.OUT, "unknown")));
+        assertEquals(3L, (long) graph.traversal().V().count().next());
+    }
+
+    @Test
+    public void whenSettingProperties_ValuesAreReplacedAndRemoved(){
+        Vertex vertex = graph.addVertex();
+        vertex.property(KEY, "a");
+        vertex.property(OTHER_KEY, 1L);
+        vertex.property(KEY, "b");
+
+        assertEquals("b", vertex.value(KEY));
+        assertEquals(Sets.newHashSet(KEY, OTHER_KEY), vertex.keys());
+
+        vertex.property(OTHER_KEY).remove();
+        assertFalse(vertex.property(OTHER_KEY).isPresent());
+    }
+
+    @Test
+    public void whenLookingUpAnIndexedKey_TheIndexIsUsedAndKeptUpToDate(){
+        Vertex a = graph.addVertex();
+        Vertex b = graph.addVertex();
+        a.property(KEY, "a");
+        b.property(KEY, "b");
+
+        GraphTraversal<Vertex, Vertex> traversal = graph.traversal().V().has(KEY, "a");
+        traversal.asAdmin().applyStrategies();
+        assertThat(traversal.asAdmin().getStartStep(), instanceOf(CompactGraphStep.class));
+        assertEquals(Sets.newHashSet(a), traversal.toSet());
+
+        a.property(KEY, "c");
+        assertFalse(graph.traversal().V().has(KEY, "a").hasNext());
+        assertEquals(Sets.newHashSet(a), graph.traversal().V().has(KEY, "c").toSet());
+
+        b.remove();
+        assertFalse(graph.traversal().V().has(KEY, "b").hasNext());
+    }
+
+    @Test
+    public void whenLookingUpNumbersInAnIndexedKey_LookupFollowsNumericEquality(){
+        Vertex vertex = graph.addVertex();
+        vertex.property(KEY, 1);
+
+        assertEquals(Sets.newHashSet(vertex), graph.traversal().V().has(KEY, 1L).toSet());
+    }
+
+    @Test
+    public void whenRemovingAVertex_ItsEdgesAreRemoved(){
+        Vertex a = graph.addVertex();
+        Vertex b = graph.addVertex();
+        Vertex c = graph.addVertex();
+        a.addEdge("link", b);
+        Edge remaining = c.addEdge("link", b);
+        b.addEdge("link", b);
+
+        a.remove();
+
+        assertEquals(Sets.newHashSet(b, c), graph.traversal().V().toSet());
+        Set<Edge> edges = graph.traversal().E().toSet();
+        assertEquals(2, edges.size());
+        assertTrue(edges.contains(remaining));
+        assertEquals(Sets.newHashSet(c, b), Sets.newHashSet(b.vertices(Direction.IN)));
+
+        b.remove();
+        assertEquals(0L, IteratorUtils.count(c.edges(Direction.BOTH)));
+    }
+
+    @Test
+    public void whenLookingUpElementsById_StringIdsAreAccepted(){
+        Vertex a = graph.addVertex();
+        Edge edge = a.addEdge("self", a);
+
+        assertEquals(a, graph.vertices(a.id().toString()).next());
+        assertEquals(edge, graph.edges(edge.id().toString()).next());
+    }
+
+    @Test
+    public void whenAccessingARemovedVertex_Throw(){
+        Vertex vertex = graph.addVertex();
+        vertex.remove();
+
+        expectedException.expect(IllegalStateException.class);
+        vertex.label();
+    }
+
+    @Test
+    public void whenRequestingAGraphComputer_ItRunsOnTheGraphItself(){
+        graph.addVertex("person");
+
+        assertThat(graph.compute(), instanceOf(CompactGraphComputer.class));
+        assertThat(graph.compute(CompactGraphComputer.class), instanceOf(CompactGraphComputer.class));
+    }
+
+    @Test
+    public void whenRequestingAnotherGraphComputer_Throw(){
+        expectedException.expect(IllegalArgumentException.class);
+        graph.compute(TinkerGraphComputer.class);
+    }
+
+    @Test
+    public void whenReadingWhileAnotherThreadWrites_ReadsSeeConsistentElements() throws Exception {
+        Vertex hub = graph.addVertex("hub");
+        hub.property(KEY, "hub");
+        int writes = 10_000;
+
+        ExecutorService writer = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> written = writer.submit(() -> {
+                for (int i = 0; i < writes; i++) hub.addEdge("link", graph.addVertex("leaf"));
+            });
+            while (!written.isDone()) {
+                assertEquals("hub", hub.label());
+                assertEquals("hub", hub.value(KEY));
+                hub.vertices(Direction.OUT, "link").forEachRemaining(leaf -> assertEquals("leaf", leaf.label()));
+            }
+            written.get();
+        } finally {
+            writer.shutdownNow();
+        }
+
+        assertEquals(writes, IteratorUtils.count(hub.edges(Direction.OUT, "link")));
+    }
+}
@@ -29,6 +29,7 @@ import ai.grakn.graph.internal.concept.EntityTypeImpl;
 import ai.grakn.graph.internal.structure.EdgeElement;
 import ai.grakn.util.Schema;
 import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.junit.Test;
 
 import java.util.HashSet;
@@ -40,6 +41,7 @@ import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsNot.not;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 
@@ -92,6 +94,15 @@ public class ConceptTest extends GraphTestBase {
         subs.forEach(edge -> assertEquals(entityType3, graknGraph.factory().buildConcept(edge.source())));
     }
 
+    @Test
+    public void whenBuildingAConceptFromItsVertexAgain_ReturnTheConceptCachedByTheTransaction(){
+        Entity entity = graknGraph.putEntityType("Test").addEntity();
+        Vertex vertex = ((EntityImpl) entity).vertex().element();
+
+        assertSame(entity, graknGraph.buildConcept(vertex));
+        assertSame(entity, graknGraph.buildConcept(vertex));
+    }
+
     @Test
     public void whenCastingToCorrectType_ReturnCorrectType(){
         Concept concept = graknGraph.putEntityType("Test");
@@ -187,7 +187,7 @@ public class RelationTest extends GraphTestBase {
             itemIdentifier = itemIdentifier + "_" + entry.getKey().getId();
             if(entry.getValue() != null) itemIdentifier += "_" + entry.getValue().getId();
         }
-        return itemIdentifier;
+        return Schema.generateIndexDigest(itemIdentifier);
     }
 
     @Test
@@ -208,6 +208,32 @@ public class RelationTest extends GraphTestBase {
         graknGraph.commit();
     }
 
+    @Test
+    public void whenAddingRelationWhichDuplicatesACommittedRelation_Throw() throws InvalidGraphException {
+        Role role1 = graknGraph.putRole("role type 1");
+        Role role2 = graknGraph.putRole("role type 2");
+        EntityType type = graknGraph.putEntityType("concept type").plays(role1).plays(role2);
+        RelationType relationType = graknGraph.putRelationType("My relation type").relates(role1).relates(role2);
+        Thing thing1 = type.addEntity();
+        Thing thing2 = type.addEntity();
+        Thing thing3 = type.addEntity();
+
+        relationType.addRelation().addRolePlayer(role1, thing1).addRolePlayer(role2, thing2);
+        graknGraph.commit();
+        graknGraph = (AbstractGraknGraph<?>) Grakn.session(Grakn.IN_MEMORY, graknGraph.getKeyspace()).open(GraknTxType.WRITE);
+
+        role1 = graknGraph.getRole("role type 1");
+        role2 = graknGraph.getRole("role type 2");
+        relationType = graknGraph.getRelationType("My relation type");
+        relationType.addRelation().addRolePlayer(role1, graknGraph.getConcept(thing1.getId())).addRolePlayer(role2, graknGraph.getConcept(thing3.getId()));
+        relationType.addRelation().addRolePlayer(role1, graknGraph.getConcept(thing1.getId())).addRolePlayer(role2, graknGraph.getConcept(thing2.getId()));
+
+        expectedException.expect(InvalidGraphException.class);
+        expectedException.expectMessage(containsString("You have created one or more relations"));
+
+        graknGraph.commit();
+    }
+
     @Test
     public void ensureRelationToStringContainsRolePlayerInformation(){
         Role role1 = graknGraph.putRole("role type 1");
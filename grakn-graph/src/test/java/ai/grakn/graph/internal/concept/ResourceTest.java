@@ -29,8 +29,10 @@ import ai.grakn.concept.Thing;
 import ai.grakn.exception.GraphOperationException;
 import ai.grakn.exception.InvalidGraphException;
 import ai.grakn.graph.internal.GraphTestBase;
+import ai.grakn.graph.internal.structure.EdgeElement;
 import ai.grakn.util.Schema;
 import com.google.common.collect.Iterables;
+import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.junit.Test;
 
 import java.time.LocalDateTime;
@@ -251,4 +253,31 @@ public class ResourceTest extends GraphTestBase {
         assertThat(resource.relations().collect(toSet()), containsInAnyOrder(rel1, rel2));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void whenAttachingAShardedResource_EnsureOwnersAreAttachedToTheShardAndReadThroughTheResource(){
+        ResourceType<String> resourceType = graknGraph.putResourceType("Popular Resource", ResourceType.DataType.STRING);
+        Resource<String> resource = resourceType.putResource("Popular");
+
+        EntityType entityType = graknGraph.putEntityType("Fan").resource(resourceType);
+        Entity e1 = entityType.addEntity();
+        Entity e2 = entityType.addEntity();
+
+        e1.resource(resource);
+        ResourceImpl<?> resourceImpl = ResourceImpl.from(resource);
+        resourceImpl.createShard();
+        e2.resource(resource);
+        e2.resource(resource);
+
+        //The new owner is attached to the shard only once
+        Set<EdgeElement> edges = ((ThingImpl<?, ?>) e2).resourceEdges(Direction.OUT).collect(toSet());
+        assertEquals(resourceImpl.currentShard().vertex(), Iterables.getOnlyElement(edges).target());
+
+        //The shard is read as the resource
+        assertThat(resource.ownerInstances().collect(toSet()), containsInAnyOrder(e1, e2));
+        assertThat(e2.resources().collect(toSet()), containsInAnyOrder(resource));
+        Relation relation = Iterables.getOnlyElement(e2.relations().collect(toSet()));
+        assertThat(relation.rolePlayers().collect(toSet()), containsInAnyOrder(e2, resource));
+        assertEquals(2, resource.relations().count());
+    }
+
+}
@@ -91,4 +91,16 @@ public class CastingTest extends GraphTestBase {
         assertThat(things, containsInAnyOrder(e1, e3));
         assertThat(roles, containsInAnyOrder(role1, role2, role3));
     }
+
+    @Test
+    public void whenAddingTheSameRolePlayerTwice_EnsureOnlyOneCastingIsCreated(){
+        Entity e1 = entityType.addEntity();
+
+        RelationImpl relation = (RelationImpl) relationType.addRelation().
+                addRolePlayer(role1, e1).addRolePlayer(role1, e1);
+
+        assertEquals(1, relation.reified().get().castingsRelation().count());
+        assertEquals(1, relation.reified().get().castingsRelation(role1).count());
+        assertEquals(0, relation.reified().get().castingsRelation(role2).count());
+    }
 }
@@ -81,6 +81,7 @@ import static ai.grakn.util.REST.RemoteShell.KEYSPACE;
 import static ai.grakn.util.REST.RemoteShell.MATERIALISE;
 import static ai.grakn.util.REST.RemoteShell.OUTPUT_FORMAT;
 import static ai.grakn.util.REST.RemoteShell.PASSWORD;
+import static ai.grakn.util.REST.RemoteShell.PROFILE;
 import static ai.grakn.util.REST.RemoteShell.QUERY;
 import static ai.grakn.util.REST.RemoteShell.QUERY_RESULT;
 import static ai.grakn.util.REST.RemoteShell.TYPES;
@@ -177,6 +178,7 @@ public class GraqlShell {
         options.addOption("p", "pass", true, "password to sign in");
         options.addOption("n", "infer", false, "perform inference on results");
         options.addOption("m", "materialise", false, "materialise inferred results");
+        options.addOption(null, "profile", false, "print a resolution profile after the results of each query");
         options.addOption("h", "help", false, "print usage message");
         options.addOption("v", "version", false, "print version");
 
@@ -227,6 +229,7 @@ public class GraqlShell {
 
         boolean infer = cmd.hasOption("n");
         boolean materialise = cmd.hasOption("m");
+        boolean profile = cmd.hasOption("profile");
 
         if (cmd.hasOption("b")) {
             try {
@@ -263,7 +266,7 @@ public class GraqlShell {
 
             new GraqlShell(
                     historyFilename, keyspace, username, password, client, uri, queries, outputFormat,
-                    infer, materialise
+                    infer, materialise, profile
             );
         } catch (java.net.ConnectException e) {
             System.err.println(ErrorMessage.COULD_NOT_CONNECT.getMessage());
@@ -326,7 +329,7 @@ public class GraqlShell {
     GraqlShell(
             String historyFilename, String keyspace, Optional<String> username, Optional<String> password,
             GraqlClient client, URI uri, Optional<List<String>> queryStrings, String outputFormat,
-            boolean infer, boolean materialise
+            boolean infer, boolean materialise, boolean profile
     ) throws Throwable {
 
         this.historyFilename = historyFilename;
@@ -341,7 +344,8 @@ public class GraqlShell {
                     KEYSPACE, keyspace,
                     OUTPUT_FORMAT, outputFormat,
                     INFER, infer,
-                    MATERIALISE, materialise
+                    MATERIALISE, materialise,
+                    PROFILE, profile
             );
             username.ifPresent(u -> initJson.set(USERNAME, u));
             password.ifPresent(p -> initJson.set(PASSWORD, p));
@@ -20,6 +20,7 @@ package ai.grakn.graql.internal.analytics;
 
 import ai.grakn.exception.GraqlQueryException;
 import ai.grakn.util.Schema;
+import com.google.common.collect.Sets;
 import org.apache.commons.configuration.Configuration;
 import org.apache.tinkerpop.gremlin.process.computer.Memory;
 import org.apache.tinkerpop.gremlin.process.computer.MemoryComputeKey;
@@ -33,6 +34,8 @@ import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import java.util.Collections;
 import java.util.Set;
 
+import static ai.grakn.graql.internal.analytics.Utility.isShard;
+
 /**
  * The vertex program for connected components in a graph.
  * <p>
@@ -46,30 +49,35 @@ public class ConnectedComponentVertexProgram extends GraknVertexProgram<String>
     private static final int MAX_ITERATION = 100;
 
     public static final String CLUSTER_LABEL = "connectedComponentVertexProgram.clusterLabel";
+    private static final String SHARD_LABEL = "connectedComponentVertexProgram.shardLabel";
     private static final String VOTE_TO_HALT = "connectedComponentVertexProgram.voteToHalt";
 
     private static final Set<MemoryComputeKey> MEMORY_COMPUTE_KEYS =
             Collections.singleton(MemoryComputeKey.of(VOTE_TO_HALT, Operator.and, false, true));
 
     private String clusterLabel;
+    private String shardLabel;
 
     public ConnectedComponentVertexProgram() {
     }
 
     public ConnectedComponentVertexProgram(String randomId) {
         clusterLabel = CLUSTER_LABEL + randomId;
+        shardLabel = SHARD_LABEL + randomId;
         this.persistentProperties.put(CLUSTER_LABEL, clusterLabel);
+        this.persistentProperties.put(SHARD_LABEL, shardLabel);
     }
 
     @Override
     public void loadState(final Graph graph, final Configuration configuration) {
         super.loadState(graph, configuration);
         this.clusterLabel = (String) this.persistentProperties.get(CLUSTER_LABEL);
+        this.shardLabel = (String) this.persistentProperties.get(SHARD_LABEL);
     }
 
     @Override
     public Set<VertexComputeKey> getVertexComputeKeys() {
-        return Collections.singleton(VertexComputeKey.of(clusterLabel, false));
+        return Sets.newHashSet(VertexComputeKey.of(clusterLabel, false), VertexComputeKey.of(shardLabel, true));
     }
 
     @Override
@@ -87,6 +95,11 @@ public class ConnectedComponentVertexProgram extends GraknVertexProgram<String>
     public void safeExecute(final Vertex vertex, Messenger<String> messenger, final Memory memory) {
         switch (memory.getIteration()) {
             case 0:
+                // a shard of a resource only relays the labels of its neighbours, so it never names a cluster
+                if (isShard(vertex)) {
+                    vertex.property(shardLabel, "");
+                    break;
+                }
                 String id = vertex.value(Schema.VertexProperty.ID.name());
                 vertex.property(clusterLabel, id);
                 messenger.sendMessage(messageScopeIn, id);
@@ -99,11 +112,12 @@ public class ConnectedComponentVertexProgram extends GraknVertexProgram<String>
     }
 
     private void update(Vertex vertex, Messenger<String> messenger, Memory memory) {
-        String currentMax = vertex.value(clusterLabel);
+        String label = isShard(vertex) ? shardLabel : clusterLabel;
+        String currentMax = vertex.value(label);
         String max = IteratorUtils.reduce(messenger.receiveMessages(), currentMax,
                 (a, b) -> a.compareTo(b) > 0 ? a : b);
         if (max.compareTo(currentMax) > 0) {
-            vertex.property(clusterLabel, max);
+            vertex.property(label, max);
             messenger.sendMessage(messageScopeIn, max);
             messenger.sendMessage(messageScopeOut, max);
             memory.add(VOTE_TO_HALT, false);
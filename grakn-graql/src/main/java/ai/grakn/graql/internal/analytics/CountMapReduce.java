@@ -49,7 +49,9 @@ public class CountMapReduce extends GraknMapReduce<Long> {
             emitter.emit(RESERVED_TYPE_LABEL_KEY,
                     vertex.value((String) persistentProperties.get(CountVertexProgram.EDGE_COUNT)));
         }
-        emitter.emit(vertex.value(Schema.VertexProperty.THING_TYPE_LABEL_ID.name()), 1L);
+        if (!Utility.isShard(vertex)) {
+            emitter.emit(vertex.value(Schema.VertexProperty.THING_TYPE_LABEL_ID.name()), 1L);
+        }
     }
 
     @Override
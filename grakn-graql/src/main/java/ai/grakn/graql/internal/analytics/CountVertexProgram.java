@@ -73,7 +73,8 @@ public class CountVertexProgram extends GraknVertexProgram<Long> {
     public void safeExecute(final Vertex vertex, Messenger<Long> messenger, final Memory memory) {
         switch (memory.getIteration()) {
             case 0:
-                messenger.sendMessage(messageScopeOut, 1L);
+                // the only out edge of a shard leads to its resource, which it is not related to
+                if (!Utility.isShard(vertex)) messenger.sendMessage(messageScopeOut, 1L);
                 break;
             case 1:
                 if (messenger.receiveMessages().hasNext()) {
@@ -22,9 +22,11 @@ import ai.grakn.concept.LabelId;
 import ai.grakn.util.CommonUtil;
 import org.apache.commons.configuration.Configuration;
 import org.apache.tinkerpop.gremlin.process.computer.Memory;
+import org.apache.tinkerpop.gremlin.process.computer.MemoryComputeKey;
 import org.apache.tinkerpop.gremlin.process.computer.MessageScope;
 import org.apache.tinkerpop.gremlin.process.computer.Messenger;
 import org.apache.tinkerpop.gremlin.process.computer.VertexComputeKey;
+import org.apache.tinkerpop.gremlin.process.traversal.Operator;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 
@@ -32,6 +34,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 
+import static ai.grakn.graql.internal.analytics.Utility.isShard;
 import static ai.grakn.graql.internal.analytics.Utility.vertexHasSelectedTypeId;
 
 /**
@@ -47,6 +50,10 @@ public class DegreeVertexProgram extends GraknVertexProgram<Long> {
     // element key
     public static final String DEGREE = "degreeVertexProgram.degree";
     private static final String OF_LABELS = "degreeVertexProgram.ofLabelIds";
+    private static final String SHARDED = "degreeVertexProgram.sharded";
+
+    private static final Set<MemoryComputeKey> MEMORY_COMPUTE_KEYS =
+            Collections.singleton(MemoryComputeKey.of(SHARDED, Operator.or, false, true));
 
     Set<LabelId> ofLabelIds = new HashSet<>();
 
@@ -85,9 +92,26 @@ public class DegreeVertexProgram extends GraknVertexProgram<Long> {
         return Collections.singleton(VertexComputeKey.of(degreePropertyKey, false));
     }
 
+    @Override
+    public Set<MemoryComputeKey> getMemoryComputeKeys() {
+        return MEMORY_COMPUTE_KEYS;
+    }
+
+    @Override
+    public void setup(final Memory memory) {
+        memory.set(SHARDED, false);
+    }
+
     @Override
     public Set<MessageScope> getMessageScopes(final Memory memory) {
-        return memory.isInitialIteration() ? messageScopeSetShortcut : Collections.emptySet();
+        switch (memory.getIteration()) {
+            case 0:
+                return messageScopeSetRelation;
+            case 1:
+                return Collections.singleton(messageScopeShardOut);
+            default:
+                return Collections.emptySet();
+        }
     }
 
     @Override
@@ -97,7 +121,14 @@ public class DegreeVertexProgram extends GraknVertexProgram<Long> {
                 degreeMessagePassing(messenger);
                 break;
             case 1:
-                degreeMessageCounting(messenger, vertex);
+                if (isShard(vertex)) {
+                    degreeMessageForwarding(messenger, memory);
+                } else {
+                    degreeMessageCounting(messenger, vertex);
+                }
+                break;
+            case 2:
+                degreeMessageCountingFromShards(messenger, vertex);
                 break;
             default:
                 throw CommonUtil.unreachableStatement("Exceeded expected maximum number of iterations");
@@ -107,12 +138,13 @@ public class DegreeVertexProgram extends GraknVertexProgram<Long> {
     @Override
     public boolean terminate(final Memory memory) {
         LOGGER.debug("Finished Degree Iteration " + memory.getIteration());
-        return memory.getIteration() == 1;
+        // the resources only need to be counted again if some of their owners are attached to their shards
+        return memory.getIteration() == 2 || (memory.getIteration() == 1 && !memory.<Boolean>get(SHARDED));
     }
 
     private void degreeMessagePassing(Messenger<Long> messenger) {
-        messenger.sendMessage(messageScopeIn, 1L);
-        messenger.sendMessage(messageScopeOut, 1L);
+        messenger.sendMessage(messageScopeRelationIn, 1L);
+        messenger.sendMessage(messageScopeRelationOut, 1L);
     }
 
     private void degreeMessageCounting(Messenger<Long> messenger, Vertex vertex) {
@@ -120,4 +152,17 @@ public class DegreeVertexProgram extends GraknVertexProgram<Long> {
             vertex.property(degreePropertyKey, getMessageCount(messenger));
         }
     }
+
+    private void degreeMessageForwarding(Messenger<Long> messenger, Memory memory) {
+        if (messenger.receiveMessages().hasNext()) {
+            messenger.sendMessage(messageScopeShardOut, getMessageCount(messenger));
+            memory.add(SHARDED, true);
+        }
+    }
+
+    private void degreeMessageCountingFromShards(Messenger<Long> messenger, Vertex vertex) {
+        if (vertex.property(degreePropertyKey).isPresent() && messenger.receiveMessages().hasNext()) {
+            vertex.property(degreePropertyKey, vertex.<Long>value(degreePropertyKey) + getMessageCount(messenger));
+        }
+    }
 }
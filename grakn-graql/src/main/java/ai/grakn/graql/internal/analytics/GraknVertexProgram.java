@@ -19,6 +19,7 @@
 package ai.grakn.graql.internal.analytics;
 
 import ai.grakn.util.CommonUtil;
+import ai.grakn.util.Schema;
 import com.google.common.collect.Sets;
 import org.apache.commons.configuration.Configuration;
 import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
@@ -52,6 +53,18 @@ public abstract class GraknVertexProgram<T> extends CommonOLAP implements Vertex
     static final Set<MessageScope> messageScopeSetShortcut =
             Sets.newHashSet(messageScopeIn, messageScopeOut);
 
+    // the edges of relations, leaving out the edges from shards to the resources they belong to
+    static final MessageScope.Local<?> messageScopeRelationIn = MessageScope.Local.of(() ->
+            __.inE(Schema.EdgeLabel.SHORTCUT.getLabel(), Schema.EdgeLabel.RESOURCE.getLabel()));
+    static final MessageScope.Local<?> messageScopeRelationOut = MessageScope.Local.of(() ->
+            __.outE(Schema.EdgeLabel.SHORTCUT.getLabel(), Schema.EdgeLabel.RESOURCE.getLabel()));
+    static final Set<MessageScope> messageScopeSetRelation =
+            Sets.newHashSet(messageScopeRelationIn, messageScopeRelationOut);
+
+    // from a shard to the resource it belongs to
+    static final MessageScope.Local<?> messageScopeShardOut = MessageScope.Local.of(() ->
+            __.outE(Schema.EdgeLabel.SHARD.getLabel()));
+
     @Override
     public Set<MessageScope> getMessageScopes(final Memory memory) {
         return messageScopeSetShortcut;
@@ -40,29 +40,39 @@ import java.util.Set;
 public class Utility {
     /**
      * The Grakn type property on a given Tinkerpop vertex.
-     * If the vertex is an ontology element, return invalid type.
+     * If the vertex is an ontology element or a shard, return invalid type.
      *
      * @param vertex the Tinkerpop vertex
      * @return the type
      */
     static LabelId getVertexTypeId(Vertex vertex) {
-        if (vertex.property(Schema.VertexProperty.THING_TYPE_LABEL_ID.name()).isPresent()) {
+        if (!isShard(vertex) && vertex.property(Schema.VertexProperty.THING_TYPE_LABEL_ID.name()).isPresent()) {
             return LabelId.of(vertex.value(Schema.VertexProperty.THING_TYPE_LABEL_ID.name()));
         }
         return LabelId.invalid();
     }
 
     static boolean vertexHasSelectedTypeId(Vertex vertex, Set<LabelId> selectedTypeIds) {
-        return vertex.property(Schema.VertexProperty.THING_TYPE_LABEL_ID.name()).isPresent() &&
+        return !isShard(vertex) && vertex.property(Schema.VertexProperty.THING_TYPE_LABEL_ID.name()).isPresent() &&
                 selectedTypeIds.contains(LabelId.of(vertex.value(Schema.VertexProperty.THING_TYPE_LABEL_ID.name())));
     }
 
     static boolean vertexHasSelectedTypeId(Vertex vertex, Set<LabelId> selectedTypeId1, Set<LabelId> selectedTypeId2) {
-        return vertex.property(Schema.VertexProperty.THING_TYPE_LABEL_ID.name()).isPresent() &&
+        return !isShard(vertex) && vertex.property(Schema.VertexProperty.THING_TYPE_LABEL_ID.name()).isPresent() &&
                 selectedTypeId1.contains(LabelId.of(vertex.value(Schema.VertexProperty.THING_TYPE_LABEL_ID.name()))) &&
                 selectedTypeId2.contains(LabelId.of(vertex.value(Schema.VertexProperty.THING_TYPE_LABEL_ID.name())));
     }
 
+    /**
+     * Shards of resources take part in computations because the owners of a sharded resource are attached to them.
+     * They carry the type of their resource so that they are kept in its subgraph, but they are never concepts.
+     *
+     * @return if the vertex is a shard
+     */
+    static boolean isShard(Vertex vertex) {
+        return vertex.label().equals(Schema.BaseType.SHARD.name());
+    }
+
     /**
      * The state of the vertex in the database. This may detect ghost nodes and allow them to be excluded from
      * computations. If the vertex is alive it is likely to be a valid Grakn concept.
@@ -46,6 +46,7 @@ import static ai.grakn.graql.internal.gremlin.fragment.Fragments.RELATION_EDGE;
 import static ai.grakn.graql.internal.gremlin.fragment.Fragments.applyTypeLabelsToTraversal;
 import static ai.grakn.graql.internal.gremlin.fragment.Fragments.displayOptionalTypeLabels;
 import static ai.grakn.graql.internal.gremlin.fragment.Fragments.traverseRoleFromShortcutEdge;
+import static ai.grakn.util.Schema.EdgeLabel.SHARD;
 import static ai.grakn.util.Schema.EdgeLabel.SHORTCUT;
 import static ai.grakn.util.Schema.EdgeProperty.RELATION_ROLE_OWNER_LABEL_ID;
 import static ai.grakn.util.Schema.EdgeProperty.RELATION_ROLE_VALUE_LABEL_ID;
@@ -103,7 +104,13 @@ class InShortcutFragment extends AbstractFragment {
     private GraphTraversal<Vertex, Edge> edgeRelationTraversal(
             GraknGraph graph, Direction direction, Schema.EdgeProperty roleProperty) {
 
-        GraphTraversal<Vertex, Edge> edgeTraversal = __.toE(direction, Schema.EdgeLabel.RESOURCE.getLabel());
+        // The owners of a sharded resource are attached to its shards rather than to the resource itself
+        boolean fromShards = direction.equals(Direction.IN) && graph.admin().isShardingResources();
+        GraphTraversal<Vertex, Vertex> rolePlayerTraversal = fromShards ?
+                __.union(__.<Vertex>identity(), __.<Vertex>in(SHARD.getLabel())) : __.identity();
+
+        GraphTraversal<Vertex, Edge> edgeTraversal =
+                rolePlayerTraversal.toE(direction, Schema.EdgeLabel.RESOURCE.getLabel());
 
         // Identify the relation - role-player pair by combining the relation edge and direction into a map
         edgeTraversal.as(RELATION_EDGE).constant(direction).as(RELATION_DIRECTION);
@@ -46,6 +46,7 @@ import static ai.grakn.graql.internal.gremlin.fragment.Fragments.RELATION_EDGE;
 import static ai.grakn.graql.internal.gremlin.fragment.Fragments.applyTypeLabelsToTraversal;
 import static ai.grakn.graql.internal.gremlin.fragment.Fragments.displayOptionalTypeLabels;
 import static ai.grakn.graql.internal.gremlin.fragment.Fragments.traverseRoleFromShortcutEdge;
+import static ai.grakn.util.Schema.EdgeLabel.SHARD;
 import static ai.grakn.util.Schema.EdgeLabel.SHORTCUT;
 import static ai.grakn.util.Schema.EdgeProperty.RELATION_ROLE_OWNER_LABEL_ID;
 import static ai.grakn.util.Schema.EdgeProperty.RELATION_ROLE_VALUE_LABEL_ID;
@@ -117,7 +118,14 @@ class OutShortcutFragment extends AbstractFragment {
         edgeTraversal.as(RELATION_EDGE).constant(direction).as(RELATION_DIRECTION);
         edgeTraversal.select(Pop.last, RELATION_EDGE, RELATION_DIRECTION).as(edge.getValue()).select(RELATION_EDGE);
 
-        return edgeTraversal.toV(direction);
+        GraphTraversal<Element, Vertex> rolePlayerTraversal = edgeTraversal.toV(direction);
+
+        // The owners of a sharded resource are attached to one of its shards, which stands in for the resource
+        if (direction.equals(Direction.IN) && graph.admin().isShardingResources()) {
+            rolePlayerTraversal.coalesce(__.out(SHARD.getLabel()), __.<Vertex>identity());
+        }
+
+        return rolePlayerTraversal;
     }
 
     @Override
@@ -24,25 +24,35 @@ import ai.grakn.concept.Label;
 import ai.grakn.graql.Var;
 import ai.grakn.graql.admin.VarProperty;
 import ai.grakn.util.Schema;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.structure.Element;
 
 import static ai.grakn.util.Schema.VertexProperty.INDEX;
 
+/**
+ * Looks up a resource by its index. Resources are indexed by a digest of their type and value, or by their full key
+ * in keyspaces which have not been reindexed yet, so both are looked up. As different keys can share a digest, the
+ * value of the resource is still checked after the lookup.
+ *
+ * @author Felix Chapman
+ */
 class ResourceIndexFragment extends AbstractFragment {
 
     private final String resourceIndex;
+    private final String legacyResourceIndex;
 
     ResourceIndexFragment(VarProperty varProperty, Var start, Label label, Object value) {
         super(varProperty, start);
-        this.resourceIndex = Schema.generateResourceIndex(label, value.toString());
+        this.legacyResourceIndex = Schema.generateLegacyResourceIndex(label, value.toString());
+        this.resourceIndex = Schema.generateIndexDigest(legacyResourceIndex);
     }
 
     @Override
     public GraphTraversal<Element, ? extends Element> applyTraversal(
             GraphTraversal<Element, ? extends Element> traversal, GraknGraph graph) {
 
-        return traversal.has(INDEX.name(), resourceIndex);
+        return traversal.has(INDEX.name(), P.within(resourceIndex, legacyResourceIndex));
     }
 
     @Override
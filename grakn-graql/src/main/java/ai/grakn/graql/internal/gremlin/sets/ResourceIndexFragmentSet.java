@@ -41,9 +41,9 @@ import static ai.grakn.graql.internal.gremlin.sets.EquivalentFragmentSets.hasDir
  * 3. The {@link LabelFragmentSet} refers to a type in the graph without direct sub-types.
  * 4. The {@link ValueFragmentSet} is an equality predicate referring to a literal value.
  * <p>
- * When all these criteria are met, the fragments representing the {@link IsaFragmentSet} and the
- * {@link ValueFragmentSet} can be replaced with a {@link ResourceIndexFragmentSet} that will use the resource index to
- * perform a unique lookup in constant time.
+ * When all these criteria are met, the fragments representing the {@link IsaFragmentSet} can be replaced with a
+ * {@link ResourceIndexFragmentSet} that will use the resource index to perform a lookup in constant time. The
+ * {@link ValueFragmentSet} is kept to filter out resources which only share the digest of the index.
  *
  * @author Felix Chapman
  */
@@ -84,8 +84,7 @@ class ResourceIndexFragmentSet extends EquivalentFragmentSet {
             Collection<EquivalentFragmentSet> fragmentSets, ValueFragmentSet valueSet, IsaFragmentSet isaSet,
             Label label
     ) {
-        // Remove fragment sets we are going to replace
-        fragmentSets.remove(valueSet);
+        // Remove the fragment set we are going to replace, the value set remains as a filter after the lookup
         fragmentSets.remove(isaSet);
 
         // Add a new fragment set to replace the old ones
@@ -42,7 +42,8 @@ class AskQueryImpl implements AskQueryAdmin {
 
     @Override
     public Boolean execute() {
-        return matchQuery.iterator().hasNext();
+        //a single answer is enough, so that resolution of inferred answers stops at the first one
+        return matchQuery.limit(1).iterator().hasNext();
     }
 
     @Override
@@ -26,13 +26,10 @@ import ai.grakn.graql.admin.Answer;
 import ai.grakn.graql.admin.AnswerExplanation;
 import ai.grakn.graql.admin.Unifier;
 import ai.grakn.graql.internal.reasoner.explanation.Explanation;
-import com.google.common.collect.HashMultimap;
-import com.google.common.collect.Multimap;
 import com.google.common.collect.Sets;
 
 import java.util.Collection;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.BiConsumer;
@@ -45,22 +42,37 @@ import java.util.stream.Stream;
  * Wrapper for a query result class {@link Answer}.
  * </p>
  *
+ * <p>
+ * The bindings are kept in a {@link VarConceptMap}, which copies share until they are modified,
+ * and the explanation is only allocated once it is asked for or set.
+ * </p>
+ *
  * @author Kasper Piskorski
  *
  */
 public class QueryAnswer implements Answer {
 
-    private final Map<Var, Concept> map = new HashMap<>();
-    private AnswerExplanation explanation = new Explanation();
+    private final VarConceptMap map;
+    private AnswerExplanation explanation = null;
 
-    public QueryAnswer(){}
+    public QueryAnswer(){
+        map = new VarConceptMap();
+    }
 
     public QueryAnswer(Answer a){
-        map.putAll(a.map());
-        explanation = a.getExplanation();
+        if (a instanceof QueryAnswer) {
+            QueryAnswer answer = (QueryAnswer) a;
+            map = new VarConceptMap(answer.map);
+            explanation = answer.explanation;
+        } else {
+            map = new VarConceptMap();
+            map.putAll(a.map());
+            explanation = a.getExplanation();
+        }
     }
 
     public QueryAnswer(Map<Var, Concept> m){
+        map = new VarConceptMap();
         map.putAll(m);
     }
 
@@ -115,7 +127,13 @@ public class QueryAnswer implements Answer {
     public Map<Var, Concept> map(){ return map;}
 
     @Override
-    public void putAll(Answer a){ map.putAll(a.map());}
+    public void putAll(Answer a){
+        if (a instanceof QueryAnswer) {
+            ((QueryAnswer) a).map.forEach(map::put);
+        } else {
+            map.putAll(a.map());
+        }
+    }
 
     @Override
     public void putAll(Map<Var, Concept> m2){ map.putAll(m2);}
@@ -142,12 +160,12 @@ public class QueryAnswer implements Answer {
         if(a2.isEmpty()) return this;
         if(this.isEmpty()) return a2;
 
-        AnswerExplanation exp = this.getExplanation();
-        Answer merged = new QueryAnswer(a2);
+        AnswerExplanation exp = this.explanation;
+        QueryAnswer merged = new QueryAnswer(a2);
         merged.putAll(this);
 
         if(mergeExplanation) {
-            exp = exp.merge(a2.getExplanation());
+            exp = this.getExplanation().merge(a2.getExplanation());
             if(!this.getExplanation().isJoinExplanation()) exp.addAnswer(this);
             if(!a2.getExplanation().isJoinExplanation()) exp.addAnswer(a2);
         }
@@ -160,9 +178,9 @@ public class QueryAnswer implements Answer {
 
     @Override
     public Answer explain(AnswerExplanation exp){
-        Set<Answer> answers = explanation.getAnswers();
+        AnswerExplanation previous = explanation;
         explanation = exp;
-        answers.forEach(explanation::addAnswer);
+        if (previous != null) previous.getAnswers().forEach(explanation::addAnswer);
         return this;
     }
 
@@ -172,31 +190,42 @@ public class QueryAnswer implements Answer {
         Set<Var> varsToRemove = Sets.difference(this.keySet(), vars);
         varsToRemove.forEach(filteredAnswer::remove);
 
-        return filteredAnswer.setExplanation(this.getExplanation());
+        return filteredAnswer.setExplanation(this.explanation);
     }
 
     @Override
     public Answer unify(Unifier unifier){
         if (unifier.isEmpty()) return this;
-        Answer unified = new QueryAnswer();
-        Multimap<Var, Concept> answerMultimap = HashMultimap.create();
-
-        this.entrySet()
-                .forEach(e -> {
-                    Var var = e.getKey();
-                    Collection<Var> uvars = unifier.get(var);
-                    if (uvars.isEmpty() && !unifier.values().contains(var)) {
-                        answerMultimap.put(var, e.getValue());
-                    } else {
-                        uvars.forEach(uv -> answerMultimap.put(uv, e.getValue()));
-                    }
-                });
-        //non-ambiguous mapping
-        if ( answerMultimap.keySet().size() == answerMultimap.values().size()) {
-            answerMultimap.entries().forEach(e -> unified.put(e.getKey(), e.getValue()));
+        QueryAnswer unified = new QueryAnswer();
+        Collection<Var> unifierValues = unifier.values();
+
+        for (Map.Entry<Var, Concept> e : this.entrySet()) {
+            Var var = e.getKey();
+            Concept concept = e.getValue();
+            Collection<Var> uvars = unifier.get(var);
+            if (uvars.isEmpty() && !unifierValues.contains(var)) {
+                if (!unified.bind(var, concept)) return new QueryAnswer().setExplanation(this.explanation);
+            } else {
+                for (Var uv : uvars) {
+                    //ambiguous mapping
+                    if (!unified.bind(uv, concept)) return new QueryAnswer().setExplanation(this.explanation);
+                }
+            }
         }
 
-        return unified.setExplanation(this.getExplanation());
+        return unified.setExplanation(this.explanation);
+    }
+
+    /**
+     * @return false if the variable is already bound to a different concept
+     */
+    private boolean bind(Var var, Concept concept){
+        Concept bound = map.get(var);
+        if (bound == null) {
+            map.put(var, concept);
+            return true;
+        }
+        return bound.equals(concept);
     }
 
     @Override
@@ -206,7 +235,10 @@ public class QueryAnswer implements Answer {
     }
 
     @Override
-    public AnswerExplanation getExplanation(){ return explanation;}
+    public AnswerExplanation getExplanation(){
+        if (explanation == null) explanation = new Explanation();
+        return explanation;
+    }
 
     @Override
     public QueryAnswer setExplanation(AnswerExplanation e){
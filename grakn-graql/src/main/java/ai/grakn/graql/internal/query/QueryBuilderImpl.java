@@ -27,6 +27,7 @@ import ai.grakn.graql.MatchQuery;
 import ai.grakn.graql.Pattern;
 import ai.grakn.graql.Query;
 import ai.grakn.graql.QueryBuilder;
+import ai.grakn.graql.QueryProfile;
 import ai.grakn.graql.VarPattern;
 import ai.grakn.graql.admin.Conjunction;
 import ai.grakn.graql.admin.PatternAdmin;
@@ -35,6 +36,8 @@ import ai.grakn.graql.internal.parser.QueryParser;
 import ai.grakn.graql.internal.pattern.Patterns;
 import ai.grakn.graql.internal.query.analytics.ComputeQueryBuilderImpl;
 import ai.grakn.graql.internal.query.match.MatchQueryBase;
+import ai.grakn.graql.internal.reasoner.profile.QueryProfileImpl;
+import ai.grakn.graql.internal.reasoner.profile.ResolutionProfiler;
 import ai.grakn.graql.internal.template.TemplateParser;
 import ai.grakn.graql.internal.util.AdminConverter;
 import ai.grakn.graql.macro.Macro;
@@ -181,6 +184,14 @@ public class QueryBuilderImpl implements QueryBuilder {
         return parseList(templateParser.parseTemplate(template, data));
     }
 
+    @Override
+    public <T> QueryProfile<T> profile(Query<T> query) {
+        Query<T> graphQuery = graph.map(query::withGraph).orElse(query);
+        try (ResolutionProfiler profiler = ResolutionProfiler.start()) {
+            return new QueryProfileImpl<>(graphQuery.execute(), profiler);
+        }
+    }
+
     @Override
     public void registerAggregate(String name, Function<List<Object>, Aggregate> aggregateMethod) {
         queryParser.registerAggregate(name, aggregateMethod);
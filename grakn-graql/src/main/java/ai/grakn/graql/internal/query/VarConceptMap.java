@@ -0,0 +1,219 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ *
+ */
+package ai.grakn.graql.internal.query;
+
+import ai.grakn.concept.Concept;
+import ai.grakn.graql.Var;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ *
+ * <p>
+ * Compact map from variables to concepts backing a {@link QueryAnswer}.
+ * </p>
+ *
+ * <p>
+ * Answers only bind a handful of variables, so the bindings are kept in two parallel arrays and looked up by scanning
+ * them, which avoids the table and the entry objects of a hash map. Copies share the arrays of the original until
+ * either of them is modified, so copying an answer during joins and unification does not copy its bindings.
+ * </p>
+ *
+ * @author Kasper Piskorski
+ *
+ */
+final class VarConceptMap extends AbstractMap<Var, Concept> {
+
+    private static final int INITIAL_CAPACITY = 4;
+    private static final Var[] NO_VARS = new Var[0];
+    private static final Concept[] NO_CONCEPTS = new Concept[0];
+
+    private Var[] vars = NO_VARS;
+    private Concept[] concepts = NO_CONCEPTS;
+    private int size = 0;
+
+    //whether the arrays may be referenced by another map and need to be copied before being modified
+    private boolean shared = false;
+
+    private Set<Entry<Var, Concept>> entrySet = null;
+
+    VarConceptMap(){}
+
+    VarConceptMap(VarConceptMap map){
+        this.vars = map.vars;
+        this.concepts = map.concepts;
+        this.size = map.size;
+        this.shared = true;
+        map.shared = true;
+    }
+
+    private int indexOf(Object var){
+        for (int i = 0; i < size; i++) {
+            if (vars[i].equals(var)) return i;
+        }
+        return -1;
+    }
+
+    private void ensureWritable(int capacity){
+        if (!shared && capacity <= vars.length) return;
+        int length = Math.max(capacity, shared ? vars.length : vars.length + (vars.length >> 1));
+        length = Math.max(length, INITIAL_CAPACITY);
+        vars = Arrays.copyOf(vars, length);
+        concepts = Arrays.copyOf(concepts, length);
+        shared = false;
+    }
+
+    @Override
+    public int size(){ return size;}
+
+    @Override
+    public boolean isEmpty(){ return size == 0;}
+
+    @Override
+    public boolean containsKey(Object var){ return indexOf(var) != -1;}
+
+    @Override
+    public Concept get(Object var){
+        int index = indexOf(var);
+        return index != -1 ? concepts[index] : null;
+    }
+
+    @Override
+    public Concept put(Var var, Concept concept){
+        int index = indexOf(var);
+        if (index != -1) {
+            Concept previous = concepts[index];
+            if (previous == concept) return previous;
+            ensureWritable(size);
+            concepts[index] = concept;
+            return previous;
+        }
+        ensureWritable(size + 1);
+        vars[size] = var;
+        concepts[size] = concept;
+        size++;
+        return null;
+    }
+
+    @Override
+    public void putAll(Map<? extends Var, ? extends Concept> map){
+        map.forEach(this::put);
+    }
+
+    @Override
+    public Concept remove(Object var){
+        int index = indexOf(var);
+        if (index == -1) return null;
+        Concept previous = concepts[index];
+        removeAt(index);
+        return previous;
+    }
+
+    private void removeAt(int index){
+        ensureWritable(size);
+        size--;
+        vars[index] = vars[size];
+        concepts[index] = concepts[size];
+        vars[size] = null;
+        concepts[size] = null;
+    }
+
+    @Override
+    public void clear(){
+        vars = NO_VARS;
+        concepts = NO_CONCEPTS;
+        size = 0;
+        shared = false;
+    }
+
+    @Override
+    public Set<Entry<Var, Concept>> entrySet(){
+        if (entrySet == null) entrySet = new EntrySet();
+        return entrySet;
+    }
+
+    @Override
+    public int hashCode(){
+        int hashCode = 0;
+        for (int i = 0; i < size; i++) {
+            hashCode += vars[i].hashCode() ^ concepts[i].hashCode();
+        }
+        return hashCode;
+    }
+
+    @Override
+    public boolean equals(Object obj){
+        if (obj == this) return true;
+        if (!(obj instanceof VarConceptMap)) return super.equals(obj);
+        VarConceptMap map = (VarConceptMap) obj;
+        if (map.size != size) return false;
+        if (map.vars == vars && map.concepts == concepts) return true;
+        for (int i = 0; i < size; i++) {
+            if (!concepts[i].equals(map.get(vars[i]))) return false;
+        }
+        return true;
+    }
+
+    private class EntrySet extends AbstractSet<Entry<Var, Concept>> {
+
+        @Override
+        public int size(){ return size;}
+
+        @Override
+        public boolean contains(Object obj){
+            if (!(obj instanceof Entry)) return false;
+            Entry<?, ?> entry = (Entry<?, ?>) obj;
+            int index = indexOf(entry.getKey());
+            return index != -1 && concepts[index].equals(entry.getValue());
+        }
+
+        @Override
+        public Iterator<Entry<Var, Concept>> iterator(){
+            return new Iterator<Entry<Var, Concept>>() {
+                private int next = 0;
+                private int last = -1;
+
+                @Override
+                public boolean hasNext(){ return next < size;}
+
+                @Override
+                public Entry<Var, Concept> next(){
+                    if (!hasNext()) throw new NoSuchElementException();
+                    last = next++;
+                    return new SimpleImmutableEntry<>(vars[last], concepts[last]);
+                }
+
+                @Override
+                public void remove(){
+                    if (last == -1) throw new IllegalStateException();
+                    //the last binding is moved into the removed slot, so it has to be visited next
+                    removeAt(last);
+                    next = last;
+                    last = -1;
+                }
+            };
+        }
+    }
+}
@@ -97,7 +97,12 @@ class PathQueryImpl extends AbstractComputeQuery<Optional<List<Concept>>> implem
 
         LOGGER.debug("The path found is: " + path);
         LOGGER.info("ShortestPathVertexProgram is done in " + (System.currentTimeMillis() - startTime) + " ms");
-        return Optional.of(path.stream().map(graph.get()::<Thing>getConcept).collect(Collectors.toList()));
+        // a shard of a resource is read as the resource, which can then be visited twice in a row
+        List<Concept> concepts = new ArrayList<>();
+        path.stream().map(graph.get()::<Thing>getConcept).forEach(concept -> {
+            if (concepts.isEmpty() || !concepts.get(concepts.size() - 1).equals(concept)) concepts.add(concept);
+        });
+        return Optional.of(concepts);
     }
 
     @Override
@@ -33,6 +33,7 @@ import ai.grakn.graql.internal.gremlin.GraqlTraversal;
 import ai.grakn.graql.internal.gremlin.GreedyTraversalPlan;
 import ai.grakn.graql.internal.pattern.property.VarPropertyInternal;
 import ai.grakn.graql.internal.query.QueryAnswer;
+import ai.grakn.graql.internal.reasoner.iterator.FlatMapIterator;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
@@ -40,13 +41,19 @@ import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toSet;
@@ -60,6 +67,9 @@ public class MatchQueryBase extends AbstractMatchQuery {
 
     protected final Logger LOG = LoggerFactory.getLogger(MatchQueryBase.class);
 
+    private static final int MIN_BATCH_SIZE = 16;
+    private static final int MAX_BATCH_SIZE = 1000;
+
     private final Conjunction<PatternAdmin> pattern;
 
     /**
@@ -87,7 +97,8 @@ public class MatchQueryBase extends AbstractMatchQuery {
         LOG.trace(graqlTraversal.toString());
         GraphTraversal<Vertex, Map<String, Element>> traversal = graqlTraversal.getGraphTraversal(graph);
 
-        String[] selectedNames = pattern.commonVarNames().stream().map(Var::getValue).toArray(String[]::new);
+        Var[] vars = pattern.commonVarNames().toArray(new Var[0]);
+        String[] selectedNames = Stream.of(vars).map(Var::getValue).toArray(String[]::new);
 
         // Must provide three arguments in order to pass an array to .select
         // If ordering, select the variable to order by as well
@@ -95,10 +106,24 @@ public class MatchQueryBase extends AbstractMatchQuery {
             traversal.select(selectedNames[0], selectedNames[0], selectedNames);
         }
 
-        return traversal.toStream()
-                .map(elements -> makeResults(graph, elements))
-                .sequential()
-                .map(QueryAnswer::new);
+        return answers(graph.admin(), vars, traversal);
+    }
+
+    /**
+     * @param graph the graph to get results from
+     * @param vars the variables of the answers
+     * @param results the results of the traversal, as maps of vertices and edges where the key is the variable name
+     * @return a lazy stream of answers, which only builds the concepts of the answers which are consumed
+     */
+    static Stream<Answer> answers(GraknAdmin graph, Var[] vars, Iterator<Map<String, Element>> results) {
+        // Results are read in batches so the properties of all their new vertices can be fetched at once.
+        // Unlike Stream.flatMap, the answers of a batch are then only built as they are consumed.
+        Stream<List<Map<String, Element>>> batches =
+                StreamSupport.stream(Spliterators.spliteratorUnknownSize(new ResultBatches(results), Spliterator.ORDERED), false);
+        return FlatMapIterator.flatMap(batches, batch -> {
+            prefetchProperties(graph, batch);
+            return batch.stream().map(elements -> makeAnswer(graph, vars, elements));
+        });
     }
 
     @Override
@@ -142,17 +167,33 @@ public class MatchQueryBase extends AbstractMatchQuery {
 
     /**
      * @param graph the graph to get results from
+     * @param vars the variables of the answer
      * @param elements a map of vertices and edges where the key is the variable name
-     * @return a map of concepts where the key is the variable name
+     * @return an answer with the concepts of the selected variables
      */
-    private Map<Var, Concept> makeResults(GraknGraph graph, Map<String, Element> elements) {
-        return pattern.commonVarNames().stream().collect(Collectors.<Var, Var, Concept>toMap(
-                Function.identity(),
-                name -> buildConcept(graph.admin(), elements.get(name.getValue()))
-        ));
+    private static Answer makeAnswer(GraknAdmin graph, Var[] vars, Map<String, Element> elements) {
+        QueryAnswer answer = new QueryAnswer();
+        for (Var var : vars) {
+            // Concepts shared by many answers are only built once, the graph returns them from its transaction cache
+            answer.put(var, buildConcept(graph, elements.get(var.getValue())));
+        }
+        return answer;
+    }
+
+    /**
+     * Fetch the properties of all the vertices of a batch of results at once
+     */
+    private static void prefetchProperties(GraknAdmin graph, List<Map<String, Element>> batch) {
+        Set<Vertex> vertices = new HashSet<>();
+        for (Map<String, Element> elements : batch) {
+            for (Element element : elements.values()) {
+                if (element instanceof Vertex) vertices.add((Vertex) element);
+            }
+        }
+        if (!vertices.isEmpty()) graph.prefetchProperties(vertices);
     }
 
-    private Concept buildConcept(GraknAdmin graph, Element element) {
+    private static Concept buildConcept(GraknAdmin graph, Element element) {
         if (element instanceof Vertex) {
             return graph.buildConcept((Vertex) element);
         } else {
@@ -160,6 +201,36 @@ public class MatchQueryBase extends AbstractMatchQuery {
         }
     }
 
+    /**
+     * Splits the results of a traversal into batches. The first batch is small so queries which only need a few
+     * results do not read ahead much, then the batches double in size up to {@link #MAX_BATCH_SIZE}.
+     */
+    private static class ResultBatches implements Iterator<List<Map<String, Element>>> {
+        private final Iterator<Map<String, Element>> results;
+        private int batchSize = MIN_BATCH_SIZE;
+
+        ResultBatches(Iterator<Map<String, Element>> results) {
+            this.results = results;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return results.hasNext();
+        }
+
+        @Override
+        public List<Map<String, Element>> next() {
+            if (!hasNext()) throw new NoSuchElementException();
+
+            List<Map<String, Element>> batch = new ArrayList<>(batchSize);
+            while (batch.size() < batchSize && results.hasNext()) {
+                batch.add(results.next());
+            }
+            batchSize = Math.min(batchSize * 2, MAX_BATCH_SIZE);
+            return batch;
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -24,10 +24,10 @@ import ai.grakn.graql.admin.Answer;
 import ai.grakn.graql.admin.Conjunction;
 import ai.grakn.graql.admin.ReasonerQuery;
 import ai.grakn.graql.admin.VarPatternAdmin;
+import ai.grakn.graql.internal.reasoner.iterator.FlatMapIterator;
 import ai.grakn.graql.internal.reasoner.query.ReasonerQueries;
 import ai.grakn.graql.internal.reasoner.utils.ReasonerUtils;
 
-import java.util.Iterator;
 import java.util.Optional;
 import java.util.stream.Stream;
 
@@ -51,16 +51,13 @@ class MatchQueryInfer extends MatchQueryModifier {
 
         if (!ReasonerUtils.hasRules(graph)) return inner.stream(optionalGraph);
 
-        Iterator<Conjunction<VarPatternAdmin>> conjIt = getPattern().getDisjunctiveNormalForm().getPatterns().iterator();
-        Conjunction<VarPatternAdmin> conj = conjIt.next();
-        ReasonerQuery conjQuery = ReasonerQueries.create(conj, graph);
-        Stream<Answer> answerStream = conjQuery.isRuleResolvable()? conjQuery.resolve(materialise) : graph.graql().match(conj).stream();
-        while(conjIt.hasNext()) {
-            conj = conjIt.next();
-            conjQuery = ReasonerQueries.create(conj, graph);
-            Stream<Answer> localStream = conjQuery.isRuleResolvable()? conjQuery.resolve(materialise) : graph.graql().match(conj).stream();
-            answerStream = Stream.concat(answerStream, localStream);
-        }
+        //disjuncts are only resolved once the answers of the previous ones are exhausted,
+        //so that a limit or an ask over the query stops resolution early
+        Stream<Conjunction<VarPatternAdmin>> conjunctions = getPattern().getDisjunctiveNormalForm().getPatterns().stream();
+        Stream<Answer> answerStream = FlatMapIterator.flatMap(conjunctions, conj -> {
+            ReasonerQuery conjQuery = ReasonerQueries.create(conj, graph);
+            return conjQuery.isRuleResolvable()? conjQuery.resolve(materialise) : graph.graql().match(conj).stream();
+        });
         return answerStream.map(result -> result.filterVars(getSelectedNames()));
     }
 
@@ -0,0 +1,278 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graql.internal.reasoner;
+
+import ai.grakn.GraknGraph;
+import ai.grakn.concept.Concept;
+import ai.grakn.concept.ConceptId;
+import ai.grakn.concept.Label;
+import ai.grakn.concept.OntologyConcept;
+import ai.grakn.concept.Relation;
+import ai.grakn.concept.Thing;
+import ai.grakn.graql.Var;
+import ai.grakn.graql.admin.Answer;
+import ai.grakn.graql.internal.query.QueryAnswer;
+import ai.grakn.graql.internal.reasoner.atom.Atom;
+import ai.grakn.graql.internal.reasoner.query.ReasonerQueries;
+import ai.grakn.graql.internal.reasoner.query.ReasonerQueryImpl;
+import ai.grakn.graql.internal.reasoner.rule.CompiledRule;
+import ai.grakn.graql.internal.reasoner.rule.InferenceRule;
+import ai.grakn.graql.internal.reasoner.rule.RuleBase;
+import ai.grakn.graql.internal.reasoner.rule.RuleDependencyGraph;
+import ai.grakn.util.Schema;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Sets;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+
+/**
+ *
+ * <p>
+ * Keeps the materialised inferences of a graph up to date with the instances added and deleted in a transaction.
+ * </p>
+ *
+ * <p>
+ * Maintenance follows the delete and rederive scheme at the granularity of facts. The concepts which shared a fact
+ * with a deleted instance are bound in turn to the variables of the rule body atoms which lost instances, the rest of
+ * the body is evaluated and the inferred relations concluded by the answers are deleted, as they may have lost their
+ * support. The role players of the deleted inferences are propagated in the same way until no more inferences are
+ * deleted. The concepts of the added instances, together with the ones which lost inferences, are then bound to the
+ * rule bodies to insert the new inferences and rederive the deleted ones which are still supported.
+ * </p>
+ *
+ * <p>
+ * Rules are visited by the strata of the rule dependency graph in topological order and every stratum is iterated
+ * to a fixpoint before the strata depending on it. Only inferred relations can be told apart from the instances
+ * they are attached to, so the conclusions of rules with a resource head are inserted but never deleted.
+ * </p>
+ *
+ * <p>
+ * Invoked on commit when the graph is configured to maintain its inferences, after which inferred queries can be
+ * answered with plain lookups.
+ * </p>
+ *
+ * @author Kasper Piskorski
+ *
+ */
+public class InferenceMaintainer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(InferenceMaintainer.class);
+
+    private InferenceMaintainer(){}
+
+    /**
+     * @param graph transaction whose changes the materialised inferences are brought up to date with
+     */
+    public static void maintain(GraknGraph graph){
+        RuleBase ruleBase = RuleBase.of(graph);
+        Set<CompiledRule> rules = ruleBase.getRules(graph);
+        if (rules.isEmpty()) return;
+        RuleDependencyGraph dependencies = ruleBase.getDependencyGraph(graph);
+
+        Set<Thing> added = graph.admin().getAddedInstances();
+        Set<Label> addedTypes = added.stream().map(thing -> thing.type().getLabel()).collect(toSet());
+        Set<Label> deletedTypes = new HashSet<>(graph.admin().getTypesWithDeletedInstances());
+
+        //over-delete the inferences which may have lost their support
+        Set<ConceptId> lost = existing(graph, graph.admin().getConceptsOfDeletedInstances());
+        Set<Label> overDeleted = new HashSet<>();
+        strata(dependencies, deletedTypes, graph).forEach(stratum ->
+                overDelete(graph, rules(stratum, rules, graph), lost, deletedTypes, overDeleted));
+
+        //rederive them together with the inferences the new instances support
+        Set<ConceptId> seeds = new HashSet<>(existing(graph, lost));
+        added.forEach(thing -> {
+            seeds.add(thing.getId());
+            if (thing.isRelation()) thing.asRelation().rolePlayers().map(Concept::getId).forEach(seeds::add);
+        });
+        Set<Label> changed = Sets.union(addedTypes, overDeleted).immutableCopy();
+        Set<Label> derived = new HashSet<>();
+        strata(dependencies, Sets.union(changed, deletedTypes), graph).forEach(stratum ->
+                derive(graph, rules(stratum, rules, graph), seeds, changed, overDeleted, derived));
+
+        LOG.debug("Maintained inferences, inferences of types " + overDeleted + " were deleted and inferences of types " +
+                derived + " were inserted");
+    }
+
+    /**
+     * Deletes the inferred relations concluded by the stratum which may depend on the lost concepts.
+     * @param lost concepts which shared a fact with a deleted instance, extended with the role players of the deleted inferences
+     * @param lostTypes labels of the types which lost instances, extended with the types of the deleted inferences
+     * @param overDeleted labels of the types of the deleted inferences
+     */
+    private static void overDelete(GraknGraph graph, List<MaintainedRule> rules, Set<ConceptId> lost,
+                                   Set<Label> lostTypes, Set<Label> overDeleted){
+        Set<ConceptId> delta = new HashSet<>(lost);
+        while (!delta.isEmpty()) {
+            Set<ConceptId> bound = delta;
+            Set<Relation> unsupported = new HashSet<>();
+            rules.stream().filter(rule -> rule.head.isRelation()).forEach(rule -> {
+                Set<Atom> body = rule.rule.getBody().selectAtoms();
+                body.stream().filter(atom -> isAffected(atom, lostTypes)).forEach(atom -> {
+                    Set<Atom> rest = new HashSet<>(body);
+                    rest.remove(atom);
+                    bindings(graph, userDefinedVars(atom), bound)
+                            .flatMap(binding -> answers(graph, rest, binding))
+                            .map(answer -> answer.filterVars(rule.headVars))
+                            .distinct()
+                            .flatMap(rule::lookup)
+                            .map(answer -> answer.get(rule.head.getVarName()).asRelation())
+                            .filter(Thing::isInferred)
+                            .forEach(unsupported::add);
+                });
+            });
+
+            delta = new HashSet<>();
+            for (Relation relation : unsupported) {
+                relation.rolePlayers().map(Concept::getId).forEach(delta::add);
+                lostTypes.add(relation.type().getLabel());
+                overDeleted.add(relation.type().getLabel());
+                relation.delete();
+            }
+            lost.addAll(delta);
+        }
+    }
+
+    /**
+     * Inserts the missing inferences of the stratum which may depend on the seed concepts.
+     * @param seeds concepts whose facts changed, extended with the role players of the inserted inferences
+     * @param changedTypes labels of the types whose instances changed
+     * @param overDeleted labels of the types of the deleted inferences, which are rederived from their role players
+     * @param derived labels of the types of the inserted inferences
+     */
+    private static void derive(GraknGraph graph, List<MaintainedRule> rules, Set<ConceptId> seeds,
+                               Set<Label> changedTypes, Set<Label> overDeleted, Set<Label> derived){
+        Set<ConceptId> delta = new HashSet<>(seeds);
+        while (!delta.isEmpty()) {
+            Set<ConceptId> newSeeds = new HashSet<>();
+            for (MaintainedRule rule : rules) {
+                Set<Var> vars = rule.rule.getBody().selectAtoms().stream()
+                        .filter(atom -> isAffected(atom, Sets.union(changedTypes, derived)))
+                        .flatMap(atom -> userDefinedVars(atom).stream())
+                        .collect(toSet());
+                if (overDeleted.contains(rule.label)) vars.addAll(rule.headVars);
+
+                List<Answer> conclusions = bindings(graph, vars, delta)
+                        .flatMap(binding -> answers(graph, rule.rule.getBody().selectAtoms(), binding))
+                        .map(answer -> answer.filterVars(rule.headVars))
+                        .distinct()
+                        .collect(toList());
+                conclusions.stream()
+                        .filter(answer -> !rule.lookup(answer).findFirst().isPresent())
+                        .forEach(answer -> {
+                            rule.rule.getHead().materialise(answer)
+                                    .flatMap(inserted -> inserted.values().stream())
+                                    .map(Concept::getId)
+                                    .forEach(newSeeds::add);
+                            derived.add(rule.label);
+                        });
+            }
+            newSeeds.removeAll(seeds);
+            seeds.addAll(newSeeds);
+            delta = newSeeds;
+        }
+    }
+
+    /**
+     * @return strata of the concluded types which may depend on the given types, in topological order
+     */
+    private static List<Set<Label>> strata(RuleDependencyGraph dependencies, Set<Label> labels, GraknGraph graph){
+        Set<Label> affected = new HashSet<>(dependencies.getAffectedConclusions(labels, graph));
+        return dependencies.getStrata().stream()
+                .map(stratum -> Sets.intersection(stratum, affected).immutableCopy())
+                .filter(stratum -> !stratum.isEmpty())
+                .collect(toList());
+    }
+
+    private static List<MaintainedRule> rules(Set<Label> stratum, Set<CompiledRule> rules, GraknGraph graph){
+        return rules.stream()
+                .filter(rule -> rule.getHead().getVars().stream().anyMatch(var -> !Sets.intersection(var.getTypeLabels(), stratum).isEmpty()))
+                .map(rule -> new MaintainedRule(new InferenceRule(rule, graph)))
+                .collect(toList());
+    }
+
+    /**
+     * @return true if the instances matching the atom may be among the instances of the given types
+     */
+    private static boolean isAffected(Atom atom, Set<Label> types){
+        OntologyConcept type = atom.getOntologyConcept();
+        if (type == null) return true;
+        return type.subs().map(OntologyConcept::getLabel).anyMatch(label ->
+                types.contains(label) || atom.isResource() && types.contains(Schema.ImplicitType.HAS.getLabel(label)));
+    }
+
+    private static Set<Var> userDefinedVars(Atom atom){
+        return atom.getVarNames().stream().filter(Var::isUserDefinedName).collect(toSet());
+    }
+
+    private static Set<ConceptId> existing(GraknGraph graph, Set<ConceptId> ids){
+        return ids.stream().filter(id -> graph.getConcept(id) != null).collect(toSet());
+    }
+
+    /**
+     * @return substitutions binding one of the variables to one of the concepts
+     */
+    private static Stream<Answer> bindings(GraknGraph graph, Set<Var> vars, Set<ConceptId> ids){
+        List<Concept> concepts = ids.stream().map(graph::<Concept>getConcept).filter(Objects::nonNull).collect(toList());
+        return vars.stream().flatMap(var -> concepts.stream().map(concept -> new QueryAnswer(ImmutableMap.of(var, concept))));
+    }
+
+    /**
+     * @return answers of the conjunction of the atoms which agree with the binding
+     */
+    private static Stream<Answer> answers(GraknGraph graph, Set<Atom> atoms, Answer binding){
+        if (atoms.isEmpty()) return Stream.of(binding);
+        ReasonerQueryImpl query = ReasonerQueries.create(atoms, graph).addSubstitution(binding);
+        return query.getMatchQuery().stream().map(answer -> answer.merge(binding));
+    }
+
+    /**
+     * {@link InferenceRule} together with the user defined form of its head, through which the concluded instances
+     * can be looked up.
+     */
+    private static class MaintainedRule {
+        private final InferenceRule rule;
+        private final Atom head;
+        private final Label label;
+        private final Set<Var> headVars;
+
+        MaintainedRule(InferenceRule rule){
+            this.rule = rule;
+            this.head = rule.getHead().getAtom().rewriteToUserDefined();
+            this.label = rule.getHead().getAtom().getOntologyConcept().getLabel();
+            this.headVars = rule.getHead().getVarNames().stream().filter(Var::isUserDefinedName).collect(toSet());
+        }
+
+        /**
+         * @return the concluded instances matching the answer
+         */
+        Stream<Answer> lookup(Answer answer){
+            return ReasonerQueries.atomic(head).addSubstitution(answer).getMatchQuery().stream();
+        }
+    }
+}
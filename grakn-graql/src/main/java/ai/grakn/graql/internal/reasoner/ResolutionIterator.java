@@ -22,6 +22,7 @@ import ai.grakn.graql.admin.Answer;
 import ai.grakn.graql.internal.query.QueryAnswer;
 import ai.grakn.graql.internal.reasoner.cache.QueryCache;
 import ai.grakn.graql.internal.reasoner.iterator.ReasonerQueryIterator;
+import ai.grakn.graql.internal.reasoner.profile.ResolutionProfiler;
 import ai.grakn.graql.internal.reasoner.query.ReasonerAtomicQuery;
 import ai.grakn.graql.internal.reasoner.query.ReasonerQueryImpl;
 import ai.grakn.graql.internal.reasoner.state.ResolutionState;
@@ -32,6 +33,8 @@ import java.util.HashSet;
 import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.Stack;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  *
@@ -39,6 +42,11 @@ import java.util.Stack;
  * Iterator for query answers maintaining the iterative behaviour of the QSQ scheme.
  * </p>
  *
+ * <p>
+ * Only queries depending on recursive rules are iterated until no new answers are found. Queries over the
+ * non-recursive strata of the rule base are complete after the first pass.
+ * </p>
+ *
  * @author Kasper Piskorski
  *
  */
@@ -48,6 +56,8 @@ public class ResolutionIterator extends ReasonerQueryIterator {
     private long oldAns = 0;
     private final ReasonerQueryImpl query;
     private final Set<Answer> answers = new HashSet<>();
+    private final boolean requiresTabling;
+    private final ResolutionProfiler profiler = ResolutionProfiler.current();
 
     private final QueryCache<ReasonerAtomicQuery> cache = new QueryCache<>();
     private final Stack<ResolutionState> states = new Stack<>();
@@ -58,6 +68,7 @@ public class ResolutionIterator extends ReasonerQueryIterator {
 
     public ResolutionIterator(ReasonerQueryImpl q){
         this.query = q;
+        this.requiresTabling = q.requiresTabling();
         states.push(query.subGoal(new QueryAnswer(), new UnifierImpl(), null, new HashSet<>(), cache));
     }
 
@@ -69,7 +80,7 @@ public class ResolutionIterator extends ReasonerQueryIterator {
                 return state.getSubstitution();
             }
 
-            ResolutionState newState = state.generateSubGoal();
+            ResolutionState newState = profiler != null? profiler.generateSubGoal(state) : state.generateSubGoal();
             if (newState != null) {
                 if (!state.isAnswerState()) states.push(state);
                 states.push(newState);
@@ -78,6 +89,15 @@ public class ResolutionIterator extends ReasonerQueryIterator {
         return null;
     }
 
+    /**
+     * @return stream of distinct answers which is only computed as far as it is consumed
+     */
+    @Override
+    public Stream<Answer> hasStream(){
+        Iterable<Answer> iterable = () -> this;
+        return StreamSupport.stream(iterable.spliterator(), false);
+    }
+
     @Override
     public Answer next(){
         if (nextAnswer == null) throw new NoSuchElementException();
@@ -91,12 +111,14 @@ public class ResolutionIterator extends ReasonerQueryIterator {
      */
     @Override
     public boolean hasNext() {
+        //answers are deduplicated here so that consumers only wait for answers they have not seen yet
         nextAnswer = findNextAnswer();
+        while (nextAnswer != null && answers.contains(nextAnswer)) nextAnswer = findNextAnswer();
         if (nextAnswer != null) return true;
 
-        //iter finished
+        //iter finished, only queries depending on recursive rules need to be iterated to a fixpoint
         long dAns = answers.size() - oldAns;
-        if (dAns != 0 || iter == 0) {
+        if ((dAns != 0 || iter == 0) && requiresTabling) {
             LOG.debug("iter: " + iter + " answers: " + answers.size() + " dAns = " + dAns);
             iter++;
             states.push(query.subGoal(new QueryAnswer(), new UnifierImpl(), null, new HashSet<>(), cache));
@@ -19,7 +19,6 @@ package ai.grakn.graql.internal.reasoner.atom;
 
 import ai.grakn.concept.ConceptId;
 import ai.grakn.concept.OntologyConcept;
-import ai.grakn.concept.Rule;
 import ai.grakn.graql.Var;
 import ai.grakn.graql.admin.Atomic;
 import ai.grakn.graql.admin.ReasonerQuery;
@@ -29,13 +28,14 @@ import ai.grakn.graql.admin.VarProperty;
 import ai.grakn.graql.internal.reasoner.UnifierImpl;
 import ai.grakn.graql.internal.reasoner.atom.predicate.NeqPredicate;
 import ai.grakn.graql.internal.reasoner.ResolutionPlan;
-import ai.grakn.graql.internal.reasoner.utils.ReasonerUtils;
 import ai.grakn.graql.internal.reasoner.atom.binary.TypeAtom;
 import ai.grakn.graql.internal.reasoner.atom.predicate.IdPredicate;
 import ai.grakn.graql.internal.reasoner.atom.predicate.Predicate;
 import ai.grakn.graql.internal.reasoner.atom.predicate.ValuePredicate;
 import ai.grakn.graql.internal.reasoner.query.ReasonerQueryImpl;
+import ai.grakn.graql.internal.reasoner.rule.CompiledRule;
 import ai.grakn.graql.internal.reasoner.rule.InferenceRule;
+import ai.grakn.graql.internal.reasoner.rule.RuleBase;
 import com.google.common.collect.Sets;
 
 import java.util.Collections;
@@ -77,6 +77,14 @@ public abstract class Atom extends AtomicBase {
         return !getApplicableRules().isEmpty();
     }
 
+    /**
+     * @return true if resolving this atom may lead back to itself through the rules, in which case it needs to be
+     * tabled and resolved to a fixpoint, otherwise it is completely resolved in a single pass
+     */
+    public boolean requiresTabling(){
+        return isRuleResolvable() && RuleBase.of(graph()).dependsOnRecursion(graph(), getOntologyConcept());
+    }
+
     @Override
     public boolean isRecursive(){
         if (isResource() || getOntologyConcept() == null) return false;
@@ -151,11 +159,12 @@ public abstract class Atom extends AtomicBase {
     /**
      * @return set of potentially applicable rules - does shallow (fast) check for applicability
      */
-    private Set<Rule> getPotentialRules(){
+    private Set<CompiledRule> getPotentialRules(){
         OntologyConcept ontologyConcept = getOntologyConcept();
+        RuleBase ruleBase = RuleBase.of(graph());
         return ontologyConcept != null ?
-                ontologyConcept.subs().flatMap(OntologyConcept::getRulesOfConclusion).collect(Collectors.toSet()) :
-                ReasonerUtils.getRules(graph());
+                ruleBase.getRulesWithConclusion(graph(), ontologyConcept) :
+                ruleBase.getRules(graph());
     }
 
     /**
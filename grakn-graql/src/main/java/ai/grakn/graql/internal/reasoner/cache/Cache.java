@@ -24,6 +24,8 @@ import ai.grakn.graql.admin.Answer;
 import ai.grakn.graql.admin.ReasonerQuery;
 import ai.grakn.graql.admin.Unifier;
 import ai.grakn.graql.internal.reasoner.iterator.LazyIterator;
+import ai.grakn.graql.internal.reasoner.profile.ResolutionProfile;
+import ai.grakn.graql.internal.reasoner.profile.ResolutionProfiler;
 import javafx.util.Pair;
 
 import java.util.HashMap;
@@ -47,9 +49,20 @@ import java.util.stream.Stream;
  */
 public abstract class Cache<Q extends ReasonerQuery, T extends Iterable<Answer>>{
 
-    protected final Map<Q, Pair<Q, T>> cache = new HashMap<>();
+    //queries are indexed by their equivalence hash, each entry holds the representative of an alpha-equivalence class
+    protected final Map<Q, CacheEntry<Q, T>> cache = new HashMap<>();
 
     public boolean contains(Q query){ return cache.containsKey(query);}
+
+    /**
+     * @param query for which answers are to be retrieved
+     * @return entry of the equivalence class of the query, null if the query is not cached
+     */
+    CacheEntry<Q, T> lookup(Q query){
+        CacheEntry<Q, T> entry = cache.get(query);
+        ResolutionProfiler.recordEvent(entry != null? ResolutionProfile.Event.CACHE_HITS : ResolutionProfile.Event.CACHE_MISSES);
+        return entry;
+    }
     public Set<Q> getQueries(){ return cache.keySet();}
 
     /**
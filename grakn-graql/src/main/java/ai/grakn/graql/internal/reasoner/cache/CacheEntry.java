@@ -0,0 +1,86 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graql.internal.reasoner.cache;
+
+import ai.grakn.graql.admin.Atomic;
+import ai.grakn.graql.admin.ReasonerQuery;
+import ai.grakn.graql.admin.Unifier;
+import com.google.common.collect.ImmutableSet;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ *
+ * <p>
+ * Entry of a {@link Cache} holding the representative query of an alpha-equivalence class together with its answers.
+ * The unifiers between the representative and the queries looked up or recorded against it are memoised per query,
+ * so that repeated operations with queries of the same variables do not recompute them. Queries are equal when they
+ * are alpha-equivalent, so the unifiers are keyed by the atoms of the query, which are only equal for the same
+ * variables.
+ * </p>
+ *
+ * @param <Q> the type of query that is being cached
+ * @param <T> the type of answer being cached
+ *
+ * @author Kasper Piskorski
+ *
+ */
+class CacheEntry<Q extends ReasonerQuery, T> {
+
+    private final Q query;
+    private T answers;
+
+    private final Map<Set<Atomic>, Unifier> unifiersToTargets = new HashMap<>();
+    private final Map<Set<Atomic>, Unifier> unifiersFromSources = new HashMap<>();
+
+    CacheEntry(Q query, T answers){
+        this.query = query;
+        this.answers = answers;
+    }
+
+    /**
+     * @return representative query of this entry
+     */
+    Q query(){ return query;}
+
+    /**
+     * @return answers expressed in terms of the variables of the representative query
+     */
+    T answers(){ return answers;}
+
+    void setAnswers(T answers){ this.answers = answers;}
+
+    /**
+     * @param target query equivalent to the representative query
+     * @return unifier mapping the variables of the representative query to the ones of the target query
+     */
+    Unifier unifierTo(Q target){
+        return unifiersToTargets.computeIfAbsent(ImmutableSet.copyOf(target.getAtoms()), atoms -> query.getUnifier(target));
+    }
+
+    /**
+     * @param source query equivalent to the representative query
+     * @return unifier mapping the variables of the source query to the ones of the representative query
+     */
+    Unifier unifierFrom(Q source){
+        return unifiersFromSources.computeIfAbsent(ImmutableSet.copyOf(source.getAtoms()), atoms -> source.getUnifier(query));
+    }
+}
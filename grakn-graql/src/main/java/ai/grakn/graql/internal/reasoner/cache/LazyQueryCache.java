@@ -25,8 +25,7 @@ import ai.grakn.graql.internal.reasoner.iterator.LazyAnswerIterator;
 import ai.grakn.graql.internal.reasoner.UnifierImpl;
 import javafx.util.Pair;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -49,13 +48,12 @@ public class LazyQueryCache<Q extends ReasonerQuery> extends Cache<Q, LazyAnswer
 
     @Override
     public LazyAnswerIterator record(Q query, LazyAnswerIterator answers) {
-        Pair<Q, LazyAnswerIterator> match =  cache.get(query);
+        CacheEntry<Q, LazyAnswerIterator> match =  cache.get(query);
         if (match != null) {
-            Q equivalentQuery = match.getKey();
-            Stream<Answer> unifiedStream = answers.unify(query.getUnifier(equivalentQuery)).stream();
-            cache.put(match.getKey(), new Pair<>(match.getKey(), match.getValue().merge(unifiedStream)));
+            Stream<Answer> unifiedStream = answers.unify(match.unifierFrom(query)).stream();
+            match.setAnswers(match.answers().merge(unifiedStream));
         } else {
-            cache.put(query, new Pair<>(query, answers));
+            cache.put(query, new CacheEntry<>(query, answers));
         }
         return getAnswerIterator(query);
     }
@@ -72,14 +70,13 @@ public class LazyQueryCache<Q extends ReasonerQuery> extends Cache<Q, LazyAnswer
      */
     @Override
     public LazyAnswerIterator recordRetrieveLazy(Q query, Stream<Answer> answers){
-        Pair<Q, LazyAnswerIterator> match =  cache.get(query);
+        CacheEntry<Q, LazyAnswerIterator> match =  cache.get(query);
         if (match!= null) {
-            Q equivalentQuery = match.getKey();
-            Unifier u = query.getUnifier(equivalentQuery);
+            Unifier u = match.unifierFrom(query);
             Stream<Answer> unifiedStream = answers.map(a -> a.unify(u));
-            cache.put(match.getKey(), new Pair<>(match.getKey(), match.getValue().merge(unifiedStream)));
+            match.setAnswers(match.answers().merge(unifiedStream));
         } else {
-            cache.put(query, new Pair<>(query, new LazyAnswerIterator(answers)));
+            cache.put(query, new CacheEntry<>(query, new LazyAnswerIterator(answers)));
         }
         return getAnswerIterator(query);
     }
@@ -96,11 +93,10 @@ public class LazyQueryCache<Q extends ReasonerQuery> extends Cache<Q, LazyAnswer
 
     @Override
     public Pair<LazyAnswerIterator, Unifier> getAnswersWithUnifier(Q query) {
-        Pair<Q, LazyAnswerIterator> match =  cache.get(query);
+        CacheEntry<Q, LazyAnswerIterator> match =  lookup(query);
         if (match != null) {
-            Q equivalentQuery = match.getKey();
-            Unifier unifier = equivalentQuery.getUnifier(query);
-            LazyAnswerIterator unified = match.getValue().unify(unifier);
+            Unifier unifier = match.unifierTo(query);
+            LazyAnswerIterator unified = match.answers().unify(unifier);
             return new Pair<>(unified, unifier);
         }
         else return new Pair<>(new LazyAnswerIterator(Stream.empty()), new UnifierImpl());
@@ -113,11 +109,10 @@ public class LazyQueryCache<Q extends ReasonerQuery> extends Cache<Q, LazyAnswer
 
     @Override
     public Pair<Stream<Answer>, Unifier> getAnswerStreamWithUnifier(Q query) {
-        Pair<Q, LazyAnswerIterator> match =  cache.get(query);
+        CacheEntry<Q, LazyAnswerIterator> match =  lookup(query);
         if (match != null) {
-            Q equivalentQuery = match.getKey();
-            Unifier unifier = equivalentQuery.getUnifier(query);
-            Stream<Answer> unified = match.getValue().stream().map(a -> a.unify(unifier));
+            Unifier unifier = match.unifierTo(query);
+            Stream<Answer> unified = match.answers().stream().map(a -> a.unify(unifier));
             return new Pair<>(unified, unifier);
         }
         else return new Pair<>(Stream.empty(), new UnifierImpl());
@@ -130,39 +125,35 @@ public class LazyQueryCache<Q extends ReasonerQuery> extends Cache<Q, LazyAnswer
 
     @Override
     public long answerSize(Set<Q> queries){
-        return cache.values().stream()
-                .filter(p -> queries.contains(p.getKey()))
-                .map(v -> v.getValue().size()).mapToLong(Long::longValue).sum();
+        return queries.stream()
+                .map(cache::get)
+                .filter(Objects::nonNull)
+                .mapToLong(e -> e.answers().size())
+                .sum();
     }
 
     @Override
     public void remove(Cache<Q, LazyAnswerIterator> c2, Set<Q> queries) {
-        c2.cache.keySet().stream()
-                .filter(queries::contains)
-                .filter(this::contains)
-                .forEach( q -> {
-                    Pair<Q, LazyAnswerIterator> match = cache.get(q);
-                    Set<Answer> s = match.getValue().stream().collect(Collectors.toSet());
-                    s.removeAll(c2.getAnswerStream(q).collect(Collectors.toSet()));
-                    cache.put(match.getKey(), new Pair<>(match.getKey(), new LazyAnswerIterator(s.stream())));
-                });
+        queries.forEach(q -> {
+            CacheEntry<Q, LazyAnswerIterator> match = cache.get(q);
+            CacheEntry<Q, LazyAnswerIterator> toRemove = match != null? c2.cache.get(q) : null;
+            if (toRemove != null) {
+                Set<Answer> s = match.answers().stream().collect(Collectors.toSet());
+                s.removeAll(toRemove.answers().unify(toRemove.unifierTo(match.query())).stream().collect(Collectors.toSet()));
+                match.setAnswers(new LazyAnswerIterator(s.stream()));
+            }
+        });
     }
 
     /**
      * force stream consumption and reload cache
      */
     public void reload(){
-        Map<Q, Pair<Q, LazyAnswerIterator>> newCache = new HashMap<>();
-        cache.entrySet().forEach(entry ->
-                newCache.put(entry.getKey(), new Pair<>(
-                        entry.getKey(),
-                        new LazyAnswerIterator(entry.getValue().getValue().stream().collect(Collectors.toSet()).stream()))));
-        cache.clear();
-        cache.putAll(newCache);
+        cache.values().forEach(entry ->
+                entry.setAnswers(new LazyAnswerIterator(entry.answers().stream().collect(Collectors.toSet()).stream())));
     }
 
     public void consume() {
-        cache.entrySet().forEach(entry ->
-                entry.getValue().getValue().stream().collect(Collectors.toSet()));
+        cache.values().forEach(entry -> entry.answers().stream().collect(Collectors.toSet()));
     }
 }
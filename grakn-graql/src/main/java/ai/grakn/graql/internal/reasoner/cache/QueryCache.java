@@ -27,6 +27,7 @@ import ai.grakn.graql.internal.reasoner.query.QueryAnswers;
 import ai.grakn.graql.internal.reasoner.UnifierImpl;
 import javafx.util.Pair;
 
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -48,12 +49,12 @@ public class QueryCache<Q extends ReasonerQuery> extends Cache<Q, QueryAnswers>
 
     @Override
     public QueryAnswers record(Q query, QueryAnswers answers) {
-        Q equivalentQuery = contains(query)? cache.get(query).getKey() : null;
-        if (equivalentQuery != null) {
-            QueryAnswers unifiedAnswers = QueryAnswers.getUnifiedAnswers(equivalentQuery, query, answers);
-            cache.get(query).getValue().addAll(unifiedAnswers);
+        CacheEntry<Q, QueryAnswers> match =  cache.get(query);
+        if (match != null) {
+            QueryAnswers unifiedAnswers = match.query() == query? new QueryAnswers(answers) : answers.unify(match.unifierFrom(query));
+            match.answers().addAll(unifiedAnswers);
         } else {
-            cache.put(query, new Pair<>(query, answers));
+            cache.put(query, new CacheEntry<>(query, answers));
         }
         return getAnswers(query);
     }
@@ -61,15 +62,14 @@ public class QueryCache<Q extends ReasonerQuery> extends Cache<Q, QueryAnswers>
     @Override
     public Stream<Answer> record(Q query, Stream<Answer> answerStream) {
         QueryAnswers newAnswers = new QueryAnswers(answerStream.collect(Collectors.toSet()));
-        Pair<Q, QueryAnswers> match =  cache.get(query);
+        CacheEntry<Q, QueryAnswers> match =  cache.get(query);
         if (match != null) {
-            Q equivalentQuery = match.getKey();
-            QueryAnswers answers = match.getValue();
-            QueryAnswers unifiedAnswers = newAnswers.unify(query.getUnifier(equivalentQuery));
+            QueryAnswers answers = match.answers();
+            QueryAnswers unifiedAnswers = newAnswers.unify(match.unifierFrom(query));
             answers.addAll(unifiedAnswers);
             return answers.stream();
         } else {
-            cache.put(query, new Pair<>(query, newAnswers));
+            cache.put(query, new CacheEntry<>(query, newAnswers));
             return newAnswers.stream();
         }
     }
@@ -81,12 +81,12 @@ public class QueryCache<Q extends ReasonerQuery> extends Cache<Q, QueryAnswers>
      * @return found answer if any, otherwise empty answer
      */
     public Answer getAnswer(Q query, Answer answer){
-        Pair<Q, QueryAnswers> match =  cache.get(query);
+        CacheEntry<Q, QueryAnswers> match =  lookup(query);
         if (match != null) {
-            Q equivalentQuery = match.getKey();
-            Unifier unifier = equivalentQuery.getUnifier(query);
-            QueryAnswers answers =  match.getValue().unify(unifier);
-            return answers.stream()
+            Unifier unifier = match.unifierTo(query);
+            return match.answers().stream()
+                    .map(a -> a.unify(unifier))
+                    .filter(a -> !a.isEmpty())
                     .filter(a -> a.containsAll(answer))
                     .findFirst().orElse(new QueryAnswer());
         } else {
@@ -101,14 +101,12 @@ public class QueryCache<Q extends ReasonerQuery> extends Cache<Q, QueryAnswers>
      * @return recorded answer
      */
     public Answer recordAnswer(Q query, Answer answer){
-        Pair<Q, QueryAnswers> match =  cache.get(query);
+        CacheEntry<Q, QueryAnswers> match =  cache.get(query);
         if (match != null) {
-            Q equivalentQuery = match.getKey();
-            QueryAnswers answers = match.getValue();
-            Answer unifiedAnswer = answer.unify(query.getUnifier(equivalentQuery));
-            answers.add(unifiedAnswer);
+            Answer unifiedAnswer = answer.unify(match.unifierFrom(query));
+            match.answers().add(unifiedAnswer);
         } else {
-            cache.put(query, new Pair<>(query, new QueryAnswers(answer)));
+            cache.put(query, new CacheEntry<>(query, new QueryAnswers(answer)));
         }
         return answer;
     }
@@ -121,13 +119,12 @@ public class QueryCache<Q extends ReasonerQuery> extends Cache<Q, QueryAnswers>
      * @return recorded answer
      */
     public Answer recordAnswerWithUnifier(Q query, Answer answer, Unifier unifier){
-        Pair<Q, QueryAnswers> match =  cache.get(query);
+        CacheEntry<Q, QueryAnswers> match =  cache.get(query);
         if (match != null) {
-            QueryAnswers answers = match.getValue();
             Answer unifiedAnswer = answer.unify(unifier);
-            answers.add(unifiedAnswer);
+            match.answers().add(unifiedAnswer);
         } else {
-            cache.put(query, new Pair<>(query, new QueryAnswers(answer)));
+            cache.put(query, new CacheEntry<>(query, new QueryAnswers(answer)));
         }
         return answer;
     }
@@ -144,12 +141,10 @@ public class QueryCache<Q extends ReasonerQuery> extends Cache<Q, QueryAnswers>
 
     @Override
     public Pair<QueryAnswers, Unifier> getAnswersWithUnifier(Q query) {
-        Pair<Q, QueryAnswers> match =  cache.get(query);
+        CacheEntry<Q, QueryAnswers> match =  lookup(query);
         if (match != null) {
-            Q equivalentQuery = match.getKey();
-            QueryAnswers answers = match.getValue();
-            Unifier unifier = equivalentQuery.getUnifier(query);
-            return new Pair<>(answers.unify(unifier), unifier);
+            Unifier unifier = match.unifierTo(query);
+            return new Pair<>(match.answers().unify(unifier), unifier);
         }
         else return new Pair<>(new QueryAnswers(), new UnifierImpl());
     }
@@ -172,16 +167,21 @@ public class QueryCache<Q extends ReasonerQuery> extends Cache<Q, QueryAnswers>
 
     @Override
     public void remove(Cache<Q, QueryAnswers> c2, Set<Q> queries) {
-        c2.cache.keySet().stream()
-                .filter(queries::contains)
-                .filter(this::contains)
-                .forEach( q -> cache.get(q).getValue().removeAll(c2.getAnswers(q)));
+        queries.forEach(q -> {
+            CacheEntry<Q, QueryAnswers> match = cache.get(q);
+            CacheEntry<Q, QueryAnswers> toRemove = match != null? c2.cache.get(q) : null;
+            if (toRemove != null) {
+                match.answers().removeAll(toRemove.answers().unify(toRemove.unifierTo(match.query())));
+            }
+        });
     }
 
     @Override
     public long answerSize(Set<Q> queries) {
-        return cache.values().stream()
-                .filter(p -> queries.contains(p.getKey()))
-                .map(v -> v.getValue().size()).mapToInt(Integer::intValue).sum();
+        return queries.stream()
+                .map(cache::get)
+                .filter(Objects::nonNull)
+                .mapToLong(e -> e.answers().size())
+                .sum();
     }
 }
@@ -0,0 +1,82 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graql.internal.reasoner.iterator;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ *
+ * <p>
+ * Iterator flattening the streams obtained by mapping the elements of an outer iterator.
+ * Both the outer and the inner elements are only pulled when requested, so that consumers
+ * applying a limit or only checking for existence stop the computation as soon as they are done.
+ * This is unlike {@link Stream#flatMap(Function)} which pushes a whole inner stream downstream
+ * even if only its first element is needed.
+ * </p>
+ *
+ * @param <T> the type of the outer elements
+ * @param <R> the type of element that this iterator will iterate over
+ *
+ * @author Kasper Piskorski
+ *
+ */
+public class FlatMapIterator<T, R> implements Iterator<R> {
+
+    private final Iterator<T> outer;
+    private final Function<T, Stream<R>> mapper;
+    private Iterator<R> inner = Collections.emptyIterator();
+
+    public FlatMapIterator(Iterator<T> outer, Function<T, Stream<R>> mapper){
+        this.outer = outer;
+        this.mapper = mapper;
+    }
+
+    /**
+     * lazy equivalent of {@link Stream#flatMap(Function)}
+     * @param stream outer stream
+     * @param mapper function producing the inner stream of an outer element
+     * @return flattened stream
+     */
+    public static <T, R> Stream<R> flatMap(Stream<T> stream, Function<T, Stream<R>> mapper){
+        Iterator<R> iterator = new FlatMapIterator<>(stream.iterator(), mapper);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!inner.hasNext()) {
+            if (!outer.hasNext()) return false;
+            inner = mapper.apply(outer.next()).iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public R next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        return inner.next();
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graql.internal.reasoner.profile;
+
+import ai.grakn.graql.QueryProfile;
+
+import java.util.Map;
+
+/**
+ *
+ * <p>
+ * Result of a query together with the {@link ResolutionProfiler} which was open while the query was executed.
+ * </p>
+ *
+ * @param <T> the type of the result of the query
+ *
+ * @author Kasper Piskorski
+ *
+ */
+public class QueryProfileImpl<T> implements QueryProfile<T> {
+
+    private final T result;
+    private final ResolutionProfiler profiler;
+
+    public QueryProfileImpl(T result, ResolutionProfiler profiler){
+        this.result = result;
+        this.profiler = profiler;
+    }
+
+    @Override
+    public T getResult(){ return result;}
+
+    @Override
+    public Map<String, Long> getTotals(){ return profiler.getTotals();}
+
+    @Override
+    public Map<String, Long> getRuleAnswers(){ return profiler.getRuleAnswers();}
+
+    @Override
+    public Map<String, Long> getStateCounts(){ return profiler.getStateCounts();}
+
+    @Override
+    public Map<String, Long> getStateTimes(){ return profiler.getStateTimes();}
+
+    /**
+     * @return the recorded resolution tree
+     */
+    public ResolutionProfile getProfile(){ return profiler.getProfile();}
+
+    @Override
+    public String toString(){ return profiler.toString();}
+}
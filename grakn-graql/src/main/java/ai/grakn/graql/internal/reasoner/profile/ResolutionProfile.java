@@ -0,0 +1,132 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graql.internal.reasoner.profile;
+
+import mjson.Json;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ *
+ * <p>
+ * Node of the resolution tree recorded by a {@link ResolutionProfiler}.
+ * Nodes correspond to the atomic queries visited during resolution and to the rules applied to them.
+ * Equivalent nodes reached through the same path are aggregated.
+ * </p>
+ *
+ * @author Kasper Piskorski
+ *
+ */
+public class ResolutionProfile {
+
+    /**
+     * Events counted by the profile
+     */
+    public enum Event {
+        /**
+         * resolution states created for a node
+         */
+        SUB_GOALS,
+        /**
+         * answers produced by a node
+         */
+        ANSWERS,
+        /**
+         * lookups of queries in the database
+         */
+        DB_LOOKUPS,
+        /**
+         * lookups of queries answered from a query cache
+         */
+        CACHE_HITS,
+        /**
+         * lookups of queries not found in a query cache
+         */
+        CACHE_MISSES;
+
+        public String getName(){ return name().toLowerCase().replace('_', '-');}
+    }
+
+    private final String label;
+    private final ResolutionProfiler profiler;
+    private final long[] counts = new long[Event.values().length];
+    private long nanos = 0;
+    private final Map<String, ResolutionProfile> children = new LinkedHashMap<>();
+
+    ResolutionProfile(String label, ResolutionProfiler profiler){
+        this.label = label;
+        this.profiler = profiler;
+    }
+
+    /**
+     * @param label label of the child node
+     * @return child node with the given label, created if not yet present
+     */
+    public ResolutionProfile child(String label){
+        return children.computeIfAbsent(label, l -> new ResolutionProfile(l, profiler));
+    }
+
+    /**
+     * count a single occurrence of the event in this node and in the profiler totals
+     * @param event to count
+     */
+    public void record(Event event){
+        counts[event.ordinal()]++;
+        profiler.record(event);
+    }
+
+    void addTime(long nanos){ this.nanos += nanos;}
+
+    public String getLabel(){ return label;}
+    public long getCount(Event event){ return counts[event.ordinal()];}
+
+    /**
+     * @return time spent generating sub goals of this node, excluding time spent in its children
+     */
+    public long getTime(TimeUnit unit){ return unit.convert(nanos, TimeUnit.NANOSECONDS);}
+
+    public Collection<ResolutionProfile> getChildren(){ return Collections.unmodifiableCollection(children.values());}
+
+    public Json toJson(){
+        Json json = Json.object("label", label, "time-ms", getTime(TimeUnit.MILLISECONDS));
+        for (Event event : Event.values()) json.set(event.getName(), getCount(event));
+        Json childArray = Json.array();
+        children.values().forEach(child -> childArray.add(child.toJson()));
+        return json.set("children", childArray);
+    }
+
+    @Override
+    public String toString(){
+        StringBuilder builder = new StringBuilder();
+        print(builder, "");
+        return builder.toString();
+    }
+
+    private void print(StringBuilder builder, String indent){
+        builder.append(indent).append(label)
+                .append(" [sub-goals: ").append(getCount(Event.SUB_GOALS))
+                .append(", answers: ").append(getCount(Event.ANSWERS))
+                .append(", time: ").append(getTime(TimeUnit.MILLISECONDS)).append("ms]\n");
+        children.values().forEach(child -> child.print(builder, indent + "  "));
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graql.internal.reasoner.profile;
+
+import ai.grakn.graql.internal.reasoner.profile.ResolutionProfile.Event;
+import ai.grakn.graql.internal.reasoner.rule.InferenceRule;
+import ai.grakn.graql.internal.reasoner.state.ResolutionState;
+import mjson.Json;
+
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ *
+ * <p>
+ * Collects counts and timings of the resolutions performed by the current thread while it is open:
+ * <pre>
+ *     try (ResolutionProfiler profiler = ResolutionProfiler.start()) {
+ *         graph.graql().infer(true).parse(queryString).execute();
+ *         LOG.info(profiler.toString());
+ *     }
+ * </pre>
+ * When no profiler is open resolution is not instrumented. Outside of Graql, single queries are profiled through
+ * {@link ai.grakn.graql.QueryBuilder#profile(ai.grakn.graql.Query)}.
+ * </p>
+ *
+ * @author Kasper Piskorski
+ *
+ */
+public class ResolutionProfiler implements AutoCloseable {
+
+    private static final ThreadLocal<ResolutionProfiler> ACTIVE = new ThreadLocal<>();
+
+    private final ResolutionProfiler previous;
+    private final ResolutionProfile root = new ResolutionProfile("resolution", this);
+    private final long[] totals = new long[Event.values().length];
+    private final Map<String, Long> ruleAnswers = new TreeMap<>();
+    private final Map<String, Long> stateCounts = new TreeMap<>();
+    private final Map<String, Long> stateNanos = new TreeMap<>();
+
+    private ResolutionProfiler(@Nullable ResolutionProfiler previous){
+        this.previous = previous;
+    }
+
+    /**
+     * start profiling the resolutions performed by the current thread
+     * @return the opened profiler, to be closed once the profiled queries are executed
+     */
+    public static ResolutionProfiler start(){
+        ResolutionProfiler profiler = new ResolutionProfiler(ACTIVE.get());
+        ACTIVE.set(profiler);
+        return profiler;
+    }
+
+    /**
+     * @return profiler open in the current thread, null if resolution is not profiled
+     */
+    @Nullable
+    public static ResolutionProfiler current(){ return ACTIVE.get();}
+
+    /**
+     * count an event in the profiler open in the current thread, if any
+     * @param event to count
+     */
+    public static void recordEvent(Event event){
+        ResolutionProfiler profiler = ACTIVE.get();
+        if (profiler != null) profiler.record(event);
+    }
+
+    /**
+     * count an answer produced by a rule in the profiler open in the current thread, if any
+     * @param rule producing the answer
+     */
+    public static void recordRuleAnswer(InferenceRule rule){
+        ResolutionProfiler profiler = ACTIVE.get();
+        if (profiler != null) profiler.ruleAnswers.merge(rule.getRuleId().getValue(), 1L, Long::sum);
+    }
+
+    void record(Event event){
+        totals[event.ordinal()]++;
+    }
+
+    /**
+     * generate the sub goal of a resolution state recording the time spent in the node of the state
+     * @param state to generate the sub goal of
+     * @return generated sub goal
+     */
+    public ResolutionState generateSubGoal(ResolutionState state){
+        long start = System.nanoTime();
+        ResolutionState subGoal = state.generateSubGoal();
+        long time = System.nanoTime() - start;
+
+        String stateName = state.getClass().getSimpleName();
+        stateCounts.merge(stateName, 1L, Long::sum);
+        stateNanos.merge(stateName, time, Long::sum);
+        ResolutionProfile profile = state.getProfile();
+        if (profile != null) profile.addTime(time);
+        return subGoal;
+    }
+
+    /**
+     * @return root of the recorded resolution tree
+     */
+    public ResolutionProfile getProfile(){ return root;}
+
+    /**
+     * @return total counts of the recorded events keyed by event name
+     */
+    public Map<String, Long> getTotals(){
+        Map<String, Long> map = new LinkedHashMap<>();
+        for (Event event : Event.values()) map.put(event.getName(), totals[event.ordinal()]);
+        return map;
+    }
+
+    /**
+     * @return number of answers produced by each rule keyed by rule id
+     */
+    public Map<String, Long> getRuleAnswers(){ return Collections.unmodifiableMap(ruleAnswers);}
+
+    /**
+     * @return number of sub goals generated by each kind of resolution state
+     */
+    public Map<String, Long> getStateCounts(){ return Collections.unmodifiableMap(stateCounts);}
+
+    /**
+     * @return time in nanoseconds spent generating sub goals by each kind of resolution state
+     */
+    public Map<String, Long> getStateTimes(){ return Collections.unmodifiableMap(stateNanos);}
+
+    public Json toJson(){
+        Json states = Json.object();
+        stateCounts.keySet().forEach(state -> states.set(state, Json.object(
+                "count", stateCounts.get(state),
+                "time-ms", TimeUnit.NANOSECONDS.toMillis(stateNanos.get(state)))));
+        return Json.object(
+                "totals", Json.make(getTotals()),
+                "rules", Json.make(ruleAnswers),
+                "states", states,
+                "tree", root.toJson());
+    }
+
+    @Override
+    public String toString(){
+        StringBuilder builder = new StringBuilder();
+        getTotals().forEach((event, count) -> builder.append(event).append(": ").append(count).append("\n"));
+        ruleAnswers.forEach((rule, count) -> builder.append("answers of rule ").append(rule).append(": ").append(count).append("\n"));
+        stateCounts.keySet().forEach(state -> builder.append(state)
+                .append(": ").append(stateCounts.get(state))
+                .append(" sub-goals in ").append(TimeUnit.NANOSECONDS.toMillis(stateNanos.get(state))).append("ms\n"));
+        return builder.append(root.toString()).toString();
+    }
+
+    /**
+     * stop profiling, restoring the profiler which was open when this one was started
+     */
+    @Override
+    public void close(){
+        if (previous != null) ACTIVE.set(previous);
+        else ACTIVE.remove();
+    }
+}
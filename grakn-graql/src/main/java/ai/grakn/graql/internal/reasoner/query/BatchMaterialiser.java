@@ -0,0 +1,267 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graql.internal.reasoner.query;
+
+import ai.grakn.concept.Concept;
+import ai.grakn.concept.OntologyConcept;
+import ai.grakn.concept.Relation;
+import ai.grakn.concept.RelationType;
+import ai.grakn.concept.Role;
+import ai.grakn.concept.Thing;
+import ai.grakn.graql.Var;
+import ai.grakn.graql.admin.Answer;
+import ai.grakn.graql.admin.Atomic;
+import ai.grakn.graql.internal.query.QueryAnswer;
+import ai.grakn.graql.internal.reasoner.atom.Atom;
+import ai.grakn.graql.internal.reasoner.atom.binary.RelationAtom;
+import ai.grakn.graql.internal.reasoner.atom.predicate.Predicate;
+import ai.grakn.util.Schema;
+import com.google.common.collect.ImmutableSetMultimap;
+import com.google.common.collect.Multimap;
+import com.google.common.collect.SetMultimap;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static java.util.stream.Collectors.toSet;
+
+/**
+ *
+ * <p>
+ * Writer materialising inferred relations in batches.
+ * </p>
+ *
+ * <p>
+ * Materialising answers one by one runs a separate insert query per answer. For rule heads which are plain relations
+ * with known roles, the answers are instead grouped in batches. The relations which may already exist for an answer
+ * are read from the role player with the fewest relations, so that a supernode is never walked in full, and are
+ * compared by their role players, after which the missing relations are created directly through the concept API.
+ * </p>
+ *
+ * <p>
+ * The first batch holds a single answer so that consumers which only need a few answers do not materialise ahead,
+ * then the batches double in size up to {@link #MAX_BATCH_SIZE}.
+ * </p>
+ *
+ * @author Kasper Piskorski
+ *
+ */
+class BatchMaterialiser {
+
+    static final int MAX_BATCH_SIZE = 1000;
+
+    private final ReasonerAtomicQuery head;
+    private final RelationType relationType;
+    private final Set<OntologyConcept> relationTypes;
+    private final Var relationVar;
+    private final Multimap<Role, Var> roleVarMap;
+
+    private BatchMaterialiser(ReasonerAtomicQuery head, RelationAtom atom, RelationType relationType){
+        this.head = head;
+        this.relationType = relationType;
+        this.relationTypes = relationType.subs().collect(toSet());
+        this.relationVar = atom.getVarName();
+        this.roleVarMap = atom.getRoleVarMap();
+    }
+
+    /**
+     * @param head rule head to be materialised
+     * @return batch materialiser of the head if its answers can be written in batches, null otherwise
+     */
+    static BatchMaterialiser of(ReasonerAtomicQuery head){
+        Atom atom = head.getAtom();
+        if (atom == null || !atom.isRelation()) return null;
+        if (head.getAtoms().stream().filter(Atomic::isAtom).count() != 1) return null;
+        boolean hasValueConstraints = head.getAtoms().stream()
+                .filter(Atomic::isPredicate).map(at -> (Predicate) at)
+                .anyMatch(p -> p.isValuePredicate() || p.isNeqPredicate());
+        if (hasValueConstraints) return null;
+
+        OntologyConcept type = atom.getOntologyConcept();
+        if (type == null || !type.isRelationType()) return null;
+
+        //every role player needs its own specific role so that the relation can be built without the insert query
+        RelationAtom relationAtom = (RelationAtom) atom;
+        Multimap<Role, Var> roleVarMap = relationAtom.getRoleVarMap();
+        boolean specificRoles = roleVarMap.keySet().stream().noneMatch(role -> Schema.MetaSchema.isMetaLabel(role.getLabel()));
+        Set<Var> rolePlayers = relationAtom.getRolePlayers();
+        if (roleVarMap.isEmpty() || !specificRoles
+                || roleVarMap.size() != rolePlayers.size()
+                || !rolePlayers.equals(new HashSet<>(roleVarMap.values()))) return null;
+        return new BatchMaterialiser(head, relationAtom, type.asRelationType());
+    }
+
+    /**
+     * @param answers answers to the rule head
+     * @return answers for the relations which had to be created, extended with the relation
+     */
+    Stream<Answer> materialise(Stream<Answer> answers){
+        Iterator<List<Answer>> batches = new AnswerBatches(answers.iterator());
+        return StreamSupport
+                .stream(Spliterators.spliteratorUnknownSize(batches, Spliterator.ORDERED), false)
+                .flatMap(batch -> materialise(batch).stream());
+    }
+
+    private List<Answer> materialise(List<Answer> batch){
+        List<Answer> materialised = new ArrayList<>();
+        List<Answer> complete = new ArrayList<>();
+        for (Answer answer : batch) {
+            if (answer.keySet().containsAll(roleVarMap.values())) {
+                complete.add(answer);
+            } else {
+                //answers missing role players go through the insert query
+                head.materialise(answer).forEach(materialised::add);
+            }
+        }
+
+        //the relations of a role player are read at most once for the whole batch
+        Map<RolePlayer, Set<SetMultimap<Role, Concept>>> existingByRolePlayer = new HashMap<>();
+        Set<SetMultimap<Role, Concept>> created = new HashSet<>();
+        for (Answer answer : complete) {
+            SetMultimap<Role, Concept> rolePlayers = rolePlayers(answer);
+            if (existing(rolePlayers, existingByRolePlayer).contains(rolePlayers) || !created.add(rolePlayers)) continue;
+
+            Relation relation = relationType.addRelation();
+            roleVarMap.entries().forEach(e -> relation.addRolePlayer(e.getKey(), answer.get(e.getValue()).asThing()));
+            head.graph().admin().markInferred(relation);
+            Answer relationAnswer = new QueryAnswer(answer);
+            relationAnswer.put(relationVar, relation);
+            materialised.add(relationAnswer);
+        }
+        return materialised;
+    }
+
+    /**
+     * @return role players of the existing relations of the role player of the answer with the fewest relations
+     */
+    private Set<SetMultimap<Role, Concept>> existing(SetMultimap<Role, Concept> answerRolePlayers,
+                                                     Map<RolePlayer, Set<SetMultimap<Role, Concept>>> existingByRolePlayer){
+        List<RolePlayer> candidates = new ArrayList<>();
+        for (Map.Entry<Role, Concept> entry : answerRolePlayers.entries()) {
+            RolePlayer candidate = new RolePlayer(entry.getKey(), entry.getValue().asThing());
+            Set<SetMultimap<Role, Concept>> existing = existingByRolePlayer.get(candidate);
+            if (existing != null) return existing;
+            candidates.add(candidate);
+        }
+
+        //walk the relations of all the role players in lockstep and stop at the first one to run out
+        List<Iterator<Relation>> relations = new ArrayList<>();
+        List<List<Relation>> walked = new ArrayList<>();
+        candidates.forEach(candidate -> {
+            relations.add(candidate.thing.relations(candidate.role).iterator());
+            walked.add(new ArrayList<>());
+        });
+        int smallest = -1;
+        while (smallest == -1) {
+            for (int i = 0; i < relations.size() && smallest == -1; i++) {
+                if (relations.get(i).hasNext()) {
+                    walked.get(i).add(relations.get(i).next());
+                } else {
+                    smallest = i;
+                }
+            }
+        }
+
+        Set<SetMultimap<Role, Concept>> existing = walked.get(smallest).stream()
+                .filter(relation -> relationTypes.contains(relation.type()))
+                .map(this::rolePlayers)
+                .collect(toSet());
+        existingByRolePlayer.put(candidates.get(smallest), existing);
+        return existing;
+    }
+
+    private SetMultimap<Role, Concept> rolePlayers(Answer answer){
+        ImmutableSetMultimap.Builder<Role, Concept> rolePlayers = ImmutableSetMultimap.builder();
+        roleVarMap.entries().forEach(e -> rolePlayers.put(e.getKey(), answer.get(e.getValue())));
+        return rolePlayers.build();
+    }
+
+    private SetMultimap<Role, Concept> rolePlayers(Relation relation){
+        ImmutableSetMultimap.Builder<Role, Concept> rolePlayers = ImmutableSetMultimap.builder();
+        Map<Role, Set<Thing>> allRolePlayers = relation.allRolePlayers();
+        roleVarMap.keySet().forEach(role ->
+                allRolePlayers.getOrDefault(role, new HashSet<>()).forEach(thing -> rolePlayers.put(role, thing)));
+        return rolePlayers.build();
+    }
+
+    /**
+     * A thing playing a role in the head relation
+     */
+    private static class RolePlayer {
+        private final Role role;
+        private final Thing thing;
+
+        RolePlayer(Role role, Thing thing){
+            this.role = role;
+            this.thing = thing;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == null || this.getClass() != obj.getClass()) return false;
+            RolePlayer that = (RolePlayer) obj;
+            return role.equals(that.role) && thing.equals(that.thing);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * role.hashCode() + thing.hashCode();
+        }
+    }
+
+    /**
+     * Splits the answers into batches which start with a single answer and double in size up to
+     * {@link #MAX_BATCH_SIZE}, so only as many answers are read as the consumer asks for.
+     */
+    private static class AnswerBatches implements Iterator<List<Answer>> {
+        private final Iterator<Answer> answers;
+        private int batchSize = 1;
+
+        AnswerBatches(Iterator<Answer> answers){
+            this.answers = answers;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return answers.hasNext();
+        }
+
+        @Override
+        public List<Answer> next() {
+            if (!hasNext()) throw new NoSuchElementException();
+
+            List<Answer> batch = new ArrayList<>(batchSize);
+            while (batch.size() < batchSize && answers.hasNext()) {
+                batch.add(answers.next());
+            }
+            batchSize = Math.min(batchSize * 2, MAX_BATCH_SIZE);
+            return batch;
+        }
+    }
+}
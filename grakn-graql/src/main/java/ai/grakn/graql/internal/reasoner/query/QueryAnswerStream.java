@@ -39,6 +39,8 @@ import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.stream.Stream;
 
+import static ai.grakn.graql.internal.reasoner.iterator.FlatMapIterator.flatMap;
+
 /**
  *
  * <p>
@@ -134,7 +136,7 @@ public class QueryAnswerStream {
      */
     private static <T> Stream<T> join(BiFunction<T, T, Stream<T>> function, Stream<T> s1, Stream<T> s2) {
         LazyIterator<T> l2 = new LazyIterator<>(s2);
-        return s1.flatMap(a1 -> l2.stream().flatMap(a2 -> function.apply(a1,a2)));
+        return flatMap(s1, a1 -> flatMap(l2.stream(), a2 -> function.apply(a1,a2)));
     }
 
     private static Set<Answer> findMatchingAnswers(Var var, Concept con, Map<Pair<Var, Concept>, Set<Answer>> inverseMap){
@@ -166,7 +168,7 @@ public class QueryAnswerStream {
      */
     public static Stream<Answer> join(Stream<Answer> stream, Stream<Answer> stream2, ImmutableSet<Var> joinVars) {
         LazyAnswerIterator l2 = new LazyAnswerIterator(stream2);
-        return stream.flatMap(a1 -> {
+        return flatMap(stream, a1 -> {
             Stream<Answer> answerStream = l2.stream();
             answerStream = answerStream.filter(ans -> {
                 for(Var v: joinVars) {
@@ -194,9 +196,9 @@ public class QueryAnswerStream {
                                           ImmutableSet<Var> joinVars) {
         if (joinVars.isEmpty()){
             LazyAnswerIterator l2 = new LazyAnswerIterator(stream2);
-            return stream.flatMap(a1 -> l2.stream().map(a -> a.merge(a1)));
+            return flatMap(stream, a1 -> l2.stream().map(a -> a.merge(a1)));
         }
-        return stream.flatMap(a1 -> {
+        return flatMap(stream, a1 -> {
             Iterator<Var> vit = joinVars.iterator();
             Set<Answer> matchAnswers = findMatchingAnswers(a1, stream2InverseMap, vit.next());
             while(vit.hasNext()){
@@ -43,6 +43,8 @@ import ai.grakn.graql.internal.reasoner.cache.QueryCache;
 import ai.grakn.graql.internal.reasoner.explanation.LookupExplanation;
 import ai.grakn.graql.internal.reasoner.explanation.RuleExplanation;
 import ai.grakn.graql.internal.reasoner.iterator.ReasonerQueryIterator;
+import ai.grakn.graql.internal.reasoner.profile.ResolutionProfile;
+import ai.grakn.graql.internal.reasoner.profile.ResolutionProfiler;
 import ai.grakn.graql.internal.reasoner.rule.InferenceRule;
 import ai.grakn.graql.internal.reasoner.rule.RuleTuple;
 import ai.grakn.graql.internal.reasoner.state.AtomicState;
@@ -193,6 +195,7 @@ public class ReasonerAtomicQuery extends ReasonerQueryImpl {
             if (!answer.isEmpty()) return answer;
         }
 
+        ResolutionProfiler.recordEvent(ResolutionProfile.Event.DB_LOOKUPS);
         List<Answer> match = new ReasonerAtomicQuery(this).addSubstitution(sub).getMatchQuery().execute();
         return match.isEmpty()? new QueryAnswer() : match.iterator().next();
     }
@@ -203,6 +206,7 @@ public class ReasonerAtomicQuery extends ReasonerQueryImpl {
     }
 
     private Stream<Answer> DBlookup() {
+        ResolutionProfiler.recordEvent(ResolutionProfile.Event.DB_LOOKUPS);
         return getMatchQuery().admin().stream()
                 .map(a -> a.explain(new LookupExplanation(this)));
     }
@@ -224,10 +228,29 @@ public class ReasonerAtomicQuery extends ReasonerQueryImpl {
     public Stream<Answer> materialise(Answer answer) {
         ReasonerAtomicQuery queryToMaterialise = new ReasonerAtomicQuery(this);
         queryToMaterialise.addSubstitution(answer);
+        //only relations created by the insert are inferred
+        Var relationVar = atom.isRelation() && !answer.containsKey(atom.getVarName()) ? atom.getVarName() : null;
         return queryToMaterialise.insert()
+                .peek(ans -> {
+                    if (relationVar != null && ans.containsKey(relationVar)) {
+                        graph().admin().markInferred(ans.get(relationVar).asThing());
+                    }
+                })
                 .map(ans -> ans.setExplanation(answer.getExplanation()));
     }
 
+    /**
+     * materialise the answers, relations with specific roles are written in batches
+     * @param answers answers to this query to be materialised
+     * @return materialised answers
+     */
+    Stream<Answer> materialise(Stream<Answer> answers) {
+        BatchMaterialiser materialiser = BatchMaterialiser.of(this);
+        if (materialiser == null) return answers.flatMap(this::materialise);
+        Answer sub = getSubstitution();
+        return materialiser.materialise(answers.map(a -> a.merge(sub).explain(a.getExplanation())));
+    }
+
     private Stream<Answer> getIdPredicateAnswerStream(Stream<Answer> stream){
         Answer idPredicateAnswer = getSubstitution();
         return stream.map(answer -> {
@@ -278,10 +301,9 @@ public class ReasonerAtomicQuery extends ReasonerQueryImpl {
         Map<Pair<Var, Concept>, Set<Answer>> known = cache.getInverseAnswerMap(ruleHead);
         Map<Pair<Var, Concept>, Set<Answer>> dknown = dCache.getInverseAnswerMap(ruleHead);
 
-        answers = answers
+        answers = ruleHead.materialise(answers
                 .filter(a -> knownFilterWithInverse(a, known))
-                .filter(a -> knownFilterWithInverse(a, dknown))
-                .flatMap(ruleHead::materialise);
+                .filter(a -> knownFilterWithInverse(a, dknown)));
 
         answers = dCache.record(ruleHead, answers);
 
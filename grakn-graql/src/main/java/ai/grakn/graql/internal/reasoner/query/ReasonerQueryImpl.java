@@ -209,6 +209,18 @@ public class ReasonerQueryImpl implements ReasonerQuery {
         return false;
     }
 
+    /**
+     * @return true if any of the atoms constituting the query depends on recursive rules
+     */
+    public boolean requiresTabling() {
+        for (Atom atom : selectAtoms()) {
+            if (atom.requiresTabling()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private boolean isTransitive() {
         return atomSet.stream()
                 .filter(Atomic::isAtom).map(at -> (Atom) at)
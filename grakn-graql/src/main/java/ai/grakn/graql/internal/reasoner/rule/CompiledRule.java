@@ -0,0 +1,97 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graql.internal.reasoner.rule;
+
+import ai.grakn.concept.ConceptId;
+import ai.grakn.concept.Rule;
+import ai.grakn.graql.Pattern;
+import ai.grakn.graql.admin.Conjunction;
+import ai.grakn.graql.admin.PatternAdmin;
+import ai.grakn.graql.admin.VarPatternAdmin;
+import ai.grakn.graql.internal.pattern.Patterns;
+
+import java.util.Set;
+
+import static java.util.stream.Collectors.toSet;
+
+/**
+ *
+ * <p>
+ * Parsed and normalised body and head of a {@link Rule}.
+ * </p>
+ *
+ * <p>
+ * Compiled rules do not depend on any transaction, so they are shared by all the transactions of a keyspace
+ * through the {@link RuleBase}. {@link InferenceRule}s are built from them without parsing the rule again.
+ * </p>
+ *
+ * @author Kasper Piskorski
+ *
+ */
+public class CompiledRule {
+
+    private final ConceptId ruleId;
+    private final Conjunction<VarPatternAdmin> body;
+    private final Conjunction<VarPatternAdmin> head;
+
+    CompiledRule(Rule rule){
+        this(rule.getId(), rule.getWhen(), rule.getThen());
+    }
+
+    CompiledRule(ConceptId ruleId, Pattern when, Pattern then){
+        this.ruleId = ruleId;
+        this.body = conjunction(when.admin());
+        this.head = conjunction(then.admin());
+    }
+
+    static Conjunction<VarPatternAdmin> conjunction(PatternAdmin pattern){
+        Set<VarPatternAdmin> vars = pattern
+                .getDisjunctiveNormalForm().getPatterns()
+                .stream().flatMap(p -> p.getPatterns().stream()).collect(toSet());
+        return Patterns.conjunction(vars);
+    }
+
+    public ConceptId getRuleId(){ return ruleId;}
+
+    /**
+     * @return normalised body of the rule
+     */
+    public Conjunction<VarPatternAdmin> getBody(){ return body;}
+
+    /**
+     * @return normalised head of the rule
+     */
+    public Conjunction<VarPatternAdmin> getHead(){ return head;}
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null || this.getClass() != obj.getClass()) return false;
+        return ruleId.equals(((CompiledRule) obj).ruleId);
+    }
+
+    @Override
+    public int hashCode() {
+        return ruleId.hashCode();
+    }
+
+    @Override
+    public String toString(){
+        return body + " -> " + head;
+    }
+}
@@ -23,11 +23,7 @@ import ai.grakn.concept.ConceptId;
 import ai.grakn.concept.OntologyConcept;
 import ai.grakn.concept.Rule;
 import ai.grakn.graql.admin.Atomic;
-import ai.grakn.graql.admin.Conjunction;
-import ai.grakn.graql.admin.PatternAdmin;
 import ai.grakn.graql.admin.Unifier;
-import ai.grakn.graql.admin.VarPatternAdmin;
-import ai.grakn.graql.internal.pattern.Patterns;
 import ai.grakn.graql.internal.reasoner.atom.binary.TypeAtom;
 import ai.grakn.graql.internal.reasoner.utils.ReasonerUtils;
 import ai.grakn.graql.internal.reasoner.atom.Atom;
@@ -63,10 +59,14 @@ public class InferenceRule {
     private int priority = Integer.MAX_VALUE;
 
     public InferenceRule(Rule rule, GraknGraph graph){
-        ruleId = rule.getId();
+        this(new CompiledRule(rule), graph);
+    }
+
+    public InferenceRule(CompiledRule rule, GraknGraph graph){
+        ruleId = rule.getRuleId();
         //TODO simplify once changes propagated to rule objects
-        body = ReasonerQueries.create(conjunction(rule.getWhen().admin()), graph);
-        head = ReasonerQueries.atomic(conjunction(rule.getThen().admin()), graph);
+        body = ReasonerQueries.create(rule.getBody(), graph);
+        head = ReasonerQueries.atomic(rule.getHead(), graph);
     }
 
     public InferenceRule(InferenceRule r){
@@ -106,13 +106,6 @@ public class InferenceRule {
         return priority;
     }
 
-    private static Conjunction<VarPatternAdmin> conjunction(PatternAdmin pattern){
-        Set<VarPatternAdmin> vars = pattern
-                .getDisjunctiveNormalForm().getPatterns()
-                .stream().flatMap(p -> p.getPatterns().stream()).collect(toSet());
-        return Patterns.conjunction(vars);
-    }
-
     public ConceptId getRuleId(){ return ruleId;}
 
     /**
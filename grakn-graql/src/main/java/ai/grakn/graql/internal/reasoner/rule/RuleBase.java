@@ -0,0 +1,205 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graql.internal.reasoner.rule;
+
+import ai.grakn.GraknGraph;
+import ai.grakn.concept.ConceptId;
+import ai.grakn.concept.Label;
+import ai.grakn.concept.OntologyConcept;
+import ai.grakn.concept.Rule;
+import ai.grakn.concept.Type;
+import ai.grakn.graql.Pattern;
+import com.google.auto.value.AutoValue;
+
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.util.stream.Collectors.toSet;
+
+/**
+ *
+ * <p>
+ * Keyspace level store of the compiled inference rules.
+ * </p>
+ *
+ * <p>
+ * Rules are parsed once and their compiled form is shared across transactions. The rules are indexed by the labels
+ * of their conclusion types. The index is tagged with the rule base version of the graph it was built from and is
+ * only rebuilt when committed rules are added or removed. As the version is tracked per engine, the index is
+ * also rebuilt periodically to pick up changes committed through other engines.
+ * </p>
+ *
+ * <p>
+ * Transactions which have added or removed rules themselves bypass the index and read the rules from the graph.
+ * Compiled rules are keyed by the id and the patterns of their rule, so a rule recreated with the id of a deleted
+ * rule is compiled again. The rule base of a keyspace is forgotten when the keyspace is deleted.
+ * </p>
+ *
+ * @author Kasper Piskorski
+ *
+ */
+public class RuleBase {
+
+    private static final long REFRESH_INTERVAL_MS = 60_000;
+    private static final Map<String, RuleBase> ruleBases = new ConcurrentHashMap<>();
+
+    private final Map<RuleKey, CompiledRule> compiledRules = new ConcurrentHashMap<>();
+    private volatile RuleIndex index = null;
+
+    private RuleBase(){}
+
+    /**
+     * @param graph graph of interest
+     * @return rule base of the keyspace of the graph
+     */
+    public static RuleBase of(GraknGraph graph){
+        return ruleBases.computeIfAbsent(graph.getKeyspace(), k -> new RuleBase());
+    }
+
+    /**
+     * Forgets the rule base of a keyspace, called through reflection when the keyspace is deleted
+     *
+     * @param keyspace keyspace of interest
+     */
+    public static void clear(String keyspace){
+        ruleBases.remove(keyspace);
+    }
+
+    /**
+     * @param graph graph of interest
+     * @return all inference rules of the graph
+     */
+    public Set<CompiledRule> getRules(GraknGraph graph){
+        RuleIndex ruleIndex = index(graph);
+        if (ruleIndex != null) return ruleIndex.rules;
+        return graph.admin().getMetaRuleInference().instances().map(this::compile).collect(toSet());
+    }
+
+    /**
+     * @param graph graph of interest
+     * @param ontologyConcept type of interest
+     * @return inference rules concluding the type or any of its subs
+     */
+    public Set<CompiledRule> getRulesWithConclusion(GraknGraph graph, OntologyConcept ontologyConcept){
+        RuleIndex ruleIndex = index(graph);
+        if (ruleIndex != null) {
+            return ontologyConcept.subs()
+                    .flatMap(sub -> ruleIndex.rulesByConclusion.getOrDefault(sub.getLabel(), Collections.emptySet()).stream())
+                    .collect(toSet());
+        }
+        return ontologyConcept.subs().flatMap(OntologyConcept::getRulesOfConclusion).map(this::compile).collect(toSet());
+    }
+
+    /**
+     * @param graph graph of interest
+     * @param ontologyConcept type of interest, null for an unspecified type
+     * @return true if the type depends on a recursive set of rules and needs to be resolved to a fixpoint,
+     * conservatively true if the rule base of the graph is not indexed
+     */
+    public boolean dependsOnRecursion(GraknGraph graph, @Nullable OntologyConcept ontologyConcept){
+        RuleIndex ruleIndex = index(graph);
+        return ruleIndex == null || ruleIndex.dependencies.dependsOnRecursion(ontologyConcept);
+    }
+
+    /**
+     * @param graph graph of interest
+     * @return dependency graph of the inference rules of the graph
+     */
+    public RuleDependencyGraph getDependencyGraph(GraknGraph graph){
+        RuleIndex ruleIndex = index(graph);
+        if (ruleIndex != null) return ruleIndex.dependencies;
+        return new RuleDependencyGraph(getRules(graph), graph);
+    }
+
+    /**
+     * Rules are immutable so a compiled rule stays valid for as long as a rule with the same id and patterns exists
+     */
+    private CompiledRule compile(Rule rule){
+        return compile(RuleKey.of(rule));
+    }
+
+    private CompiledRule compile(RuleKey key){
+        return compiledRules.computeIfAbsent(key, k -> new CompiledRule(k.ruleId(), k.when(), k.then()));
+    }
+
+    private RuleIndex index(GraknGraph graph){
+        Optional<Long> version = graph.admin().getRuleBaseVersion();
+        if (!version.isPresent()) return null;
+
+        RuleIndex current = index;
+        if (current == null || current.version != version.get() || current.isExpired()) {
+            current = new RuleIndex(graph, version.get());
+            index = current;
+        }
+        return current;
+    }
+
+    /**
+     * Snapshot of the rules of a specific rule base version
+     */
+    private class RuleIndex {
+        private final long version;
+        private final long builtAt = System.currentTimeMillis();
+        private final Set<CompiledRule> rules = new HashSet<>();
+        private final Map<Label, Set<CompiledRule>> rulesByConclusion = new HashMap<>();
+        private final RuleDependencyGraph dependencies;
+
+        RuleIndex(GraknGraph graph, long version){
+            this.version = version;
+            Set<RuleKey> ruleKeys = new HashSet<>();
+            graph.admin().getMetaRuleInference().instances().forEach(rule -> {
+                RuleKey key = RuleKey.of(rule);
+                ruleKeys.add(key);
+                CompiledRule compiledRule = compile(key);
+                rules.add(compiledRule);
+                rule.getConclusionTypes().map(Type::getLabel).forEach(label ->
+                        rulesByConclusion.computeIfAbsent(label, l -> new HashSet<>()).add(compiledRule));
+            });
+
+            //Forget the rules which no longer exist
+            compiledRules.keySet().retainAll(ruleKeys);
+
+            this.dependencies = new RuleDependencyGraph(rules, graph);
+        }
+
+        boolean isExpired(){
+            return System.currentTimeMillis() - builtAt > REFRESH_INTERVAL_MS;
+        }
+    }
+
+    /**
+     * Identity of a compiled rule
+     */
+    @AutoValue
+    abstract static class RuleKey {
+        abstract ConceptId ruleId();
+        abstract Pattern when();
+        abstract Pattern then();
+
+        static RuleKey of(Rule rule){
+            return new AutoValue_RuleBase_RuleKey(rule.getId(), rule.getWhen(), rule.getThen());
+        }
+    }
+}
@@ -0,0 +1,288 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graql.internal.reasoner.rule;
+
+import ai.grakn.GraknGraph;
+import ai.grakn.concept.Label;
+import ai.grakn.concept.OntologyConcept;
+import ai.grakn.graql.admin.Conjunction;
+import ai.grakn.graql.admin.VarPatternAdmin;
+import ai.grakn.graql.internal.pattern.property.IsaProperty;
+import ai.grakn.graql.internal.pattern.property.RelationProperty;
+import com.google.common.collect.Sets;
+
+import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ *
+ * <p>
+ * Dependency graph of a set of {@link CompiledRule}s over the types they mention.
+ * </p>
+ *
+ * <p>
+ * A type depends on the body types of every rule concluding it, and on its own subs, as instances of the subs are
+ * instances of the type as well. Rule bodies with instances of a variable type depend on any inferred type, rule bodies
+ * with relations without a type depend on any inferred relation type.
+ * The graph is split into strongly connected components, which gives the strata of the rule base in topological order.
+ * Only types which can reach a cyclic component need tabled resolution iterated to a fixpoint, the remaining ones
+ * are completely resolved in a single pass.
+ * </p>
+ *
+ * @author Kasper Piskorski
+ *
+ */
+public class RuleDependencyGraph {
+
+    //node standing for instances of a variable type
+    private static final int ANY = 0;
+    //node standing for relations without a type
+    private static final int ANY_RELATION = 1;
+
+    private final Map<Label, Integer> nodes = new HashMap<>();
+    private final List<Label> labels = new ArrayList<>();
+    private final List<Set<Integer>> edges = new ArrayList<>();
+    private final Set<Integer> conclusions = new HashSet<>();
+    private final Set<Integer> relationTypes = new HashSet<>();
+
+    private final List<Set<Label>> strata = new ArrayList<>();
+    private boolean[] dependsOnRecursion;
+
+    public RuleDependencyGraph(Collection<CompiledRule> rules, GraknGraph graph){
+        for (int node = ANY; node <= ANY_RELATION; node++) {
+            labels.add(null);
+            edges.add(new HashSet<>());
+        }
+
+        rules.forEach(rule -> {
+            Set<Integer> heads = types(rule.getHead(), graph);
+            Set<Integer> bodies = types(rule.getBody(), graph);
+            if (hasVariableTypes(rule.getBody())) bodies.add(ANY);
+            if (hasUntypedRelations(rule.getBody())) bodies.add(ANY_RELATION);
+            heads.forEach(head -> edges.get(head).addAll(bodies));
+            conclusions.addAll(heads);
+        });
+        edges.get(ANY).addAll(conclusions);
+        edges.get(ANY_RELATION).addAll(Sets.intersection(conclusions, relationTypes));
+
+        computeStrata();
+    }
+
+    /**
+     * @return strongly connected components of the type labels in topological order, dependencies first
+     */
+    public List<Set<Label>> getStrata(){ return strata;}
+
+    /**
+     * @param labels labels of the types which gained or lost instances
+     * @param graph graph the types belong to
+     * @return labels of the concluded types whose inferred instances may depend on the given types,
+     * in topological order
+     */
+    public List<Label> getAffectedConclusions(Set<Label> labels, GraknGraph graph){
+        if (labels.isEmpty()) return Collections.emptyList();
+
+        List<Set<Integer>> dependants = new ArrayList<>();
+        edges.forEach(node -> dependants.add(new HashSet<>()));
+        for (int node = 0; node < edges.size(); node++) {
+            for (int next : edges.get(node)) dependants.get(next).add(node);
+        }
+
+        //instances of a variable type match instances of any type, relations without a type only relations
+        Deque<Integer> toVisit = new ArrayDeque<>();
+        toVisit.add(ANY);
+        if (labels.stream().map(graph::getOntologyConcept).anyMatch(type -> type != null && type.isRelationType())) {
+            toVisit.add(ANY_RELATION);
+        }
+        labels.stream().map(nodes::get).filter(Objects::nonNull).forEach(toVisit::add);
+
+        Set<Integer> affected = new HashSet<>();
+        while (!toVisit.isEmpty()) {
+            int node = toVisit.poll();
+            if (affected.add(node)) toVisit.addAll(dependants.get(node));
+        }
+
+        List<Label> affectedConclusions = new ArrayList<>();
+        strata.forEach(stratum -> stratum.stream()
+                .filter(label -> {
+                    int node = nodes.get(label);
+                    return affected.contains(node) && conclusions.contains(node);
+                })
+                .forEach(affectedConclusions::add));
+        return affectedConclusions;
+    }
+
+    /**
+     * @param ontologyConcept type of interest, null for an unspecified type
+     * @return true if inferring instances of the type or any of its subs depends on a recursive set of rules
+     */
+    public boolean dependsOnRecursion(@Nullable OntologyConcept ontologyConcept){
+        if (ontologyConcept == null) return dependsOnRecursion[ANY] || dependsOnRecursion[ANY_RELATION];
+        return ontologyConcept.subs()
+                .map(sub -> nodes.get(sub.getLabel()))
+                .filter(Objects::nonNull)
+                .anyMatch(node -> dependsOnRecursion[node]);
+    }
+
+    private int node(Label label){
+        Integer node = nodes.get(label);
+        if (node == null){
+            node = labels.size();
+            nodes.put(label, node);
+            labels.add(label);
+            edges.add(new HashSet<>());
+        }
+        return node;
+    }
+
+    /**
+     * @return nodes of the non-role types mentioned in the pattern, linked to the nodes of their subs
+     */
+    private Set<Integer> types(Conjunction<VarPatternAdmin> pattern, GraknGraph graph){
+        Set<Integer> types = new HashSet<>();
+        pattern.getVars().stream()
+                .flatMap(var -> var.getTypeLabels().stream())
+                .forEach(label -> {
+                    OntologyConcept type = graph.getOntologyConcept(label);
+                    if (type == null || type.isRole()) return;
+                    int node = node(label);
+                    types.add(node);
+                    if (type.isRelationType()) relationTypes.add(node);
+                    type.subs()
+                            .map(OntologyConcept::getLabel)
+                            .filter(sub -> !sub.equals(label))
+                            .forEach(sub -> edges.get(node).add(node(sub)));
+                });
+        return types;
+    }
+
+    /**
+     * @return true if the pattern contains instances of a variable type
+     */
+    private static boolean hasVariableTypes(Conjunction<VarPatternAdmin> pattern){
+        return pattern.getVars().stream().anyMatch(var -> {
+            Optional<IsaProperty> isa = var.getProperty(IsaProperty.class);
+            return isa.isPresent() && !isa.get().getType().getTypeLabel().isPresent();
+        });
+    }
+
+    /**
+     * @return true if the pattern contains relations without a type
+     */
+    private static boolean hasUntypedRelations(Conjunction<VarPatternAdmin> pattern){
+        return pattern.getVars().stream()
+                .anyMatch(var -> var.hasProperty(RelationProperty.class) && !var.hasProperty(IsaProperty.class));
+    }
+
+    /**
+     * Tarjan's algorithm. Components are completed after all the components they depend on, so they are produced
+     * in topological order and whether they depend on recursion can be decided as soon as they are completed.
+     */
+    private void computeStrata(){
+        int size = labels.size();
+        int[] index = new int[size];
+        int[] lowLink = new int[size];
+        boolean[] onStack = new boolean[size];
+        Arrays.fill(index, -1);
+        dependsOnRecursion = new boolean[size];
+
+        Deque<Integer> stack = new ArrayDeque<>();
+        Deque<Integer> callStack = new ArrayDeque<>();
+        Deque<Integer[]> successorStack = new ArrayDeque<>();
+        int counter = 0;
+
+        for (int root = 0; root < size; root++) {
+            if (index[root] != -1) continue;
+
+            index[root] = lowLink[root] = counter++;
+            stack.push(root);
+            onStack[root] = true;
+            callStack.push(root);
+            successorStack.push(edges.get(root).toArray(new Integer[0]));
+            List<Integer> positions = new ArrayList<>(Collections.singletonList(0));
+
+            while (!callStack.isEmpty()) {
+                int node = callStack.peek();
+                Integer[] successors = successorStack.peek();
+                int position = positions.get(positions.size() - 1);
+
+                if (position < successors.length) {
+                    positions.set(positions.size() - 1, position + 1);
+                    int next = successors[position];
+                    if (index[next] == -1) {
+                        index[next] = lowLink[next] = counter++;
+                        stack.push(next);
+                        onStack[next] = true;
+                        callStack.push(next);
+                        successorStack.push(edges.get(next).toArray(new Integer[0]));
+                        positions.add(0);
+                    } else if (onStack[next]) {
+                        lowLink[node] = Math.min(lowLink[node], index[next]);
+                    }
+                    continue;
+                }
+
+                callStack.pop();
+                successorStack.pop();
+                positions.remove(positions.size() - 1);
+                if (!callStack.isEmpty()) {
+                    int parent = callStack.peek();
+                    lowLink[parent] = Math.min(lowLink[parent], lowLink[node]);
+                }
+                if (lowLink[node] == index[node]) completeComponent(node, stack, onStack);
+            }
+        }
+    }
+
+    private void completeComponent(int root, Deque<Integer> stack, boolean[] onStack){
+        Set<Integer> component = new HashSet<>();
+        int member;
+        do {
+            member = stack.pop();
+            onStack[member] = false;
+            component.add(member);
+        } while (member != root);
+
+        boolean recursive = component.size() > 1 || edges.get(root).contains(root);
+        for (int node : component) {
+            for (int next : edges.get(node)) {
+                if (!component.contains(next)) recursive |= dependsOnRecursion[next];
+            }
+        }
+
+        Set<Label> stratum = new HashSet<>();
+        for (int node : component) {
+            dependsOnRecursion[node] = recursive;
+            if (node != ANY && node != ANY_RELATION) stratum.add(labels.get(node));
+        }
+        if (!stratum.isEmpty()) strata.add(stratum);
+    }
+}
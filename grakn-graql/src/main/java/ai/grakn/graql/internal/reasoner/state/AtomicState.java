@@ -21,6 +21,8 @@ package ai.grakn.graql.internal.reasoner.state;
 import ai.grakn.graql.admin.Answer;
 import ai.grakn.graql.admin.Unifier;
 import ai.grakn.graql.internal.reasoner.cache.QueryCache;
+import ai.grakn.graql.internal.reasoner.profile.ResolutionProfile;
+import ai.grakn.graql.internal.reasoner.profile.ResolutionProfiler;
 import ai.grakn.graql.internal.reasoner.query.ReasonerAtomicQuery;
 import ai.grakn.graql.internal.reasoner.query.ReasonerQueries;
 import ai.grakn.graql.internal.reasoner.rule.InferenceRule;
@@ -49,6 +51,7 @@ public class AtomicState extends QueryState{
 
     private final Unifier cacheUnifier;
     private InferenceRule currentRule = null;
+    private final ResolutionProfile atomProfile;
 
     public AtomicState(ReasonerAtomicQuery q,
                        Answer sub,
@@ -62,6 +65,10 @@ public class AtomicState extends QueryState{
         this.query = ReasonerQueries.atomic(q);
         query.addSubstitution(sub);
 
+        ResolutionProfile parentProfile = super.getProfile();
+        this.atomProfile = parentProfile != null? parentProfile.child(query.getAtom().toString()) : null;
+        if (atomProfile != null) atomProfile.record(ResolutionProfile.Event.SUB_GOALS);
+
         Pair<Stream<Answer>, Unifier> streamUnifierPair = query.lookupWithUnifier(cache);
         this.dbIterator = streamUnifierPair.getKey()
                 .map(a -> a.explain(a.getExplanation().setQuery(query)))
@@ -70,8 +77,10 @@ public class AtomicState extends QueryState{
 
         //if this already has full substitution and exists in the db then do not resolve further
         //NB: the queryIterator check is purely because we may want to ask for an explanation
+        //visited subgoals are only answered from the cache if they are recursive,
+        //non-recursive ones are resolved again so that a single pass gives all their answers
         boolean hasFullSubstitution = query.hasFullSubstitution();
-        if(subGoals.contains(query)
+        if((subGoals.contains(query) && query.getAtom().requiresTabling())
                 || (hasFullSubstitution && dbIterator.hasNext() ) ){
             this.ruleIterator = Collections.emptyIterator();
         }
@@ -86,9 +95,23 @@ public class AtomicState extends QueryState{
     @Override
     public ResolutionState propagateAnswer(AnswerState state) {
         Answer answer = state.getAtomicAnswer(query, currentRule, cacheUnifier, getCache());
+        if (!answer.isEmpty()) {
+            ResolutionProfile profile = getProfile();
+            if (profile != null) profile.record(ResolutionProfile.Event.ANSWERS);
+            if (currentRule != null) ResolutionProfiler.recordRuleAnswer(currentRule);
+        }
         return !answer.isEmpty()? new AnswerState(answer, getUnifier(), getParentState()) : null;
     }
 
+    /**
+     * @return node of the atomic query in the resolution profile, or of the rule being applied to it
+     */
+    @Override
+    public ResolutionProfile getProfile(){
+        if (atomProfile == null || currentRule == null) return atomProfile;
+        return atomProfile.child("rule " + currentRule.getRuleId().getValue());
+    }
+
     @Override
     public ResolutionState generateSubGoal() {
         if (dbIterator.hasNext()) return new AnswerState(dbIterator.next(), getUnifier(), this);
@@ -98,6 +121,8 @@ public class AtomicState extends QueryState{
 
     private ResolutionState generateSubGoalFromRule(RuleTuple ruleTuple){
         currentRule = ruleTuple.getRule();
+        ResolutionProfile ruleProfile = getProfile();
+        if (ruleProfile != null) ruleProfile.record(ResolutionProfile.Event.SUB_GOALS);
         Unifier ruleUnifier = ruleTuple.getRuleUnifier();
         Unifier permutationUnifier = ruleTuple.getPermutationUnifier();
 
@@ -21,6 +21,8 @@ package ai.grakn.graql.internal.reasoner.state;
 import ai.grakn.graql.admin.Answer;
 import ai.grakn.graql.admin.Unifier;
 import ai.grakn.graql.internal.reasoner.cache.QueryCache;
+import ai.grakn.graql.internal.reasoner.profile.ResolutionProfile;
+import ai.grakn.graql.internal.reasoner.profile.ResolutionProfiler;
 import ai.grakn.graql.internal.reasoner.query.ReasonerAtomicQuery;
 import java.util.Set;
 
@@ -37,13 +39,20 @@ public abstract class QueryState extends ResolutionState {
 
     private final Set<ReasonerAtomicQuery> subGoals;
     private final QueryCache<ReasonerAtomicQuery> cache;
+    private final ResolutionProfile profile;
 
     QueryState(Answer sub, Unifier u, QueryState parent, Set<ReasonerAtomicQuery> subGoals, QueryCache<ReasonerAtomicQuery> cache) {
         super(sub, u, parent);
         this.subGoals = subGoals;
         this.cache = cache;
+        //the top state reports to the root of the profile of the current thread
+        ResolutionProfiler profiler = parent == null? ResolutionProfiler.current() : null;
+        this.profile = profiler != null? profiler.getProfile() : parent != null? parent.getProfile() : null;
     }
 
+    @Override
+    public ResolutionProfile getProfile(){ return profile;}
+
     /**
      * @return set of already visited subGoals (atomic queries)
      */
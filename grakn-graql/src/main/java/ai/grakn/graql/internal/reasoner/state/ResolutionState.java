@@ -20,6 +20,9 @@ package ai.grakn.graql.internal.reasoner.state;
 
 import ai.grakn.graql.admin.Answer;
 import ai.grakn.graql.admin.Unifier;
+import ai.grakn.graql.internal.reasoner.profile.ResolutionProfile;
+
+import javax.annotation.Nullable;
 
 /**
  *
@@ -73,4 +76,10 @@ public abstract class ResolutionState {
      * @return parent state of this state
      */
     QueryState getParentState(){ return parentState;}
+
+    /**
+     * @return node of the resolution profile this state reports to, null if resolution is not profiled
+     */
+    @Nullable
+    public ResolutionProfile getProfile(){ return parentState != null? parentState.getProfile() : null;}
 }
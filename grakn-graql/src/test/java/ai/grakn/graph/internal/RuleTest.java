@@ -22,6 +22,7 @@ import ai.grakn.Grakn;
 import ai.grakn.GraknGraph;
 import ai.grakn.GraknSession;
 import ai.grakn.GraknTxType;
+import ai.grakn.concept.ConceptId;
 import ai.grakn.concept.EntityType;
 import ai.grakn.concept.ResourceType;
 import ai.grakn.concept.Role;
@@ -31,18 +32,22 @@ import ai.grakn.exception.InvalidGraphException;
 import ai.grakn.graql.Pattern;
 import ai.grakn.util.ErrorMessage;
 import ai.grakn.util.Schema;
+import com.google.common.collect.ImmutableSet;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.empty;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 
 //NOTE: This test is inside the graql module due to the inability to have graql constructs inside the graph module
 public class RuleTest {
@@ -314,6 +319,41 @@ public class RuleTest {
         );
     }
 
+    @Test
+    public void whenCommittingManyInvalidRulesAndInstances_EveryErrorIsReported(){
+        initGraph(graknGraph);
+        ResourceType<String> name = graknGraph.putResourceType("name", ResourceType.DataType.STRING);
+        EntityType keyed = graknGraph.putEntityType("keyed").key(name);
+        ConceptId withoutKey1 = keyed.addEntity().getId();
+        ConceptId withoutKey2 = keyed.addEntity().getId();
+        keyed.addEntity().resource(name.putResource("has a key"));
+
+        Rule disjunction = graknGraph.admin().getMetaRuleInference().putRule(
+                graknGraph.graql().parsePattern("(role: $x) or (role: $x, role: $y)"),
+                graknGraph.graql().parsePattern("(role1: $x, role2: $y) isa relation1"));
+        Rule missingType = graknGraph.admin().getMetaRuleInference().putRule(
+                graknGraph.graql().parsePattern("$x isa Your-Type"),
+                graknGraph.graql().parsePattern("$x isa entity1"));
+        graknGraph.admin().getMetaRuleInference().putRule(
+                graknGraph.graql().parsePattern("(role1: $x, role2: $y) isa relation1"),
+                graknGraph.graql().parsePattern("(role1: $x, role3: $y) isa relation2"));
+
+        Set<String> expectedErrors = ImmutableSet.of(
+                ErrorMessage.VALIDATION_NOT_EXACTLY_ONE_KEY.getMessage(withoutKey1, name.getLabel()),
+                ErrorMessage.VALIDATION_NOT_EXACTLY_ONE_KEY.getMessage(withoutKey2, name.getLabel()),
+                ErrorMessage.VALIDATION_RULE_DISJUNCTION_IN_BODY.getMessage(disjunction.getId(), disjunction.type().getLabel()),
+                ErrorMessage.VALIDATION_RULE_MISSING_ELEMENTS.getMessage(
+                        Schema.VertexProperty.RULE_WHEN.name(), missingType.getId(), missingType.type().getLabel(), "Your-Type"),
+                ErrorMessage.VALIDATION_RULE_ROLE_CANNOT_BE_PLAYED.getMessage("role1", "relation2"));
+
+        try {
+            graknGraph.commit();
+            fail("Expected the commit to fail validation");
+        } catch (InvalidGraphException e) {
+            expectedErrors.forEach(error -> assertThat(e.getMessage(), containsString(error)));
+        }
+    }
+
     private void validateOntologicallyIllegalRule(Pattern when, Pattern then, String message){
         initGraph(graknGraph);
         graknGraph.admin().getMetaRuleInference().putRule(when, then);
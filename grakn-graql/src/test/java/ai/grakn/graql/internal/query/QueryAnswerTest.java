@@ -0,0 +1,92 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ *
+ */
+
+package ai.grakn.graql.internal.query;
+
+import ai.grakn.concept.Concept;
+import ai.grakn.graql.Var;
+import ai.grakn.graql.admin.Answer;
+import ai.grakn.graql.internal.reasoner.UnifierImpl;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static ai.grakn.graql.Graql.var;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class QueryAnswerTest {
+
+    private final Var x = var("x");
+    private final Var y = var("y");
+    private final Var z = var("z");
+    private final Concept a = mock(Concept.class);
+    private final Concept b = mock(Concept.class);
+
+    @Test
+    public void whenModifyingACopy_OriginalAnswerIsUnchanged(){
+        Answer answer = new QueryAnswer(ImmutableMap.of(x, a, y, b));
+        Answer copy = answer.copy();
+        copy.put(x, b);
+        copy.remove(y);
+        copy.put(z, a);
+
+        assertEquals(ImmutableMap.of(x, a, y, b), answer.map());
+        assertEquals(ImmutableMap.of(x, b, z, a), copy.map());
+    }
+
+    @Test
+    public void answersWithTheSameBindingsAreEqualToEachOtherAndToMaps(){
+        Map<Var, Concept> bindings = new HashMap<>();
+        bindings.put(x, a);
+        bindings.put(y, b);
+        Answer answer1 = new QueryAnswer(bindings);
+        Answer answer2 = new QueryAnswer().merge(new QueryAnswer(ImmutableMap.of(y, b))).merge(new QueryAnswer(ImmutableMap.of(x, a)));
+
+        assertEquals(answer1, answer2);
+        assertEquals(answer1.hashCode(), answer2.hashCode());
+        assertEquals(bindings, answer1.map());
+        assertEquals(bindings.hashCode(), answer1.map().hashCode());
+        assertNotEquals(answer1, answer1.filterVars(ImmutableSet.of(x)));
+    }
+
+    @Test
+    public void whenRemovingBindingsWhileIterating_AllBindingsAreVisited(){
+        Answer answer = new QueryAnswer(ImmutableMap.of(x, a, y, b, z, a));
+        answer.map().entrySet().removeIf(e -> e.getValue().equals(a));
+
+        assertEquals(ImmutableMap.of(y, b), answer.map());
+        assertNull(answer.get(x));
+    }
+
+    @Test
+    public void whenUnifyingVariablesToConflictingConcepts_AnswerIsEmpty(){
+        Answer answer = new QueryAnswer(ImmutableMap.of(x, a, y, b));
+        UnifierImpl unifier = new UnifierImpl(ImmutableMap.of(x, z, y, z));
+
+        assertTrue(answer.unify(unifier).isEmpty());
+        assertEquals(ImmutableMap.of(z, a), new QueryAnswer(ImmutableMap.of(x, a)).unify(unifier).map());
+    }
+}
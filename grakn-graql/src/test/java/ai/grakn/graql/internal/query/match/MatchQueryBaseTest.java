@@ -19,15 +19,36 @@
 
 package ai.grakn.graql.internal.query.match;
 
+import ai.grakn.concept.Concept;
+import ai.grakn.graph.admin.GraknAdmin;
+import ai.grakn.graql.Var;
+import ai.grakn.graql.admin.Answer;
 import ai.grakn.graql.admin.Conjunction;
 import ai.grakn.graql.admin.PatternAdmin;
 import ai.grakn.graql.internal.pattern.Patterns;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Sets;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
 import static ai.grakn.graql.Graql.var;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class MatchQueryBaseTest {
 
@@ -56,4 +77,46 @@ public class MatchQueryBaseTest {
 
         assertNotEquals(query1, query2);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void whenALimitedNumberOfAnswersIsConsumed_OnlyTheirConceptsAreBuilt() {
+        GraknAdmin graph = mock(GraknAdmin.class);
+        Var x = var("x");
+        List<Map<String, Element>> results = results(x, 10);
+        results.forEach(result -> when(graph.buildConcept((Vertex) result.get(x.getValue()))).thenReturn(mock(Concept.class)));
+
+        List<Answer> answers = new ArrayList<>();
+        MatchQueryBase.answers(graph, new Var[]{x}, results.iterator()).limit(2).forEach(answers::add);
+
+        assertEquals(2, answers.size());
+        verify(graph, times(2)).buildConcept(any(Vertex.class));
+    }
+
+    @Test
+    public void whenABatchOfAnswersIsRead_ThePropertiesOfAllItsVerticesArePrefetchedAtOnce() {
+        GraknAdmin graph = mock(GraknAdmin.class);
+        Var x = var("x");
+        List<Map<String, Element>> results = results(x, 10);
+        results.forEach(result -> when(graph.buildConcept((Vertex) result.get(x.getValue()))).thenReturn(mock(Concept.class)));
+
+        Optional<Answer> answer = MatchQueryBase.answers(graph, new Var[]{x}, results.iterator()).findFirst();
+
+        assertTrue(answer.isPresent());
+        verify(graph, times(1)).prefetchProperties(anyCollection());
+        verify(graph).prefetchProperties(vertices(results));
+    }
+
+    private static List<Map<String, Element>> results(Var var, int size) {
+        List<Map<String, Element>> results = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            results.add(ImmutableMap.of(var.getValue(), mock(Vertex.class)));
+        }
+        return results;
+    }
+
+    private static Collection<Vertex> vertices(List<Map<String, Element>> results) {
+        Collection<Vertex> vertices = new HashSet<>();
+        results.forEach(result -> result.values().forEach(element -> vertices.add((Vertex) element)));
+        return vertices;
+    }
+}
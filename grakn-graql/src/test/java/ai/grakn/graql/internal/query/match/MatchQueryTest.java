@@ -60,7 +60,10 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Properties;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -164,10 +167,12 @@ import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasKey;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
 import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.hamcrest.Matchers.not;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 
@@ -194,6 +199,20 @@ public class MatchQueryTest {
         weird.resource(weird);
     });
 
+    @ClassRule
+    public static final GraphContext emptyGraph = GraphContext.empty();
+
+    // This is a graph where a popular resource has been sharded between its owners
+    @ClassRule
+    public static final GraphContext shardedGraph = GraphContext.preLoad(graph -> {
+        ResourceType<String> nickname = graph.putResourceType("nickname", ResourceType.DataType.STRING);
+        EntityType fan = graph.putEntityType("fan").resource(nickname);
+        Resource<String> popular = nickname.putResource("popular");
+        fan.addEntity().resource(popular);
+        graph.admin().shard(popular.getId());
+        fan.addEntity().resource(popular);
+    }, shardingResources());
+
     @Rule
     public final ExpectedException expectedException = ExpectedException.none();
 
@@ -208,6 +227,67 @@ public class MatchQueryTest {
         assertThat(query, variable("x", containsAllMovies));
     }
 
+    @Test
+    public void whenAResourceHasALegacyIndex_ItIsFoundByItsValue() {
+        GraknGraph graph = emptyGraph.graph();
+        ResourceType<String> code = graph.putResourceType("code", ResourceType.DataType.STRING);
+        Resource<String> legacy = code.putResource("legacy");
+        Resource<String> impostor = code.putResource("impostor");
+
+        //The legacy resource has not been reindexed and the impostor shares the digest of the legacy resource
+        setIndex(graph, legacy, Schema.generateLegacyResourceIndex(code.getLabel(), "legacy"));
+        setIndex(graph, impostor, Schema.generateResourceIndex(code.getLabel(), "legacy"));
+
+        MatchQuery query = graph.graql().match(x.isa("code").val("legacy"));
+        assertEquals(ImmutableSet.of(legacy), query.get("x").collect(toSet()));
+    }
+
+    private static Properties shardingResources() {
+        Properties properties = new Properties();
+        properties.put("graph.shard-resources", "true");
+        return properties;
+    }
+
+    @Test
+    public void whenAResourceIsSharded_AllOfItsOwnersAreFoundByItsValue() {
+        GraknGraph graph = shardedGraph.graph();
+        Set<Entity> fans = graph.getEntityType("fan").instances().collect(toSet());
+
+        MatchQuery query = graph.graql().match(x.has("nickname", "popular"));
+        assertEquals(2, fans.size());
+        assertEquals(fans, query.get("x").collect(toSet()));
+    }
+
+    @Test
+    public void whenAResourceIsSharded_ItsOwnersOnlyHaveTheResource() {
+        GraknGraph graph = shardedGraph.graph();
+        Resource<String> popular = graph.<String>getResourceType("nickname").getResource("popular");
+
+        MatchQuery query = graph.graql().match(x.isa("fan").has("nickname", y));
+        assertEquals(ImmutableSet.of(popular), query.get("y").collect(toSet()));
+        assertEquals(2, query.get("x").collect(toSet()).size());
+    }
+
+    private static void setIndex(GraknGraph graph, Concept concept, String index) {
+        graph.admin().getTinkerTraversal().V()
+                .has(Schema.VertexProperty.ID.name(), concept.getId().getValue())
+                .property(Schema.VertexProperty.INDEX.name(), index)
+                .iterate();
+    }
+
+    @Test
+    public void whenAConceptIsInManyAnswers_EachAnswerContainsTheSameConcept() {
+        List<Answer> answers = qb.match(x.isa("movie"), y.isa("genre")).execute();
+        assertThat(answers, not(empty()));
+
+        Map<ConceptId, Concept> genres = new HashMap<>();
+        for (Answer answer : answers) {
+            Concept genre = answer.get(y);
+            assertSame(genres.computeIfAbsent(genre.getId(), id -> genre), genre);
+        }
+        assertThat(genres.size(), lessThan(answers.size()));
+    }
+
     @Test
     public void testProductionQuery() {
         MatchQuery query = qb.match(x.isa("production"));
@@ -0,0 +1,123 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graql.internal.reasoner;
+
+import ai.grakn.GraknGraph;
+import ai.grakn.concept.Label;
+import ai.grakn.concept.Relation;
+import ai.grakn.concept.Thing;
+import ai.grakn.test.GraknTestSetup;
+import ai.grakn.test.GraphContext;
+import ai.grakn.test.graphs.GeoGraph;
+import ai.grakn.test.graphs.TestGraph;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Properties;
+
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+public class InferenceMaintainerTest {
+
+    @Rule
+    public final GraphContext geoGraph = GraphContext.preLoad(GeoGraph.get(), maintainedInferences());
+
+    @BeforeClass
+    public static void onStartup() throws Exception {
+        assumeTrue(GraknTestSetup.usingTinker());
+    }
+
+    private static Properties maintainedInferences(){
+        Properties properties = new Properties();
+        properties.put("graph.maintain-inferences", "true");
+        return properties;
+    }
+
+    @Test
+    public void whenBaseRelationIsDeletedOnCommit_OnlyTheInferencesItSupportedAreDeleted(){
+        GraknGraph graph = materialisedGraph();
+        Thing warsaw = TestGraph.getInstance(graph, "Warsaw");
+        Thing masovia = TestGraph.getInstance(graph, "Masovia");
+        warsaw.relations(graph.getRole("geo-entity"))
+                .filter(relation -> relation.rolePlayers().anyMatch(masovia::equals))
+                .filter(relation -> !relation.isInferred())
+                .collect(toList())
+                .forEach(Relation::delete);
+        graph.commit();
+
+        GraknGraph committed = geoGraph.graph();
+        assertThat(locations(committed, "Warsaw"), empty());
+        assertThat(locations(committed, "University-of-Warsaw"), containsInAnyOrder(
+                TestGraph.getInstance(committed, "Warsaw")));
+        assertThat(locations(committed, "Wroclaw"), containsInAnyOrder(
+                TestGraph.getInstance(committed, "Silesia"),
+                TestGraph.getInstance(committed, "Poland"),
+                TestGraph.getInstance(committed, "Europe")));
+        assertThat(locations(committed, "Masovia"), containsInAnyOrder(
+                TestGraph.getInstance(committed, "Poland"),
+                TestGraph.getInstance(committed, "Europe")));
+    }
+
+    @Test
+    public void whenBaseRelationIsAddedOnCommit_TheInferencesItSupportsAreInserted(){
+        GraknGraph graph = materialisedGraph();
+        Thing radom = TestGraph.putEntity(graph, "Radom", graph.getEntityType("city"), Label.of("name"));
+        graph.getRelationType("is-located-in").addRelation()
+                .addRolePlayer(graph.getRole("geo-entity"), radom)
+                .addRolePlayer(graph.getRole("entity-location"), TestGraph.getInstance(graph, "Masovia"));
+        graph.commit();
+
+        GraknGraph committed = geoGraph.graph();
+        assertThat(locations(committed, "Radom"), containsInAnyOrder(
+                TestGraph.getInstance(committed, "Masovia"),
+                TestGraph.getInstance(committed, "Poland"),
+                TestGraph.getInstance(committed, "Europe")));
+        assertEquals(2, locationsOf(committed, "Radom").stream().filter(Relation::isInferred).count());
+    }
+
+    /**
+     * @return transaction on the geo graph in which all the locations have been materialised and committed
+     */
+    private GraknGraph materialisedGraph(){
+        GraknGraph graph = geoGraph.graph();
+        graph.graql().infer(true).materialise(true)
+                .parse("match (geo-entity: $x, entity-location: $y) isa is-located-in;").execute();
+        graph.commit();
+        return geoGraph.graph();
+    }
+
+    private static List<Relation> locationsOf(GraknGraph graph, String name){
+        return TestGraph.getInstance(graph, name).relations(graph.getRole("geo-entity"))
+                .filter(relation -> relation.type().getLabel().equals(Label.of("is-located-in")))
+                .collect(toList());
+    }
+
+    private static List<Thing> locations(GraknGraph graph, String name){
+        return locationsOf(graph, name).stream()
+                .flatMap(relation -> relation.rolePlayers(graph.getRole("entity-location")))
+                .collect(toList());
+    }
+}
@@ -30,6 +30,7 @@ import ai.grakn.graql.admin.VarPatternAdmin;
 import ai.grakn.graql.internal.pattern.Patterns;
 import ai.grakn.graql.internal.reasoner.utils.ReasonerUtils;
 import ai.grakn.graql.internal.reasoner.cache.LazyQueryCache;
+import ai.grakn.graql.internal.reasoner.cache.QueryCache;
 import ai.grakn.graql.internal.reasoner.explanation.RuleExplanation;
 import ai.grakn.graql.internal.reasoner.query.QueryAnswerStream;
 import ai.grakn.graql.internal.reasoner.query.QueryAnswers;
@@ -47,6 +48,7 @@ import org.junit.Test;
 
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -118,6 +120,66 @@ public class LazyTest {
         assertEquals(collect.size(), collect2.size());
     }
 
+    @Test
+    public void testCacheRemoveAcrossEquivalentQueries(){
+        GraknGraph graph = geoGraph.graph();
+        String patternString = "{(geo-entity: $x, entity-location: $y) isa is-located-in;}";
+        String patternString2 = "{(geo-entity: $y, entity-location: $z) isa is-located-in;}";
+
+        ReasonerAtomicQuery query = ReasonerQueries.atomic(conjunction(patternString, graph), graph);
+        ReasonerAtomicQuery query2 = ReasonerQueries.atomic(conjunction(patternString2, graph), graph);
+
+        QueryCache<ReasonerAtomicQuery> cache = new QueryCache<>();
+        QueryCache<ReasonerAtomicQuery> cache2 = new QueryCache<>();
+        cache.record(query, query.getMatchQuery().stream());
+        cache2.record(query2, query2.getMatchQuery().stream());
+
+        long answers = cache.answerSize(ImmutableSet.of(query2));
+        assertTrue(answers > 0);
+        assertEquals(answers, cache2.answerSize(ImmutableSet.of(query)));
+
+        cache.remove(cache2);
+        assertEquals(0, cache.answerSize(ImmutableSet.of(query)));
+    }
+
+    @Test
+    public void testJoinIsLazyUnderLimit(){
+        GraknGraph graph = geoGraph.graph();
+        String patternString = "{(geo-entity: $x, entity-location: $y) isa is-located-in;}";
+        String patternString2 = "{(geo-entity: $z, entity-location: $w) isa is-located-in;}";
+
+        ReasonerAtomicQuery query = ReasonerQueries.atomic(conjunction(patternString, graph), graph);
+        ReasonerAtomicQuery query2 = ReasonerQueries.atomic(conjunction(patternString2, graph), graph);
+
+        AtomicInteger pulled = new AtomicInteger();
+        Stream<Answer> stream2 = query2.getMatchQuery().stream().peek(a -> pulled.incrementAndGet());
+        List<Answer> answers = join(query.getMatchQuery().stream(), stream2).limit(1).collect(Collectors.toList());
+
+        assertEquals(1, answers.size());
+        assertEquals(1, pulled.get());
+    }
+
+    @Test
+    public void testCacheLookupsAlternatingBetweenEquivalentQueries(){
+        GraknGraph graph = geoGraph.graph();
+        String patternString = "{(geo-entity: $x, entity-location: $y) isa is-located-in;}";
+        String patternString2 = "{(geo-entity: $y, entity-location: $z) isa is-located-in;}";
+
+        ReasonerAtomicQuery query = ReasonerQueries.atomic(conjunction(patternString, graph), graph);
+        ReasonerAtomicQuery query2 = ReasonerQueries.atomic(conjunction(patternString2, graph), graph);
+
+        QueryCache<ReasonerAtomicQuery> cache = new QueryCache<>();
+        cache.record(query, query.getMatchQuery().stream()).collect(toSet());
+
+        QueryAnswers answers = cache.getAnswers(query);
+        QueryAnswers answers2 = cache.getAnswers(ReasonerQueries.atomic(conjunction(patternString2, graph), graph));
+        assertEquals(answers.unify(query.getUnifier(query2)), answers2);
+
+        assertEquals(answers, cache.getAnswers(ReasonerQueries.atomic(conjunction(patternString, graph), graph)));
+        assertEquals(answers2, cache.getAnswers(query2));
+        assertEquals(answers, cache.getAnswers(query));
+    }
+
     @Test
     public void testJoin(){
         GraknGraph graph = geoGraph.graph();
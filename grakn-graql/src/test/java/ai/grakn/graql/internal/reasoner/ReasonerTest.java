@@ -28,10 +28,13 @@ import ai.grakn.graql.Graql;
 import ai.grakn.graql.MatchQuery;
 import ai.grakn.graql.Pattern;
 import ai.grakn.graql.QueryBuilder;
+import ai.grakn.graql.QueryProfile;
 import ai.grakn.graql.admin.Answer;
 import ai.grakn.graql.admin.Conjunction;
 import ai.grakn.graql.admin.VarPatternAdmin;
 import ai.grakn.graql.internal.pattern.Patterns;
+import ai.grakn.graql.internal.reasoner.profile.ResolutionProfile;
+import ai.grakn.graql.internal.reasoner.profile.ResolutionProfiler;
 import ai.grakn.graql.internal.reasoner.query.QueryAnswers;
 import ai.grakn.graql.internal.reasoner.query.ReasonerQueries;
 import ai.grakn.graql.internal.reasoner.query.ReasonerQueryImpl;
@@ -97,6 +100,9 @@ public class ReasonerTest {
     @ClassRule
     public static final GraphContext geoGraph3 = GraphContext.preLoad(GeoGraph.get()).assumeTrue(GraknTestSetup.usingTinker());
 
+    @ClassRule
+    public static final GraphContext materialisedGeoGraph = GraphContext.preLoad(GeoGraph.get()).assumeTrue(GraknTestSetup.usingTinker());
+
     @org.junit.Rule
     public final ExpectedException exception = ExpectedException.none();
 
@@ -655,6 +661,18 @@ public class ReasonerTest {
         assertEquals(answers2, answers3);
     }
 
+    @Test
+    public void testMaterialisingTwiceDoesNotDuplicateRelations(){
+        GraknGraph graph = materialisedGeoGraph.graph();
+        String queryString = "match (geo-entity: $x, entity-location: $y) isa is-located-in;";
+        QueryAnswers answers = queryAnswers(graph.graql().infer(true).parse(queryString));
+        queryAnswers(graph.graql().infer(true).materialise(true).parse(queryString));
+        queryAnswers(graph.graql().infer(true).materialise(true).parse(queryString));
+        QueryAnswers materialisedAnswers = queryAnswers(graph.graql().infer(false).parse(queryString));
+        assertEquals(answers, materialisedAnswers);
+        assertEquals(answers.size(), graph.getRelationType("is-located-in").instances().count());
+    }
+
     @Test
     public void testReasoningWithQueryContainingUnspecifiedCastings(){
         GraknGraph graph = nonMaterialisedGeoGraph.graph();
@@ -908,6 +926,40 @@ public class ReasonerTest {
         assertQueriesEqual(query, query2);
     }
 
+    @Test
+    public void testProfilingResolution(){
+        GraknGraph graph = nonMaterialisedGeoGraph.graph();
+        MatchQuery query = graph.graql().infer(true).parse("match (geo-entity: $x, entity-location: $y) isa is-located-in;");
+
+        try (ResolutionProfiler profiler = ResolutionProfiler.start()) {
+            long answers = query.admin().stream().count();
+            Map<String, Long> totals = profiler.getTotals();
+
+            assertTrue(answers > 0);
+            assertTrue(totals.get(ResolutionProfile.Event.ANSWERS.getName()) > 0);
+            assertTrue(totals.get(ResolutionProfile.Event.SUB_GOALS.getName()) > 0);
+            assertTrue(totals.get(ResolutionProfile.Event.DB_LOOKUPS.getName()) > 0);
+            assertTrue(!profiler.getRuleAnswers().isEmpty());
+            assertTrue(!profiler.getProfile().getChildren().isEmpty());
+        }
+        assertEquals(null, ResolutionProfiler.current());
+    }
+
+    @Test
+    public void testProfilingResolutionThroughQueryBuilder(){
+        GraknGraph graph = nonMaterialisedGeoGraph.graph();
+        QueryBuilder qb = graph.graql().infer(true);
+        MatchQuery query = qb.parse("match (geo-entity: $x, entity-location: $y) isa is-located-in;");
+
+        QueryProfile<List<Answer>> profile = qb.profile(query);
+
+        assertEquals(queryAnswers(query), new QueryAnswers(profile.getResult()));
+        assertTrue(profile.getTotals().get(ResolutionProfile.Event.ANSWERS.getName()) > 0);
+        assertTrue(!profile.getRuleAnswers().isEmpty());
+        assertTrue(!profile.getStateCounts().isEmpty());
+        assertEquals(null, ResolutionProfiler.current());
+    }
+
     private Conjunction<VarPatternAdmin> conjunction(String patternString, GraknGraph graph){
         Set<VarPatternAdmin> vars = graph.graql().parsePattern(patternString).admin()
                 .getDisjunctiveNormalForm().getPatterns()
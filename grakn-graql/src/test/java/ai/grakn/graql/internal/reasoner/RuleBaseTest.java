@@ -0,0 +1,145 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graql.internal.reasoner;
+
+import ai.grakn.Grakn;
+import ai.grakn.GraknGraph;
+import ai.grakn.GraknSession;
+import ai.grakn.GraknTxType;
+import ai.grakn.concept.Role;
+import ai.grakn.concept.Rule;
+import ai.grakn.concept.Label;
+import ai.grakn.concept.RelationType;
+import ai.grakn.graql.internal.reasoner.rule.CompiledRule;
+import ai.grakn.graql.internal.reasoner.rule.RuleBase;
+import ai.grakn.graql.internal.reasoner.rule.RuleDependencyGraph;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static java.util.stream.Collectors.toSet;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class RuleBaseTest {
+    private GraknSession session;
+    private GraknGraph graph;
+    private Rule symmetry;
+
+    @Before
+    public void setUp(){
+        session = Grakn.session(Grakn.IN_MEMORY, "rules" + UUID.randomUUID().toString().replaceAll("-", ""));
+        graph = session.open(GraknTxType.WRITE);
+        Role friend1 = graph.putRole("friend1");
+        Role friend2 = graph.putRole("friend2");
+        graph.putEntityType("person").plays(friend1).plays(friend2);
+        graph.putRelationType("friendship").relates(friend1).relates(friend2);
+        symmetry = graph.admin().getMetaRuleInference().putRule(
+                graph.graql().parsePattern("(friend1: $x, friend2: $y) isa friendship"),
+                graph.graql().parsePattern("(friend1: $y, friend2: $x) isa friendship"));
+        graph.commit();
+        graph = session.open(GraknTxType.WRITE);
+    }
+
+    @After
+    public void closeSession() throws Exception {
+        graph.close();
+        session.close();
+    }
+
+    @Test
+    public void whenGettingRulesTwice_CompiledRulesAreReused(){
+        Set<CompiledRule> rules = RuleBase.of(graph).getRules(graph);
+        assertEquals(1, rules.size());
+
+        CompiledRule rule = rules.iterator().next();
+        assertEquals(symmetry.getId(), rule.getRuleId());
+        assertSame(rule, RuleBase.of(graph).getRules(graph).iterator().next());
+    }
+
+    @Test
+    public void whenKeyspaceIsDeleted_ItsRuleBaseIsForgotten(){
+        RuleBase ruleBase = RuleBase.of(graph);
+        assertEquals(1, ruleBase.getRules(graph).size());
+
+        String keyspace = graph.getKeyspace();
+        graph.admin().delete();
+
+        graph = Grakn.session(Grakn.IN_MEMORY, keyspace).open(GraknTxType.WRITE);
+        assertNotSame(ruleBase, RuleBase.of(graph));
+        assertTrue(RuleBase.of(graph).getRules(graph).isEmpty());
+    }
+
+    @Test
+    public void whenGettingRulesByConclusion_OnlyRulesConcludingTheTypeAreReturned(){
+        RuleBase ruleBase = RuleBase.of(graph);
+        Set<CompiledRule> friendshipRules = ruleBase.getRulesWithConclusion(graph, graph.getRelationType("friendship"));
+
+        assertEquals(ruleBase.getRules(graph), friendshipRules);
+        assertTrue(ruleBase.getRulesWithConclusion(graph, graph.getEntityType("person")).isEmpty());
+    }
+
+    @Test
+    public void whenAddingRules_TheyAreSeenBeforeAndAfterCommit(){
+        RuleBase.of(graph).getRules(graph);
+        Rule inverse = graph.admin().getMetaRuleInference().putRule(
+                graph.graql().parsePattern("(friend2: $x, friend1: $y) isa friendship"),
+                graph.graql().parsePattern("(friend1: $x, friend2: $y) isa friendship"));
+        assertEquals(2, RuleBase.of(graph).getRules(graph).size());
+        graph.commit();
+
+        graph = session.open(GraknTxType.WRITE);
+        Set<CompiledRule> rules = RuleBase.of(graph).getRules(graph);
+        assertEquals(2, rules.size());
+        assertTrue(rules.stream().map(CompiledRule::getRuleId).collect(toSet()).contains(inverse.getId()));
+    }
+
+    @Test
+    public void whenRulesAreLayered_OnlyTypesReachingACycleDependOnRecursion(){
+        RelationType knows = graph.putRelationType("knows").relates(graph.getRole("friend1")).relates(graph.getRole("friend2"));
+        RelationType acquaintance = graph.putRelationType("acquaintance").relates(graph.getRole("friend1")).relates(graph.getRole("friend2"));
+        graph.admin().getMetaRuleInference().putRule(
+                graph.graql().parsePattern("(friend1: $x, friend2: $y) isa knows"),
+                graph.graql().parsePattern("(friend1: $x, friend2: $y) isa acquaintance"));
+        graph.commit();
+
+        graph = session.open(GraknTxType.WRITE);
+        RuleBase ruleBase = RuleBase.of(graph);
+        assertTrue(ruleBase.dependsOnRecursion(graph, graph.getRelationType("friendship")));
+        assertFalse(ruleBase.dependsOnRecursion(graph, graph.getRelationType("acquaintance")));
+        assertFalse(ruleBase.dependsOnRecursion(graph, graph.getRelationType("knows")));
+
+        List<Set<Label>> strata = new RuleDependencyGraph(ruleBase.getRules(graph), graph).getStrata();
+        int knowsStratum = -1;
+        int acquaintanceStratum = -1;
+        for (int i = 0; i < strata.size(); i++) {
+            if (strata.get(i).contains(knows.getLabel())) knowsStratum = i;
+            if (strata.get(i).contains(acquaintance.getLabel())) acquaintanceStratum = i;
+        }
+        assertTrue(knowsStratum >= 0);
+        assertTrue(knowsStratum < acquaintanceStratum);
+    }
+}
@@ -25,6 +25,7 @@ import org.junit.runner.Description;
 import org.junit.runners.model.Statement;
 
 import javax.annotation.Nullable;
+import java.util.Properties;
 import java.util.function.Consumer;
 
 /**
@@ -46,8 +47,8 @@ import java.util.function.Consumer;
 public class GraphContext extends GraphLoader implements TestRule {
     private boolean assumption = true;
 
-    private GraphContext(@Nullable Consumer<GraknGraph> preLoad){
-        super(preLoad);
+    private GraphContext(@Nullable Consumer<GraknGraph> preLoad, Properties properties){
+        super(preLoad, properties);
     }
 
     public static GraphContext empty(){
@@ -58,6 +59,14 @@ public class GraphContext extends GraphLoader implements TestRule {
         return getContext(build);
     }
 
+    /**
+     * @param build Loads the graph before it is first used
+     * @param properties Graph properties which take precedence over the ones of the test config
+     */
+    public static GraphContext preLoad(Consumer<GraknGraph> build, Properties properties){
+        return getContext(build, properties);
+    }
+
     public static GraphContext preLoad(String ... files){
         return getContext((graknGraph) -> {
             for (String file : files) {
@@ -67,8 +76,12 @@ public class GraphContext extends GraphLoader implements TestRule {
     }
 
     private static GraphContext getContext(@Nullable Consumer<GraknGraph> preLoad){
+        return getContext(preLoad, new Properties());
+    }
+
+    private static GraphContext getContext(@Nullable Consumer<GraknGraph> preLoad, Properties properties){
         GraknTestSetup.startCassandraIfNeeded();
-        return new GraphContext(preLoad);
+        return new GraphContext(preLoad, properties);
     }
 
     public GraphContext assumeTrue(boolean bool){
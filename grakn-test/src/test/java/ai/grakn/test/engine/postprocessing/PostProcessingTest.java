@@ -23,8 +23,10 @@ import ai.grakn.GraknSession;
 import ai.grakn.GraknTxType;
 import ai.grakn.concept.Resource;
 import ai.grakn.concept.ResourceType;
+import ai.grakn.engine.lock.LockProvider;
 import ai.grakn.engine.lock.ProcessWideLockProvider;
 import ai.grakn.engine.postprocessing.PostProcessingTask;
+import ai.grakn.engine.tasks.connection.RedisCountStorage;
 import ai.grakn.engine.tasks.manager.TaskConfiguration;
 import ai.grakn.exception.InvalidGraphException;
 import ai.grakn.test.EngineContext;
@@ -32,6 +34,7 @@ import ai.grakn.test.GraknTestSetup;
 import ai.grakn.util.REST;
 import ai.grakn.util.Schema;
 import com.codahale.metrics.MetricRegistry;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Sets;
 import mjson.Json;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
@@ -41,13 +44,18 @@ import org.junit.BeforeClass;
 import org.junit.ClassRule;
 import org.junit.Test;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.locks.Lock;
 
 import static ai.grakn.test.engine.postprocessing.PostProcessingTestUtils.createDuplicateResource;
 import static ai.grakn.util.REST.Request.KEYSPACE;
 import static ai.grakn.util.Schema.VertexProperty.INDEX;
 import static java.util.stream.Collectors.toSet;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assume.assumeTrue;
 
 public class PostProcessingTest {
@@ -131,4 +139,91 @@ public class PostProcessingTest {
 
         graph.close();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void whenOneIndexOfABatchCannotBeFixed_TheOtherIndicesAreStillMerged() {
+        GraknGraph graph = session.open(GraknTxType.WRITE);
+        ResourceType<String> goodType = graph.putResourceType("good", ResourceType.DataType.STRING);
+        ResourceType<String> badType = graph.putResourceType("bad", ResourceType.DataType.STRING);
+        Resource<String> goodResource = goodType.putResource("1");
+        Resource<String> badResource = badType.putResource("1");
+        graph.admin().commitNoLogs();
+        graph = session.open(GraknTxType.WRITE);
+
+        Set<Vertex> goodDuplicates = createDuplicateResource(graph, goodType, goodResource);
+        Set<Vertex> badDuplicates = createDuplicateResource(graph, badType, badResource);
+        String goodIndex = goodDuplicates.iterator().next().value(INDEX.name()).toString();
+        String badIndex = badDuplicates.iterator().next().value(INDEX.name()).toString();
+        graph.close();
+
+        TaskConfiguration configuration = TaskConfiguration.of(
+                Json.object(
+                        KEYSPACE, graph.getKeyspace(),
+                        REST.Request.COMMIT_LOG_FIXING, Json.object(
+                                Schema.BaseType.RESOURCE.name(), Json.object(
+                                        goodIndex, conceptIds(goodDuplicates),
+                                        badIndex, conceptIds(badDuplicates))
+                        ))
+        );
+        runWithFailingIndex(configuration, null, badIndex);
+
+        graph = session.open(GraknTxType.READ);
+        assertEquals(1, graph.getResourceType("good").instances().count());
+        assertEquals(2, graph.getResourceType("bad").instances().count());
+        graph.close();
+    }
+
+    @Test
+    public void whenJobsArePersisted_TheyAreOnlyRemovedOnceFixed() {
+        GraknGraph graph = session.open(GraknTxType.WRITE);
+        ResourceType<String> goodType = graph.putResourceType("good", ResourceType.DataType.STRING);
+        ResourceType<String> badType = graph.putResourceType("bad", ResourceType.DataType.STRING);
+        Resource<String> goodResource = goodType.putResource("1");
+        Resource<String> badResource = badType.putResource("1");
+        graph.admin().commitNoLogs();
+        graph = session.open(GraknTxType.WRITE);
+
+        Set<Vertex> goodDuplicates = createDuplicateResource(graph, goodType, goodResource);
+        Set<Vertex> badDuplicates = createDuplicateResource(graph, badType, badResource);
+        String goodIndex = goodDuplicates.iterator().next().value(INDEX.name()).toString();
+        String badIndex = badDuplicates.iterator().next().value(INDEX.name()).toString();
+        String keyspace = graph.getKeyspace();
+        graph.close();
+
+        RedisCountStorage redis = engine.redis();
+        redis.addPostProcessingJobs(keyspace, ImmutableMap.of(
+                goodIndex, conceptIds(goodDuplicates),
+                badIndex, conceptIds(badDuplicates)));
+
+        runWithFailingIndex(PostProcessingTask.createConfig(keyspace), redis, badIndex);
+
+        Map<String, Set<String>> remaining = redis.getPostProcessingJobs(keyspace);
+        assertFalse(remaining.containsKey(goodIndex));
+        assertTrue(remaining.containsKey(badIndex));
+
+        graph = session.open(GraknTxType.READ);
+        assertEquals(1, graph.getResourceType("good").instances().count());
+        graph.close();
+    }
+
+    private void runWithFailingIndex(TaskConfiguration configuration, RedisCountStorage redis, String failingIndex) {
+        LockProvider lockProvider = new ProcessWideLockProvider() {
+            @Override
+            public Lock getLocks(Collection<String> locksToObtain) {
+                if (locksToObtain.stream().anyMatch(lock -> lock.endsWith(failingIndex))) {
+                    throw new RuntimeException("Cannot lock [" + failingIndex + "]");
+                }
+                return super.getLocks(locksToObtain);
+            }
+        };
+
+        PostProcessingTask task = new PostProcessingTask();
+        task.initialize(null, configuration, (x, y) -> {}, engine.config(), redis, engine.server().factory(),
+                lockProvider, new MetricRegistry());
+        assertTrue(task.start());
+    }
+
+    private static Set<String> conceptIds(Set<Vertex> vertices) {
+        return vertices.stream().map(v -> Schema.PREFIX_VERTEX + v.id().toString()).collect(toSet());
+    }
+}
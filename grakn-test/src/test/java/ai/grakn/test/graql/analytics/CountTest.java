@@ -145,6 +145,36 @@ public class CountTest {
         }
     }
 
+    @Test
+    public void testCountWithShardedResource() {
+        try (GraknGraph graph = factory.open(GraknTxType.WRITE)) {
+            EntityType person = graph.putEntityType("person");
+            ResourceType<String> name = graph.putResourceType("name", ResourceType.DataType.STRING);
+            person.resource(name);
+            Resource<String> jason = name.putResource("jason");
+            person.addEntity().resource(jason);
+            graph.admin().shard(jason.getId());
+            person.addEntity().resource(jason);
+            person.addEntity().resource(jason);
+            graph.commit();
+        }
+
+        long count;
+        try (GraknGraph graph = factory.open(GraknTxType.READ)) {
+            count = graph.graql().compute().count().execute();
+            assertEquals(7L, count);
+
+            count = graph.graql().compute().count().in("name").execute();
+            assertEquals(1L, count);
+
+            count = graph.graql().compute().count().in("has-name").execute();
+            assertEquals(3L, count);
+
+            count = graph.graql().compute().count().in("has-name", "name").execute();
+            assertEquals(4L, count);
+        }
+    }
+
     @Test
     public void testDegreeWithHasResourceVertices() {
         try (GraknGraph graph = factory.open(GraknTxType.WRITE)) {
@@ -540,6 +540,27 @@ public class DegreeTest {
         }
     }
 
+    @Test
+    public void testDegreeWithShardedResource() {
+        EntityType thingy = graph.putEntityType("thingy");
+        ResourceType<String> name = graph.putResourceType("name", ResourceType.DataType.STRING);
+        thingy.resource(name);
+        Resource<String> popular = name.putResource("popular");
+        Entity entity1 = thingy.addEntity().resource(popular);
+        graph.admin().shard(popular.getId());
+        Entity entity2 = thingy.addEntity().resource(popular);
+        Entity entity3 = thingy.addEntity().resource(popular);
+        graph.commit();
+
+        try (GraknGraph graph = factory.open(GraknTxType.READ)) {
+            Map<Long, Set<String>> degrees = graph.graql().compute().degree().in("thingy", "name").execute();
+            assertEquals(2, degrees.size());
+            assertEquals(Sets.newHashSet(popular.getId().getValue()), degrees.get(3L));
+            assertEquals(Sets.newHashSet(entity1.getId().getValue(), entity2.getId().getValue(),
+                    entity3.getId().getValue()), degrees.get(1L));
+        }
+    }
+
     @Test
     public void testDegreeRolePlayerWrongType()
             throws InvalidGraphException, ExecutionException, InterruptedException {
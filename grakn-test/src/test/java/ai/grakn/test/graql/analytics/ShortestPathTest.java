@@ -8,6 +8,8 @@ import ai.grakn.concept.ConceptId;
 import ai.grakn.concept.Entity;
 import ai.grakn.concept.EntityType;
 import ai.grakn.concept.RelationType;
+import ai.grakn.concept.Resource;
+import ai.grakn.concept.ResourceType;
 import ai.grakn.concept.Role;
 import ai.grakn.exception.GraqlQueryException;
 import ai.grakn.exception.InvalidGraphException;
@@ -244,6 +246,35 @@ public class ShortestPathTest {
         }
     }
 
+    @Test
+    public void testShortestPathThroughShardedResource() {
+        ConceptId resourceId;
+        try (GraknGraph graph = factory.open(GraknTxType.WRITE)) {
+            EntityType entityType = graph.putEntityType(thing);
+            ResourceType<String> name = graph.putResourceType("name", ResourceType.DataType.STRING);
+            entityType.resource(name);
+            Resource<String> popular = name.putResource("popular");
+            resourceId = popular.getId();
+            entityId1 = entityType.addEntity().resource(popular).getId();
+            graph.admin().shard(resourceId);
+            entityId2 = entityType.addEntity().resource(popular).getId();
+            graph.commit();
+        }
+
+        try (GraknGraph graph = factory.open(GraknTxType.READ)) {
+            List<String> correctPath = Lists.newArrayList(
+                    entityId1.getValue(), resourceId.getValue(), entityId2.getValue());
+            List<String> computedPath = graph.graql().compute().path().from(entityId1).to(entityId2).execute()
+                    .get().stream().map(Concept::getId).map(ConceptId::getValue).collect(Collectors.toList());
+            checkPath(correctPath, computedPath);
+
+            Collections.reverse(correctPath);
+            computedPath = graph.graql().compute().path().from(entityId2).to(entityId1).execute()
+                    .get().stream().map(Concept::getId).map(ConceptId::getValue).collect(Collectors.toList());
+            checkPath(correctPath, computedPath);
+        }
+    }
+
     private boolean checkPathsAreEqual(List<ConceptId> correctPath, Optional<List<Concept>> computedPath) {
         if (computedPath.isPresent()) {
             List<Concept> actualPath = computedPath.get();